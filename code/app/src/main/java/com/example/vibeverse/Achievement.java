@@ -2,7 +2,7 @@ package com.example.vibeverse;
 
 /**
  * Represents an achievement with its details such as id, name, description, unlocks, icon resource,
- * total count, tier, and the XP awarded upon completion.
+ * total count, tier, the XP awarded upon completion, and the rule that tracks its progress.
  */
 public class Achievement {
     private String id;
@@ -17,6 +17,8 @@ public class Achievement {
 
     private int completion_xp;
 
+    private AchievementRule rule;
+
     /**
      * Returns the name of the achievement.
      *
@@ -160,4 +162,22 @@ public class Achievement {
     public void setCompletion_xp(int completion_xp) {
         this.completion_xp = completion_xp;
     }
+
+    /**
+     * Returns the rule that decides when progress is made towards the achievement.
+     *
+     * @return the rule, or null if the achievement is not tracked automatically.
+     */
+    public AchievementRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Sets the rule that decides when progress is made towards the achievement.
+     *
+     * @param rule the rule to set.
+     */
+    public void setRule(AchievementRule rule) {
+        this.rule = rule;
+    }
 }
@@ -556,7 +556,7 @@ public class AchievementActivity extends AppCompatActivity {
             emojiContainer.setBackgroundResource(R.drawable.emoji_container);
 
             ImageView emojiView = new ImageView(this);
-            int resId = getEmojiResourceId(mood.getName().toLowerCase(), themeData.getId());
+            int resId = EmojiDrawables.get(mood, themeData.getId());
             emojiView.setImageResource(resId);
             FrameLayout.LayoutParams emojiParams = new FrameLayout.LayoutParams(
                     FrameLayout.LayoutParams.MATCH_PARENT,
@@ -584,18 +584,6 @@ public class AchievementActivity extends AppCompatActivity {
         dialog.show();
     }
 
-    /**
-     * Retrieves the resource ID for an emoji based on the mood ID and theme.
-     *
-     * @param moodId the mood identifier.
-     * @param theme  the theme identifier.
-     * @return the drawable resource ID for the corresponding emoji.
-     */
-    private int getEmojiResourceId(String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return getResources().getIdentifier(resourceName, "drawable", getPackageName());
-    }
-
     /**
      * Retrieves the unlocked theme ID for the given level from the levelsList.
      *
@@ -0,0 +1,248 @@
+package com.example.vibeverse;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.gson.Gson;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AchievementEngine evaluates every achievement rule for an event in memory and writes the
+ * resulting progress.
+ * <p>
+ * The rules come from achievements.json, so adding an achievement only needs a new entry
+ * there. Events are recorded in a transaction that reads the matching achievement documents,
+ * so progress and completion always build on the stored state. Posting a mood instead stages
+ * its progress into the mood's own batch, evaluated against states read with a single query
+ * by {@link #preload(String)} when the screen opens; count rules are written with
+ * {@link FieldValue#increment(long)} so they add up with concurrent updates, and unique rules
+ * set progress to the number of distinct values alongside
+ * {@link FieldValue#arrayUnion(Object...)}. The cache is refreshed by every preload and
+ * transaction, and dropped if a write fails. All methods must be called on the main thread.
+ * </p>
+ */
+public final class AchievementEngine {
+
+    private static final String TAG = "AchievementEngine";
+
+    private static AchievementEngine instance;
+
+    private final FirebaseFirestore db;
+    private final List<Achievement> achievements;
+    private final Map<String, Map<String, AchievementState>> statesByUser = new HashMap<>();
+
+    private AchievementEngine(FirebaseFirestore db, List<Achievement> achievements) {
+        this.db = db;
+        this.achievements = achievements;
+    }
+
+    /**
+     * Returns the engine, loading the achievement rules from the app's assets the first time.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The shared engine.
+     */
+    public static synchronized AchievementEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new AchievementEngine(FirebaseFirestore.getInstance(),
+                    loadAchievements(context.getApplicationContext()));
+        }
+        return instance;
+    }
+
+    /**
+     * Works out the updates an event makes across all achievements.
+     *
+     * @param achievements The achievement definitions with their rules.
+     * @param event        The event.
+     * @param states       The user's current achievement states, keyed by achievement id.
+     *                     Achievements without a state are skipped.
+     * @return The updates to write, keyed by achievement id.
+     */
+    static Map<String, AchievementUpdate> evaluate(List<Achievement> achievements, AchievementEvent event,
+                                                   Map<String, AchievementState> states) {
+        Map<String, AchievementUpdate> updates = new LinkedHashMap<>();
+        for (Achievement achievement : achievements) {
+            AchievementRule rule = achievement.getRule();
+            if (rule == null) {
+                continue;
+            }
+            AchievementUpdate update = rule.evaluate(event, states.get(achievement.getId()), achievement.getTotal());
+            if (update != null) {
+                updates.put(achievement.getId(), update);
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * Reads the user's achievement documents into the cache, replacing anything cached.
+     * The old states are dropped straight away, so nothing is staged from them while the
+     * read is in flight.
+     *
+     * @param userId The user's ID.
+     * @return A task that completes once the cache is filled, or fails if the read fails.
+     */
+    public Task<Void> preload(String userId) {
+        statesByUser.remove(userId);
+        return db.collection("users")
+                .document(userId)
+                .collection("achievements")
+                .get()
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) {
+                        throw task.getException();
+                    }
+                    Map<String, AchievementState> states = new HashMap<>();
+                    for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                        states.put(doc.getId(), AchievementState.fromSnapshot(doc));
+                    }
+                    statesByUser.put(userId, states);
+                    return null;
+                });
+    }
+
+    /**
+     * Returns whether the user's achievement states are cached, so an event can be staged
+     * without a read.
+     *
+     * @param userId The user's ID.
+     * @return True if {@link #stage(WriteBatch, String, AchievementEvent)} can be used.
+     */
+    public boolean isLoaded(String userId) {
+        return statesByUser.containsKey(userId);
+    }
+
+    /**
+     * Adds the progress earned by an event to a batch the caller commits, so it is saved
+     * together with the write that caused it. The cache is updated straight away; callers
+     * should call {@link #invalidate(String)} if the batch fails.
+     *
+     * @param batch  The batch to add the updates to.
+     * @param userId The user's ID.
+     * @param event  The event.
+     * @return False if the user's states are not cached and nothing was staged.
+     */
+    public boolean stage(WriteBatch batch, String userId, AchievementEvent event) {
+        Map<String, AchievementState> states = statesByUser.get(userId);
+        if (states == null) {
+            return false;
+        }
+        Map<String, AchievementUpdate> updates = evaluate(achievements, event, states);
+        for (Map.Entry<String, AchievementUpdate> entry : updates.entrySet()) {
+            batch.update(getAchievementDoc(userId, entry.getKey()), toFields(entry.getValue()));
+            states.put(entry.getKey(), entry.getValue().applyTo(states.get(entry.getKey())));
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates an event and saves its progress in a transaction.
+     * <p>
+     * The documents of the achievements the event matches are read inside the transaction,
+     * so completion is decided from their current state, including progress saved from
+     * another device or by another user's session, and the transaction is retried if they
+     * change before it commits. The cache, if any, is refreshed from the states read.
+     * </p>
+     *
+     * @param userId The user's ID.
+     * @param event  The event.
+     * @return A task that completes once the progress is saved.
+     */
+    public Task<Void> record(String userId, AchievementEvent event) {
+        List<String> matchingIds = new ArrayList<>();
+        for (Achievement achievement : achievements) {
+            if (achievement.getRule() != null && achievement.getRule().matches(event)) {
+                matchingIds.add(achievement.getId());
+            }
+        }
+        if (matchingIds.isEmpty()) {
+            return Tasks.forResult(null);
+        }
+        return db.runTransaction(transaction -> {
+            Map<String, AchievementState> states = new HashMap<>();
+            for (String achievementId : matchingIds) {
+                DocumentSnapshot doc = transaction.get(getAchievementDoc(userId, achievementId));
+                if (doc.exists()) {
+                    states.put(achievementId, AchievementState.fromSnapshot(doc));
+                }
+            }
+            Map<String, AchievementUpdate> updates = evaluate(achievements, event, states);
+            for (Map.Entry<String, AchievementUpdate> entry : updates.entrySet()) {
+                transaction.update(getAchievementDoc(userId, entry.getKey()), toFields(entry.getValue()));
+                states.put(entry.getKey(), entry.getValue().applyTo(states.get(entry.getKey())));
+            }
+            return states;
+        }).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Failed to save achievement progress for " + event.getType(), task.getException());
+                invalidate(userId);
+                throw task.getException();
+            }
+            Map<String, AchievementState> cached = statesByUser.get(userId);
+            if (cached != null) {
+                cached.putAll(task.getResult());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Drops the cached states of a user so they are read again on the next event.
+     *
+     * @param userId The user's ID.
+     */
+    public void invalidate(String userId) {
+        statesByUser.remove(userId);
+    }
+
+    private DocumentReference getAchievementDoc(String userId, String achievementId) {
+        return db.collection("users")
+                .document(userId)
+                .collection("achievements")
+                .document(achievementId);
+    }
+
+    private static Map<String, Object> toFields(AchievementUpdate update) {
+        Map<String, Object> fields = new HashMap<>();
+        if (update.getProgress() != null) {
+            fields.put("progress", update.getProgress());
+        } else {
+            fields.put("progress", FieldValue.increment(update.getIncrement()));
+        }
+        if (update.getUniqueEntity() != null) {
+            fields.put("unique_entities", FieldValue.arrayUnion(update.getUniqueEntity()));
+        }
+        if (update.getStatus() != null) {
+            fields.put("completion_status", update.getStatus());
+        }
+        return fields;
+    }
+
+    private static List<Achievement> loadAchievements(Context context) {
+        try (InputStream inputStream = context.getAssets().open("achievements.json");
+             InputStreamReader reader = new InputStreamReader(inputStream)) {
+            AchievementsWrapper wrapper = new Gson().fromJson(reader, AchievementsWrapper.class);
+            if (wrapper != null && wrapper.getAchievements() != null) {
+                return wrapper.getAchievements();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading achievements from assets", e);
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.vibeverse;
+
+import java.util.Date;
+
+/**
+ * Something the user did that can make progress towards achievements.
+ * <p>
+ * Events are matched against the {@link AchievementRule} of every achievement by their
+ * type, one of the constants below, and by the attributes a rule's conditions look at.
+ * </p>
+ */
+public final class AchievementEvent {
+
+    /** A mood event was posted. */
+    public static final String MOOD_POSTED = "mood_posted";
+    /** An existing mood event was edited. */
+    public static final String MOOD_EDITED = "mood_edited";
+    /** The user edited their profile. */
+    public static final String PROFILE_EDITED = "profile_edited";
+    /** The user unfollowed someone. */
+    public static final String UNFOLLOWED = "unfollowed";
+    /** The user commented on or replied to a mood event. */
+    public static final String COMMENTED = "commented";
+    /** The user started following someone. */
+    public static final String FOLLOWED = "followed";
+    /** Someone started following the user. */
+    public static final String FOLLOWER_GAINED = "follower_gained";
+    /** The user's mood streak changed; {@link #getValue()} is the new streak. */
+    public static final String STREAK_CHANGED = "streak_changed";
+
+    private final String type;
+    private final Date date;
+    private final boolean isPublic;
+    private final boolean hasPhoto;
+    private final boolean hasLocation;
+    private final String moodTitle;
+    private final int value;
+
+    private AchievementEvent(String type, Date date, boolean isPublic, boolean hasPhoto,
+                             boolean hasLocation, String moodTitle, int value) {
+        this.type = type;
+        this.date = date;
+        this.isPublic = isPublic;
+        this.hasPhoto = hasPhoto;
+        this.hasLocation = hasLocation;
+        this.moodTitle = moodTitle;
+        this.value = value;
+    }
+
+    /**
+     * Creates an event with no attributes, such as a follow or a comment.
+     *
+     * @param type The event type.
+     * @return The event.
+     */
+    public static AchievementEvent of(String type) {
+        return new AchievementEvent(type, new Date(), false, false, false, null, 0);
+    }
+
+    /**
+     * Creates the event for posting a mood.
+     *
+     * @param mood        The posted mood event.
+     * @param hasLocation True if a location is attached to the mood event.
+     * @return The event.
+     */
+    public static AchievementEvent moodPosted(MoodEvent mood, boolean hasLocation) {
+        return moodPosted(mood, hasLocation, mood.getPhotograph() != null);
+    }
+
+    /**
+     * Creates the event for posting a mood whose photo may still be uploading.
+     *
+     * @param mood        The posted mood event.
+     * @param hasLocation True if a location is attached to the mood event.
+     * @param hasPhoto    True if a photo is attached to the mood event, stored or not.
+     * @return The event.
+     */
+    public static AchievementEvent moodPosted(MoodEvent mood, boolean hasLocation, boolean hasPhoto) {
+        return forMood(MOOD_POSTED, mood, hasLocation, hasPhoto);
+    }
+
+    /**
+     * Creates the event for editing a mood.
+     *
+     * @param mood The mood event as edited.
+     * @return The event.
+     */
+    public static AchievementEvent moodEdited(MoodEvent mood) {
+        return forMood(MOOD_EDITED, mood, false, mood.getPhotograph() != null);
+    }
+
+    /**
+     * Creates the event for a change of mood streak.
+     *
+     * @param streak The new streak in days.
+     * @return The event.
+     */
+    public static AchievementEvent streakChanged(int streak) {
+        return new AchievementEvent(STREAK_CHANGED, new Date(), false, false, false, null, streak);
+    }
+
+    private static AchievementEvent forMood(String type, MoodEvent mood, boolean hasLocation, boolean hasPhoto) {
+        Date date = mood.getDate() != null ? mood.getDate() : new Date();
+        return new AchievementEvent(type, date, mood.isPublic(), hasPhoto,
+                hasLocation, mood.getMoodTitle(), 0);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public boolean isPublic() {
+        return isPublic;
+    }
+
+    public boolean hasPhoto() {
+        return hasPhoto;
+    }
+
+    public boolean hasLocation() {
+        return hasLocation;
+    }
+
+    public String getMoodTitle() {
+        return moodTitle;
+    }
+
+    public int getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.vibeverse;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declares when an achievement makes progress, as read from the {@code rule} object of an
+ * entry in achievements.json.
+ * <p>
+ * A rule lists the event types it reacts to in {@code on}, optional conditions on the event
+ * in {@code when}, and how progress is counted in {@code type}:
+ * </p>
+ * <ul>
+ *     <li>{@code count} adds one per matching event while the achievement is incomplete;</li>
+ *     <li>{@code unique} counts distinct mood titles;</li>
+ *     <li>{@code value} mirrors the event's value, such as the current streak.</li>
+ * </ul>
+ * The achievement becomes unclaimed once progress reaches its {@code total}.
+ */
+public class AchievementRule {
+
+    public static final String TYPE_COUNT = "count";
+    public static final String TYPE_UNIQUE = "unique";
+    public static final String TYPE_VALUE = "value";
+
+    private List<String> on;
+    private String type;
+    private Conditions when;
+
+    /**
+     * Conditions an event must meet; unset conditions always match.
+     */
+    public static class Conditions {
+        /** The event must happen before this hour of the day. */
+        Integer hourBefore;
+        /** The event must happen during this hour of the day. */
+        Integer hour;
+        /** The month and day, as "MM-dd", the event must happen on. */
+        String date;
+        Boolean isPublic;
+        Boolean hasPhoto;
+        Boolean hasLocation;
+    }
+
+    /**
+     * Used by Gson and tests.
+     */
+    AchievementRule() {
+    }
+
+    AchievementRule(List<String> on, String type, Conditions when) {
+        this.on = on;
+        this.type = type;
+        this.when = when;
+    }
+
+    /**
+     * Returns whether the event is one this rule reacts to and meets its conditions.
+     *
+     * @param event The event.
+     * @return True if the event counts towards the achievement.
+     */
+    public boolean matches(AchievementEvent event) {
+        if (on == null || !on.contains(event.getType())) {
+            return false;
+        }
+        if (when == null) {
+            return true;
+        }
+        if (when.isPublic != null && when.isPublic != event.isPublic()) {
+            return false;
+        }
+        if (when.hasPhoto != null && when.hasPhoto != event.hasPhoto()) {
+            return false;
+        }
+        if (when.hasLocation != null && when.hasLocation != event.hasLocation()) {
+            return false;
+        }
+        if (when.hourBefore == null && when.hour == null && when.date == null) {
+            return true;
+        }
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(event.getDate());
+        int hourOfDay = cal.get(Calendar.HOUR_OF_DAY);
+        if (when.hourBefore != null && hourOfDay >= when.hourBefore) {
+            return false;
+        }
+        if (when.hour != null && hourOfDay != when.hour) {
+            return false;
+        }
+        if (when.date != null) {
+            String monthDay = String.format(Locale.US, "%02d-%02d",
+                    cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
+            return when.date.equals(monthDay);
+        }
+        return true;
+    }
+
+    /**
+     * Works out the change the event makes to an achievement.
+     *
+     * @param event The event.
+     * @param state The achievement's current state.
+     * @param total The progress needed to complete the achievement.
+     * @return The update, or null if the event changes nothing.
+     */
+    public AchievementUpdate evaluate(AchievementEvent event, AchievementState state, int total) {
+        if (state == null || !matches(event)) {
+            return null;
+        }
+        if (TYPE_VALUE.equals(type)) {
+            // A claimed reward stays claimed even if the value later drops
+            String status = AchievementState.CLAIMED.equals(state.getStatus()) ? null
+                    : event.getValue() >= total ? AchievementState.UNCLAIMED : AchievementState.INCOMPLETE;
+            return AchievementUpdate.set(event.getValue(), status);
+        }
+        if (!state.isIncomplete()) {
+            return null;
+        }
+        if (TYPE_UNIQUE.equals(type)) {
+            String title = event.getMoodTitle();
+            if (title == null || state.getUniqueEntities().contains(title)) {
+                return null;
+            }
+            int distinct = state.getUniqueEntities().size() + 1;
+            return AchievementUpdate.addUnique(title, distinct, distinct >= total ? AchievementState.UNCLAIMED : null);
+        }
+        if (TYPE_COUNT.equals(type)) {
+            long progress = state.getProgress() + 1;
+            return AchievementUpdate.increment(1, progress >= total ? AchievementState.UNCLAIMED : null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.vibeverse;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The stored progress of one achievement, as read from users/{id}/achievements/{achievementId}.
+ */
+public final class AchievementState {
+
+    /** Progress is still being made. */
+    public static final String INCOMPLETE = "incomplete";
+    /** The target was reached and the reward can be claimed. */
+    public static final String UNCLAIMED = "unclaimed";
+    /** The reward has been claimed. */
+    public static final String CLAIMED = "claimed";
+
+    private final long progress;
+    private final String status;
+    private final List<String> uniqueEntities;
+
+    /**
+     * @param progress       The current progress.
+     * @param status         The completion status.
+     * @param uniqueEntities The distinct values counted so far, for unique rules.
+     */
+    public AchievementState(long progress, String status, List<String> uniqueEntities) {
+        this.progress = progress;
+        this.status = status;
+        this.uniqueEntities = uniqueEntities == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(uniqueEntities));
+    }
+
+    /**
+     * Reads an achievement document.
+     *
+     * @param doc The achievement document.
+     * @return The state it holds.
+     */
+    @SuppressWarnings("unchecked")
+    public static AchievementState fromSnapshot(DocumentSnapshot doc) {
+        Long progress = doc.getLong("progress");
+        Object unique = doc.get("unique_entities");
+        return new AchievementState(progress != null ? progress : 0,
+                doc.getString("completion_status"),
+                unique instanceof List ? (List<String>) unique : null);
+    }
+
+    public long getProgress() {
+        return progress;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<String> getUniqueEntities() {
+        return uniqueEntities;
+    }
+
+    /**
+     * @return True if progress is still counted towards the achievement.
+     */
+    public boolean isIncomplete() {
+        return INCOMPLETE.equals(status);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The change an {@link AchievementRule} makes to one achievement in response to an event.
+ * <p>
+ * Progress is either incremented, so concurrent updates add up on the server, or set
+ * outright for rules that mirror a value such as the mood streak, and for unique rules, whose
+ * progress is the number of distinct values recorded.
+ * </p>
+ */
+public final class AchievementUpdate {
+
+    private final long increment;
+    private final Long progress;
+    private final String uniqueEntity;
+    private final String status;
+
+    private AchievementUpdate(long increment, Long progress, String uniqueEntity, String status) {
+        this.increment = increment;
+        this.progress = progress;
+        this.uniqueEntity = uniqueEntity;
+        this.status = status;
+    }
+
+    /**
+     * @param amount The amount to add to the progress.
+     * @param status The new completion status, or null to leave it unchanged.
+     */
+    static AchievementUpdate increment(long amount, String status) {
+        return new AchievementUpdate(amount, null, null, status);
+    }
+
+    /**
+     * @param entity   The distinct value to record.
+     * @param distinct The number of distinct values including this one; progress is set to it
+     *                 so it stays equal to the size of unique_entities.
+     * @param status   The new completion status, or null to leave it unchanged.
+     */
+    static AchievementUpdate addUnique(String entity, long distinct, String status) {
+        return new AchievementUpdate(0, distinct, entity, status);
+    }
+
+    /**
+     * @param progress The new progress.
+     * @param status   The new completion status, or null to leave it unchanged.
+     */
+    static AchievementUpdate set(long progress, String status) {
+        return new AchievementUpdate(0, progress, null, status);
+    }
+
+    /**
+     * @return The amount added to the progress, or 0 when progress is set.
+     */
+    public long getIncrement() {
+        return increment;
+    }
+
+    /**
+     * @return The progress the achievement is set to, or null when it is incremented.
+     */
+    public Long getProgress() {
+        return progress;
+    }
+
+    /**
+     * @return The distinct value added to unique_entities, or null.
+     */
+    public String getUniqueEntity() {
+        return uniqueEntity;
+    }
+
+    /**
+     * @return The new completion status, or null to leave it unchanged.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the state after this update, used to keep a cached snapshot current.
+     *
+     * @param state The state before the update.
+     * @return The updated state.
+     */
+    public AchievementState applyTo(AchievementState state) {
+        long newProgress = progress != null ? progress : state.getProgress() + increment;
+        List<String> unique = state.getUniqueEntities();
+        if (uniqueEntity != null && !unique.contains(uniqueEntity)) {
+            unique = new ArrayList<>(unique);
+            unique.add(uniqueEntity);
+        }
+        return new AchievementState(newProgress, status != null ? status : state.getStatus(), unique);
+    }
+}
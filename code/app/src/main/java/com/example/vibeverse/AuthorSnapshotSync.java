@@ -0,0 +1,99 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AuthorSnapshotSync copies a user's current username and profile picture onto the documents
+ * that store a snapshot of them: the user's moods, the timeline copies of those moods, the
+ * user's comments and replies, and the notifications the user has sent.
+ * <p>
+ * This runs after a profile edit so that lists rendered from those snapshots stay current.
+ * Updates are committed in WriteBatch chunks of at most 500 documents.
+ * </p>
+ */
+public class AuthorSnapshotSync {
+
+    private static final String TAG = "AuthorSnapshotSync";
+
+    /** Firestore limits a single WriteBatch to 500 operations. */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Constructs an AuthorSnapshotSync bound to the default Firestore instance.
+     */
+    public AuthorSnapshotSync() {
+        this.db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Writes the user's new display details to every document holding an author snapshot.
+     *
+     * @param userId        The user whose profile changed.
+     * @param username      The user's new username.
+     * @param profilePicUri The user's new profile picture URL, or null if they have none.
+     */
+    public void propagate(String userId, String username, String profilePicUri) {
+        Map<String, Object> moodFields = new HashMap<>();
+        moodFields.put("username", username);
+        moodFields.put("profilePicUri", profilePicUri);
+
+        Map<String, Object> commentFields = new HashMap<>();
+        commentFields.put("authorUsername", username);
+        commentFields.put("authorProfilePicUri", profilePicUri);
+
+        Map<String, Object> notificationFields = new HashMap<>();
+        notificationFields.put("senderUsername", username);
+        notificationFields.put("senderProfilePicUri", profilePicUri);
+
+        updateAll(db.collection("Usermoods").document(userId).collection("moods"), moodFields);
+        updateAll(db.collectionGroup(FeedTimeline.TIMELINE_COLLECTION).whereEqualTo("ownerUserId", userId), moodFields);
+        updateAll(db.collectionGroup("comments").whereEqualTo("authorUserId", userId), commentFields);
+        updateAll(db.collectionGroup("replies").whereEqualTo("authorUserId", userId), commentFields);
+        updateAll(db.collectionGroup("notifications").whereEqualTo("senderUserId", userId), notificationFields);
+    }
+
+    /**
+     * Applies the same field update to every document matched by a query.
+     *
+     * @param query  The documents to update.
+     * @param fields The fields to write.
+     */
+    private void updateAll(Query query, Map<String, Object> fields) {
+        query.get()
+                .addOnSuccessListener(snapshots -> {
+                    WriteBatch batch = db.batch();
+                    int pending = 0;
+                    for (DocumentSnapshot doc : snapshots.getDocuments()) {
+                        batch.update(doc.getReference(), fields);
+                        if (++pending == MAX_BATCH_SIZE) {
+                            commit(batch);
+                            batch = db.batch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        commit(batch);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error reading documents to update", e));
+    }
+
+    /**
+     * Commits a batch, logging any failure.
+     *
+     * @param batch The batch to commit.
+     */
+    private void commit(WriteBatch batch) {
+        batch.commit().addOnFailureListener(e -> Log.e(TAG, "Error committing author snapshot batch", e));
+    }
+}
@@ -16,6 +16,10 @@ public class Comment {
 
     private String parentCommentId; // the commentId of the comment it is replying to
 
+    // Snapshot of the author's profile, written with the comment so lists need no user lookups
+    private String authorUsername;
+    private String authorProfilePicUri;
+
     /**
      * Default constructor.
      */
@@ -150,5 +154,39 @@ public class Comment {
         this.parentCommentId = repliesTo;
     }
 
+    /**
+     * Returns the author's username as stored on the comment.
+     *
+     * @return the author's username, or null for comments written before it was stored.
+     */
+    public String getAuthorUsername() {
+        return authorUsername;
+    }
+
+    /**
+     * Sets the author's username stored on the comment.
+     *
+     * @param authorUsername the author's username to set.
+     */
+    public void setAuthorUsername(String authorUsername) {
+        this.authorUsername = authorUsername;
+    }
 
+    /**
+     * Returns the author's profile picture URL as stored on the comment.
+     *
+     * @return the author's profile picture URL, or null if none is stored.
+     */
+    public String getAuthorProfilePicUri() {
+        return authorProfilePicUri;
+    }
+
+    /**
+     * Sets the author's profile picture URL stored on the comment.
+     *
+     * @param authorProfilePicUri the author's profile picture URL to set.
+     */
+    public void setAuthorProfilePicUri(String authorProfilePicUri) {
+        this.authorProfilePicUri = authorProfilePicUri;
+    }
 }
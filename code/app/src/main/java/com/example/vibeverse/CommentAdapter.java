@@ -17,16 +17,21 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Adapter for displaying comments and their replies in a RecyclerView.
+ * <p>
+ * Replies are not queried per row: the hosting activity listens to all of the mood's replies
+ * once and passes them to {@link #updateReplies(List)}, and each row reads its nested list
+ * from the shared {@link ReplyThreads}.
+ * </p>
  */
 public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentViewHolder> {
 
@@ -34,6 +39,7 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
     private List<Comment> commentList;
     private FirebaseFirestore db;
     private OnReplyClickListener replyClickListener;
+    private final ReplyThreads replyThreads = new ReplyThreads();
 
     private String moodUserId;
     private String moodDocId;
@@ -85,6 +91,7 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
         TextView commentContent;
         ImageView replyButton, deleteIcon;
         RecyclerView repliesRecycler;
+        ReplyAdapter replyAdapter;
 
         /**
          * Constructs a CommentViewHolder.
@@ -114,7 +121,12 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
     @Override
     public CommentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.comment_item, parent, false);
-        return new CommentViewHolder(view);
+        CommentViewHolder holder = new CommentViewHolder(view);
+        // One nested adapter per holder, refilled on every bind
+        holder.replyAdapter = new ReplyAdapter(context, new ArrayList<>(), moodUserId, moodDocId);
+        holder.repliesRecycler.setLayoutManager(new LinearLayoutManager(context));
+        holder.repliesRecycler.setAdapter(holder.replyAdapter);
+        return holder;
     }
 
     /**
@@ -135,25 +147,18 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
 
         // Load author details for parent comment
         String authorUserId = comment.getAuthorUserId();
-        db.collection("users").document(authorUserId).get().addOnSuccessListener(documentSnapshot -> {
-            if (documentSnapshot.exists()) {
-                String username = documentSnapshot.getString("username");
-                holder.username.setText(username != null ? username : "Unknown");
-                Boolean hasProfilePic = documentSnapshot.getBoolean("hasProfilePic");
-                String profilePicUri = documentSnapshot.getString("profilePicUri");
-                if (hasProfilePic != null && hasProfilePic && profilePicUri != null && !profilePicUri.isEmpty()) {
-                    Glide.with(context).load(profilePicUri).into(holder.profilePic);
-                } else {
-                    holder.profilePic.setImageResource(R.drawable.user_icon);
-                }
+        if (comment.getAuthorUsername() != null) {
+            // The author snapshot stored on the comment avoids a user lookup
+            holder.username.setTag(null);
+            holder.username.setText(comment.getAuthorUsername());
+            if (comment.getAuthorProfilePicUri() != null) {
+                Glide.with(context).load(comment.getAuthorProfilePicUri()).into(holder.profilePic);
             } else {
-                holder.username.setText("Unknown");
                 holder.profilePic.setImageResource(R.drawable.user_icon);
             }
-        }).addOnFailureListener(e -> {
-            holder.username.setText("Unknown");
-            holder.profilePic.setImageResource(R.drawable.user_icon);
-        });
+        } else {
+            bindAuthorFromCache(holder, authorUserId);
+        }
 
         // Set reply button click listener for parent comment
         holder.replyButton.setOnClickListener(v -> {
@@ -196,41 +201,38 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
             }
         });
 
-        // Now load replies for this comment into the nested RecyclerView
-        holder.repliesRecycler.setLayoutManager(new LinearLayoutManager(context));
-        List<Comment> repliesList = new ArrayList<>();
-        ReplyAdapter replyAdapter = new ReplyAdapter(context, repliesList, moodUserId, moodDocId);
-        holder.repliesRecycler.setAdapter(replyAdapter);
-        // Initially hide replies RecyclerView until replies are found
-        holder.repliesRecycler.setVisibility(View.GONE);
-
-        // Query Firestore for replies for this comment
-        db.collection("Usermoods")
-                .document(moodUserId)
-                .collection("moods")
-                .document(moodDocId)
-                .collection("comments")
-                .document(comment.getCommentId())
-                .collection("replies")
-                .orderBy("timestamp")
-                .addSnapshotListener((querySnapshot, e) -> {
-                    if (e != null) {
-                        // Optionally handle the error
-                        return;
-                    }
-                    if (querySnapshot != null) {
-                        repliesList.clear();
-                        for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                            Comment reply = doc.toObject(Comment.class);
-                            if (reply != null) {
-                                repliesList.add(reply);
-                            }
-                        }
-                        replyAdapter.notifyDataSetChanged();
-                        holder.repliesRecycler.setVisibility(repliesList.isEmpty() ? View.GONE : View.VISIBLE);
-                    }
-                });
+        // Fill the nested RecyclerView from the replies already grouped for this comment
+        List<Comment> replies = replyThreads.getReplies(comment.getCommentId());
+        holder.replyAdapter.updateReplies(replies);
+        holder.repliesRecycler.setVisibility(replies.isEmpty() ? View.GONE : View.VISIBLE);
+    }
 
+    /**
+     * Loads a comment author's username and profile picture through the shared profile cache.
+     *
+     * @param holder       the view holder to fill in.
+     * @param authorUserId the user ID of the author.
+     */
+    private void bindAuthorFromCache(CommentViewHolder holder, String authorUserId) {
+        holder.username.setTag(authorUserId);
+        UserProfileCache.getInstance().get(authorUserId, profile -> {
+            // The holder may have been recycled for another comment while loading
+            if (!authorUserId.equals(holder.username.getTag())) {
+                return;
+            }
+            if (profile != null) {
+                String username = profile.getUsername();
+                holder.username.setText(username != null ? username : "Unknown");
+                if (profile.hasLoadableProfilePic()) {
+                    Glide.with(context).load(profile.getProfilePicUri()).into(holder.profilePic);
+                } else {
+                    holder.profilePic.setImageResource(R.drawable.user_icon);
+                }
+            } else {
+                holder.username.setText("Unknown");
+                holder.profilePic.setImageResource(R.drawable.user_icon);
+            }
+        });
     }
 
     /**
@@ -252,4 +254,22 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
         this.commentList = newComments;
         notifyDataSetChanged();
     }
+
+    /**
+     * Replaces the replies shown under the comments and rebinds only the comments whose
+     * replies changed.
+     *
+     * @param replies every reply on the mood, in any order.
+     */
+    public void updateReplies(List<Comment> replies) {
+        Set<String> changed = replyThreads.setReplies(replies);
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < commentList.size(); i++) {
+            if (changed.contains(commentList.get(i).getCommentId())) {
+                notifyItemChanged(i);
+            }
+        }
+    }
 }
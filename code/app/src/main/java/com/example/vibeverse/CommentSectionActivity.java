@@ -18,15 +18,18 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
 
 
 import java.text.SimpleDateFormat;
@@ -71,8 +74,12 @@ public class CommentSectionActivity extends AppCompatActivity {
 
     private CommentAdapter commentAdapter;
     private List<Comment> commentList;
+    private SnapshotListModel<Comment> commentModel;
+    // False until the current listener's first snapshot has replaced the list
+    private boolean commentsSynced;
 
     private ListenerRegistration commentListener;
+    private ListenerRegistration repliesListener;
 
     private Comment replyingToComment = null; // null means not in reply mode
 
@@ -114,7 +121,9 @@ public class CommentSectionActivity extends AppCompatActivity {
 
         postMenuButton.setVisibility(View.GONE);
 
-        fetchUserTheme(() -> loadMoodDetails());
+        // The session also keeps the active user's profile at hand for the author snapshot on new comments
+        selectedTheme = UserSession.getInstance(this).getSelectedTheme();
+        loadMoodDetails();
 
         // Setup the comment section
         recyclerComments = findViewById(R.id.recyclerComments);
@@ -122,21 +131,19 @@ public class CommentSectionActivity extends AppCompatActivity {
         commentList = new ArrayList<>();
         commentAdapter = new CommentAdapter(this, commentList, moodUserId, moodDocId);
         recyclerComments.setAdapter(commentAdapter);
+        commentModel = new SnapshotListModel<>(commentList, Comment::getCommentId,
+                new AdapterListUpdateCallback(commentAdapter));
 
         commentAdapter.setOnReplyClickListener(comment -> {
             replyingToComment = comment;
             String authorUserId = comment.getAuthorUserId();
-            db.collection("users").document(authorUserId)
-                    .get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            String username = documentSnapshot.getString("username");
-                            replyBannerText.setText("Replying to " + username);
-                        } else {
-                            replyBannerText.setText("Replying to Unknown");
-                        }
-                    })
-                    .addOnFailureListener(e -> replyBannerText.setText("Replying to Unknown"));
+            UserProfileCache.getInstance().get(authorUserId, profile -> {
+                if (profile != null) {
+                    replyBannerText.setText("Replying to " + profile.getUsername());
+                } else {
+                    replyBannerText.setText("Replying to Unknown");
+                }
+            });
             replyBanner.setVisibility(View.VISIBLE);
         });
 
@@ -153,11 +160,14 @@ public class CommentSectionActivity extends AppCompatActivity {
     }
 
     /**
-     * Attaches a Firestore snapshot listener to the comments collection when the activity starts.
+     * Attaches Firestore snapshot listeners to the comments and to all of their replies when
+     * the activity starts.
      */
     @Override
     protected void onStart() {
         super.onStart();
+        // A new listener reports every comment as added, so its first snapshot reloads the list.
+        commentsSynced = false;
         // Attach a snapshot listener to the comments collection for real-time updates.
         commentListener = db.collection("Usermoods")
                 .document(moodUserId)
@@ -171,24 +181,91 @@ public class CommentSectionActivity extends AppCompatActivity {
                         return;
                     }
                     if (querySnapshot != null) {
-                        commentList.clear();
+                        applyCommentChanges(querySnapshot);
+                    }
+                });
+
+        // One listener for every reply on this mood, grouped by parent in the adapter,
+        // instead of one listener per bound comment row.
+        String moodPath = "Usermoods/" + moodUserId + "/moods/" + moodDocId + "/";
+        repliesListener = db.collectionGroup("replies")
+                .whereEqualTo("postId", moodDocId)
+                .addSnapshotListener((querySnapshot, e) -> {
+                    if (e != null) {
+                        Toast.makeText(CommentSectionActivity.this, "Failed to load replies: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    if (querySnapshot != null) {
+                        List<Comment> replies = new ArrayList<>();
                         for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                            Comment comment = doc.toObject(Comment.class);
-                            if (comment != null) {
-                                commentList.add(comment);
+                            // Mood IDs are only unique per owner, so keep replies under this mood
+                            if (!doc.getReference().getPath().startsWith(moodPath)) {
+                                continue;
+                            }
+                            Comment reply = DocumentCodec.decodeComment(doc);
+                            if (reply != null) {
+                                replies.add(reply);
                             }
                         }
-                        commentAdapter.notifyDataSetChanged();
-                        // Optionally scroll to the bottom.
-                        if (!commentList.isEmpty()) {
-                            recyclerComments.smoothScrollToPosition(commentList.size() - 1);
-                        }
+                        commentAdapter.updateReplies(replies);
                     }
                 });
     }
 
     /**
-     * Removes the Firestore snapshot listener when the activity stops.
+     * Applies the document changes of a comments snapshot to the displayed list, decoding and
+     * rebinding only the comments that were added, modified or removed. Falls back to a full
+     * reload if a change does not line up with the current list.
+     *
+     * @param querySnapshot The comments snapshot.
+     */
+    private void applyCommentChanges(QuerySnapshot querySnapshot) {
+        List<String> authorIds = new ArrayList<>();
+        boolean added = false;
+        boolean applied = commentsSynced;
+        if (applied) {
+            for (DocumentChange change : querySnapshot.getDocumentChanges()) {
+                DocumentSnapshot doc = change.getDocument();
+                SnapshotListModel.ChangeType type = SnapshotListModel.ChangeType.valueOf(change.getType().name());
+                applied = commentModel.apply(type, change.getOldIndex(), change.getNewIndex(), doc.getId(), () -> {
+                    Comment comment = DocumentCodec.decodeComment(doc);
+                    if (comment != null && comment.getAuthorUsername() == null) {
+                        authorIds.add(comment.getAuthorUserId());
+                    }
+                    return comment;
+                });
+                if (!applied) {
+                    break;
+                }
+                added |= type == SnapshotListModel.ChangeType.ADDED;
+            }
+        }
+
+        if (!applied) {
+            List<Comment> comments = new ArrayList<>();
+            for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
+                Comment comment = DocumentCodec.decodeComment(doc);
+                if (comment != null) {
+                    comments.add(comment);
+                    if (comment.getAuthorUsername() == null) {
+                        authorIds.add(comment.getAuthorUserId());
+                    }
+                }
+            }
+            commentModel.replaceAll(comments);
+            commentsSynced = true;
+            added = true;
+        }
+
+        // Resolve the new authors in a few batched reads; rows bound meanwhile wait for them.
+        UserProfileCache.getInstance().prefetch(authorIds, () -> { });
+        if (added && !commentList.isEmpty()) {
+            recyclerComments.smoothScrollToPosition(commentList.size() - 1);
+        }
+    }
+
+    /**
+     * Removes the Firestore snapshot listeners when the activity stops.
      */
     @Override
     protected void onStop() {
@@ -196,30 +273,12 @@ public class CommentSectionActivity extends AppCompatActivity {
         // Remove the listener when the activity is no longer visible.
         if (commentListener != null) {
             commentListener.remove();
+            commentListener = null;
+        }
+        if (repliesListener != null) {
+            repliesListener.remove();
+            repliesListener = null;
         }
-    }
-
-    /**
-     * Fetches the current user's selected theme from Firestore.
-     *
-     * @param onComplete Runnable to execute after the theme is fetched.
-     */
-    private void fetchUserTheme(final Runnable onComplete) {
-        String currentUserId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(currentUserId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists() && documentSnapshot.contains("selectedTheme")) {
-                        selectedTheme = documentSnapshot.getString("selectedTheme");
-                    } else {
-                        selectedTheme = "default";
-                    }
-                    onComplete.run();
-                })
-                .addOnFailureListener(e -> {
-                    selectedTheme = "default";
-                    onComplete.run();
-                });
     }
 
     /**
@@ -234,6 +293,19 @@ public class CommentSectionActivity extends AppCompatActivity {
         }
 
         String currentUserId = mAuth.getCurrentUser() != null ? mAuth.getCurrentUser().getUid() : "anonymous";
+        // The author's display details are stored with the comment so it renders without a user lookup
+        UserSession.getInstance(this).getAuthorProfile(currentUserId,
+                author -> postComment(commentText, currentUserId, author));
+    }
+
+    /**
+     * Writes a comment or reply along with its author's display details.
+     *
+     * @param commentText   The text of the comment.
+     * @param currentUserId The author's user ID.
+     * @param author        The author's profile, or null if it could not be read.
+     */
+    private void postComment(String commentText, String currentUserId, UserProfileCache.UserProfile author) {
         String commentId = db.collection("Usermoods")
                 .document(moodUserId)
                 .collection("moods")
@@ -253,7 +325,12 @@ public class CommentSectionActivity extends AppCompatActivity {
                 parentCommentId
         );
 
-        AchievementChecker achievementChecker = new AchievementChecker(currentUserId);
+        if (author != null) {
+            newComment.setAuthorUsername(author.getUsername());
+            newComment.setAuthorProfilePicUri(author.hasLoadableProfilePic() ? author.getProfilePicUri() : null);
+        }
+
+        AchievementChecker achievementChecker = new AchievementChecker(this, currentUserId);
 
         if (replyingToComment != null) {
             // Save as a reply in the parent's "replies" subcollection.
@@ -270,7 +347,7 @@ public class CommentSectionActivity extends AppCompatActivity {
                         Toast.makeText(CommentSectionActivity.this, "Reply added", Toast.LENGTH_SHORT).show();
                         editComment.setText("");
 
-                        achievementChecker.checkAch14();
+                        achievementChecker.onCommented();
 
                         // Store the parent comment's author before resetting reply mode.
                         String parentAuthorId = replyingToComment.getAuthorUserId();
@@ -352,14 +429,16 @@ public class CommentSectionActivity extends AppCompatActivity {
                                                         Map<String, Object> notifData = new HashMap<>();
                                                         notifData.put("content", replyNotification.getContent());
                                                         notifData.put("dateTime", replyNotification.getDateTime());
+                                                        notifData.put(Notification.FIELD_CREATED_AT, com.google.firebase.firestore.FieldValue.serverTimestamp());
                                                         notifData.put("notifType", replyNotification.getNotifType().name());
                                                         notifData.put("senderUserId", replyNotification.getSenderUserId());
                                                         notifData.put("receiverUserId", replyNotification.getReceiverUserId());
-                                                        notifData.put("isRead", replyNotification.isRead());
                                                         notifData.put("requestStatus", replyNotification.getRequestStatus());
                                                         notifData.put("moodEventId", replyNotification.getMoodEventId());
                                                         notifData.put("moodOwnerId", replyNotification.getMoodOwnerId());
                                                         notifData.put("id", notifId);
+                                                        notifData.put("senderUsername", activeUsername);
+                                                        notifData.put("senderProfilePicUri", docSnapshot.getString("profilePicUri"));
 
                                                         // Save the notification to the parent comment's author's notifications subcollection.
                                                         recipientUserRef.collection("notifications")
@@ -417,7 +496,7 @@ public class CommentSectionActivity extends AppCompatActivity {
                                 .document("init")
                                 .set(Collections.singletonMap("init", true));
 
-                        achievementChecker.checkAch14();
+                        achievementChecker.onCommented();
 
                         // Only generate notification if the commenter is not commenting on their own post.
                         if (!moodUserId.equals(currentUserId)) {
@@ -477,14 +556,16 @@ public class CommentSectionActivity extends AppCompatActivity {
                                             Map<String, Object> notifData = new HashMap<>();
                                             notifData.put("content", commentNotification.getContent());
                                             notifData.put("dateTime", commentNotification.getDateTime());
+                                            notifData.put(Notification.FIELD_CREATED_AT, com.google.firebase.firestore.FieldValue.serverTimestamp());
                                             notifData.put("notifType", commentNotification.getNotifType().name());
                                             notifData.put("senderUserId", commentNotification.getSenderUserId());
                                             notifData.put("receiverUserId", commentNotification.getReceiverUserId());
-                                            notifData.put("isRead", commentNotification.isRead());
                                             notifData.put("requestStatus", commentNotification.getRequestStatus());
                                             notifData.put("moodEventId", commentNotification.getMoodEventId());
                                             notifData.put("moodOwnerId", commentNotification.getMoodOwnerId());
                                             notifData.put("id", notifId);
+                                            notifData.put("senderUsername", activeUsername);
+                                            notifData.put("senderProfilePicUri", docSnapshot.getString("profilePicUri"));
 
                                             // Save the notification to the post author's notifications subcollection.
                                             recipientUserRef.collection("notifications")
@@ -531,18 +612,6 @@ public class CommentSectionActivity extends AppCompatActivity {
         return Color.rgb(red, green, blue);
     }
 
-    /**
-     * Retrieves the drawable resource ID for a given emoji based on the mood and theme.
-     *
-     * @param moodId the mood identifier.
-     * @param theme  the theme identifier.
-     * @return the drawable resource ID.
-     */
-    private int getEmojiResourceId(String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return getResources().getIdentifier(resourceName, "drawable", getPackageName());
-    }
-
     /**
      * Loads mood details from Firestore and updates the UI accordingly.
      */
@@ -583,7 +652,7 @@ public class CommentSectionActivity extends AppCompatActivity {
                         }
 
                         // Set the PNG emoji using the helper method.
-                        int emojiResId = getEmojiResourceId(moodTitle, selectedTheme);
+                        int emojiResId = EmojiDrawables.get(moodTitle, selectedTheme);
                         imageEmoji.setImageResource(emojiResId);
 
                         // Load the image if available.
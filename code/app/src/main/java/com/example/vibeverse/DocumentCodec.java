@@ -0,0 +1,297 @@
+package com.example.vibeverse;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * DocumentCodec decodes Firestore documents into the app's model classes.
+ * <p>
+ * Each decoder walks the document's fields once, switching on the field name, instead of
+ * looking every field up by key or mapping it through reflection as
+ * {@link DocumentSnapshot#toObject(Class)} does. Photograph URIs and dates are kept as
+ * strings and millis until they are first requested, and nothing is logged per document.
+ * </p>
+ */
+public final class DocumentCodec {
+
+    private DocumentCodec() {
+    }
+
+    /**
+     * Decodes a mood event document. Produces the same MoodEvent as {@link MoodEvent#fromMap(Map)}.
+     *
+     * @param doc The mood event document.
+     * @return The decoded MoodEvent, or null if the document has no data.
+     */
+    public static MoodEvent decodeMoodEvent(DocumentSnapshot doc) {
+        return decodeMoodEvent(doc.getData());
+    }
+
+    /**
+     * Decodes the fields of a mood event.
+     *
+     * @param data The mood event's Firestore fields.
+     * @return The decoded MoodEvent, or null if data is null.
+     */
+    public static MoodEvent decodeMoodEvent(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        MoodEvent moodEvent = new MoodEvent();
+        Date createdAt = null;
+        boolean hasPhoto = false;
+        String photoUri = null;
+        long photoDateTaken = 0;
+        String photoLocation = "Unknown";
+        long photoSizeKB = 0;
+
+        for (Map.Entry<String, Object> field : data.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "emoji":
+                    moodEvent.setMoodEmoji((String) value);
+                    break;
+                case "mood":
+                    moodEvent.setMoodTitle(Mood.normalize((String) value));
+                    break;
+                case "socialSituation":
+                    moodEvent.setSocialSituation((String) value);
+                    break;
+                case "moodLocation":
+                    moodEvent.setMoodLocation((String) value);
+                    break;
+                case "reasonWhy":
+                    moodEvent.setReasonWhy((String) value);
+                    break;
+                case "ownerUserId":
+                    moodEvent.setOwnerUserId((String) value);
+                    break;
+                case "isPublic":
+                    moodEvent.setPrivacy(Boolean.TRUE.equals(value));
+                    break;
+                case "documentId":
+                    moodEvent.setDocumentId((String) value);
+                    break;
+                case "username":
+                    moodEvent.setUsername((String) value);
+                    break;
+                case "profilePicUri":
+                    moodEvent.setProfilePictureUrl((String) value);
+                    break;
+                case "timestamp":
+                    moodEvent.setTimestamp((String) value);
+                    break;
+                case MoodEvent.FIELD_CREATED_AT:
+                    if (value instanceof Timestamp) {
+                        createdAt = ((Timestamp) value).toDate();
+                    }
+                    break;
+                case "intensity":
+                    if (value instanceof Number) {
+                        moodEvent.setIntensity(((Number) value).intValue());
+                    }
+                    break;
+                case "hasPhoto":
+                    hasPhoto = Boolean.TRUE.equals(value);
+                    break;
+                case "photoUri":
+                    photoUri = (String) value;
+                    break;
+                case "photoDateTaken":
+                    photoDateTaken = toMillis(value);
+                    break;
+                case "photoLocation":
+                    photoLocation = (String) value;
+                    break;
+                case "photoSizeKB":
+                    if (value instanceof Number) {
+                        photoSizeKB = ((Number) value).longValue();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // Moods not yet migrated to createdAt still need their display string parsed
+        if (createdAt == null && moodEvent.getTimestamp() != null) {
+            createdAt = MoodEvent.parseLegacyTimestamp(moodEvent.getTimestamp());
+        }
+        moodEvent.setDate(createdAt);
+
+        if (hasPhoto && photoUri != null && !photoUri.equals("N/A")) {
+            // A missing capture time defaults to now, as in MoodEvent.fromMap
+            long dateTaken = photoDateTaken != 0 ? photoDateTaken : System.currentTimeMillis();
+            moodEvent.setPhotograph(new Photograph(photoUri, photoSizeKB, dateTaken, photoLocation));
+        }
+        return moodEvent;
+    }
+
+    /**
+     * Decodes a comment or reply document without reflection.
+     *
+     * @param doc The comment document.
+     * @return The decoded Comment, or null if the document has no data.
+     */
+    public static Comment decodeComment(DocumentSnapshot doc) {
+        return decodeComment(doc.getData());
+    }
+
+    /**
+     * Decodes the fields of a comment or reply.
+     *
+     * @param data The comment's Firestore fields.
+     * @return The decoded Comment, or null if data is null.
+     */
+    public static Comment decodeComment(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        Comment comment = new Comment();
+        for (Map.Entry<String, Object> field : data.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "commentId":
+                    comment.setCommentId((String) value);
+                    break;
+                case "content":
+                    comment.setContent((String) value);
+                    break;
+                case "authorUserId":
+                    comment.setAuthorUserId((String) value);
+                    break;
+                case "timestamp":
+                    if (value instanceof Timestamp) {
+                        comment.setTimestamp(((Timestamp) value).toDate());
+                    } else if (value instanceof Date) {
+                        comment.setTimestamp((Date) value);
+                    }
+                    break;
+                case "postId":
+                    comment.setPostId((String) value);
+                    break;
+                case "repliesTo":
+                    comment.setRepliesTo((String) value);
+                    break;
+                case "authorUsername":
+                    comment.setAuthorUsername((String) value);
+                    break;
+                case "authorProfilePicUri":
+                    comment.setAuthorProfilePicUri((String) value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return comment;
+    }
+
+    /**
+     * Decodes a notification document without reflection.
+     *
+     * @param doc The notification document.
+     * @return The decoded Notification, or null if the document has no data.
+     */
+    public static Notification decodeNotification(DocumentSnapshot doc) {
+        return decodeNotification(doc.getData());
+    }
+
+    /**
+     * Decodes the fields of a notification.
+     *
+     * @param data The notification's Firestore fields.
+     * @return The decoded Notification, or null if data is null.
+     */
+    public static Notification decodeNotification(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        Notification notification = new Notification();
+        for (Map.Entry<String, Object> field : data.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "id":
+                    notification.setId((String) value);
+                    break;
+                case "content":
+                    notification.setContent((String) value);
+                    break;
+                case "dateTime":
+                    notification.setDateTime((String) value);
+                    break;
+                case "notifType":
+                    notification.setNotifType(toNotifType(value));
+                    break;
+                case "senderUserId":
+                    notification.setSenderUserId((String) value);
+                    break;
+                case "receiverUserId":
+                    notification.setReceiverUserId((String) value);
+                    break;
+                case "isRead":
+                    notification.setRead(Boolean.TRUE.equals(value));
+                    break;
+                case "requestStatus":
+                    notification.setRequestStatus((String) value);
+                    break;
+                case "moodEventId":
+                    notification.setMoodEventId((String) value);
+                    break;
+                case "moodOwnerId":
+                    notification.setMoodOwnerId((String) value);
+                    break;
+                case "senderUsername":
+                    notification.setSenderUsername((String) value);
+                    break;
+                case "senderProfilePicUri":
+                    notification.setSenderProfilePicUri((String) value);
+                    break;
+                case Notification.FIELD_CREATED_AT:
+                    if (value instanceof Timestamp) {
+                        notification.setCreatedAt(((Timestamp) value).toDate());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return notification;
+    }
+
+    /**
+     * Reads a stored time as millis. Older moods store millis, others a Timestamp.
+     *
+     * @param value The stored value.
+     * @return The time in millis, or 0 if the value is neither.
+     */
+    private static long toMillis(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            return timestamp.getSeconds() * 1000L + timestamp.getNanoseconds() / 1_000_000;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads a stored notification type.
+     *
+     * @param value The stored enum name.
+     * @return The NotifType, or null if the value is not a known type.
+     */
+    private static Notification.NotifType toNotifType(Object value) {
+        if (!(value instanceof String)) {
+            return null;
+        }
+        try {
+            return Notification.NotifType.valueOf((String) value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
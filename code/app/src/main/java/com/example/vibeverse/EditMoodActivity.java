@@ -69,10 +69,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * EditMoodActivity allows users to update an existing mood event.
@@ -105,11 +103,7 @@ public class EditMoodActivity extends AppCompatActivity {
     private String selectedEmoji;
     private int selectedColor;
 
-    // Maps for mood colors & emojis
-    private final Map<String, Integer> moodColors = new HashMap<>();
-    private final Map<String, String> moodEmojis = new HashMap<>();
-
-    private int moodPosition; // Position of the mood in the list
+    private String moodDocumentId; // Firestore document ID of the mood being edited
     private ImageView imgSelected, imgPlaceholder;
 
     private String currentImageUri;
@@ -203,23 +197,9 @@ public class EditMoodActivity extends AppCompatActivity {
             }
         }
 
-        // Pull the user's selected theme from Firestore and then initialize the rest
-        db.collection("users").document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists() && documentSnapshot.contains("selectedTheme")) {
-                        selectedTheme = documentSnapshot.getString("selectedTheme");
-                    } else {
-                        selectedTheme = "clown"; // Fallback default
-                    }
-                    // Continue with the UI initialization after theme is loaded
-                    initializeUI();
-                })
-                .addOnFailureListener(e -> {
-                    // In case of error, fallback to default and initialize UI
-                    selectedTheme = "clown";
-                    initializeUI();
-                });
+        // The session already holds the user's selected theme, so the UI can be built right away
+        selectedTheme = UserSession.getInstance(this).getSelectedTheme();
+        initializeUI();
     }
 
     /**
@@ -324,16 +304,13 @@ public class EditMoodActivity extends AppCompatActivity {
             btnTestImage.setForeground(getDrawable(android.R.drawable.list_selector_background));
         }
 
-        // Initialize mood colors and emojis
-        initializeMoodColors();
-        initializeMoodEmojis();
-
         // Retrieve mood info from the Intent
         Intent intent = getIntent();
-        selectedMood = intent.getStringExtra("selectedMood");
+        selectedMood = Mood.normalize(intent.getStringExtra("selectedMood"));
         selectedEmoji = intent.getStringExtra("selectedEmoji");
-        selectedColor = moodColors.getOrDefault(selectedMood, Color.GRAY);
-        moodPosition = intent.getIntExtra("moodPosition", -1);
+        Mood mood = Mood.of(selectedMood);
+        selectedColor = mood != null ? mood.getAccentColor() : Color.GRAY;
+        moodDocumentId = intent.getStringExtra("moodDocumentId");
         isPublic = intent.getBooleanExtra("isPublic", false);
         String timestamp = intent.getStringExtra("timestamp");
         String reasonWhy = intent.getStringExtra("reasonWhy");
@@ -546,16 +523,8 @@ public class EditMoodActivity extends AppCompatActivity {
                         updatedMoodEvent.setIntensity(moodIntensitySlider.getProgress());
                         updatedMoodEvent.setDate(currentDate);
 
-                        // Instantiate AchievementChecker and perform visibility and photo achievement checks
-                        AchievementChecker achievementChecker = new AchievementChecker(userId);
-                        if (isPublic) {
-                            achievementChecker.checkAch7(updatedMoodEvent);
-                        } else {
-                            achievementChecker.checkAch8(updatedMoodEvent);
-                        }
-                        if (updatedMoodEvent.getPhotograph() != null) {
-                            achievementChecker.checkAch22(updatedMoodEvent);
-                        }
+                        // Record the edit so the visibility and photo achievements can progress
+                        new AchievementChecker(EditMoodActivity.this, userId).onMoodEdited(updatedMoodEvent);
 
                         Intent resultIntent = new Intent();
                         resultIntent.putExtra("updatedMood", selectedMood);
@@ -563,7 +532,7 @@ public class EditMoodActivity extends AppCompatActivity {
                         resultIntent.putExtra("updatedReasonWhy", reasonWhyInput.getText().toString().trim());
                         resultIntent.putExtra("updatedSocialSituation", socialSituationInput.getSelectedItem().toString().trim());
                         resultIntent.putExtra("timestamp", new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault()).format(new Date()));
-                        resultIntent.putExtra("moodPosition", moodPosition);
+                        resultIntent.putExtra("moodDocumentId", moodDocumentId);
                         resultIntent.putExtra("updatedPhotoUri", (currentImageUri != null) ? currentImageUri : "N/A");
                         resultIntent.putExtra("updatedIntensity", moodIntensitySlider.getProgress());
                         resultIntent.putExtra("updatedphotoDateTaken", photoDateTaken);
@@ -851,34 +820,6 @@ public class EditMoodActivity extends AppCompatActivity {
         ));
     }
 
-    /**
-     * Initializes the mood colors map.
-     */
-    private void initializeMoodColors() {
-        moodColors.put("Happy", Color.parseColor("#FBC02D"));      // Warm yellow
-        moodColors.put("Sad", Color.parseColor("#42A5F5"));        // Soft blue
-        moodColors.put("Angry", Color.parseColor("#EF5350"));      // Vibrant red
-        moodColors.put("Surprised", Color.parseColor("#FF9800"));  // Orange
-        moodColors.put("Afraid", Color.parseColor("#5C6BC0"));     // Indigo blue
-        moodColors.put("Disgusted", Color.parseColor("#66BB6A"));  // Green
-        moodColors.put("Confused", Color.parseColor("#AB47BC"));   // Purple
-        moodColors.put("Shameful", Color.parseColor("#EC407A"));   // Pink
-    }
-
-    /**
-     * Initializes the mood emojis map.
-     */
-    private void initializeMoodEmojis() {
-        moodEmojis.put("Happy", "😃");
-        moodEmojis.put("Sad", "😢");
-        moodEmojis.put("Angry", "😡");
-        moodEmojis.put("Surprised", "😲");
-        moodEmojis.put("Afraid", "😨");
-        moodEmojis.put("Disgusted", "🤢");
-        moodEmojis.put("Confused", "🤔");
-        moodEmojis.put("Shameful", "😳");
-    }
-
     /**
      * Sets up the mood intensity slider with dynamic visual feedback.
      */
@@ -1009,7 +950,7 @@ public class EditMoodActivity extends AppCompatActivity {
         int newSize = (int) (baseSize * emojiScale);
 
         // Re-load the themed drawable and update its bounds.
-        Drawable drawable = ContextCompat.getDrawable(this, getEmojiResourceId(selectedMood, selectedTheme));
+        Drawable drawable = ContextCompat.getDrawable(this, EmojiDrawables.get(selectedMood, selectedTheme));
         if (drawable != null) {
             drawable.setBounds(0, 0, newSize, newSize);
             selectedMoodEmoji.setCompoundDrawables(null, drawable, null, null);
@@ -1298,32 +1239,21 @@ public class EditMoodActivity extends AppCompatActivity {
         return Color.rgb((int) r, (int) g, (int) b);
     }
 
-    /**
-     * Retrieves the drawable resource ID for a given emoji based on the mood and theme.
-     *
-     * @param moodId The mood identifier.
-     * @param theme  The theme identifier.
-     * @return The drawable resource ID.
-     */
-    private int getEmojiResourceId(String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return getResources().getIdentifier(resourceName, "drawable", getPackageName());
-    }
-
     /**
      * Updates the selected mood emoji and the background of the mood container.
      */
     private void updateSelectedMoodEmoji() {
-        if (selectedMood == null) return;
+        Mood mood = Mood.of(selectedMood);
+        if (mood == null) return;
 
-        selectedEmoji = moodEmojis.get(selectedMood);
-        selectedColor = moodColors.get(selectedMood);
+        selectedEmoji = mood.getEmoji();
+        selectedColor = mood.getAccentColor();
 
         // Clear any previous text and background.
         selectedMoodEmoji.setText("");
         selectedMoodEmoji.setBackground(null);
 
-        Drawable drawable = ContextCompat.getDrawable(this, getEmojiResourceId(selectedMood, selectedTheme));
+        Drawable drawable = ContextCompat.getDrawable(this, EmojiDrawables.get(selectedMood, selectedTheme));
         if (drawable != null) {
             int baseSize = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 80, getResources().getDisplayMetrics());
             // Use the current slider progress for scaling
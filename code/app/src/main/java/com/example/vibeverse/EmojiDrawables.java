@@ -0,0 +1,108 @@
+package com.example.vibeverse;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * EmojiDrawables maps a mood and an emoji theme to the drawable that shows the mood in that
+ * theme.
+ * <p>
+ * Emoji drawables follow the naming convention {@code emoji_<mood>_<theme>} (see
+ * {@link Mood#getEmojiResourceName(String)}). Resolving that name with
+ * {@code Resources.getIdentifier} on every bind means building a string and running a
+ * reflective lookup for each row, so the IDs are instead held in a table indexed by theme and
+ * {@link Mood#ordinal()}, filled from the compile-time {@code R.drawable} constants. A lookup
+ * is then two array reads. Adding a theme means adding its row here and its ID to
+ * {@link #THEMES}; {@code EmojiDrawablesTest} checks the table against the naming convention.
+ * </p>
+ */
+public final class EmojiDrawables {
+
+    /** Theme IDs, in the row order of the table. The first is the fallback for unknown themes. */
+    static final String[] THEMES = {"default", "clown", "heart", "alien", "robot", "lion", "ghost", "skull", "cold"};
+
+    /** Drawable IDs, indexed by theme row and then by mood ordinal. */
+    private static final int[][] IDS = {
+            // default
+            {R.drawable.emoji_happy_default, R.drawable.emoji_sad_default, R.drawable.emoji_angry_default, R.drawable.emoji_surprised_default,
+                    R.drawable.emoji_afraid_default, R.drawable.emoji_disgusted_default, R.drawable.emoji_confused_default, R.drawable.emoji_shameful_default},
+            // clown
+            {R.drawable.emoji_happy_clown, R.drawable.emoji_sad_clown, R.drawable.emoji_angry_clown, R.drawable.emoji_surprised_clown,
+                    R.drawable.emoji_afraid_clown, R.drawable.emoji_disgusted_clown, R.drawable.emoji_confused_clown, R.drawable.emoji_shameful_clown},
+            // heart
+            {R.drawable.emoji_happy_heart, R.drawable.emoji_sad_heart, R.drawable.emoji_angry_heart, R.drawable.emoji_surprised_heart,
+                    R.drawable.emoji_afraid_heart, R.drawable.emoji_disgusted_heart, R.drawable.emoji_confused_heart, R.drawable.emoji_shameful_heart},
+            // alien
+            {R.drawable.emoji_happy_alien, R.drawable.emoji_sad_alien, R.drawable.emoji_angry_alien, R.drawable.emoji_surprised_alien,
+                    R.drawable.emoji_afraid_alien, R.drawable.emoji_disgusted_alien, R.drawable.emoji_confused_alien, R.drawable.emoji_shameful_alien},
+            // robot
+            {R.drawable.emoji_happy_robot, R.drawable.emoji_sad_robot, R.drawable.emoji_angry_robot, R.drawable.emoji_surprised_robot,
+                    R.drawable.emoji_afraid_robot, R.drawable.emoji_disgusted_robot, R.drawable.emoji_confused_robot, R.drawable.emoji_shameful_robot},
+            // lion
+            {R.drawable.emoji_happy_lion, R.drawable.emoji_sad_lion, R.drawable.emoji_angry_lion, R.drawable.emoji_surprised_lion,
+                    R.drawable.emoji_afraid_lion, R.drawable.emoji_disgusted_lion, R.drawable.emoji_confused_lion, R.drawable.emoji_shameful_lion},
+            // ghost
+            {R.drawable.emoji_happy_ghost, R.drawable.emoji_sad_ghost, R.drawable.emoji_angry_ghost, R.drawable.emoji_surprised_ghost,
+                    R.drawable.emoji_afraid_ghost, R.drawable.emoji_disgusted_ghost, R.drawable.emoji_confused_ghost, R.drawable.emoji_shameful_ghost},
+            // skull
+            {R.drawable.emoji_happy_skull, R.drawable.emoji_sad_skull, R.drawable.emoji_angry_skull, R.drawable.emoji_surprised_skull,
+                    R.drawable.emoji_afraid_skull, R.drawable.emoji_disgusted_skull, R.drawable.emoji_confused_skull, R.drawable.emoji_shameful_skull},
+            // cold
+            {R.drawable.emoji_happy_cold, R.drawable.emoji_sad_cold, R.drawable.emoji_angry_cold, R.drawable.emoji_surprised_cold,
+                    R.drawable.emoji_afraid_cold, R.drawable.emoji_disgusted_cold, R.drawable.emoji_confused_cold, R.drawable.emoji_shameful_cold}
+    };
+
+    private static final Map<String, Integer> THEME_ROWS = new HashMap<>();
+
+    static {
+        for (int row = 0; row < THEMES.length; row++) {
+            THEME_ROWS.put(THEMES[row], row);
+        }
+    }
+
+    private EmojiDrawables() {
+    }
+
+    /**
+     * Returns the emoji drawable of a mood in a theme.
+     *
+     * @param mood  The mood, or null.
+     * @param theme The theme ID in any case; unknown or null themes use the default theme.
+     * @return The drawable resource ID, or 0 if the mood is null.
+     */
+    public static int get(Mood mood, String theme) {
+        if (mood == null) {
+            return 0;
+        }
+        return IDS[rowOf(theme)][mood.ordinal()];
+    }
+
+    /**
+     * Returns the emoji drawable of a stored mood value in a theme.
+     *
+     * @param moodTitle The stored mood value, as accepted by {@link Mood#of(String)}.
+     * @param theme     The theme ID in any case; unknown or null themes use the default theme.
+     * @return The drawable resource ID, or 0 if the value is not a known mood.
+     */
+    public static int get(String moodTitle, String theme) {
+        return get(Mood.of(moodTitle), theme);
+    }
+
+    /**
+     * Returns the table row of a theme.
+     *
+     * @param theme The theme ID in any case, or null.
+     * @return The row, or 0 for the default theme.
+     */
+    static int rowOf(String theme) {
+        if (theme == null) {
+            return 0;
+        }
+        Integer row = THEME_ROWS.get(theme);
+        if (row == null) {
+            row = THEME_ROWS.get(theme.toLowerCase(Locale.ROOT));
+        }
+        return row != null ? row : 0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * FeedMerger merges several already-sorted streams of feed items into one sorted feed.
+ * <p>
+ * Each source reports its items once, in feed order. The merged feed is emitted as soon as
+ * every source has reported, or earlier when {@link #flush()} is called (for example after a
+ * deadline), so that one slow source does not hold back the whole feed. Sources that report
+ * after the feed was emitted are merged in place, and each of their items is announced with
+ * the position it was inserted at.
+ * </p>
+ *
+ * @param <T> The type of the feed items.
+ */
+public class FeedMerger<T> {
+
+    /**
+     * Receives the output of a FeedMerger.
+     *
+     * @param <T> The type of the feed items.
+     */
+    public interface Listener<T> {
+        /**
+         * Called once with the merged items available when the feed is first emitted.
+         *
+         * @param items The merged items, in feed order.
+         */
+        void onFeedReady(List<T> items);
+
+        /**
+         * Called for each item of a late source after the feed was emitted.
+         *
+         * @param position The position the item was inserted at.
+         * @param item     The inserted item.
+         */
+        void onItemInserted(int position, T item);
+    }
+
+    private final int sourceCount;
+    private final Comparator<T> order;
+    private final Listener<T> listener;
+
+    private final List<List<T>> reportedSources = new ArrayList<>();
+    private final List<T> merged = new ArrayList<>();
+    private int reportedCount = 0;
+    private boolean emitted = false;
+
+    /**
+     * Constructs a FeedMerger.
+     *
+     * @param sourceCount The number of sources that will report.
+     * @param order       The feed order; every source must already be sorted by it.
+     * @param listener    The listener that receives the merged feed.
+     */
+    public FeedMerger(int sourceCount, Comparator<T> order, Listener<T> listener) {
+        this.sourceCount = sourceCount;
+        this.order = order;
+        this.listener = listener;
+    }
+
+    /**
+     * Reports the items of one source. A source that failed should report an empty list
+     * so that the merger still knows it has finished.
+     *
+     * @param sortedItems The source's items, sorted in feed order.
+     */
+    public synchronized void addSource(List<T> sortedItems) {
+        reportedCount++;
+        if (emitted) {
+            for (T item : sortedItems) {
+                int position = insertionPoint(item);
+                merged.add(position, item);
+                listener.onItemInserted(position, item);
+            }
+            return;
+        }
+        reportedSources.add(sortedItems);
+        if (reportedCount >= sourceCount) {
+            emit();
+        }
+    }
+
+    /**
+     * Emits the feed with the sources that have reported so far, if it was not emitted yet.
+     * Sources reporting afterwards are inserted incrementally.
+     */
+    public synchronized void flush() {
+        if (!emitted) {
+            emit();
+        }
+    }
+
+    /**
+     * Returns whether every source has reported.
+     *
+     * @return True if no source is still pending.
+     */
+    public synchronized boolean isComplete() {
+        return reportedCount >= sourceCount;
+    }
+
+    /**
+     * Merges the reported sources with a heap keyed on each source's next item and
+     * hands the result to the listener.
+     */
+    private void emit() {
+        emitted = true;
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, reportedSources.size()),
+                (a, b) -> order.compare(reportedSources.get(a[0]).get(a[1]),
+                        reportedSources.get(b[0]).get(b[1])));
+        for (int source = 0; source < reportedSources.size(); source++) {
+            if (!reportedSources.get(source).isEmpty()) {
+                heads.add(new int[]{source, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> items = reportedSources.get(head[0]);
+            merged.add(items.get(head[1]));
+            if (head[1] + 1 < items.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        reportedSources.clear();
+        listener.onFeedReady(Collections.unmodifiableList(new ArrayList<>(merged)));
+    }
+
+    /**
+     * Finds where an item belongs in the merged feed. Items that compare equal to
+     * existing ones are placed after them.
+     *
+     * @param item The item to place.
+     * @return The insertion position.
+     */
+    private int insertionPoint(T item) {
+        int low = 0;
+        int high = merged.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(merged.get(mid), item) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.vibeverse;
+
+import java.util.Locale;
+
+/**
+ * FeedReadStats counts how many Firestore documents a feed has read compared to how many
+ * it actually displayed.
+ * <p>
+ * The ratio of the two is the feed's read amplification; a value close to 1 means the
+ * queries are only fetching what is shown.
+ * </p>
+ */
+public class FeedReadStats {
+
+    private long documentsRead;
+    private long documentsShown;
+
+    /**
+     * Records documents returned by a Firestore read.
+     *
+     * @param count The number of documents read.
+     */
+    public synchronized void recordRead(int count) {
+        documentsRead += count;
+    }
+
+    /**
+     * Records documents that were handed to the UI for display.
+     *
+     * @param count The number of documents shown.
+     */
+    public synchronized void recordShown(int count) {
+        documentsShown += count;
+    }
+
+    /**
+     * Returns the total number of documents read.
+     *
+     * @return The number of documents read.
+     */
+    public synchronized long getDocumentsRead() {
+        return documentsRead;
+    }
+
+    /**
+     * Returns the total number of documents shown.
+     *
+     * @return The number of documents shown.
+     */
+    public synchronized long getDocumentsShown() {
+        return documentsShown;
+    }
+
+    /**
+     * Returns the number of documents read per document shown.
+     *
+     * @return The read amplification, or 0 if nothing has been shown yet.
+     */
+    public synchronized double getReadAmplification() {
+        if (documentsShown == 0) {
+            return 0;
+        }
+        return (double) documentsRead / documentsShown;
+    }
+
+    /**
+     * Clears both counters.
+     */
+    public synchronized void reset() {
+        documentsRead = 0;
+        documentsShown = 0;
+    }
+
+    /**
+     * Returns a one-line summary of the counters, suitable for logging.
+     *
+     * @return The summary string.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "read=%d shown=%d amplification=%.2f",
+                documentsRead, documentsShown, getReadAmplification());
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FeedTimeline maintains a materialized home feed for every user.
+ * <p>
+ * When a public mood event is written, a copy of it is fanned out to
+ * {@code users/{followerId}/timeline/{ownerId}_{moodDocId}} for each follower of the owner.
+ * The home feed can then be read with a single query ordered by {@code createdAt},
+ * regardless of how many users are being followed.
+ * </p>
+ */
+public class FeedTimeline {
+
+    private static final String TAG = "FeedTimeline";
+
+    /** Name of the per-user timeline subcollection. */
+    public static final String TIMELINE_COLLECTION = "timeline";
+    /** Typed creation time used to order timeline entries. */
+    public static final String FIELD_CREATED_AT = MoodEvent.FIELD_CREATED_AT;
+    /** Document ID of the mood event inside the owner's moods collection. */
+    public static final String FIELD_MOOD_DOC_ID = "moodDocId";
+
+    /** Firestore limits a single WriteBatch to 500 operations. */
+    static final int MAX_BATCH_SIZE = 500;
+
+    /** Number of recent public moods copied into a timeline when a new follow is accepted. */
+    private static final int BACKFILL_LIMIT = 20;
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Constructs a FeedTimeline bound to the default Firestore instance.
+     */
+    public FeedTimeline() {
+        this.db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the timeline collection of the given user.
+     *
+     * @param userId The user whose timeline is requested.
+     * @return The timeline CollectionReference.
+     */
+    public CollectionReference timelineOf(String userId) {
+        return db.collection("users").document(userId).collection(TIMELINE_COLLECTION);
+    }
+
+    /**
+     * Returns the query for a user's timeline, newest entries first.
+     *
+     * @param userId The user whose feed is requested.
+     * @return The timeline query ordered by creation time, newest first.
+     */
+    public Query newestFirst(String userId) {
+        return timelineOf(userId)
+                .orderBy(FIELD_CREATED_AT, Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Builds the timeline document ID for a mood event.
+     *
+     * @param ownerId   The owner of the mood event.
+     * @param moodDocId The mood event's document ID.
+     * @return The timeline entry ID.
+     */
+    static String entryId(String ownerId, String moodDocId) {
+        return ownerId + "_" + moodDocId;
+    }
+
+    /**
+     * Copies a public mood event into the timeline of every follower of its owner.
+     * <p>
+     * The owner's username and profile picture are stored on the entry so that the
+     * feed can be rendered without looking up each author.
+     * </p>
+     *
+     * @param ownerId   The owner of the mood event.
+     * @param moodDocId The mood event's document ID.
+     * @param moodData  The mood event's Firestore fields.
+     * @param createdAt When the mood event was created.
+     */
+    public void fanOutMood(String ownerId, String moodDocId, Map<String, Object> moodData, Date createdAt) {
+        Task<DocumentSnapshot> followersTask = db.collection("users")
+                .document(ownerId)
+                .collection("followers")
+                .document("list")
+                .get();
+        Task<DocumentSnapshot> ownerTask = db.collection("users").document(ownerId).get();
+
+        Tasks.whenAllSuccess(followersTask, ownerTask)
+                .addOnSuccessListener(results -> {
+                    List<String> followerIds = (List<String>) followersTask.getResult().get("followerIds");
+                    if (followerIds == null || followerIds.isEmpty()) {
+                        return;
+                    }
+                    DocumentSnapshot ownerDoc = ownerTask.getResult();
+
+                    Map<String, Object> entry = new HashMap<>(moodData);
+                    entry.put("ownerUserId", ownerId);
+                    entry.put(FIELD_MOOD_DOC_ID, moodDocId);
+                    entry.put(FIELD_CREATED_AT, new Timestamp(createdAt));
+                    entry.put("username", ownerDoc.getString("username"));
+                    entry.put("profilePicUri", ownerDoc.getString("profilePicUri"));
+
+                    String entryId = entryId(ownerId, moodDocId);
+                    WriteBatch batch = db.batch();
+                    int pending = 0;
+                    for (String followerId : followerIds) {
+                        batch.set(timelineOf(followerId).document(entryId), entry);
+                        if (++pending == MAX_BATCH_SIZE) {
+                            commit(batch);
+                            batch = db.batch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        commit(batch);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error fanning out mood " + moodDocId, e));
+    }
+
+    /**
+     * Removes a mood event from the timeline of every follower of its owner.
+     *
+     * @param ownerId   The owner of the mood event.
+     * @param moodDocId The mood event's document ID.
+     */
+    public void removeMood(String ownerId, String moodDocId) {
+        db.collection("users")
+                .document(ownerId)
+                .collection("followers")
+                .document("list")
+                .get()
+                .addOnSuccessListener(followersDoc -> {
+                    List<String> followerIds = (List<String>) followersDoc.get("followerIds");
+                    if (followerIds == null || followerIds.isEmpty()) {
+                        return;
+                    }
+                    String entryId = entryId(ownerId, moodDocId);
+                    WriteBatch batch = db.batch();
+                    int pending = 0;
+                    for (String followerId : followerIds) {
+                        batch.delete(timelineOf(followerId).document(entryId));
+                        if (++pending == MAX_BATCH_SIZE) {
+                            commit(batch);
+                            batch = db.batch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        commit(batch);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error removing mood " + moodDocId, e));
+    }
+
+    /**
+     * Re-reads a mood event after it was edited and brings the followers' timelines in line
+     * with it: public moods are fanned out again, private ones are removed.
+     *
+     * @param ownerId   The owner of the mood event.
+     * @param moodDocId The mood event's document ID.
+     */
+    public void syncMood(String ownerId, String moodDocId) {
+        db.collection("Usermoods")
+                .document(ownerId)
+                .collection("moods")
+                .document(moodDocId)
+                .get()
+                .addOnSuccessListener(moodDoc -> {
+                    Boolean isPublic = moodDoc.getBoolean("isPublic");
+                    if (moodDoc.exists() && isPublic != null && isPublic) {
+                        fanOutMood(ownerId, moodDocId, moodDoc.getData(), resolveCreatedAt(moodDoc));
+                    } else {
+                        removeMood(ownerId, moodDocId);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error syncing mood " + moodDocId, e));
+    }
+
+    /**
+     * Copies the most recent public moods of a followed user into the follower's timeline.
+     * This is called when a follow request is accepted so the feed is not empty until
+     * the followee posts again, and by {@link TimelineBackfill} for follows made before
+     * timelines existed.
+     *
+     * @param followerId The user who started following.
+     * @param followeeId The user being followed.
+     * @return A task that completes once the moods have been copied.
+     */
+    public Task<Void> backfillFromFollowee(String followerId, String followeeId) {
+        Task<com.google.firebase.firestore.QuerySnapshot> moodsTask = publicMoodsOf(db, followeeId)
+                .limit(BACKFILL_LIMIT)
+                .get();
+        Task<DocumentSnapshot> ownerTask = db.collection("users").document(followeeId).get();
+
+        Task<Void> backfill = Tasks.whenAllSuccess(moodsTask, ownerTask)
+                .onSuccessTask(results -> {
+                    DocumentSnapshot ownerDoc = ownerTask.getResult();
+                    WriteBatch batch = db.batch();
+                    int copied = 0;
+                    for (QueryDocumentSnapshot moodDoc : moodsTask.getResult()) {
+                        Boolean isPublic = moodDoc.getBoolean("isPublic");
+                        if (isPublic == null || !isPublic) {
+                            continue;
+                        }
+                        Map<String, Object> entry = new HashMap<>(moodDoc.getData());
+                        entry.put("ownerUserId", followeeId);
+                        entry.put(FIELD_MOOD_DOC_ID, moodDoc.getId());
+                        entry.put(FIELD_CREATED_AT, new Timestamp(resolveCreatedAt(moodDoc)));
+                        entry.put("username", ownerDoc.getString("username"));
+                        entry.put("profilePicUri", ownerDoc.getString("profilePicUri"));
+                        batch.set(timelineOf(followerId).document(entryId(followeeId, moodDoc.getId())), entry);
+                        if (++copied == BACKFILL_LIMIT) {
+                            break;
+                        }
+                    }
+                    return copied > 0 ? batch.commit() : Tasks.<Void>forResult(null);
+                });
+        backfill.addOnFailureListener(e -> Log.e(TAG, "Error backfilling timeline of " + followerId, e));
+        return backfill;
+    }
+
+    /**
+     * Returns a user's public moods, newest first, for readers other than their owner.
+     * <p>
+     * Mood document IDs are their creation times in millis, so the moods are ordered by ID
+     * rather than by {@code createdAt}: moods saved before that field existed do not have it
+     * until their owner's client or {@code scripts/backfill-mood-created-at.js} backfills them,
+     * and ordering by a missing field would leave them out.
+     * </p>
+     *
+     * @param db     The Firestore instance.
+     * @param userId The owner of the moods.
+     * @return The query, to be paged or limited by the caller.
+     */
+    public static Query publicMoodsOf(FirebaseFirestore db, String userId) {
+        return db.collection("Usermoods")
+                .document(userId)
+                .collection("moods")
+                .whereEqualTo("isPublic", true)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Removes every entry authored by a followee from the follower's timeline.
+     * This is called when a user unfollows someone.
+     *
+     * @param followerId The user who unfollowed.
+     * @param followeeId The user who was unfollowed.
+     */
+    public void removeFollowee(String followerId, String followeeId) {
+        timelineOf(followerId)
+                .whereEqualTo("ownerUserId", followeeId)
+                .get()
+                .addOnSuccessListener(snapshots -> {
+                    WriteBatch batch = db.batch();
+                    int pending = 0;
+                    for (QueryDocumentSnapshot doc : snapshots) {
+                        batch.delete(doc.getReference());
+                        if (++pending == MAX_BATCH_SIZE) {
+                            commit(batch);
+                            batch = db.batch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        commit(batch);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error clearing " + followeeId + " from timeline", e));
+    }
+
+    /**
+     * Converts a timeline entry into a MoodEvent ready for display in the feed.
+     *
+     * @param doc The timeline entry document.
+     * @return The MoodEvent, with owner, author and date information populated.
+     */
+    public static MoodEvent toMoodEvent(DocumentSnapshot doc) {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(doc);
+        moodEvent.setDocumentId(doc.getString(FIELD_MOOD_DOC_ID));
+        moodEvent.setOwnerUserId(doc.getString("ownerUserId"));
+        moodEvent.setUsername(doc.getString("username"));
+        moodEvent.setProfilePictureUrl(doc.getString("profilePicUri"));
+
+        Timestamp createdAt = doc.getTimestamp(FIELD_CREATED_AT);
+        if (createdAt != null) {
+            moodEvent.setDate(createdAt.toDate());
+        }
+
+        StringBuilder subtitle = new StringBuilder();
+        if (moodEvent.getSocialSituation() != null && !moodEvent.getSocialSituation().isEmpty()) {
+            subtitle.append("Social: ").append(moodEvent.getSocialSituation());
+        }
+        moodEvent.setSubtitle(subtitle.toString());
+        return moodEvent;
+    }
+
+    /**
+     * Determines when a stored mood event was created. The typed {@code createdAt} field is
+     * used when present; otherwise the legacy timestamp string is parsed, and mood document IDs,
+     * which are creation times in millis, are used as a last resort.
+     *
+     * @param moodDoc The mood event document.
+     * @return The creation date of the mood event.
+     */
+    static Date resolveCreatedAt(DocumentSnapshot moodDoc) {
+        Timestamp createdAt = moodDoc.getTimestamp(FIELD_CREATED_AT);
+        if (createdAt != null) {
+            return createdAt.toDate();
+        }
+        Date parsed = MoodEvent.parseLegacyTimestamp(moodDoc.getString("timestamp"));
+        if (parsed != null) {
+            return parsed;
+        }
+        Log.w(TAG, "Unparseable timestamp on mood " + moodDoc.getId());
+        try {
+            return new Date(Long.parseLong(moodDoc.getId()));
+        } catch (NumberFormatException e) {
+            return new Date();
+        }
+    }
+
+    /**
+     * Commits a batch, logging any failure.
+     *
+     * @param batch The batch to commit.
+     */
+    private void commit(WriteBatch batch) {
+        batch.commit().addOnFailureListener(e -> Log.e(TAG, "Error committing timeline batch", e));
+    }
+}
@@ -20,10 +20,8 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * FilterDialog provides a dialog for filtering MoodEvent objects based on time and mood criteria.
@@ -46,6 +44,9 @@ public class FilterDialog {
     private static boolean lastIsConfused = false;
     private static boolean lastIsShameful = false;
 
+    // Index of the list last filtered, reused while the list holds the same events
+    private static MoodIndex moodIndex;
+
     /**
      * Interface for receiving filter selection and filtered results.
      */
@@ -206,6 +207,8 @@ public class FilterDialog {
 
     /**
      * Applies the selected filters to the given list of MoodEvent objects.
+     * The selection is compiled into a {@link MoodFilter} and run over a {@link MoodIndex} of
+     * the list, which is only rebuilt when the list's contents change. Results are newest first.
      *
      * @param context       The context.
      * @param listener      The FilterListener to receive the filtered results.
@@ -234,60 +237,15 @@ public class FilterDialog {
             boolean isConfused,
             boolean isShameful
     ) {
-        List<MoodEvent> filtered = new ArrayList<>();
-        long now = System.currentTimeMillis();
-
-        // Iterate over each mood event and apply filters
-        for (MoodEvent m : allMoodEvents) {
-            if (m.getDate() == null) continue;
-
-            long moodTime = m.getDate().getTime();
-
-            // Time filter check
-            boolean inTime = false;
-            switch (timeFilter) {
-                case "last_24_hours":
-                    inTime = (now - moodTime) <= 86400000L;
-                    break;
-                case "3Days":
-                    inTime = (now - moodTime) <= 259200000L;
-                    break;
-                case "last_week":
-                    inTime = (now - moodTime) <= 604800000L;
-                    break;
-                case "last_month":
-                    inTime = (now - moodTime) <= 2592000000L;
-                    break;
-                default:
-                    inTime = true;
-            }
-            if (!inTime) continue;
-
-            // Mood filter check: convert mood title to uppercase for comparison
-            String title = m.getMoodTitle() != null
-                    ? m.getMoodTitle().toUpperCase(Locale.ROOT)
-                    : "";
-
-            boolean moodMatch = false;
-            if (isHappy     && "HAPPY".equals(title))      moodMatch = true;
-            if (isSad       && "SAD".equals(title))        moodMatch = true;
-            if (isAngry     && "ANGRY".equals(title))      moodMatch = true;
-            if (isSurprised && "SURPRISED".equals(title))  moodMatch = true;
-            if (isAfraid    && "AFRAID".equals(title))     moodMatch = true;
-            if (isDisgusted && "DISGUSTED".equals(title))  moodMatch = true;
-            if (isConfused  && "CONFUSED".equals(title))   moodMatch = true;
-            if (isShameful  && "SHAMEFUL".equals(title))   moodMatch = true;
-
-            // If no mood checkboxes are selected, then match all moods
-            if (!isHappy && !isSad && !isAngry && !isSurprised &&
-                    !isAfraid && !isDisgusted && !isConfused && !isShameful) {
-                moodMatch = true;
-            }
-
-            if (moodMatch) {
-                filtered.add(m);
-            }
+        MoodFilter filter = MoodFilter.fromSelection(
+                timeFilter,
+                isHappy, isSad, isAngry, isSurprised,
+                isAfraid, isDisgusted, isConfused, isShameful
+        );
+        if (moodIndex == null || !moodIndex.isIndexOf(allMoodEvents)) {
+            moodIndex = MoodIndex.of(allMoodEvents);
         }
+        List<MoodEvent> filtered = moodIndex.filter(filter, System.currentTimeMillis());
 
         // Return the final filtered list via callback
         listener.onFilteredResults(filtered);
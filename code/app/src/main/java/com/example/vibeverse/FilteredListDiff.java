@@ -0,0 +1,89 @@
+package com.example.vibeverse;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import java.util.List;
+
+/**
+ * FilteredListDiff computes the change between two filtered views of the same list.
+ * <p>
+ * When both the old and new lists keep the order of a common source list, one walk over
+ * the source finds every removed and inserted row, where {@code DiffUtil} would run a general
+ * diff whose cost grows with the square of the number of changes. Updates are reported through
+ * the same {@link ListUpdateCallback} that {@code DiffUtil.DiffResult} dispatches to, with
+ * consecutive rows merged into ranges.
+ * </p>
+ */
+public final class FilteredListDiff {
+
+    private FilteredListDiff() {
+    }
+
+    /**
+     * Dispatches the row changes that turn {@code before} into {@code after}.
+     * Items are compared by identity.
+     *
+     * @param source   The list both views were filtered from.
+     * @param before   The rows currently shown, in source order.
+     * @param after    The rows to show, in source order.
+     * @param callback Receives the inserted and removed ranges.
+     * @param <T>      The item type.
+     * @return False if either view is not in source order; the callback may then have
+     *         received a partial update and the caller should refresh the whole list.
+     */
+    public static <T> boolean dispatch(List<T> source, List<T> before, List<T> after,
+                                       ListUpdateCallback callback) {
+        int b = 0;
+        int a = 0;
+        int position = 0;
+        int removedStart = -1;
+        int removedCount = 0;
+        int insertedStart = -1;
+        int insertedCount = 0;
+
+        for (T item : source) {
+            boolean inBefore = b < before.size() && before.get(b) == item;
+            boolean inAfter = a < after.size() && after.get(a) == item;
+            if (inBefore) b++;
+            if (inAfter) a++;
+
+            if (inBefore && !inAfter) {
+                if (insertedCount > 0) {
+                    callback.onInserted(insertedStart, insertedCount);
+                    insertedCount = 0;
+                }
+                if (removedCount == 0) {
+                    removedStart = position;
+                }
+                removedCount++;
+            } else if (inAfter && !inBefore) {
+                if (removedCount > 0) {
+                    callback.onRemoved(removedStart, removedCount);
+                    removedCount = 0;
+                }
+                if (insertedCount == 0) {
+                    insertedStart = position;
+                }
+                insertedCount++;
+                position++;
+            } else if (inBefore) {
+                if (removedCount > 0) {
+                    callback.onRemoved(removedStart, removedCount);
+                    removedCount = 0;
+                }
+                if (insertedCount > 0) {
+                    callback.onInserted(insertedStart, insertedCount);
+                    insertedCount = 0;
+                }
+                position++;
+            }
+        }
+        if (removedCount > 0) {
+            callback.onRemoved(removedStart, removedCount);
+        }
+        if (insertedCount > 0) {
+            callback.onInserted(insertedStart, insertedCount);
+        }
+        return b == before.size() && a == after.size();
+    }
+}
@@ -2,6 +2,8 @@ package com.example.vibeverse;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -26,15 +28,13 @@ import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HomePage is the main activity that displays a feed of mood events from followed users.
@@ -60,8 +60,27 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
     private FirebaseAuth mAuth;
     private String currentUserId;
 
-    private final SimpleDateFormat sourceFormat =
-            new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault());
+    /** Number of timeline entries fetched per page of the home feed. */
+    private static final int FEED_PAGE_SIZE = 20;
+    /** How close to the end of the list (in items) the next page starts loading. */
+    private static final int FEED_PREFETCH_DISTANCE = 5;
+
+    /** Number of recent public posts shown per followed user when the timeline is empty. */
+    private static final int POSTS_PER_FOLLOWEE = 3;
+    /** How long the feed waits for slow followed users before showing what it has. */
+    private static final long FEED_MERGE_DEADLINE_MS = 1500;
+
+    /** Feed order: newest first, with undated posts last. */
+    private static final Comparator<MoodEvent> NEWEST_FIRST =
+            Comparator.comparing(MoodEvent::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final Handler feedHandler = new Handler(Looper.getMainLooper());
+    /** Incremented on every feed load so callbacks from an earlier load are ignored. */
+    private int feedGeneration = 0;
+
+    private FeedTimeline feedTimeline;
+    private PagedQuery timelinePager;
+    private final FeedReadStats feedReadStats = new FeedReadStats();
 
     /**
      * Called when the activity is starting.
@@ -80,6 +99,12 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
         mAuth = FirebaseAuth.getInstance();
         db = FirebaseFirestore.getInstance();
         currentUserId = mAuth.getCurrentUser().getUid();
+        feedTimeline = new FeedTimeline();
+
+        // Resume any photo uploads interrupted by a previous process
+        PhotoUploadQueue.getInstance(this);
+        // Start following the user's document, so other screens read the theme without a fetch
+        UserSession.getInstance(this);
 
         // Initialize UI components
         initializeViews();
@@ -89,6 +114,12 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
 
         // Initial data load
         fetchFollowedUsersPosts();
+        // Copy follows made before timelines existed into the timeline, then reload the feed
+        TimelineBackfill.runOnce(this, currentUserId, () -> {
+            if (!isDestroyed()) {
+                fetchFollowedUsersPosts();
+            }
+        });
     }
 
     /**
@@ -143,7 +174,7 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                moodEventAdapter.filter(s.toString());
+                moodEventAdapter.filterDelayed(s.toString());
             }
             @Override
             public void afterTextChanged(Editable s) {}
@@ -163,10 +194,31 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
         // Hide menu button for other users' profiles
         moodEventAdapter.setMenuButtonVisibility(false);
         moodEventAdapter.setProfileVisibility(true);
+
+        // Load the next page of the timeline as the user nears the end of the feed
+        recyclerFeed.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) {
+                    return;
+                }
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition()
+                        >= moodEventAdapter.getItemCount() - FEED_PREFETCH_DISTANCE) {
+                    loadNextTimelinePage();
+                }
+            }
+        });
     }
 
     /**
      * Fetches posts from followed users and loads them into the RecyclerView.
+     * <p>
+     * The first page of the user's materialized timeline is read with a single query.
+     * Until {@link TimelineBackfill} has copied in the follows made before timelines existed,
+     * an empty timeline falls back to querying each followed user directly.
+     * </p>
      */
     private void fetchFollowedUsersPosts() {
         // Show loading state
@@ -180,6 +232,53 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
             recyclerFeed.setVisibility(View.GONE);
         }
 
+        feedGeneration++;
+        feedHandler.removeCallbacksAndMessages(null);
+        feedReadStats.reset();
+        timelinePager = new PagedQuery(feedTimeline.newestFirst(currentUserId), FEED_PAGE_SIZE, feedReadStats);
+        timelinePager.loadNextPage(documents -> {
+            if (documents.isEmpty() && !TimelineBackfill.isDone(this, currentUserId)) {
+                fetchFollowedUsersPostsFromMoods();
+                return;
+            }
+            List<MoodEvent> page = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                page.add(FeedTimeline.toMoodEvent(doc));
+            }
+            finalizeMoodEvents(page);
+        }, e -> {
+            Log.e(TAG, "Error fetching timeline, falling back to followed users", e);
+            fetchFollowedUsersPostsFromMoods();
+        });
+    }
+
+    /**
+     * Loads the next page of the timeline after the last loaded entry and appends it to the feed.
+     */
+    private void loadNextTimelinePage() {
+        if (timelinePager == null || !timelinePager.hasStarted() || !timelinePager.hasMore()) {
+            return;
+        }
+        timelinePager.loadNextPage(documents -> {
+            if (documents.isEmpty()) {
+                return;
+            }
+            List<MoodEvent> page = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                page.add(FeedTimeline.toMoodEvent(doc));
+            }
+            allMoodEvents.addAll(page);
+            moodEventAdapter.appendMoodEvents(page);
+            feedReadStats.recordShown(page.size());
+            Log.d(TAG, "Feed reads: " + feedReadStats);
+        }, e -> Log.e(TAG, "Error fetching next timeline page", e));
+    }
+
+    /**
+     * Builds the feed by querying the recent public posts of every followed user.
+     * This is only used while the user's timeline cannot be read or has not been backfilled.
+     */
+    private void fetchFollowedUsersPostsFromMoods() {
         // First, get the list of following IDs
         db.collection("users")
                 .document(currentUserId)
@@ -194,16 +293,31 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
                         return;
                     }
 
-                    // Create a combined list for all mood events
-                    List<MoodEvent> combinedMoodEvents = new ArrayList<>();
+                    // Merge each followed user's posts into the feed as they arrive
+                    int generation = feedGeneration;
+                    FeedMerger<MoodEvent> merger = new FeedMerger<>(followingIds.size(), NEWEST_FIRST,
+                            new FeedMerger.Listener<MoodEvent>() {
+                                @Override
+                                public void onFeedReady(List<MoodEvent> items) {
+                                    if (generation == feedGeneration) {
+                                        finalizeMoodEvents(new ArrayList<>(items));
+                                    }
+                                }
 
-                    // Track completion with AtomicInteger to handle async calls
-                    AtomicInteger pendingTasks = new AtomicInteger(followingIds.size());
+                                @Override
+                                public void onItemInserted(int position, MoodEvent item) {
+                                    if (generation == feedGeneration) {
+                                        insertMoodEvent(position, item);
+                                    }
+                                }
+                            });
 
-                    // Process each followed user
                     for (String userId : followingIds) {
-                        processUserMoodEvents(userId, combinedMoodEvents, pendingTasks, followingIds.size());
+                        processUserMoodEvents(userId, merger);
                     }
+
+                    // Show whatever has arrived if some followed users are slow to respond
+                    feedHandler.postDelayed(merger::flush, FEED_MERGE_DEADLINE_MS);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error fetching following list", e);
@@ -215,116 +329,64 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
     }
 
     /**
-     * Processes mood events for a specific user.
+     * Processes mood events for a specific user and reports them to the feed merger.
      *
-     * @param userId             The user ID whose mood events are to be processed.
-     * @param combinedMoodEvents A list to accumulate all mood events.
-     * @param pendingTasks       An AtomicInteger to track pending async tasks.
-     * @param totalUsers         The total number of users being processed.
+     * @param userId The user ID whose mood events are to be processed.
+     * @param merger The merger that combines every followed user's posts into the feed.
      */
-    private void processUserMoodEvents(String userId, List<MoodEvent> combinedMoodEvents,
-                                       AtomicInteger pendingTasks, int totalUsers) {
-        // First fetch user profile information
-        db.collection("users")
-                .document(userId)
-                .get()
-                .addOnSuccessListener(userDoc -> {
-                    String username = userDoc.getString("username");
-                    String profilePicUri = userDoc.getString("profilePicUri");
-
-                    // Track mood events for this user
-                    AtomicInteger userMoodEventCount = new AtomicInteger(0);
-
-                    // Then fetch their mood events
-                    db.collection("Usermoods")
-                            .document(userId)
-                            .collection("moods")
-                            .orderBy("timestamp", Query.Direction.DESCENDING)
-                            .get()
-                            .addOnSuccessListener(queryDocumentSnapshots -> {
-                                for (QueryDocumentSnapshot doc : queryDocumentSnapshots) {
-                                    if (userMoodEventCount.get() >= 3) {
-                                        break;
-                                    }
-                                    try {
-                                        MoodEvent moodEvent = MoodEvent.fromMap(doc.getData());
-
-                                        // Check if the post is public
-                                        Boolean isPublic = (Boolean) doc.getData().get("isPublic");
-                                        if (isPublic == null || !isPublic) {
-                                            continue;
-                                        }
-
-                                        moodEvent.setDocumentId(doc.getId());
-
-                                        // Set the user profile information
-                                        moodEvent.setUsername(username);
-                                        moodEvent.setProfilePictureUrl(profilePicUri);
-                                        moodEvent.setOwnerUserId(userId);
-
-                                        if (moodEvent.getTimestamp() != null) {
-                                            Date date = sourceFormat.parse(moodEvent.getTimestamp());
-                                            moodEvent.setDate(date);
-                                        }
-
-                                        // Build subtitle
-                                        StringBuilder subtitle = new StringBuilder();
-                                        if (moodEvent.getSocialSituation() != null &&
-                                                !moodEvent.getSocialSituation().isEmpty()) {
-                                            subtitle.append("Social: ").append(moodEvent.getSocialSituation());
-                                        }
-                                        moodEvent.setSubtitle(subtitle.toString());
-
-                                        synchronized (combinedMoodEvents) {
-                                            combinedMoodEvents.add(moodEvent);
-                                        }
-                                        userMoodEventCount.incrementAndGet();
-                                    } catch (ParseException e) {
-                                        Log.e(TAG, "Error parsing timestamp", e);
-                                    }
-                                }
-
-                                // Check if all users have been processed
-                                if (pendingTasks.decrementAndGet() == 0) {
-                                    finalizeMoodEvents(combinedMoodEvents);
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error fetching posts for user: " + userId, e);
-                                // Still decrement counter even if there's an error
-                                if (pendingTasks.decrementAndGet() == 0) {
-                                    finalizeMoodEvents(combinedMoodEvents);
-                                }
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching user profile for: " + userId, e);
-                    // Decrement counter on failure
-                    if (pendingTasks.decrementAndGet() == 0) {
-                        finalizeMoodEvents(combinedMoodEvents);
+    private void processUserMoodEvents(String userId, FeedMerger<MoodEvent> merger) {
+        // First resolve the user's profile through the shared cache
+        UserProfileCache.getInstance().get(userId, profile -> {
+            String username = profile != null ? profile.getUsername() : null;
+            String profilePicUri = profile != null ? profile.getProfilePicUri() : null;
+
+            // Only the newest public posts are requested; filtering and the limit run in Firestore
+            Query publicMoods = FeedTimeline.publicMoodsOf(db, userId);
+
+            new PagedQuery(publicMoods, POSTS_PER_FOLLOWEE, feedReadStats).loadNextPage(documents -> {
+                List<MoodEvent> userMoodEvents = new ArrayList<>();
+                for (DocumentSnapshot doc : documents) {
+                    MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(doc);
+                    moodEvent.setDocumentId(doc.getId());
+
+                    // Set the user profile information
+                    moodEvent.setUsername(username);
+                    moodEvent.setProfilePictureUrl(profilePicUri);
+                    moodEvent.setOwnerUserId(userId);
+
+                    // Build subtitle
+                    StringBuilder subtitle = new StringBuilder();
+                    if (moodEvent.getSocialSituation() != null &&
+                            !moodEvent.getSocialSituation().isEmpty()) {
+                        subtitle.append("Social: ").append(moodEvent.getSocialSituation());
                     }
-                });
+                    moodEvent.setSubtitle(subtitle.toString());
+
+                    userMoodEvents.add(moodEvent);
+                }
+
+                // Pages arrive newest first, as the merger expects
+                merger.addSource(userMoodEvents);
+            }, e -> {
+                Log.e(TAG, "Error fetching posts for user: " + userId, e);
+                // Still report the user so the merger is not left waiting
+                merger.addSource(new ArrayList<>());
+            });
+        });
     }
 
     /**
-     * Finalizes the list of mood events after all asynchronous tasks are complete,
-     * sorts them by timestamp, and updates the UI.
+     * Displays the first batch of the feed. The mood events must already be in feed order.
      *
-     * @param combinedMoodEvents The combined list of mood events.
+     * @param combinedMoodEvents The mood events, newest first.
      */
     private void finalizeMoodEvents(List<MoodEvent> combinedMoodEvents) {
-        // Sort by timestamp and update UI on main thread
         runOnUiThread(() -> {
-            // Sort by timestamp
-            combinedMoodEvents.sort((a, b) -> b.getDate().compareTo(a.getDate()));
             allMoodEvents = new ArrayList<>(combinedMoodEvents);
-
-            if (allMoodEvents.isEmpty()) {
-                showEmptyState(true);
-            } else {
-                showEmptyState(false);
-                moodEventAdapter.updateMoodEvents(allMoodEvents);
-            }
+            moodEventAdapter.updateMoodEvents(allMoodEvents);
+            showEmptyState(allMoodEvents.isEmpty());
+            feedReadStats.recordShown(allMoodEvents.size());
+            Log.d(TAG, "Feed reads: " + feedReadStats);
 
             if (progressLoading != null) {
                 progressLoading.setVisibility(View.GONE);
@@ -338,6 +400,23 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
         });
     }
 
+    /**
+     * Inserts a mood event that arrived after the feed was first displayed.
+     *
+     * @param position  The position of the mood event in the feed.
+     * @param moodEvent The mood event to insert.
+     */
+    private void insertMoodEvent(int position, MoodEvent moodEvent) {
+        runOnUiThread(() -> {
+            allMoodEvents.add(position, moodEvent);
+            moodEventAdapter.insertMoodEvent(position, moodEvent);
+            feedReadStats.recordShown(1);
+            if (allMoodEvents.size() == 1) {
+                showEmptyState(false);
+            }
+        });
+    }
+
     /**
      * Shows or hides the empty state view based on whether there are mood events.
      *
@@ -436,9 +515,10 @@ public class HomePage extends AppCompatActivity implements FilterDialog.FilterLi
                     userDocRef.update("mood_streak", 0)
                             .addOnSuccessListener(aVoid -> {
                                 Log.d(TAG, "Mood streak reset to 0");
+                                new MoodAggregates().updateStreak(currentUserId, 0, null);
                                 // Also update the achievement checker
-                                AchievementChecker achievementChecker = new AchievementChecker(currentUserId);
-                                achievementChecker.checkAch23(0);
+                                AchievementChecker achievementChecker = new AchievementChecker(HomePage.this, currentUserId);
+                                achievementChecker.onStreakChanged(0);
                             })
                             .addOnFailureListener(e -> Log.e(TAG, "Error resetting mood streak", e));
                 }
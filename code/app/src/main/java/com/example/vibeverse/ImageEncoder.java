@@ -0,0 +1,32 @@
+package com.example.vibeverse;
+
+import android.graphics.Bitmap;
+
+import java.io.OutputStream;
+
+/**
+ * An output format for processed images. Implementations wrap a single
+ * {@link Bitmap.CompressFormat} and describe how the encoded bytes are stored.
+ */
+public interface ImageEncoder {
+
+    /**
+     * @return The MIME type of the encoded bytes, used as the upload content type.
+     */
+    String getMimeType();
+
+    /**
+     * @return The file extension, without a dot, used for uploaded files.
+     */
+    String getFileExtension();
+
+    /**
+     * Encodes the bitmap into the stream.
+     *
+     * @param bitmap  The bitmap to encode.
+     * @param quality Encoder quality from 0 to 100.
+     * @param out     The stream to write to.
+     * @return Whether the bitmap was successfully encoded.
+     */
+    boolean encode(Bitmap bitmap, int quality, OutputStream out);
+}
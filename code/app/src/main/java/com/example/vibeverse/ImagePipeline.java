@@ -0,0 +1,247 @@
+package com.example.vibeverse;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ImagePipeline turns a picked or captured image into encoded bytes that fit the
+ * upload budget, off the main thread.
+ * <p>
+ * The source is first decoded bounds-only so a power-of-two inSampleSize can be
+ * chosen, which means a 12MP photo is never fully decoded into memory. The
+ * encoder quality is then searched against the byte budget by {@link SizeTargetEncoder}
+ * using a single reused output buffer, so only a handful of encodes are needed. The
+ * bitmap is only downscaled when even the lowest quality overshoots the budget.
+ * </p>
+ */
+public final class ImagePipeline {
+
+    /** Maximum size in bytes of an encoded image. */
+    public static final int MAX_IMAGE_BYTES = 65536;
+
+    /** Longest edge in pixels that a decoded bitmap is scaled down to. */
+    static final int MAX_DIMENSION = 1280;
+
+    /** Lowest quality the search will accept before downscaling instead. */
+    static final int MIN_QUALITY = 10;
+
+    /** Highest quality the search will try. */
+    static final int MAX_QUALITY = 95;
+
+    /** Upper bound on downscale passes when the lowest quality is still too large. */
+    static final int MAX_DOWNSCALE_PASSES = 6;
+
+    /** The output format used when callers do not choose one. */
+    public static final ImageEncoder DEFAULT_ENCODER = new WebpImageEncoder();
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+    private static Handler mainHandler;
+
+    /**
+     * Receives the result of a pipeline run. All methods are called on the main thread.
+     */
+    public interface Listener {
+
+        /**
+         * Called as the pipeline moves through its stages.
+         *
+         * @param percent Progress from 0 to 100.
+         */
+        void onProgress(int percent);
+
+        /**
+         * Called with the final encoded image.
+         *
+         * @param bitmap     The bitmap decoded from the encoded bytes.
+         * @param imageBytes The encoded bytes, no larger than the budget.
+         */
+        void onComplete(Bitmap bitmap, byte[] imageBytes);
+
+        /**
+         * Called when the image could not be read or encoded.
+         *
+         * @param e The cause of the failure.
+         */
+        void onError(Exception e);
+    }
+
+    private ImagePipeline() {
+    }
+
+    /**
+     * Decodes, subsamples and compresses the image at the given URI with the
+     * {@link #DEFAULT_ENCODER}.
+     *
+     * @param resolver The content resolver used to open the image.
+     * @param imageUri The URI of the image to process.
+     * @param listener Receives progress and the final result.
+     */
+    public static void process(ContentResolver resolver, Uri imageUri, Listener listener) {
+        process(resolver, imageUri, DEFAULT_ENCODER, listener);
+    }
+
+    /**
+     * Decodes, subsamples and compresses the image at the given URI on a background
+     * thread, then reports the result to the listener on the main thread.
+     *
+     * @param resolver The content resolver used to open the image.
+     * @param imageUri The URI of the image to process.
+     * @param encoder  The output format.
+     * @param listener Receives progress and the final result.
+     */
+    public static void process(final ContentResolver resolver, final Uri imageUri, final ImageEncoder encoder,
+                               final Listener listener) {
+        postProgress(listener, 0);
+        EXECUTOR.execute(() -> {
+            try {
+                Bitmap bitmap = decodeSampled(resolver, imageUri, MAX_DIMENSION);
+                postProgress(listener, 30);
+                final byte[] imageBytes = encodeWithinBudget(bitmap, encoder, MAX_IMAGE_BYTES, listener);
+                final Bitmap compressed = BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
+                postProgress(listener, 100);
+                getMainHandler().post(() -> listener.onComplete(compressed, imageBytes));
+            } catch (Exception e) {
+                getMainHandler().post(() -> listener.onError(e));
+            }
+        });
+    }
+
+    /**
+     * Decodes the image at the given URI with the largest power-of-two sample size
+     * that keeps its longest edge at or above the requested dimension, then scales
+     * it down to exactly that dimension if it is still larger.
+     *
+     * @param resolver     The content resolver used to open the image.
+     * @param imageUri     The URI of the image to decode.
+     * @param maxDimension The longest edge, in pixels, of the returned bitmap.
+     * @return The decoded bitmap.
+     * @throws IOException if the image cannot be opened or decoded.
+     */
+    static Bitmap decodeSampled(ContentResolver resolver, Uri imageUri, int maxDimension) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = resolver.openInputStream(imageUri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Unable to read image bounds");
+        }
+
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, maxDimension);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap;
+        try (InputStream in = resolver.openInputStream(imageUri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (bitmap == null) {
+            throw new IOException("Unable to decode image");
+        }
+        return scaleToFit(bitmap, maxDimension);
+    }
+
+    /**
+     * Encodes the bitmap at the highest quality that fits within the budget.
+     * If even {@link #MIN_QUALITY} is too large, the bitmap is downscaled in proportion
+     * to the overshoot and the search is repeated. All encodes share one buffer.
+     *
+     * @param bitmap   The bitmap to encode.
+     * @param encoder  The output format.
+     * @param maxBytes The byte budget.
+     * @param listener Receives progress updates, or {@code null}.
+     * @return The encoded bytes.
+     * @throws IOException if no encoding fits within the budget.
+     */
+    static byte[] encodeWithinBudget(Bitmap bitmap, ImageEncoder encoder, int maxBytes, Listener listener)
+            throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(maxBytes);
+        Bitmap current = bitmap;
+
+        for (int pass = 0; pass <= MAX_DOWNSCALE_PASSES; pass++) {
+            final Bitmap target = current;
+            SizeTargetEncoder.Result result = SizeTargetEncoder.search(
+                    q -> encode(encoder, target, q, buffer), MIN_QUALITY, MAX_QUALITY, maxBytes);
+            postProgress(listener, 30 + 60 * (pass + 1) / (MAX_DOWNSCALE_PASSES + 1));
+            if (result.fits()) {
+                // The last probe is not necessarily the winning quality.
+                if (result.lastProbedQuality != result.quality) {
+                    encode(encoder, target, result.quality, buffer);
+                }
+                return buffer.toByteArray();
+            }
+
+            double scale = Math.min(0.9, Math.sqrt((double) maxBytes / result.size));
+            int width = Math.max(1, (int) (current.getWidth() * scale));
+            int height = Math.max(1, (int) (current.getHeight() * scale));
+            Bitmap scaled = Bitmap.createScaledBitmap(current, width, height, true);
+            if (current != bitmap && current != scaled) {
+                current.recycle();
+            }
+            current = scaled;
+        }
+        throw new IOException("Image could not be compressed below " + maxBytes + " bytes");
+    }
+
+    /**
+     * Returns the largest power-of-two sample size that keeps the longest edge of the
+     * decoded image at or above the requested dimension.
+     *
+     * @param width        The source width in pixels.
+     * @param height       The source height in pixels.
+     * @param maxDimension The requested longest edge in pixels.
+     * @return A sample size of at least 1.
+     */
+    static int calculateInSampleSize(int width, int height, int maxDimension) {
+        int longest = Math.max(width, height);
+        int sampleSize = 1;
+        while (longest / (sampleSize * 2) >= maxDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static Bitmap scaleToFit(Bitmap bitmap, int maxDimension) {
+        int longest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (longest <= maxDimension) {
+            return bitmap;
+        }
+        double scale = (double) maxDimension / longest;
+        int width = Math.max(1, (int) Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(bitmap.getHeight() * scale));
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, width, height, true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+        return scaled;
+    }
+
+    private static int encode(ImageEncoder encoder, Bitmap bitmap, int quality, ByteArrayOutputStream buffer) {
+        buffer.reset();
+        if (!encoder.encode(bitmap, quality, buffer)) {
+            throw new IllegalStateException("Failed to encode image as " + encoder.getMimeType());
+        }
+        return buffer.size();
+    }
+
+    private static void postProgress(Listener listener, int percent) {
+        if (listener != null) {
+            getMainHandler().post(() -> listener.onProgress(percent));
+        }
+    }
+
+    private static synchronized Handler getMainHandler() {
+        if (mainHandler == null) {
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+        return mainHandler;
+    }
+}
@@ -5,21 +5,12 @@ import android.app.AlertDialog;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Environment;
-import android.provider.MediaStore;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.Toast;
 
-import com.google.android.gms.tasks.OnFailureListener;
-import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
-import com.google.firebase.storage.UploadTask;
-
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
@@ -49,58 +40,84 @@ public class ImageUtils {
          * @param size     The size of the image in bytes.
          */
         void onImageConfirmed(Bitmap bitmap, Uri imageUri, long size);
+
+        /**
+         * Called when the user confirms the image and its upload is queued, before it is
+         * stored.
+         *
+         * @param bitmap   The processed Bitmap.
+         * @param uploadId The ID of the upload on the {@link PhotoUploadQueue}, for attaching it
+         *                 to a mood saved before the upload finishes.
+         * @param size     The size of the image in bytes.
+         */
+        default void onImageQueued(Bitmap bitmap, String uploadId, long size) {
+        }
+
+        /**
+         * Called when the image could not be stored, after the upload queue has given up on it.
+         *
+         * @param e The last failure.
+         */
+        default void onImageFailed(Exception e) {
+        }
+
+        /**
+         * Called on the main thread while the image is being decoded and compressed.
+         *
+         * @param percent Progress from 0 to 100.
+         */
+        default void onProcessingProgress(int percent) {
+        }
     }
 
     /**
-     * Processes the image by loading the Bitmap from the provided URI,
-     * compressing it if its size exceeds a threshold, and then showing a preview dialog.
+     * Processes the image on a background thread by decoding a subsampled Bitmap from the
+     * provided URI and compressing it to fit the upload budget, then shows a preview dialog.
      *
      * @param activity The Activity context.
      * @param imageUri The URI of the image to process.
-     * @param callback The callback invoked when the user confirms the image.
+     * @param callback The callback invoked with progress and when the user confirms the image.
      */
     public static void processImage(final Activity activity, final Uri imageUri, final ImageProcessCallback callback) {
-        try {
-            Bitmap bitmap = MediaStore.Images.Media.getBitmap(activity.getContentResolver(), imageUri);
-
-            // Initialize compression settings
-            int quality = 100;
-            Bitmap currentBitmap = bitmap;
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            currentBitmap.compress(Bitmap.CompressFormat.JPEG, quality, baos);
-            byte[] imageBytes = baos.toByteArray();
-
-            // Iteratively compress until the image is below 65,536 bytes
-            while (imageBytes.length > 65536) {
-                // Lower the quality in steps of 5 if possible
-                if (quality > 10) {
-                    quality -= 5;
-                } else {
-                    // If quality is too low, scale down the image and reset quality
-                    currentBitmap = compressBitmap(currentBitmap);
-                    quality = 100;
-                }
-                baos.reset();
-                currentBitmap.compress(Bitmap.CompressFormat.JPEG, quality, baos);
-                imageBytes = baos.toByteArray();
-            }
-
-            // The final compressed byte array is guaranteed to be below 65,536 bytes
-            long newSizeInBytes = imageBytes.length;
+        processImage(activity, imageUri, ImagePipeline.DEFAULT_ENCODER, callback);
+    }
 
-            // Decode the compressed image bytes to a Bitmap.
-            Bitmap compressedBitmap = BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
+    /**
+     * Processes the image like {@link #processImage(Activity, Uri, ImageProcessCallback)},
+     * encoding and uploading it in the given format.
+     *
+     * @param activity The Activity context.
+     * @param imageUri The URI of the image to process.
+     * @param encoder  The output format.
+     * @param callback The callback invoked with progress and when the user confirms the image.
+     */
+    public static void processImage(final Activity activity, final Uri imageUri, final ImageEncoder encoder, final ImageProcessCallback callback) {
+        ImagePipeline.process(activity.getContentResolver(), imageUri, encoder, new ImagePipeline.Listener() {
+            @Override
+            public void onProgress(int percent) {
+                callback.onProcessingProgress(percent);
+            }
 
-            Date dateTaken = new Date(); // current date for demo purposes
-            String location = "Test Location"; // Replace with an actual location if available
+            @Override
+            public void onComplete(Bitmap compressedBitmap, byte[] imageBytes) {
+                if (activity.isFinishing() || activity.isDestroyed()) {
+                    return;
+                }
+                Date dateTaken = new Date(); // current date for demo purposes
+                String location = "Test Location"; // Replace with an actual location if available
 
-            // Pass the compressed bitmap (not the original) and the final byte array to the preview dialog
-            showPreviewDialog(activity, compressedBitmap, imageBytes, imageUri, newSizeInBytes, dateTaken, location, callback);
+                // The compressed byte array is guaranteed to be within ImagePipeline.MAX_IMAGE_BYTES
+                showPreviewDialog(activity, compressedBitmap, imageBytes, encoder, imageUri, imageBytes.length, dateTaken, location, callback);
+            }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            Toast.makeText(activity, "Error processing image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-        }
+            @Override
+            public void onError(Exception e) {
+                e.printStackTrace();
+                if (!activity.isFinishing()) {
+                    Toast.makeText(activity, "Error processing image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
     }
 
     /**
@@ -132,12 +149,12 @@ public class ImageUtils {
     }
 
     /**
-     * Shows a preview dialog containing the processed image. When the user confirms,
+     * Shows a preview dialog containing the processed JPEG image. When the user confirms,
      * the provided callback is invoked.
      *
      * @param activity      The Activity context.
      * @param bitmap        The processed Bitmap.
-     * @param imageBytes    The final compressed image bytes (guaranteed to be below 65,536 bytes).
+     * @param imageBytes    The final compressed image bytes (guaranteed to be at most 65,536 bytes).
      * @param imageUri      The URI of the image.
      * @param fileSizeBytes The size of the image in bytes.
      * @param dateTaken     The date the image was taken.
@@ -145,6 +162,25 @@ public class ImageUtils {
      * @param callback      Callback to be invoked on confirmation.
      */
     public static void showPreviewDialog(final Activity activity, final Bitmap bitmap, final byte[] imageBytes, final Uri imageUri, final long fileSizeBytes, final Date dateTaken, final String location, final ImageProcessCallback callback) {
+        showPreviewDialog(activity, bitmap, imageBytes, new JpegImageEncoder(), imageUri, fileSizeBytes, dateTaken, location, callback);
+    }
+
+    /**
+     * Shows a preview dialog containing the processed image. When the user confirms,
+     * the bytes are queued on the {@link PhotoUploadQueue} and the provided callback is
+     * invoked once they are stored.
+     *
+     * @param activity      The Activity context.
+     * @param bitmap        The processed Bitmap.
+     * @param imageBytes    The final compressed image bytes (guaranteed to be at most 65,536 bytes).
+     * @param encoder       The format the bytes were encoded with.
+     * @param imageUri      The URI of the image.
+     * @param fileSizeBytes The size of the image in bytes.
+     * @param dateTaken     The date the image was taken.
+     * @param location      The location information.
+     * @param callback      Callback to be invoked on confirmation.
+     */
+    public static void showPreviewDialog(final Activity activity, final Bitmap bitmap, final byte[] imageBytes, final ImageEncoder encoder, final Uri imageUri, final long fileSizeBytes, final Date dateTaken, final String location, final ImageProcessCallback callback) {
         AlertDialog.Builder builder = new AlertDialog.Builder(activity);
         View dialogView = activity.getLayoutInflater().inflate(R.layout.image_preview_dialog, null);
         ImageView previewImageView = dialogView.findViewById(R.id.previewImageView);
@@ -155,23 +191,30 @@ public class ImageUtils {
                 .setPositiveButton("Confirm", new DialogInterface.OnClickListener() {
                     @Override
                     public void onClick(DialogInterface dialog, int which) {
-                        StorageReference storageRef = FirebaseStorage.getInstance().getReference();
-                        StorageReference imageRef = storageRef.child("images/" + System.currentTimeMillis() + ".jpg");
-
-                        // Upload the already compressed image bytes that are below 65,536 bytes
-                        UploadTask uploadTask = imageRef.putBytes(imageBytes);
-                        uploadTask.addOnSuccessListener(taskSnapshot -> {
-                            // Retrieve the download URL AFTER successful upload
-                            imageRef.getDownloadUrl().addOnSuccessListener(downloadUri -> {
-                                Uri uploadedImageUri = downloadUri; // Firebase Storage URL
-                                callback.onImageConfirmed(bitmap, uploadedImageUri, fileSizeBytes);
+                        // Queue the already compressed bytes (at most 65,536); identical photos are stored once
+                        String uploadId = PhotoUploadQueue.getInstance(activity).enqueue(imageBytes, encoder, new PhotoUploadQueue.Callback() {
+                            @Override
+                            public void onUploaded(Uri downloadUri, boolean deduplicated) {
+                                if (activity.isDestroyed()) {
+                                    return;
+                                }
+                                // Firebase Storage URL
+                                callback.onImageConfirmed(bitmap, downloadUri, fileSizeBytes);
                                 Toast.makeText(activity, "Image uploaded successfully!", Toast.LENGTH_SHORT).show();
-                            }).addOnFailureListener(e -> {
-                                Toast.makeText(activity, "Failed to get download URL: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                            });
-                        }).addOnFailureListener(e -> {
-                            Toast.makeText(activity, "Image upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                            }
+
+                            @Override
+                            public void onFailed(Exception e) {
+                                if (activity.isDestroyed()) {
+                                    return;
+                                }
+                                Toast.makeText(activity, "Image upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                                callback.onImageFailed(e);
+                            }
                         });
+                        if (uploadId != null) {
+                            callback.onImageQueued(bitmap, uploadId, fileSizeBytes);
+                        }
                     }
                 })
                 .setNegativeButton("Cancel", new DialogInterface.OnClickListener() {
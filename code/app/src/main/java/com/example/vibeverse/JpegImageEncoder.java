@@ -0,0 +1,26 @@
+package com.example.vibeverse;
+
+import android.graphics.Bitmap;
+
+import java.io.OutputStream;
+
+/**
+ * Encodes images as baseline JPEG.
+ */
+public class JpegImageEncoder implements ImageEncoder {
+
+    @Override
+    public String getMimeType() {
+        return "image/jpeg";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "jpg";
+    }
+
+    @Override
+    public boolean encode(Bitmap bitmap, int quality, OutputStream out) {
+        return bitmap.compress(Bitmap.CompressFormat.JPEG, quality, out);
+    }
+}
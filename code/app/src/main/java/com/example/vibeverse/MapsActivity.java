@@ -55,9 +55,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * MapsActivity displays a Google Map with custom markers representing mood events.
@@ -94,16 +92,12 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
     private LatLng currentUserLocation;
     private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
 
-    // Maps to store mood colors and emojis (copied from SelectMoodActivity)
-    private final Map<String, Integer> moodColors = new HashMap<>();
-    private final Map<String, String> moodEmojis = new HashMap<>();
-
-    private String selectedTheme = "default";
+    private String selectedTheme = UserSession.DEFAULT_THEME;
 
     /**
      * Called when the activity is created.
      * <p>
-     * Initializes mood data, Firebase, UI elements, location services, bottom navigation, and sets up the map fragment.
+     * Initializes Firebase, UI elements, location services, bottom navigation, and sets up the map fragment.
      * </p>
      *
      * @param savedInstanceState If the activity is being re-created, this contains the previous state.
@@ -113,9 +107,6 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_maps);
 
-        // Initialize mood data
-        initializeMoodData();
-
         // Initialize Firebase
         initializeFirebase();
 
@@ -349,38 +340,7 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
             }
         }
 
-        db.collection("users")
-                .document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists() && documentSnapshot.contains("selectedTheme")) {
-                        selectedTheme = documentSnapshot.getString("selectedTheme");
-                    }
-                })
-                .addOnFailureListener(e -> Log.e(TAG, "Failed to retrieve selected theme", e));
-    }
-
-    /**
-     * Initializes mood colors and emojis.
-     */
-    private void initializeMoodData() {
-        moodColors.put("Happy", Color.parseColor("#FBC02D"));      // Warm yellow
-        moodColors.put("Sad", Color.parseColor("#42A5F5"));        // Soft blue
-        moodColors.put("Angry", Color.parseColor("#EF5350"));      // Vibrant red
-        moodColors.put("Surprised", Color.parseColor("#FF9800"));  // Orange
-        moodColors.put("Afraid", Color.parseColor("#5C6BC0"));     // Indigo blue
-        moodColors.put("Disgusted", Color.parseColor("#66BB6A"));  // Green
-        moodColors.put("Confused", Color.parseColor("#AB47BC"));   // Purple
-        moodColors.put("Shameful", Color.parseColor("#EC407A"));   // Pink
-
-        moodEmojis.put("Happy", "😃");
-        moodEmojis.put("Sad", "😢");
-        moodEmojis.put("Angry", "😡");
-        moodEmojis.put("Surprised", "😲");
-        moodEmojis.put("Afraid", "😨");
-        moodEmojis.put("Disgusted", "🤢");
-        moodEmojis.put("Confused", "🤔");
-        moodEmojis.put("Shameful", "😳");
+        selectedTheme = UserSession.getInstance(this).getSelectedTheme();
     }
 
     /**
@@ -471,16 +431,14 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
                                 double latitude = latitudeObj;
                                 double longitude = longitudeObj;
                                 String locationName = document.getString("moodLocation");
-                                String moodTitle = document.getString("mood");
+                                Mood mood = Mood.of(document.getString("mood"));
+                                String moodTitle = mood != null ? mood.getName() : document.getString("mood");
                                 String emoji = document.getString("emoji");
                                 Long intensity = document.getLong("intensity");
                                 String reasonWhy = document.getString("reasonWhy");
 
                                 // Get mood color
-                                int moodColor = Color.GRAY; // Default color
-                                if (moodColors.containsKey(moodTitle)) {
-                                    moodColor = moodColors.get(moodTitle);
-                                }
+                                int moodColor = mood != null ? mood.getAccentColor() : Color.GRAY;
 
                                 if (intensity != null) {
                                     moodColor = adjustColorIntensity(moodColor, intensity.intValue());
@@ -559,16 +517,14 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
 
                                 if (isWithinRange(moodLocation, currentUserLocation, currentRadiusKm)) {
                                     String locationName = document.getString("moodLocation");
-                                    String moodTitle = document.getString("mood");
+                                    Mood mood = Mood.of(document.getString("mood"));
+                                    String moodTitle = mood != null ? mood.getName() : document.getString("mood");
                                     String emoji = document.getString("emoji");
                                     Long intensity = document.getLong("intensity");
                                     String reasonWhy = document.getString("reasonWhy");
 
                                     // Get mood color
-                                    int moodColor = Color.GRAY; // Default color
-                                    if (moodColors.containsKey(moodTitle)) {
-                                        moodColor = moodColors.get(moodTitle);
-                                    }
+                                    int moodColor = mood != null ? mood.getAccentColor() : Color.GRAY;
 
                                     if (intensity != null) {
                                         moodColor = adjustColorIntensity(moodColor, intensity.intValue());
@@ -624,28 +580,15 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
     private void addMoodMarker(LatLng position, String moodTitle, String emoji, int moodColor,
                                String reasonWhy, String locationName, String ownerId, boolean isOwnMood) {
         if (!isOwnMood) {
-            db.collection("users").document(ownerId).get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        String username = null;
-                        if (documentSnapshot.exists()) {
-                            username = documentSnapshot.getString("username");
-                        }
-                        Bitmap markerBitmap = createCustomMarkerBitmap(moodTitle, moodColor, username);
-                        mMap.addMarker(new MarkerOptions()
-                                .position(position)
-                                .title(moodTitle)
-                                .snippet(reasonWhy + " @ " + locationName)
-                                .icon(BitmapDescriptorFactory.fromBitmap(markerBitmap)));
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error getting user info for marker", e);
-                        Bitmap markerBitmap = createCustomMarkerBitmap(moodTitle, moodColor, null);
-                        mMap.addMarker(new MarkerOptions()
-                                .position(position)
-                                .title(moodTitle)
-                                .snippet(reasonWhy + " @ " + locationName)
-                                .icon(BitmapDescriptorFactory.fromBitmap(markerBitmap)));
-                    });
+            UserProfileCache.getInstance().get(ownerId, profile -> {
+                String username = profile != null ? profile.getUsername() : null;
+                Bitmap markerBitmap = createCustomMarkerBitmap(moodTitle, moodColor, username);
+                mMap.addMarker(new MarkerOptions()
+                        .position(position)
+                        .title(moodTitle)
+                        .snippet(reasonWhy + " @ " + locationName)
+                        .icon(BitmapDescriptorFactory.fromBitmap(markerBitmap)));
+            });
         } else {
             Bitmap markerBitmap = createCustomMarkerBitmap(moodTitle, moodColor, null);
             mMap.addMarker(new MarkerOptions()
@@ -757,7 +700,7 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
 
         // ---------------------- Draw The Mood Icon (PNG) ---------------------- //
         // Use the helper function to get the resource ID based on moodTitle and selectedTheme
-        int iconResId = getEmojiResourceId(moodTitle, selectedTheme);
+        int iconResId = EmojiDrawables.get(moodTitle, selectedTheme);
         Bitmap moodIcon = BitmapFactory.decodeResource(getResources(), iconResId);
 
         // Scale the icon to fit within the pin
@@ -980,16 +923,4 @@ public class MapsActivity extends AppCompatActivity implements OnMapReadyCallbac
         super.onPause();
         stopLocationUpdates();
     }
-
-    /**
-     * Retrieves the drawable resource ID for an emoji based on the mood and theme.
-     *
-     * @param moodId The mood identifier.
-     * @param theme The theme identifier.
-     * @return The emoji drawable resource ID.
-     */
-    private int getEmojiResourceId(String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return getResources().getIdentifier(resourceName, "drawable", getPackageName());
-    }
 }
\ No newline at end of file
@@ -1,73 +1,176 @@
 package com.example.vibeverse;
 
-import android.graphics.Color;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Enum representing different moods.
  * <p>
  * Each mood has a display name, an emoji representation, and a color resource
- * associated with it.
+ * associated with it. Mood is also the canonical registry for mood titles: stored
+ * titles, emojis and legacy spellings all resolve to one constant through
+ * {@link #of(String)}, and screens index per-mood arrays by {@link #ordinal()}
+ * instead of keeping their own string maps.
  * </p>
  */
 public enum Mood {
     /**
      * Represents a happy mood.
      */
-    HAPPY("Happy", "😃", R.color.happy_color),
+    HAPPY("Happy", "😃", R.color.happy_color, 0xFFFBC02D),
 
     /**
      * Represents a sad mood.
      */
-    SAD("Sad", "😢", R.color.sad_color),
+    SAD("Sad", "😢", R.color.sad_color, 0xFF42A5F5),
 
     /**
      * Represents an angry mood.
      */
-    ANGRY("Angry", "😡", R.color.angry_color),
+    ANGRY("Angry", "😡", R.color.angry_color, 0xFFEF5350),
 
     /**
      * Represents a surprised mood.
      */
-    SURPRISED("Surprised", "😲", R.color.surprised_color),
+    SURPRISED("Surprised", "😲", R.color.surprised_color, 0xFFFF9800),
 
     /**
      * Represents an afraid mood.
      */
-    AFRAID("Afraid", "😨", R.color.afraid_color),
+    AFRAID("Afraid", "😨", R.color.afraid_color, 0xFF5C6BC0),
 
     /**
      * Represents a disgusted mood.
      */
-    DISGUSTED("Disgusted", "🤢", R.color.disgusted_color),
+    DISGUSTED("Disgusted", "🤢", R.color.disgusted_color, 0xFF66BB6A),
 
     /**
      * Represents a confused mood.
      */
-    CONFUSED("Confused", "🤔", R.color.confused_color),
+    CONFUSED("Confused", "🤔", R.color.confused_color, 0xFFAB47BC),
 
     /**
      * Represents a shameful mood.
      */
-    SHAMEFUL("Shameful", "😳", R.color.shameful_color);
+    SHAMEFUL("Shameful", "😳", R.color.shameful_color, 0xFFEC407A);
+
+    /** The number of moods; per-mood arrays are this long. */
+    public static final int COUNT = values().length;
+
+    /** Cached copy of {@link #values()}, which allocates a new array on every call. */
+    private static final Mood[] VALUES = values();
+
+    /** Every accepted spelling of a mood, lower-cased, mapped to its constant. */
+    private static final Map<String, Mood> LOOKUP = new HashMap<>();
+
+    static {
+        for (Mood mood : VALUES) {
+            LOOKUP.put(mood.id, mood);
+            LOOKUP.put(mood.emoji, mood);
+        }
+        // Spellings and emojis written by older screens
+        alias(HAPPY, "happiness", "😄");
+        alias(SAD, "sadness");
+        alias(ANGRY, "anger", "😠");
+        alias(SURPRISED, "surprise", "😮");
+        alias(AFRAID, "fear", "scared", "😱");
+        alias(DISGUSTED, "disgust");
+        alias(CONFUSED, "confusion", "😕");
+        alias(SHAMEFUL, "shame", "ashamed");
+    }
 
     /** The display name of the mood. */
     private final String name;
+    /** The lower-cased name, used in resource names and lookups. */
+    private final String id;
     /** The emoji representing the mood. */
     private final String emoji;
     /** The color resource associated with the mood. */
     private final int color;
+    /** The same color as the resource, as an ARGB value. */
+    private final int accentColor;
 
     /**
      * Constructs a new Mood.
      *
-     * @param name  The display name of the mood.
-     * @param emoji The emoji representing the mood.
-     * @param color The color resource ID associated with the mood.
+     * @param name        The display name of the mood.
+     * @param emoji       The emoji representing the mood.
+     * @param color       The color resource ID associated with the mood.
+     * @param accentColor The ARGB value of the color resource.
      */
-    Mood(String name, String emoji, int color) {
+    Mood(String name, String emoji, int color, int accentColor) {
         this.name = name;
+        this.id = name.toLowerCase(Locale.ROOT);
         this.emoji = emoji;
         this.color = color;
+        this.accentColor = accentColor;
+    }
+
+    private static void alias(Mood mood, String... spellings) {
+        for (String spelling : spellings) {
+            LOOKUP.put(spelling, mood);
+        }
+    }
+
+    /**
+     * Returns the mood with the given ordinal without copying {@link #values()}.
+     *
+     * @param ordinal The ordinal, from 0 to {@link #COUNT} - 1.
+     * @return The mood.
+     */
+    public static Mood fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Resolves a stored mood value to its mood. Accepts display names in any case, enum
+     * names, emojis, legacy spellings such as "Fear", and the "emoji Name" format used for
+     * emotional states.
+     *
+     * @param value The stored value.
+     * @return The mood, or null if the value is not a known mood.
+     */
+    public static Mood of(String value) {
+        if (value == null) {
+            return null;
+        }
+        Mood mood = LOOKUP.get(value);
+        if (mood != null) {
+            return mood;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        mood = LOOKUP.get(key);
+        if (mood == null) {
+            int space = key.lastIndexOf(' ');
+            if (space >= 0) {
+                mood = LOOKUP.get(key.substring(space + 1));
+            }
+        }
+        return mood;
+    }
+
+    /**
+     * Returns the ordinal of a stored mood value.
+     *
+     * @param value The stored value.
+     * @return The ordinal, or -1 if the value is not a known mood.
+     */
+    public static int ordinalOf(String value) {
+        Mood mood = of(value);
+        return mood != null ? mood.ordinal() : -1;
+    }
+
+    /**
+     * Rewrites a stored mood value to its canonical display name, so data written by
+     * older versions compares equal to new data.
+     *
+     * @param value The stored value.
+     * @return The display name, or the value unchanged if it is not a known mood.
+     */
+    public static String normalize(String value) {
+        Mood mood = of(value);
+        return mood != null ? mood.name : value;
     }
 
     /**
@@ -79,6 +182,15 @@ public enum Mood {
         return name;
     }
 
+    /**
+     * Returns the lower-cased name of the mood, as used in resource names.
+     *
+     * @return The mood ID.
+     */
+    public String getId() {
+        return id;
+    }
+
     /**
      * Returns the emoji representing the mood.
      *
@@ -96,4 +208,25 @@ public enum Mood {
     public int getColor() {
         return color;
     }
+
+    /**
+     * Returns the mood's color as an ARGB value, for code that has no Context to resolve
+     * {@link #getColor()} with.
+     *
+     * @return The ARGB color.
+     */
+    public int getAccentColor() {
+        return accentColor;
+    }
+
+    /**
+     * Returns the name of the emoji drawable for this mood in a theme, such as
+     * "emoji_happy_default".
+     *
+     * @param theme The theme name, in any case.
+     * @return The drawable resource name.
+     */
+    public String getEmojiResourceName(String theme) {
+        return "emoji_" + id + "_" + theme.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,260 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * MoodAggregates maintains a per-user document of mood counts at
+ * {@code Usermoods/{userId}/stats/aggregates}.
+ * <p>
+ * Every create, edit and delete of a mood adds the change in counts to the same batch as the
+ * mood itself, written with {@link FieldValue#increment(long)} and a merge so concurrent writes
+ * add up. Screens that only need counts can then read one document instead of the whole mood
+ * history. Users whose moods predate the document have it built once from a full read the first
+ * time it is loaded, in a transaction so that concurrent increments are not overwritten; the
+ * {@code complete} flag tells such a build apart from a document that so far only holds
+ * increments.
+ * </p>
+ */
+public class MoodAggregates {
+
+    private static final String TAG = "MoodAggregates";
+
+    /** Set once the document counts every mood of the user. */
+    static final String FIELD_COMPLETE = "complete";
+
+    /** How many times a build is retried when moods are written while it counts them. */
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final FirebaseFirestore db;
+
+    /**
+     * Constructs a MoodAggregates bound to the default Firestore instance.
+     */
+    public MoodAggregates() {
+        this.db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Returns the aggregates document of the given user.
+     *
+     * @param userId The user's ID.
+     * @return The document reference.
+     */
+    public DocumentReference documentOf(String userId) {
+        return db.collection("Usermoods").document(userId).collection("stats").document("aggregates");
+    }
+
+    /**
+     * Adds the change in counts from creating, editing or deleting a mood to a batch.
+     *
+     * @param batch  The batch that writes the mood.
+     * @param userId The owner of the mood.
+     * @param before The mood before the change, or null if it is being created.
+     * @param after  The mood after the change, or null if it is being deleted.
+     */
+    public void stageChange(WriteBatch batch, String userId, MoodEvent before, MoodEvent after) {
+        Map<String, Object> increments = toIncrements(MoodStats.delta(before, after));
+        if (!increments.isEmpty()) {
+            batch.set(documentOf(userId), increments, SetOptions.merge());
+        }
+    }
+
+    /**
+     * Adds a photo attached to an already counted mood to a batch.
+     *
+     * @param batch  The batch that sets the mood's photo.
+     * @param userId The owner of the mood.
+     */
+    public void stagePhotoAttached(WriteBatch batch, String userId) {
+        Map<String, Object> increments = new HashMap<>();
+        putIncrement(increments, MoodStats.FIELD_PHOTOS, 1);
+        batch.set(documentOf(userId), increments, SetOptions.merge());
+    }
+
+    /**
+     * Adds the user's streak state to a batch.
+     *
+     * @param batch        The batch.
+     * @param userId       The user's ID.
+     * @param streak       The current streak in days.
+     * @param lastMoodDate The day of the latest mood, or null to leave it unchanged.
+     */
+    public void stageStreak(WriteBatch batch, String userId, int streak, String lastMoodDate) {
+        batch.set(documentOf(userId), streakFields(streak, lastMoodDate), SetOptions.merge());
+    }
+
+    /**
+     * Writes the user's streak state on its own.
+     *
+     * @param userId       The user's ID.
+     * @param streak       The current streak in days.
+     * @param lastMoodDate The day of the latest mood, or null to leave it unchanged.
+     * @return The write task.
+     */
+    public Task<Void> updateStreak(String userId, int streak, String lastMoodDate) {
+        return documentOf(userId).set(streakFields(streak, lastMoodDate), SetOptions.merge());
+    }
+
+    /**
+     * Returns whether an aggregates document counts every mood of its user.
+     *
+     * @param doc The aggregates document.
+     * @return False if the document is missing or has not been built from the mood history.
+     */
+    public static boolean isComplete(DocumentSnapshot doc) {
+        return doc.exists() && Boolean.TRUE.equals(doc.getBoolean(FIELD_COMPLETE));
+    }
+
+    /**
+     * Reads the user's counts, building the document from the full mood history if it has
+     * never been built.
+     *
+     * @param userId The user's ID.
+     * @return A task with the counts, which fails if the counts could not be read.
+     */
+    public Task<MoodStats> load(String userId) {
+        return load(userId, MAX_REBUILD_ATTEMPTS);
+    }
+
+    private Task<MoodStats> load(String userId, int attemptsLeft) {
+        return documentOf(userId).get().continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                return Tasks.forException(task.getException());
+            }
+            DocumentSnapshot doc = task.getResult();
+            if (isComplete(doc)) {
+                return Tasks.forResult(MoodStats.fromData(doc.getData()));
+            }
+            return rebuild(userId, doc, attemptsLeft);
+        });
+    }
+
+    /**
+     * Counts every mood of the user and writes the result over the aggregates document.
+     * <p>
+     * Every mood write also changes the aggregates document, so the write is made in a
+     * transaction that only goes ahead if the document still holds what was read before the
+     * moods were counted. Otherwise a mood was written in between and the count is taken
+     * again. If another device finished a build first, its counts are used instead. The streak
+     * state is carried over from the partial document, if any.
+     * </p>
+     *
+     * @param userId       The user's ID.
+     * @param seen         The aggregates document as read before counting.
+     * @param attemptsLeft How many more times the moods may be counted.
+     * @return A task with the counts.
+     */
+    private Task<MoodStats> rebuild(String userId, DocumentSnapshot seen, int attemptsLeft) {
+        Map<String, Object> seenData = seen.exists() ? seen.getData() : null;
+        return db.collection("Usermoods")
+                .document(userId)
+                .collection("moods")
+                .get()
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        return Tasks.forException(task.getException());
+                    }
+                    List<MoodEvent> moods = new ArrayList<>();
+                    for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                        moods.add(DocumentCodec.decodeMoodEvent(doc));
+                    }
+                    MoodStats counted = MoodStats.fromMoods(moods);
+                    if (seenData != null) {
+                        MoodStats partial = MoodStats.fromData(seenData);
+                        counted.setStreak(partial.getStreak(), partial.getLastMoodDate());
+                    }
+                    return db.runTransaction(transaction -> {
+                        DocumentSnapshot current = transaction.get(documentOf(userId));
+                        if (isComplete(current)) {
+                            return MoodStats.fromData(current.getData());
+                        }
+                        if (!Objects.equals(seenData, current.exists() ? current.getData() : null)) {
+                            // A mood was written after the counts were read
+                            return null;
+                        }
+                        Map<String, Object> data = counted.toData();
+                        data.put(FIELD_COMPLETE, true);
+                        transaction.set(documentOf(userId), data);
+                        return counted;
+                    });
+                })
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        Log.e(TAG, "Failed to store mood aggregates", task.getException());
+                        return Tasks.forException(task.getException());
+                    }
+                    if (task.getResult() != null) {
+                        return Tasks.forResult(task.getResult());
+                    }
+                    if (attemptsLeft > 1) {
+                        return load(userId, attemptsLeft - 1);
+                    }
+                    return Tasks.forException(new FirebaseFirestoreException(
+                            "Moods kept changing while counting them",
+                            FirebaseFirestoreException.Code.ABORTED));
+                });
+    }
+
+    /**
+     * Converts a change in counts into document fields that increment each count that changed.
+     *
+     * @param delta The change in counts.
+     * @return Nested fields of increments, to be written with a merge.
+     */
+    static Map<String, Object> toIncrements(MoodStats delta) {
+        Map<String, Object> fields = new HashMap<>();
+        putIncrement(fields, MoodStats.FIELD_TOTAL, delta.getTotal());
+        putIncrement(fields, MoodStats.FIELD_PHOTOS, delta.getPhotos());
+        putIncrements(fields, MoodStats.FIELD_BY_MOOD, delta.getByMood());
+        putIncrements(fields, MoodStats.FIELD_BY_SOCIAL, delta.getBySocial());
+        Map<String, Object> days = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> day : delta.getByDay().entrySet()) {
+            putIncrements(days, day.getKey(), day.getValue());
+        }
+        if (!days.isEmpty()) {
+            fields.put(MoodStats.FIELD_BY_DAY, days);
+        }
+        return fields;
+    }
+
+    private static void putIncrements(Map<String, Object> fields, String name, Map<String, Long> counts) {
+        Map<String, Object> increments = new HashMap<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            putIncrement(increments, entry.getKey(), entry.getValue());
+        }
+        if (!increments.isEmpty()) {
+            fields.put(name, increments);
+        }
+    }
+
+    private static void putIncrement(Map<String, Object> fields, String name, long amount) {
+        if (amount != 0) {
+            fields.put(name, FieldValue.increment(amount));
+        }
+    }
+
+    private static Map<String, Object> streakFields(int streak, String lastMoodDate) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(MoodStats.FIELD_STREAK, streak);
+        if (lastMoodDate != null) {
+            fields.put(MoodStats.FIELD_LAST_MOOD_DATE, lastMoodDate);
+        }
+        return fields;
+    }
+}
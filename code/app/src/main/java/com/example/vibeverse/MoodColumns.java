@@ -0,0 +1,186 @@
+package com.example.vibeverse;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MoodColumns is a read-only, column-oriented view of a user's per-day mood counts, used by
+ * MoodInsightsActivity.
+ * <p>
+ * Each row is the number of moods of one {@link Mood} posted on one day. Rows are held in
+ * parallel primitive arrays sorted by the start of their day, so a date range is located with
+ * two binary searches and counted into an {@code int[]} indexed by mood ordinal in a single
+ * pass, without boxing, hashing or date formatting. The day strings of {@link MoodStats} are
+ * parsed once when the columns are built. Moods whose title is not a known {@link Mood} are
+ * left out.
+ * </p>
+ */
+public final class MoodColumns {
+
+    /** Length of the histograms filled by this class. */
+    public static final int MOOD_COUNT = Mood.COUNT;
+
+    /** Columns holding no rows. */
+    public static final MoodColumns EMPTY = new MoodColumns(new long[0], new byte[0], new int[0]);
+
+    private final long[] dayStart;
+    private final byte[] moodOrdinal;
+    private final int[] count;
+
+    private MoodColumns(long[] dayStart, byte[] moodOrdinal, int[] count) {
+        this.dayStart = dayStart;
+        this.moodOrdinal = moodOrdinal;
+        this.count = count;
+    }
+
+    /**
+     * Builds the columns from the per-day counts of an aggregates document.
+     *
+     * @param stats The user's mood counts.
+     * @return The columns, sorted by day.
+     */
+    public static MoodColumns fromStats(MoodStats stats) {
+        SimpleDateFormat dayFormat = new SimpleDateFormat(MoodStreak.DAY_PATTERN, Locale.getDefault());
+        List<long[]> rows = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Long>> day : stats.getByDay().entrySet()) {
+            long start;
+            try {
+                start = dayFormat.parse(day.getKey()).getTime();
+            } catch (ParseException e) {
+                continue;
+            }
+            for (Map.Entry<String, Long> mood : day.getValue().entrySet()) {
+                int ordinal = Mood.ordinalOf(mood.getKey());
+                if (ordinal >= 0 && mood.getValue() > 0) {
+                    rows.add(new long[]{start, ordinal, mood.getValue()});
+                }
+            }
+        }
+        rows.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        int size = rows.size();
+        long[] dayStart = new long[size];
+        byte[] moodOrdinal = new byte[size];
+        int[] count = new int[size];
+        for (int i = 0; i < size; i++) {
+            long[] row = rows.get(i);
+            dayStart[i] = row[0];
+            moodOrdinal[i] = (byte) row[1];
+            count[i] = (int) row[2];
+        }
+        return new MoodColumns(dayStart, moodOrdinal, count);
+    }
+
+    /**
+     * Returns the start of each day from {@code days} days before {@code now} up to the day of
+     * {@code now}, followed by the start of the next day, so that day {@code i} spans
+     * {@code [result[i], result[i + 1])}.
+     *
+     * @param days The number of days to look back.
+     * @param now  The current time in millis.
+     * @return {@code days + 2} day boundaries in ascending order.
+     */
+    public static long[] dayBoundaries(int days, long now) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(now);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        cal.add(Calendar.DAY_OF_YEAR, -days);
+        long[] boundaries = new long[days + 2];
+        for (int i = 0; i < boundaries.length; i++) {
+            boundaries[i] = cal.getTimeInMillis();
+            cal.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return boundaries;
+    }
+
+    /**
+     * Counts the moods in each day and across the whole range in one pass over the rows.
+     *
+     * @param boundaries The day boundaries from {@link #dayBoundaries(int, long)}.
+     * @param daily      Receives the counts of day {@code i} in {@code daily[i]}; at least
+     *                   {@code boundaries.length - 1} arrays of {@link #MOOD_COUNT} entries.
+     * @param total      Receives the counts across the range; {@link #MOOD_COUNT} entries.
+     */
+    public void count(long[] boundaries, int[][] daily, int[] total) {
+        Arrays.fill(total, 0);
+        int days = boundaries.length - 1;
+        for (int d = 0; d < days; d++) {
+            Arrays.fill(daily[d], 0);
+        }
+        int end = lowerBound(boundaries[days]);
+        int d = 0;
+        for (int i = lowerBound(boundaries[0]); i < end; i++) {
+            while (dayStart[i] >= boundaries[d + 1]) {
+                d++;
+            }
+            daily[d][moodOrdinal[i]] += count[i];
+            total[moodOrdinal[i]] += count[i];
+        }
+    }
+
+    /**
+     * Counts the moods posted in a time range.
+     *
+     * @param from      The start of the range in millis, inclusive.
+     * @param to        The end of the range in millis, exclusive.
+     * @param histogram Receives the counts per mood ordinal; {@link #MOOD_COUNT} entries.
+     */
+    public void histogram(long from, long to, int[] histogram) {
+        Arrays.fill(histogram, 0);
+        int end = lowerBound(to);
+        for (int i = lowerBound(from); i < end; i++) {
+            histogram[moodOrdinal[i]] += count[i];
+        }
+    }
+
+    /**
+     * Returns the most frequent mood in a histogram; ties go to the lower ordinal.
+     *
+     * @param histogram Counts per mood ordinal.
+     * @return The ordinal of the top mood, or -1 if every count is zero.
+     */
+    public static int topMood(int[] histogram) {
+        int top = -1;
+        int max = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > max) {
+                max = histogram[i];
+                top = i;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * @return The number of (day, mood) rows.
+     */
+    public int size() {
+        return dayStart.length;
+    }
+
+    /**
+     * Returns the index of the first row whose day starts at or after the given time.
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = dayStart.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dayStart[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
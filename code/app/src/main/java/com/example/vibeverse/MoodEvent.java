@@ -6,6 +6,7 @@ import android.util.Log;
 import com.google.firebase.Timestamp;
 
 import java.io.Serializable;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
@@ -22,7 +23,14 @@ import java.util.Map;
  * </p>
  */
 public class MoodEvent implements Serializable {
+
+    /** Firestore field holding the typed creation time of a mood event. */
+    public static final String FIELD_CREATED_AT = "createdAt";
+    /** Format of the legacy string timestamp, kept for display. */
+    static final String TIMESTAMP_PATTERN = "MMM dd, yyyy - hh:mm a";
+
     private String moodTitle;
+    private Mood mood; // Resolved once from moodTitle
     private String moodEmoji;
     private String reasonWhy;
 
@@ -32,6 +40,7 @@ public class MoodEvent implements Serializable {
 
     private String documentId; // Firestore document ID
     private String socialSituation;
+    private String moodLocation; // Name of the place the mood was posted from, if shared
     private String timestamp; // Formatted timestamp
     private int intensity = 5; // Default intensity set to middle value
     private Photograph photograph = null;
@@ -146,6 +155,13 @@ public class MoodEvent implements Serializable {
     }
 
 
+    /**
+     * Constructs an empty MoodEvent for {@link DocumentCodec}, which sets every field itself
+     * and so skips formatting the current time.
+     */
+    MoodEvent() {
+    }
+
     /**
      * Constructs a new MoodEvent with the given mood title, emoji, and social situation.
      * The timestamp is automatically set to the current date and time.
@@ -160,6 +176,7 @@ public class MoodEvent implements Serializable {
         this.reasonWhy = reasonWhy;
         this.moodEmoji = moodEmoji;
         this.moodTitle = moodTitle;
+        this.mood = Mood.of(moodTitle);
         this.socialSituation = socialSituation;
         this.timestamp = getCurrentFormattedTime();
         this.isPublic = privacy;
@@ -180,6 +197,7 @@ public class MoodEvent implements Serializable {
         this.ownerUserId = ownerUserId;
         this.reasonWhy = reasonWhy;
         this.moodTitle = moodTitle;
+        this.mood = Mood.of(moodTitle);
         this.moodEmoji = moodEmoji;
         this.socialSituation = socialSituation;
         this.timestamp = getCurrentFormattedTime();
@@ -199,6 +217,9 @@ public class MoodEvent implements Serializable {
         moodMap.put("emotionalState", this.moodTitle);
         moodMap.put("socialSituation", this.socialSituation);
         moodMap.put("timestamp", this.timestamp);
+        if (this.date != null) {
+            moodMap.put(FIELD_CREATED_AT, new Timestamp(this.date));
+        }
         moodMap.put("intensity", this.intensity);
         moodMap.put("reasonWhy", this.reasonWhy);
 
@@ -232,7 +253,7 @@ public class MoodEvent implements Serializable {
      */
     public static MoodEvent fromMap(Map<String, Object> data) {
         String moodEmoji = (String) data.get("emoji");
-        String moodTitle = (String) data.get("mood");
+        String moodTitle = Mood.normalize((String) data.get("mood"));
         String socialSituation = (String) data.get("socialSituation");
         String reasonWhy = (String) data.get("reasonWhy");
         String ownerUserId = (String) data.get("ownerUserId");
@@ -247,11 +268,27 @@ public class MoodEvent implements Serializable {
             moodEvent.setDocumentId((String) data.get("documentId"));
         }
 
+        // Author snapshot stored with the mood, so feeds can show it without a user lookup
+        if (data.containsKey("username")) {
+            moodEvent.setUsername((String) data.get("username"));
+            moodEvent.setProfilePictureUrl((String) data.get("profilePicUri"));
+        }
+
+        moodEvent.setMoodLocation((String) data.get("moodLocation"));
+
         // Set the timestamp if available
         if (data.containsKey("timestamp")) {
             moodEvent.setTimestamp((String) data.get("timestamp"));
         }
 
+        // Prefer the typed creation time; only moods not yet migrated need their string parsed
+        Object createdAt = data.get(FIELD_CREATED_AT);
+        if (createdAt instanceof Timestamp) {
+            moodEvent.setDate(((Timestamp) createdAt).toDate());
+        } else if (moodEvent.getTimestamp() != null) {
+            moodEvent.setDate(parseLegacyTimestamp(moodEvent.getTimestamp()));
+        }
+
         // Set intensity if available
         if (data.containsKey("intensity")) {
             moodEvent.setIntensity(((Long) data.get("intensity")).intValue());
@@ -307,10 +344,27 @@ public class MoodEvent implements Serializable {
      * @return A formatted timestamp string.
      */
     private String getCurrentFormattedTime() {
-        SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault());
+        SimpleDateFormat sdf = new SimpleDateFormat(TIMESTAMP_PATTERN, Locale.getDefault());
         return sdf.format(new Date());
     }
 
+    /**
+     * Parses a legacy "MMM dd, yyyy - hh:mm a" timestamp string.
+     *
+     * @param timestamp The formatted timestamp.
+     * @return The parsed date, or null if the string cannot be parsed.
+     */
+    static Date parseLegacyTimestamp(String timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        try {
+            return new SimpleDateFormat(TIMESTAMP_PATTERN, Locale.getDefault()).parse(timestamp);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns the Photograph associated with this mood event.
      *
@@ -327,6 +381,7 @@ public class MoodEvent implements Serializable {
      */
     public void setMoodTitle(String moodTitle) {
         this.moodTitle = moodTitle;
+        this.mood = Mood.of(moodTitle);
     }
 
 
@@ -390,6 +445,13 @@ public class MoodEvent implements Serializable {
      */
     public String getMoodTitle() { return moodTitle; }
 
+    /**
+     * Returns the mood this event's title resolves to, looked up once when the title is set.
+     *
+     * @return The mood, or null if the title is not a known mood.
+     */
+    public Mood getMood() { return mood; }
+
     /**
      * Returns the social situation of this mood event.
      *
@@ -422,8 +484,8 @@ public class MoodEvent implements Serializable {
      * @return The photo URI string, or "N/A" if no photograph is attached.
      */
     public String getPhotoUri() {
-        if (photograph != null && photograph.getImageUri() != null) {
-            return photograph.getImageUri().toString();
+        if (photograph != null && photograph.getImageUriString() != null) {
+            return photograph.getImageUriString();
         }
         return "N/A";
     }
@@ -449,6 +511,24 @@ public class MoodEvent implements Serializable {
         }
         return null;
     }
+    /**
+     * Returns the name of the place the mood was posted from.
+     *
+     * @return The location name, or null if no location was attached.
+     */
+    public String getMoodLocation() {
+        return moodLocation;
+    }
+
+    /**
+     * Sets the name of the place the mood was posted from.
+     *
+     * @param moodLocation The location name, or null for none.
+     */
+    public void setMoodLocation(String moodLocation) {
+        this.moodLocation = moodLocation;
+    }
+
     /**
      * Returns the location where the photograph was taken.
      *
@@ -5,6 +5,8 @@ import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -20,21 +22,18 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.appcompat.view.ContextThemeWrapper;
 import androidx.appcompat.widget.PopupMenu;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.request.RequestOptions;
 import com.google.android.material.button.MaterialButton;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * MoodEventAdapter populates a RecyclerView with MoodEvent data.
@@ -48,24 +47,39 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
 
     private static final String TAG = "MoodEventAdapter";
 
+    /** How long typing must pause before {@link #filterDelayed(String)} runs the search. */
+    static final long SEARCH_DEBOUNCE_MS = 200;
+
     /** The list of MoodEvent objects currently displayed. */
     private List<MoodEvent> moodEventList;
     /** The complete list of MoodEvent objects for filtering. */
     private List<MoodEvent> originalList;
     /** The current filtered list used for display. */
     private List<MoodEvent> currentList;
+    /** The most recent search query passed to {@link #filter(String)}. */
+    private String currentQuery = "";
+    /** Inverted index over the searchable text of every event in originalList. */
+    private final MoodSearchIndex searchIndex = new MoodSearchIndex();
+    /** Runs debounced searches on the main thread. */
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    /** The search waiting for typing to pause, or null. */
+    private Runnable pendingSearch;
     /** Formatter for displaying date/time in the item view. */
     private final SimpleDateFormat formatter = new SimpleDateFormat("MMM dd, yyyy • hh:mm:ss a", Locale.US);
     /** The context in which the adapter is operating. */
     private final Context context;
 
-    /** Map of mood titles to their associated colors. */
-    private final Map<String, Integer> moodColors = new HashMap<>();
     /** Flag to show or hide the menu button in the mood event items. */
     private boolean showMenuButton = true;
     private boolean showProfileInfo = false;
 
+    /** The current user's emoji theme, kept in step with {@link UserSession}. */
     private String selectedTheme;
+    /** Reloads the emojis when the user picks another theme. */
+    private final UserSession.ThemeListener themeListener = theme -> {
+        selectedTheme = theme;
+        notifyDataSetChanged();
+    };
 
     /**
      * Constructs a new MoodEventAdapter.
@@ -78,50 +92,35 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
         this.moodEventList = new ArrayList<>(moodEventList);
         this.originalList = new ArrayList<>(moodEventList);
         this.currentList = new ArrayList<>(moodEventList);
-        initializeMoodColors();
-        fetchUserTheme();
+        searchIndex.addAll(moodEventList);
+        selectedTheme = UserSession.getInstance(context).getSelectedTheme();
     }
+
     /**
-     * Queries Firestore for the current user's selectedTheme and updates the adapter.
+     * Subscribes to theme changes while the adapter is attached to a RecyclerView.
+     *
+     * @param recyclerView The RecyclerView the adapter was attached to.
      */
-    private void fetchUserTheme() {
-        FirebaseAuth auth = FirebaseAuth.getInstance();
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = (auth.getCurrentUser() != null) ? auth.getCurrentUser().getUid() : null;
-        if (userId != null) {
-            db.collection("users").document(userId)
-                    .get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists() && documentSnapshot.contains("selectedTheme")) {
-                            selectedTheme = documentSnapshot.getString("selectedTheme");
-                        } else {
-                            selectedTheme = "default";
-                        }
-                        // Refresh the list so that emojis are reloaded based on the theme.
-                        notifyDataSetChanged();
-                    })
-                    .addOnFailureListener(e -> {
-                        selectedTheme = "default";
-                        notifyDataSetChanged();
-                    });
-        } else {
-            // No logged in user; keep default theme.
-            selectedTheme = "default";
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        UserSession session = UserSession.getInstance(context);
+        session.addThemeListener(themeListener);
+        // The theme may have changed while the adapter was detached
+        if (!session.getSelectedTheme().equals(selectedTheme)) {
+            themeListener.onThemeChanged(session.getSelectedTheme());
         }
     }
 
     /**
-     * Initializes the moodColors map with pre-defined color values for each mood.
+     * Unsubscribes from theme changes once the adapter is detached.
+     *
+     * @param recyclerView The RecyclerView the adapter was detached from.
      */
-    private void initializeMoodColors() {
-        moodColors.put("Happy", Color.parseColor("#FBC02D"));      // Warm yellow
-        moodColors.put("Sad", Color.parseColor("#42A5F5"));        // Soft blue
-        moodColors.put("Angry", Color.parseColor("#EF5350"));      // Vibrant red
-        moodColors.put("Surprised", Color.parseColor("#FF9800"));  // Orange
-        moodColors.put("Afraid", Color.parseColor("#5C6BC0"));     // Indigo blue
-        moodColors.put("Disgusted", Color.parseColor("#66BB6A"));  // Green
-        moodColors.put("Confused", Color.parseColor("#AB47BC"));   // Purple
-        moodColors.put("Shameful", Color.parseColor("#EC407A"));   // Pink
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        UserSession.getInstance(context).removeThemeListener(themeListener);
     }
 
     /**
@@ -134,8 +133,112 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
         moodEventList.addAll(newMoodEvents);
         originalList = new ArrayList<>(newMoodEvents);
         currentList = new ArrayList<>(newMoodEvents);
+        currentQuery = "";
+        // Filter results are usually subsets of what is already indexed, so keep the index
+        // and only rebuild it once stale events outnumber the current ones
+        if (searchIndex.size() > 2 * newMoodEvents.size() + 64) {
+            searchIndex.clear();
+        }
+        searchIndex.addAll(newMoodEvents);
         notifyDataSetChanged();
     }
+
+    /**
+     * Appends a page of MoodEvent objects to the end of the dataset.
+     * <p>
+     * Only the inserted rows are notified, and the active search query is applied
+     * to the new items so paging does not disturb an ongoing search.
+     * </p>
+     *
+     * @param moreMoodEvents The MoodEvent objects to append.
+     */
+    public void appendMoodEvents(List<MoodEvent> moreMoodEvents) {
+        originalList.addAll(moreMoodEvents);
+        searchIndex.addAll(moreMoodEvents);
+        int start = moodEventList.size();
+        for (MoodEvent moodEvent : moreMoodEvents) {
+            if (matchesQuery(moodEvent, currentQuery)) {
+                currentList.add(moodEvent);
+                moodEventList.add(moodEvent);
+            }
+        }
+        int inserted = moodEventList.size() - start;
+        if (inserted > 0) {
+            notifyItemRangeInserted(start, inserted);
+        }
+    }
+
+    /**
+     * Prepends a page of MoodEvent objects to the start of the dataset, applying the
+     * active search query like {@link #appendMoodEvents(List)}.
+     *
+     * @param moreMoodEvents The MoodEvent objects to prepend.
+     */
+    public void prependMoodEvents(List<MoodEvent> moreMoodEvents) {
+        originalList.addAll(0, moreMoodEvents);
+        searchIndex.addAll(moreMoodEvents);
+        List<MoodEvent> matching = new ArrayList<>();
+        for (MoodEvent moodEvent : moreMoodEvents) {
+            if (matchesQuery(moodEvent, currentQuery)) {
+                matching.add(moodEvent);
+            }
+        }
+        if (!matching.isEmpty()) {
+            currentList.addAll(0, matching);
+            moodEventList.addAll(0, matching);
+            notifyItemRangeInserted(0, matching.size());
+        }
+    }
+
+    /**
+     * Removes MoodEvent objects from the start of the unfiltered dataset, for example when
+     * a page scrolls far enough out of view to be released.
+     *
+     * @param count The number of MoodEvent objects to remove.
+     */
+    public void removeFirstMoodEvents(int count) {
+        count = Math.min(count, originalList.size());
+        List<MoodEvent> removed = new ArrayList<>(originalList.subList(0, count));
+        originalList.subList(0, count).clear();
+        int displayCount = 0;
+        for (MoodEvent moodEvent : removed) {
+            searchIndex.remove(moodEvent);
+            if (!moodEventList.isEmpty() && moodEventList.get(0) == moodEvent) {
+                moodEventList.remove(0);
+                currentList.remove(0);
+                displayCount++;
+            }
+        }
+        if (displayCount > 0) {
+            notifyItemRangeRemoved(0, displayCount);
+        }
+    }
+
+    /**
+     * Removes MoodEvent objects from the end of the unfiltered dataset.
+     *
+     * @param count The number of MoodEvent objects to remove.
+     */
+    public void removeLastMoodEvents(int count) {
+        count = Math.min(count, originalList.size());
+        int from = originalList.size() - count;
+        List<MoodEvent> removed = new ArrayList<>(originalList.subList(from, originalList.size()));
+        originalList.subList(from, originalList.size()).clear();
+        int displayCount = 0;
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            searchIndex.remove(removed.get(i));
+            int last = moodEventList.size() - 1;
+            if (last >= 0 && moodEventList.get(last) == removed.get(i)) {
+                moodEventList.remove(last);
+                currentList.remove(last);
+                displayCount++;
+            }
+        }
+        if (displayCount > 0) {
+            notifyItemRangeRemoved(moodEventList.size(), displayCount);
+        }
+    }
+
     /**
      * Sets the visibility of the menu button in the mood event items.
      *
@@ -169,8 +272,8 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
         MoodEvent moodEvent = moodEventList.get(position);
 
         // Instead of setting the emoji as text, load the appropriate PNG based on the theme.
-        // Assume that MoodEventViewHolder now has an ImageView called imageEmoji.
-        int emojiResId = getEmojiResourceId(moodEvent.getMoodTitle(), selectedTheme);
+        // The drawable comes from a precomputed table rather than a getIdentifier lookup per bind.
+        int emojiResId = EmojiDrawables.get(moodEvent.getMood(), selectedTheme);
         if (holder.imageEmoji != null) {
             holder.imageEmoji.setImageResource(emojiResId);
         }
@@ -198,7 +301,7 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
         holder.textSubtitle.setText(formatter.format(moodEvent.getDate()) + " • " + moodEvent.getMoodTitle());
 
         // Retrieve the color associated with the mood.
-        int moodColor = getMoodColor(moodEvent.getMoodTitle());
+        int moodColor = getMoodColor(moodEvent.getMood());
 
         // Set the mood color for the top strip if available.
         if (holder.moodColorStrip != null) {
@@ -244,6 +347,13 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
         }
 
         if (showProfileInfo) {
+            // Resolve the author through the shared profile cache if the feed did not supply it
+            if (moodEvent.getUsername() == null && moodEvent.getOwnerUserId() != null) {
+                bindAuthorFromCache(holder, moodEvent);
+            } else {
+                holder.itemView.setTag(null);
+            }
+
             // Set username
             if (holder.textUsername != null && moodEvent.getUsername() != null) {
                 holder.textUsername.setText(moodEvent.getUsername());
@@ -424,13 +534,13 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
     }
 
     /**
-     * Returns the color associated with the given mood title.
+     * Returns the color associated with the given mood.
      *
-     * @param mood The mood title (e.g., "Happy").
-     * @return The corresponding color, or gray if not found.
+     * @param mood The mood, or null if the title was not recognized.
+     * @return The corresponding color, or gray if there is no mood.
      */
-    private int getMoodColor(String mood) {
-        return moodColors.getOrDefault(mood, Color.GRAY);
+    private int getMoodColor(Mood mood) {
+        return mood != null ? mood.getAccentColor() : Color.GRAY;
     }
 
     /**
@@ -463,11 +573,11 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
                 intent.putExtra("photoSizeKB", moodEvent.getPhotoSize());
                 intent.putExtra("isPublic", moodEvent.isPublic());
 
-                intent.putExtra("moodPosition", position);
+                intent.putExtra("moodDocumentId", moodEvent.getDocumentId());
                 ((ProfilePage) context).startActivityForResult(intent, ProfilePage.EDIT_MOOD_REQUEST_CODE);
                 return true;
             } else if (id == 2) { // Delete
-                ((ProfilePage) context).deleteMoodFromFirestore(moodEvent.getDocumentId(), position);
+                ((ProfilePage) context).deleteMoodFromFirestore(moodEvent);
                 return true;
             }
             return false;
@@ -484,36 +594,111 @@ public class MoodEventAdapter extends RecyclerView.Adapter<MoodEventViewHolder>
     /**
      * Filters the list of MoodEvents based on a query string.
      * <p>
-     * The query is matched against the trigger and subtitle of each MoodEvent.
+     * The query is matched against the reason, social situation and location of each
+     * MoodEvent through the search index, and only the rows that appear or disappear
+     * are notified.
      * </p>
      *
      * @param query The search query.
      */
     public void filter(String query) {
-        query = query.toLowerCase().trim();
-        currentList.clear();
-        if (query.isEmpty()) {
-            currentList.addAll(originalList);
-        } else {
-            for (MoodEvent moodEvent : originalList) {
-                boolean titleMatches = moodEvent.getReasonWhy() != null && moodEvent.getReasonWhy().toLowerCase().contains(query);
-                if (titleMatches) {
-                    currentList.add(moodEvent);
-                }
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        query = query.toLowerCase(Locale.ROOT).trim();
+        currentQuery = query;
+        List<MoodEvent> shown = moodEventList;
+        List<MoodEvent> filtered = searchIndex.filter(originalList, query);
+        currentList = new ArrayList<>(filtered);
+        moodEventList = filtered;
+        if (!FilteredListDiff.dispatch(originalList, shown, filtered, new AdapterListUpdateCallback(this))) {
+            notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Filters the list like {@link #filter(String)} once typing pauses for
+     * {@link #SEARCH_DEBOUNCE_MS}, so a burst of keystrokes runs a single search.
+     *
+     * @param query The search query.
+     */
+    public void filterDelayed(String query) {
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+        }
+        pendingSearch = () -> filter(query);
+        searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
+    }
+
+    /**
+     * Inserts a single MoodEvent into the dataset and notifies only the inserted row.
+     *
+     * @param position  The position of the MoodEvent in the unfiltered dataset.
+     * @param moodEvent The MoodEvent to insert.
+     */
+    public void insertMoodEvent(int position, MoodEvent moodEvent) {
+        // A filter dialog may have replaced the dataset with a shorter list
+        position = Math.min(position, originalList.size());
+        originalList.add(position, moodEvent);
+        searchIndex.add(moodEvent);
+        if (!matchesQuery(moodEvent, currentQuery)) {
+            return;
+        }
+        // Translate the position into the filtered list shown on screen
+        int displayPosition = 0;
+        for (int i = 0; i < position; i++) {
+            if (matchesQuery(originalList.get(i), currentQuery)) {
+                displayPosition++;
             }
         }
-        moodEventList.clear();
-        moodEventList.addAll(currentList);
-        notifyDataSetChanged();
+        currentList.add(displayPosition, moodEvent);
+        moodEventList.add(displayPosition, moodEvent);
+        notifyItemInserted(displayPosition);
     }
 
     /**
-     * Helper method to return the drawable resource ID for the emoji image.
-     * Uses the naming convention: "emoji_<mood>_<theme>".
+     * Looks up the author of a MoodEvent in the shared profile cache and fills in the
+     * username and profile picture once it is available.
+     *
+     * @param holder    The view holder showing the MoodEvent.
+     * @param moodEvent The MoodEvent without author details.
      */
+    private void bindAuthorFromCache(MoodEventViewHolder holder, MoodEvent moodEvent) {
+        String ownerUserId = moodEvent.getOwnerUserId();
+        holder.itemView.setTag(ownerUserId);
+        UserProfileCache.getInstance().get(ownerUserId, profile -> {
+            if (profile == null) {
+                return;
+            }
+            moodEvent.setUsername(profile.getUsername());
+            moodEvent.setProfilePictureUrl(profile.getProfilePicUri());
+            // The holder may have been recycled for another mood event while loading
+            if (!ownerUserId.equals(holder.itemView.getTag()) || !showProfileInfo) {
+                return;
+            }
+            if (holder.textUsername != null && profile.getUsername() != null) {
+                holder.textUsername.setText(profile.getUsername());
+                holder.textUsername.setVisibility(View.VISIBLE);
+            }
+            if (holder.imageProfile != null) {
+                Glide.with(context)
+                        .load(profile.getProfilePicUri())
+                        .placeholder(R.drawable.user_icon)
+                        .error(R.drawable.user_icon)
+                        .into(holder.imageProfile);
+            }
+        });
+    }
 
-    private int getEmojiResourceId(String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return context.getResources().getIdentifier(resourceName, "drawable", context.getPackageName());
+    /**
+     * Checks whether a MoodEvent matches a normalized search query.
+     *
+     * @param moodEvent The MoodEvent to check.
+     * @param query     The lowercase, trimmed query; empty matches everything.
+     * @return True if the MoodEvent should be shown for the query.
+     */
+    private boolean matchesQuery(MoodEvent moodEvent, String query) {
+        return searchIndex.matches(moodEvent, query);
     }
 }
\ No newline at end of file
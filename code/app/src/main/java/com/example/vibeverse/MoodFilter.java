@@ -0,0 +1,237 @@
+package com.example.vibeverse;
+
+import java.util.Locale;
+
+/**
+ * MoodFilter is a compiled set of filter criteria for mood events: a bitmask of selected
+ * mood ordinals, a time window, and optional reason-text and social-situation criteria.
+ * <p>
+ * FilterDialog compiles its selection once, and {@link MoodIndex} applies it with a binary
+ * search on time followed by one mask test per event. Criteria that need the event's text
+ * are only checked for events that already passed the time and mood tests. Instances are
+ * immutable; use {@link Builder} to create them.
+ * </p>
+ */
+public final class MoodFilter {
+
+    /** Time window covering all time. */
+    public static final long ALL_TIME = Long.MAX_VALUE;
+
+    /** A filter that matches every mood event with a date. */
+    public static final MoodFilter ALL = new Builder().build();
+
+    private final int moodBits;
+    private final long window;
+    private final String reasonQuery;
+    private final String socialSituation;
+
+    private MoodFilter(Builder builder) {
+        // No selection passes every mood, including unknown ones
+        this.moodBits = builder.moodMask == 0 ? ~0 : builder.moodMask;
+        this.window = builder.window;
+        this.reasonQuery = builder.reasonQuery;
+        this.socialSituation = builder.socialSituation;
+    }
+
+    /**
+     * Compiles the selection made in FilterDialog. When no mood is selected, every mood matches.
+     *
+     * @param timeFilter  "last_24_hours", "3Days", "last_week", "last_month", or anything else for all time.
+     * @param isHappy     True if "Happy" is selected.
+     * @param isSad       True if "Sad" is selected.
+     * @param isAngry     True if "Angry" is selected.
+     * @param isSurprised True if "Surprised" is selected.
+     * @param isAfraid    True if "Afraid" is selected.
+     * @param isDisgusted True if "Disgusted" is selected.
+     * @param isConfused  True if "Confused" is selected.
+     * @param isShameful  True if "Shameful" is selected.
+     * @return The compiled filter.
+     */
+    public static MoodFilter fromSelection(String timeFilter,
+                                           boolean isHappy, boolean isSad, boolean isAngry,
+                                           boolean isSurprised, boolean isAfraid, boolean isDisgusted,
+                                           boolean isConfused, boolean isShameful) {
+        Builder builder = new Builder().timeFilter(timeFilter);
+        if (isHappy) builder.mood(Mood.HAPPY);
+        if (isSad) builder.mood(Mood.SAD);
+        if (isAngry) builder.mood(Mood.ANGRY);
+        if (isSurprised) builder.mood(Mood.SURPRISED);
+        if (isAfraid) builder.mood(Mood.AFRAID);
+        if (isDisgusted) builder.mood(Mood.DISGUSTED);
+        if (isConfused) builder.mood(Mood.CONFUSED);
+        if (isShameful) builder.mood(Mood.SHAMEFUL);
+        return builder.build();
+    }
+
+    /**
+     * Returns the time window of a FilterDialog time filter.
+     *
+     * @param timeFilter "last_24_hours", "3Days", "last_week", "last_month", or anything else for all time.
+     * @return The window in millis, or {@link #ALL_TIME}.
+     */
+    public static long windowOf(String timeFilter) {
+        if (timeFilter == null) {
+            return ALL_TIME;
+        }
+        switch (timeFilter) {
+            case "last_24_hours":
+                return 86400000L;
+            case "3Days":
+                return 259200000L;
+            case "last_week":
+                return 604800000L;
+            case "last_month":
+                return 2592000000L;
+            default:
+                return ALL_TIME;
+        }
+    }
+
+    /**
+     * Returns the earliest creation time that passes the time window.
+     *
+     * @param now The current time in millis.
+     * @return The cutoff in millis, or {@link Long#MIN_VALUE} for all time.
+     */
+    public long cutoff(long now) {
+        return window == ALL_TIME ? Long.MIN_VALUE : now - window;
+    }
+
+    /**
+     * Returns whether a mood ordinal passes the mood selection.
+     *
+     * @param ordinal The mood ordinal, or -1 for an unknown mood.
+     * @return True if no mood is selected or the mood is selected.
+     */
+    public boolean matchesMood(int ordinal) {
+        return ((moodBits >>> ordinal) & 1) != 0;
+    }
+
+    /**
+     * Returns the mood selection as a bitmask indexed by mood ordinal. Bit 31, which an unknown
+     * mood's ordinal of -1 shifts to, is set only when no mood is selected.
+     *
+     * @return The bits of the moods that pass the selection.
+     */
+    public int getMoodBits() {
+        return moodBits;
+    }
+
+    /**
+     * Returns whether this filter has criteria on the event's reason or social situation.
+     *
+     * @return True if {@link #matchesDetails(MoodEvent)} can reject an event.
+     */
+    public boolean hasDetailCriteria() {
+        return reasonQuery != null || socialSituation != null;
+    }
+
+    /**
+     * Checks the reason-text and social-situation criteria only.
+     *
+     * @param moodEvent The mood event.
+     * @return True if the event passes both criteria.
+     */
+    public boolean matchesDetails(MoodEvent moodEvent) {
+        if (reasonQuery != null) {
+            String reason = moodEvent.getReasonWhy();
+            if (reason == null || !reason.toLowerCase(Locale.ROOT).contains(reasonQuery)) {
+                return false;
+            }
+        }
+        return socialSituation == null || socialSituation.equalsIgnoreCase(moodEvent.getSocialSituation());
+    }
+
+    /**
+     * Checks every criterion against a single mood event. Events without a date never match.
+     *
+     * @param moodEvent The mood event.
+     * @param now       The current time in millis.
+     * @return True if the event passes the filter.
+     */
+    public boolean matches(MoodEvent moodEvent, long now) {
+        if (moodEvent.getDate() == null || moodEvent.getDate().getTime() < cutoff(now)) {
+            return false;
+        }
+        Mood mood = moodEvent.getMood();
+        return matchesMood(mood != null ? mood.ordinal() : -1)
+                && (!hasDetailCriteria() || matchesDetails(moodEvent));
+    }
+
+    /**
+     * Builds a {@link MoodFilter}. With no criteria set, the filter matches every mood event.
+     */
+    public static final class Builder {
+
+        private int moodMask;
+        private long window = ALL_TIME;
+        private String reasonQuery;
+        private String socialSituation;
+
+        /**
+         * Restricts the filter to a FilterDialog time filter.
+         *
+         * @param timeFilter The time filter, as accepted by {@link #windowOf(String)}.
+         * @return This builder.
+         */
+        public Builder timeFilter(String timeFilter) {
+            this.window = windowOf(timeFilter);
+            return this;
+        }
+
+        /**
+         * Restricts the filter to moods created within a window before now.
+         *
+         * @param window The window in millis, or {@link #ALL_TIME}.
+         * @return This builder.
+         */
+        public Builder window(long window) {
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Adds a mood to the selection. Selected moods are matched as alternatives.
+         *
+         * @param mood The mood to select.
+         * @return This builder.
+         */
+        public Builder mood(Mood mood) {
+            this.moodMask |= 1 << mood.ordinal();
+            return this;
+        }
+
+        /**
+         * Restricts the filter to reasons containing the query, ignoring case.
+         *
+         * @param query The text to look for; null or blank removes the criterion.
+         * @return This builder.
+         */
+        public Builder reasonContains(String query) {
+            this.reasonQuery = query == null || query.trim().isEmpty()
+                    ? null
+                    : query.trim().toLowerCase(Locale.ROOT);
+            return this;
+        }
+
+        /**
+         * Restricts the filter to one social situation, ignoring case.
+         *
+         * @param socialSituation The social situation; null removes the criterion.
+         * @return This builder.
+         */
+        public Builder socialSituation(String socialSituation) {
+            this.socialSituation = socialSituation;
+            return this;
+        }
+
+        /**
+         * Creates the filter.
+         *
+         * @return The compiled filter.
+         */
+        public MoodFilter build() {
+            return new MoodFilter(this);
+        }
+    }
+}
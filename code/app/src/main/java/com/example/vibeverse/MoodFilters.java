@@ -0,0 +1,99 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * MoodFilters holds the list filtering and counting used by the mood screens.
+ * <p>
+ * The logic has no Android dependencies so it can be unit tested and benchmarked on the JVM;
+ * FilterDialog, MoodEventAdapter and MoodInsightsActivity delegate to it.
+ * </p>
+ */
+public final class MoodFilters {
+
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+    private MoodFilters() {
+    }
+
+    /**
+     * Filters mood events by a time window and a set of selected moods, as chosen in FilterDialog.
+     * When no mood is selected, every mood matches. This scans the whole list; FilterDialog
+     * applies the same {@link MoodFilter} through a {@link MoodIndex} instead.
+     *
+     * @param moodEvents  The mood events to filter.
+     * @param timeFilter  "last_24_hours", "3Days", "last_week", "last_month", or anything else for all time.
+     * @param isHappy     True if "Happy" is selected.
+     * @param isSad       True if "Sad" is selected.
+     * @param isAngry     True if "Angry" is selected.
+     * @param isSurprised True if "Surprised" is selected.
+     * @param isAfraid    True if "Afraid" is selected.
+     * @param isDisgusted True if "Disgusted" is selected.
+     * @param isConfused  True if "Confused" is selected.
+     * @param isShameful  True if "Shameful" is selected.
+     * @param now         The current time in millis.
+     * @return The matching mood events, in their original order.
+     */
+    public static List<MoodEvent> filter(List<MoodEvent> moodEvents, String timeFilter,
+                                         boolean isHappy, boolean isSad, boolean isAngry,
+                                         boolean isSurprised, boolean isAfraid, boolean isDisgusted,
+                                         boolean isConfused, boolean isShameful, long now) {
+        MoodFilter filter = MoodFilter.fromSelection(timeFilter,
+                isHappy, isSad, isAngry, isSurprised, isAfraid, isDisgusted, isConfused, isShameful);
+        List<MoodEvent> filtered = new ArrayList<>();
+        for (MoodEvent m : moodEvents) {
+            if (filter.matches(m, now)) {
+                filtered.add(m);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Keeps the mood events from the past {@code days} days.
+     *
+     * @param moodEvents The mood events to filter.
+     * @param days       The number of days to look back.
+     * @param now        The current time in millis.
+     * @return The mood events created at or after the cutoff.
+     */
+    public static ArrayList<MoodEvent> since(List<MoodEvent> moodEvents, int days, long now) {
+        ArrayList<MoodEvent> filtered = new ArrayList<>();
+        long cutoff = now - days * DAY_MILLIS;
+        for (MoodEvent event : moodEvents) {
+            if (event.getDate() != null && event.getDate().getTime() >= cutoff) {
+                filtered.add(event);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns whether a mood event matches a search query on its reason.
+     *
+     * @param moodEvent The mood event.
+     * @param query     The lower-cased, trimmed query; empty matches everything.
+     * @return True if the reason contains the query.
+     */
+    public static boolean matchesQuery(MoodEvent moodEvent, String query) {
+        return query.isEmpty()
+                || (moodEvent.getReasonWhy() != null && moodEvent.getReasonWhy().toLowerCase().contains(query));
+    }
+
+    /**
+     * Counts the mood events of each mood title.
+     *
+     * @param moodEvents The mood events to count.
+     * @return The number of mood events per mood title.
+     */
+    public static HashMap<String, Integer> countByMood(List<MoodEvent> moodEvents) {
+        HashMap<String, Integer> moodCount = new HashMap<>();
+        for (MoodEvent event : moodEvents) {
+            String mood = event.getMoodTitle();
+            moodCount.put(mood, moodCount.getOrDefault(mood, 0) + 1);
+        }
+        return moodCount;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * MoodIndex is a snapshot of a list of mood events sorted newest first, with the creation
+ * times and mood ordinals held in parallel arrays so a {@link MoodFilter} can be applied
+ * without touching the events that fail its time or mood criteria.
+ * <p>
+ * Applying a filter binary-searches the time cutoff, then tests one mask bit per event in the
+ * window. Building the index costs a sort, so it is kept for as long as
+ * {@link #isIndexOf(List)} confirms the source list still holds the same events. Moods without
+ * a date are left out, as they never pass a time filter.
+ * </p>
+ */
+public final class MoodIndex {
+
+    private final MoodEvent[] source;
+    private final MoodEvent[] events;
+    private final long[] times;
+    private final byte[] ordinals;
+
+    private MoodIndex(MoodEvent[] source, MoodEvent[] events, long[] times, byte[] ordinals) {
+        this.source = source;
+        this.events = events;
+        this.times = times;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Builds the index of a list of mood events.
+     *
+     * @param moodEvents The mood events to index; the list is not modified.
+     * @return The index.
+     */
+    public static MoodIndex of(List<MoodEvent> moodEvents) {
+        MoodEvent[] source = moodEvents.toArray(new MoodEvent[0]);
+        List<MoodEvent> dated = new ArrayList<>(source.length);
+        for (MoodEvent event : source) {
+            if (event.getDate() != null) {
+                dated.add(event);
+            }
+        }
+        // Stable, so moods created at the same time keep their list order
+        dated.sort(Comparator.comparing(MoodEvent::getDate).reversed());
+
+        int size = dated.size();
+        MoodEvent[] events = dated.toArray(new MoodEvent[size]);
+        long[] times = new long[size];
+        byte[] ordinals = new byte[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = events[i].getDate().getTime();
+            Mood mood = events[i].getMood();
+            ordinals[i] = (byte) (mood != null ? mood.ordinal() : -1);
+        }
+        return new MoodIndex(source, events, times, ordinals);
+    }
+
+    /**
+     * Returns whether this index was built from a list holding the same events, in the same
+     * order, as the given list. Checking takes one reference comparison per event.
+     *
+     * @param moodEvents The list to compare with.
+     * @return True if the index can be reused for the list.
+     */
+    public boolean isIndexOf(List<MoodEvent> moodEvents) {
+        if (moodEvents.size() != source.length) {
+            return false;
+        }
+        for (int i = 0; i < source.length; i++) {
+            if (moodEvents.get(i) != source[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a filter to the indexed events.
+     *
+     * @param filter The compiled filter.
+     * @param now    The current time in millis.
+     * @return The matching mood events, newest first.
+     */
+    public List<MoodEvent> filter(MoodFilter filter, long now) {
+        int end = countSince(filter.cutoff(now));
+        if (filter.hasDetailCriteria()) {
+            List<MoodEvent> matches = new ArrayList<>();
+            for (int i = 0; i < end; i++) {
+                if (filter.matchesMood(ordinals[i]) && filter.matchesDetails(events[i])) {
+                    matches.add(events[i]);
+                }
+            }
+            return matches;
+        }
+
+        // Branch-free: every event in the window is written, and kept if its mood bit is set
+        int moodBits = filter.getMoodBits();
+        MoodEvent[] matches = new MoodEvent[end];
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            matches[count] = events[i];
+            count += (moodBits >>> ordinals[i]) & 1;
+        }
+        return new ArrayList<>(Arrays.asList(matches).subList(0, count));
+    }
+
+    /**
+     * Returns the number of indexed events created at or after a time.
+     *
+     * @param cutoff The earliest creation time in millis.
+     * @return The number of events, which are the first ones in the index.
+     */
+    int countSince(long cutoff) {
+        // Times are descending; find the first one older than the cutoff
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] >= cutoff) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of indexed events, which excludes events without a date.
+     *
+     * @return The number of events.
+     */
+    public int size() {
+        return events.length;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.vibeverse;
 
-import static android.content.ContentValues.TAG;
-
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.res.ColorStateList;
@@ -9,14 +7,12 @@ import android.graphics.Color;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -35,23 +31,22 @@ import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Displays mood insights with a PieChart and a RecyclerView for daily moods,
  * along with a dynamic background that reflects the most frequent mood in the selected range.
  * Users can switch between time filters (past week, two weeks, or month).
+ * <p>
+ * Everything is rendered from the user's mood aggregates document rather than the full
+ * mood history. Its per-day counts are held in {@link MoodColumns}, and each range is counted
+ * into arrays indexed by mood ordinal in a single pass.
+ * </p>
  */
 public class MoodInsightsActivity extends AppCompatActivity {
 
@@ -70,12 +65,14 @@ public class MoodInsightsActivity extends AppCompatActivity {
     private int backgroundColorForNoMoods = Color.parseColor("#000000"); // Default fallback color
 
     // Data
-    private ArrayList<MoodEvent> allMoodEvents = new ArrayList<>();
-    private final SimpleDateFormat sourceFormat =
-            new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault());
+    private MoodColumns moodColumns = MoodColumns.EMPTY;
+    /** Mood counts across the selected range, indexed by mood ordinal. */
+    private final int[] rangeCounts = new int[MoodColumns.MOOD_COUNT];
 
-    // Map linking mood titles to colors (loaded from XML resources)
-    private final Map<String, Integer> moodColorMap = new HashMap<>();
+    /** Mood colors indexed by mood ordinal (loaded from XML resources). */
+    private final int[] moodColors = new int[Mood.COUNT];
+    /** Color used when there are no moods to color by. */
+    private int neutralColor;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -92,8 +89,8 @@ public class MoodInsightsActivity extends AppCompatActivity {
         dailyMoodRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         dailyMoodRecyclerView.setHasFixedSize(true);
 
-        // 2) Initialize color map for moods
-        initMoodColorMap();
+        // 2) Resolve the mood colors once
+        initMoodColors();
 
         // 3) Set up time filter toggles
         timeFilterGroup.addOnButtonCheckedListener((group, checkedId, isChecked) -> {
@@ -123,59 +120,32 @@ public class MoodInsightsActivity extends AppCompatActivity {
             }
         }
 
-        // 6) Load moods from Firestore
-        loadMoodsFromFirestore();
-
-        // 7) Check for consecutive sad moods
-        checkConsecutiveSadMoods(allMoodEvents);
+        // 6) Load the mood counts from Firestore
+        loadMoodStats();
 
-        // 8) Toolbar back button
+        // 7) Toolbar back button
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         toolbar.setNavigationOnClickListener(v -> finish());
     }
 
     /**
-     * Loads mood -> color mappings from XML resources and populates moodColorMap.
+     * Loads the color of each mood from XML resources into moodColors.
      */
-    private void initMoodColorMap() {
-        moodColorMap.put("Happy", ContextCompat.getColor(this, R.color.happy_color));
-        moodColorMap.put("Sad", ContextCompat.getColor(this, R.color.sad_color));
-        moodColorMap.put("Angry", ContextCompat.getColor(this, R.color.angry_color));
-        moodColorMap.put("Surprised", ContextCompat.getColor(this, R.color.surprised_color));
-        moodColorMap.put("Afraid", ContextCompat.getColor(this, R.color.afraid_color));
-        moodColorMap.put("Disgusted", ContextCompat.getColor(this, R.color.disgusted_color));
-        moodColorMap.put("Confused", ContextCompat.getColor(this, R.color.confused_color));
-        moodColorMap.put("Shameful", ContextCompat.getColor(this, R.color.shameful_color));
-        moodColorMap.put("Neutral", ContextCompat.getColor(this, R.color.happy_color));
+    private void initMoodColors() {
+        for (Mood mood : Mood.values()) {
+            moodColors[mood.ordinal()] = ContextCompat.getColor(this, mood.getColor());
+        }
+        neutralColor = moodColors[Mood.HAPPY.ordinal()];
     }
 
     /**
-     * Fetches mood entries from Firestore, ordered by timestamp descending,
-     * and populates allMoodEvents.
+     * Reads the user's mood aggregates, with a single document read once they have been built,
+     * and populates moodColumns.
      */
-    private void loadMoodsFromFirestore() {
-        db.collection("Usermoods")
-                .document(userId)
-                .collection("moods")
-                .orderBy("timestamp", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(snapshots -> {
-                    allMoodEvents.clear();
-                    for (QueryDocumentSnapshot doc : snapshots) {
-                        try {
-                            MoodEvent moodEvent = MoodEvent.fromMap(doc.getData());
-                            if (moodEvent.getTimestamp() != null) {
-                                Date date = sourceFormat.parse(moodEvent.getTimestamp());
-                                if (date != null) {
-                                    moodEvent.setDate(date);
-                                }
-                            }
-                            moodEvent.setDocumentId(doc.getId());
-                            allMoodEvents.add(moodEvent);
-                        } catch (ParseException e) {
-                            e.printStackTrace();
-                        }
-                    }
+    private void loadMoodStats() {
+        new MoodAggregates().load(userId)
+                .addOnSuccessListener(stats -> {
+                    moodColumns = MoodColumns.fromStats(stats);
                     // Default filter: Past Week
                     timeFilterGroup.check(R.id.past_week);
                 })
@@ -185,80 +155,41 @@ public class MoodInsightsActivity extends AppCompatActivity {
                                 Toast.LENGTH_SHORT).show());
     }
 
-    /**
-     * Filters moods to only include entries from the past {@code days} days, plus today.
-     *
-     * @param days number of days to look back
-     * @return a filtered list of MoodEvent objects
-     */
-    private ArrayList<MoodEvent> filterMoods(int days) {
-        ArrayList<MoodEvent> filtered = new ArrayList<>();
-        long now = System.currentTimeMillis();
-        long cutoff = now - (days * 24L * 60L * 60L * 1000L);
-        for (MoodEvent event : allMoodEvents) {
-            if (event.getDate() != null && event.getDate().getTime() >= cutoff) {
-                filtered.add(event);
-            }
-        }
-        return filtered;
-    }
-
     /**
      * Updates insights (pie chart, daily list, summary, background) for the past {@code days}.
      *
      * @param days the number of days to include in the analysis
      */
     private void updateInsights(int days) {
-        ArrayList<MoodEvent> filteredMoods = filterMoods(days);
-        drawPieChart(filteredMoods);
-        updateDailyMoodCards(filteredMoods, days);
-        updateEmojiSummary(filteredMoods);
-        setDynamicBackground(filteredMoods);
+        long[] boundaries = MoodColumns.dayBoundaries(days, System.currentTimeMillis());
+        int[][] dailyCounts = new int[days + 1][MoodColumns.MOOD_COUNT];
+        moodColumns.count(boundaries, dailyCounts, rangeCounts);
+        int topMood = MoodColumns.topMood(rangeCounts);
+
+        drawPieChart(rangeCounts);
+        updateDailyMoodCards(boundaries, dailyCounts);
+        updateEmojiSummary(topMood);
+        setDynamicBackground(topMood);
     }
 
     /**
-     * Draws a pie chart representing the breakdown of moods in the given list of MoodEvents.
+     * Draws a pie chart representing the breakdown of moods in the selected range.
      *
-     * @param moods the list of moods to plot
+     * @param moodCount the number of moods per mood ordinal
      */
-    private void drawPieChart(ArrayList<MoodEvent> moods) {
-        HashMap<String, Integer> moodCount = new HashMap<>();
-        for (MoodEvent event : moods) {
-            String mood = event.getMoodTitle();
-            moodCount.put(mood, moodCount.getOrDefault(mood, 0) + 1);
-        }
-
-        // Map moods to emojis
-        HashMap<String, String> moodEmojis = new HashMap<>();
-        moodEmojis.put("Angry", "😠");
-        moodEmojis.put("Sad", "😢");
-        moodEmojis.put("Confused", "😕");
-        moodEmojis.put("Afraid", "😨");
-        moodEmojis.put("Disgusted", "🤢");
-        moodEmojis.put("Shameful", "😳");
-        moodEmojis.put("Surprised", "😮");
-        moodEmojis.put("Happy", "😄");
-        moodEmojis.put("Neutral", "🙂");
-
+    private void drawPieChart(int[] moodCount) {
         ArrayList<PieEntry> entries = new ArrayList<>();
         ArrayList<Integer> colors = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : moodCount.entrySet()) {
-            String mood = entry.getKey();
-            int count = entry.getValue();
-
-            // Create a label with emoji
-            String emoji = moodEmojis.getOrDefault(mood, "🙂");
-            String label = emoji + " " + mood;
-
-            // Pie entry
-            entries.add(new PieEntry(count, label));
-
-            // Slice color from moodColorMap, or white if not found
-            if (moodColorMap.containsKey(mood)) {
-                colors.add(moodColorMap.get(mood));
-            } else {
-                colors.add(Color.WHITE);
+        for (int ordinal = 0; ordinal < moodCount.length; ordinal++) {
+            int count = moodCount[ordinal];
+            if (count == 0) {
+                continue;
             }
+            Mood mood = Mood.fromOrdinal(ordinal);
+
+            // Pie entry labelled with the mood's emoji, in the mood's color
+            entries.add(new PieEntry(count, mood.getEmoji() + " " + mood.getName()));
+            colors.add(moodColors[ordinal]);
         }
 
         // Create PieDataSet
@@ -290,50 +221,34 @@ public class MoodInsightsActivity extends AppCompatActivity {
     }
 
     /**
-     * Groups the moods by day and sets up a RecyclerView adapter to display daily mood cards.
+     * Sets up a RecyclerView adapter to display daily mood cards.
      *
-     * @param moods the list of mood events
-     * @param days  the number of days used in filtering
+     * @param boundaries  the start of each day in the range, followed by the end of the range
+     * @param dailyCounts the number of moods per mood ordinal on each day
      */
-    private void updateDailyMoodCards(ArrayList<MoodEvent> moods, int days) {
-        Map<String, ArrayList<MoodEvent>> moodsByDay = new HashMap<>();
+    private void updateDailyMoodCards(long[] boundaries, int[][] dailyCounts) {
         SimpleDateFormat dayFormat = new SimpleDateFormat("EEEE, MMM dd", Locale.getDefault());
-        for (MoodEvent event : moods) {
-            if (event.getDate() != null) {
-                String dayKey = dayFormat.format(event.getDate());
-                moodsByDay.computeIfAbsent(dayKey, k -> new ArrayList<>()).add(event);
-            }
-        }
 
         ArrayList<DailyMood> dailyMoodsList = new ArrayList<>();
-        Calendar startCal = Calendar.getInstance();
-        startCal.setTimeInMillis(System.currentTimeMillis() - (days * 24L * 60L * 60L * 1000L));
-        truncateToDay(startCal);
-        Calendar endCal = Calendar.getInstance();
-        truncateToDay(endCal);
-
-        // Build the daily range from 'startCal' to 'endCal'
-        while (!startCal.after(endCal)) {
-            String dayLabel = dayFormat.format(startCal.getTime());
-            ArrayList<MoodEvent> dayMoods = moodsByDay.getOrDefault(dayLabel, new ArrayList<>());
-            dailyMoodsList.add(new DailyMood(dayLabel, dayMoods));
-            startCal.add(Calendar.DAY_OF_YEAR, 1);
+        for (int day = 0; day < dailyCounts.length; day++) {
+            String dayLabel = dayFormat.format(new Date(boundaries[day]));
+            dailyMoodsList.add(new DailyMood(dayLabel, dailyCounts[day]));
         }
         // Reverse so the most recent day is at the top
         Collections.reverse(dailyMoodsList);
 
-        DailyMoodAdapter adapter = new DailyMoodAdapter(dailyMoodsList, moodColorMap);
+        DailyMoodAdapter adapter = new DailyMoodAdapter(dailyMoodsList);
         dailyMoodRecyclerView.setAdapter(adapter);
     }
 
     /**
-     * Updates the summary text to reflect the most frequent mood in the provided list
+     * Updates the summary text to reflect the most frequent mood in the selected range
      * and colors the summary card accordingly.
      *
-     * @param moods the list of filtered mood events
+     * @param topOrdinal the ordinal of the most frequent mood, or -1 if there are none
      */
-    private void updateEmojiSummary(ArrayList<MoodEvent> moods) {
-        if (moods.isEmpty()) {
+    private void updateEmojiSummary(int topOrdinal) {
+        if (topOrdinal < 0) {
             summaryText.setText("No mood data 😶");
             moodSummaryCard.setCardBackgroundColor(
                     ContextCompat.getColor(this, R.color.card_background)
@@ -341,42 +256,11 @@ public class MoodInsightsActivity extends AppCompatActivity {
             return;
         }
 
-        // Count each mood
-        HashMap<String, Integer> moodCount = new HashMap<>();
-        for (MoodEvent event : moods) {
-            String mood = event.getMoodTitle();
-            moodCount.put(mood, moodCount.getOrDefault(mood, 0) + 1);
-        }
-
-        // Find top mood
-        String topMood = "";
-        int maxCount = 0;
-        for (Map.Entry<String, Integer> entry : moodCount.entrySet()) {
-            if (entry.getValue() > maxCount) {
-                maxCount = entry.getValue();
-                topMood = entry.getKey();
-            }
-        }
-
-        // Map moods to emojis
-        HashMap<String, String> moodEmojis = new HashMap<>();
-        moodEmojis.put("Angry", "😠");
-        moodEmojis.put("Sad", "😢");
-        moodEmojis.put("Confused", "😕");
-        moodEmojis.put("Fear", "😨");
-        moodEmojis.put("Disgusted", "🤢");
-        moodEmojis.put("Shameful", "😳");
-        moodEmojis.put("Surprised", "😮");
-        moodEmojis.put("Happy", "😄");
-
-        String emoji = moodEmojis.getOrDefault(topMood, " ");
-
-        summaryText.setText("You mostly felt " + topMood + " " + emoji);
+        Mood topMood = Mood.fromOrdinal(topOrdinal);
+        summaryText.setText("You mostly felt " + topMood.getName() + " " + topMood.getEmoji());
 
         // Color the summary card
-        int moodColor = moodColorMap.containsKey(topMood)
-                ? moodColorMap.get(topMood)
-                : moodColorMap.get("Neutral");
+        int moodColor = moodColors[topOrdinal];
 
         GradientDrawable gradient = new GradientDrawable(
                 GradientDrawable.Orientation.TOP_BOTTOM,
@@ -389,60 +273,6 @@ public class MoodInsightsActivity extends AppCompatActivity {
         moodSummaryCard.setBackground(gradient);
     }
 
-    /**
-     * Resets the given Calendar to midnight (00:00:00).
-     *
-     * @param cal the Calendar instance to truncate
-     */
-    private void truncateToDay(Calendar cal) {
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-    }
-
-    /**
-     * Checks if the user has logged "Sad" moods at least three times in a row.
-     * If so, displays a supportive popup.
-     *
-     * @param moods the complete list of mood events
-     */
-    private void checkConsecutiveSadMoods(ArrayList<MoodEvent> moods) {
-        if (moods == null || moods.size() < 3) {
-            Log.d(TAG, "Not enough moods to check for three consecutive sad moods.");
-            return;
-        }
-        ArrayList<MoodEvent> sortedMoods = new ArrayList<>(moods);
-        Collections.sort(sortedMoods, (m1, m2) -> m2.getDate().compareTo(m1.getDate()));
-        int consecutiveSadCount = 0;
-        for (int i = 0; i < 3; i++) {
-            MoodEvent event = sortedMoods.get(i);
-            if (event.getMoodTitle().equals("😢")) {
-                consecutiveSadCount++;
-            } else {
-                break;
-            }
-        }
-        if (consecutiveSadCount >= 3) {
-            showAreYouOkPopup();
-        }
-    }
-
-    /**
-     * Displays a popup dialog if the user has three consecutive "Sad" moods logged.
-     */
-    private void showAreYouOkPopup() {
-        new AlertDialog.Builder(this)
-                .setTitle("Feeling Sad?")
-                .setMessage("You've logged Sad 3 times in a row. Are you okay?")
-                .setPositiveButton("I'm OK", (dialog, which) -> dialog.dismiss())
-                .setNegativeButton("I need help", (dialog, which) -> {
-                    // Handle help action
-                    dialog.dismiss();
-                })
-                .show();
-    }
-
     // -------------------------------------------------------------------------
     // Dynamic Background Logic
     // -------------------------------------------------------------------------
@@ -451,19 +281,10 @@ public class MoodInsightsActivity extends AppCompatActivity {
      * Analyzes the filtered moods, determines the most frequent mood color,
      * applies a gradient background, and updates toggle button outlines.
      *
-     * @param moods the list of mood events to analyze
+     * @param topOrdinal the ordinal of the most frequent mood, or -1 if there are none
      */
-    private void setDynamicBackground(ArrayList<MoodEvent> moods) {
-        // Find most frequent mood
-        ArrayList<String> moodTitles = new ArrayList<>();
-        for (MoodEvent event : moods) {
-            moodTitles.add(event.getMoodTitle());
-        }
-        String mostFrequent = findMostFrequentMood(moodTitles);
-
-        int primaryColor = moodColorMap.containsKey(mostFrequent)
-                ? moodColorMap.get(mostFrequent)
-                : moodColorMap.get("Neutral");
+    private void setDynamicBackground(int topOrdinal) {
+        int primaryColor = topOrdinal >= 0 ? moodColors[topOrdinal] : neutralColor;
 
         // For no-mood days
         backgroundColorForNoMoods = primaryColor;
@@ -475,29 +296,6 @@ public class MoodInsightsActivity extends AppCompatActivity {
     }
 
 
-    /**
-     * Finds the most frequent mood in a list of mood titles, or returns "Neutral" if empty.
-     *
-     * @param moods a list of mood titles
-     * @return the most frequent mood string
-     */
-    private String findMostFrequentMood(ArrayList<String> moods) {
-        if (moods.isEmpty()) return "Neutral";
-        Map<String, Integer> freqMap = new HashMap<>();
-        for (String m : moods) {
-            freqMap.put(m, freqMap.getOrDefault(m, 0) + 1);
-        }
-        String mostFrequent = "Neutral";
-        int maxCount = 0;
-        for (Map.Entry<String, Integer> e : freqMap.entrySet()) {
-            if (e.getValue() > maxCount) {
-                maxCount = e.getValue();
-                mostFrequent = e.getKey();
-            }
-        }
-        return mostFrequent;
-    }
-
     /**
      * Applies a vertical gradient background to the root container,
      * blending from a dark color to the base mood color.
@@ -540,15 +338,15 @@ public class MoodInsightsActivity extends AppCompatActivity {
      */
     public static class DailyMood {
         public String dayLabel;
-        public ArrayList<MoodEvent> moods;
+        public int[] moods;
 
         /**
-         * Constructs a DailyMood object with a label and a list of mood events.
+         * Constructs a DailyMood object with a label and the mood counts of that day.
          *
          * @param dayLabel a string label (e.g., "Monday, Mar 24")
-         * @param moods    the list of MoodEvent objects for that day
+         * @param moods    the number of moods per mood ordinal on that day
          */
-        public DailyMood(String dayLabel, ArrayList<MoodEvent> moods) {
+        public DailyMood(String dayLabel, int[] moods) {
             this.dayLabel = dayLabel;
             this.moods = moods;
         }
@@ -560,17 +358,14 @@ public class MoodInsightsActivity extends AppCompatActivity {
     private class DailyMoodAdapter extends RecyclerView.Adapter<DailyMoodAdapter.DailyMoodViewHolder> {
 
         private final ArrayList<DailyMood> dailyMoods;
-        private final Map<String, Integer> moodColorMap;
 
         /**
-         * Constructs the adapter with daily moods and a mood-color mapping.
+         * Constructs the adapter with daily moods.
          *
-         * @param dailyMoods   the list of DailyMood objects
-         * @param moodColorMap a Map linking mood titles to their integer color values
+         * @param dailyMoods the list of DailyMood objects
          */
-        public DailyMoodAdapter(ArrayList<DailyMood> dailyMoods, Map<String, Integer> moodColorMap) {
+        public DailyMoodAdapter(ArrayList<DailyMood> dailyMoods) {
             this.dailyMoods = dailyMoods;
-            this.moodColorMap = moodColorMap;
         }
 
         @Override
@@ -604,7 +399,7 @@ public class MoodInsightsActivity extends AppCompatActivity {
             holder.moodChipGroup.removeAllViews();
 
             // If no moods logged that day
-            if (dailyMood.moods.isEmpty()) {
+            if (MoodColumns.topMood(dailyMood.moods) < 0) {
                 Chip noMoodsChip = new Chip(holder.itemView.getContext());
                 noMoodsChip.setText("No moods");
                 noMoodsChip.setTextColor(Color.WHITE);
@@ -615,19 +410,19 @@ public class MoodInsightsActivity extends AppCompatActivity {
                 return;
             }
 
-            // For each MoodEvent, create a Chip
-            for (MoodEvent event : dailyMood.moods) {
-                Chip chip = new Chip(holder.itemView.getContext());
-                chip.setText(event.getMoodTitle());
-                chip.setTextColor(Color.WHITE);
-
-                // Base color from mood map or fallback
-                int moodBaseColor = moodColorMap.getOrDefault(event.getMoodTitle(), topMoodColor);
+            // Create a Chip for each mood posted that day
+            for (int ordinal = 0; ordinal < dailyMood.moods.length; ordinal++) {
+                String moodTitle = Mood.fromOrdinal(ordinal).getName();
                 // Darken slightly for contrast
-                int chipColor = ColorUtils.blendColors(moodBaseColor, Color.BLACK, 0.2f);
-
-                chip.setChipBackgroundColor(ColorStateList.valueOf(chipColor));
-                holder.moodChipGroup.addView(chip);
+                int chipColor = ColorUtils.blendColors(moodColors[ordinal], Color.BLACK, 0.2f);
+
+                for (int i = 0; i < dailyMood.moods[ordinal]; i++) {
+                    Chip chip = new Chip(holder.itemView.getContext());
+                    chip.setText(moodTitle);
+                    chip.setTextColor(Color.WHITE);
+                    chip.setChipBackgroundColor(ColorStateList.valueOf(chipColor));
+                    holder.moodChipGroup.addView(chip);
+                }
             }
         }
 
@@ -639,34 +434,15 @@ public class MoodInsightsActivity extends AppCompatActivity {
         /**
          * Determines the top mood color for a given day by finding the most frequent mood.
          *
-         * @param dayMoods the list of MoodEvent objects for the day
+         * @param dayMoods the number of moods per mood ordinal on the day
          * @return the integer color value corresponding to the top mood
          */
-        private int getTopMoodColorForDay(ArrayList<MoodEvent> dayMoods) {
-            if (dayMoods == null || dayMoods.isEmpty()) {
+        private int getTopMoodColorForDay(int[] dayMoods) {
+            int topOrdinal = MoodColumns.topMood(dayMoods);
+            if (topOrdinal < 0) {
                 return backgroundColorForNoMoods;
             }
-
-
-            // Count each mood
-            HashMap<String, Integer> moodCount = new HashMap<>();
-            for (MoodEvent event : dayMoods) {
-                String moodTitle = event.getMoodTitle();
-                moodCount.put(moodTitle, moodCount.getOrDefault(moodTitle, 0) + 1);
-            }
-
-            // Find highest count
-            int maxCount = 0;
-            String topMood = "Neutral";
-            for (Map.Entry<String, Integer> entry : moodCount.entrySet()) {
-                if (entry.getValue() > maxCount) {
-                    maxCount = entry.getValue();
-                    topMood = entry.getKey();
-                }
-            }
-
-            // Return color from map or default
-            return moodColorMap.getOrDefault(topMood, moodColorMap.get("Neutral"));
+            return moodColors[topOrdinal];
         }
 
         /**
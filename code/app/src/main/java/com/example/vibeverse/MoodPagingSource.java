@@ -0,0 +1,281 @@
+package com.example.vibeverse;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MoodPagingSource loads a user's mood events one page at a time as a RecyclerView scrolls.
+ * <p>
+ * Pages are read with {@code startAfter}/{@code limit} cursors on an ordered query, starting
+ * when the last visible row comes within the prefetch distance of the end of the list. Only a
+ * bounded number of pages is retained; pages dropped from the top are read again with
+ * {@code endBefore}/{@code limitToLast} when the user scrolls back up.
+ * </p>
+ */
+public class MoodPagingSource {
+
+    /** Number of mood events read per page. */
+    public static final int DEFAULT_PAGE_SIZE = 15;
+    /** How many rows before either end of the list the next page starts loading. */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 5;
+    /** Maximum number of pages kept in memory. */
+    public static final int DEFAULT_MAX_PAGES = 6;
+
+    /**
+     * Converts a mood document into a MoodEvent.
+     */
+    public interface Mapper {
+        /**
+         * Converts a document.
+         *
+         * @param doc The mood document.
+         * @return The MoodEvent, or null to leave the document out.
+         */
+        MoodEvent map(DocumentSnapshot doc);
+    }
+
+    /**
+     * Receives changes to the retained mood events.
+     */
+    public interface Listener {
+        /**
+         * Called when the first page has loaded, replacing anything shown before.
+         *
+         * @param moodEvents The mood events of the first page.
+         */
+        void onFirstPage(List<MoodEvent> moodEvents);
+
+        /**
+         * Called when a page was added to the end of the list.
+         *
+         * @param moodEvents       The mood events of the page.
+         * @param droppedFromStart The number of mood events dropped from the start to stay within bounds.
+         */
+        void onPageAppended(List<MoodEvent> moodEvents, int droppedFromStart);
+
+        /**
+         * Called when a previously dropped page was added back to the start of the list.
+         *
+         * @param moodEvents     The mood events of the page.
+         * @param droppedFromEnd The number of mood events dropped from the end to stay within bounds.
+         */
+        void onPagePrepended(List<MoodEvent> moodEvents, int droppedFromEnd);
+
+        /**
+         * Called when a page fails to load.
+         *
+         * @param e The error.
+         */
+        void onError(Exception e);
+    }
+
+    private final Query query;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final Mapper mapper;
+    private final Listener listener;
+    private final PageWindow<MoodEvent, DocumentSnapshot> window;
+
+    private boolean loading = false;
+    private boolean endReached = false;
+    /** Incremented on every reload so callbacks from an earlier load are ignored. */
+    private int generation = 0;
+
+    /**
+     * Constructs a MoodPagingSource with the default page size, prefetch distance and bound.
+     *
+     * @param query    The filtered, ordered query of mood documents.
+     * @param mapper   Converts documents into MoodEvents.
+     * @param listener Receives the loaded pages.
+     */
+    public MoodPagingSource(Query query, Mapper mapper, Listener listener) {
+        this(query, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DISTANCE, DEFAULT_MAX_PAGES, mapper, listener);
+    }
+
+    /**
+     * Constructs a MoodPagingSource.
+     *
+     * @param query            The filtered, ordered query of mood documents.
+     * @param pageSize         The number of documents read per page.
+     * @param prefetchDistance How many rows before either end of the list a page starts loading.
+     * @param maxPages         The maximum number of pages kept in memory.
+     * @param mapper           Converts documents into MoodEvents.
+     * @param listener         Receives the loaded pages.
+     */
+    public MoodPagingSource(Query query, int pageSize, int prefetchDistance, int maxPages,
+                            Mapper mapper, Listener listener) {
+        this.query = query;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.mapper = mapper;
+        this.listener = listener;
+        this.window = new PageWindow<>(maxPages);
+    }
+
+    /**
+     * Loads pages automatically as the given RecyclerView scrolls.
+     *
+     * @param recyclerView A RecyclerView using a LinearLayoutManager.
+     */
+    public void attachTo(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) {
+                    return;
+                }
+                int itemCount = layoutManager.getItemCount();
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= itemCount - 1 - prefetchDistance) {
+                    loadNextPage();
+                } else if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= prefetchDistance) {
+                    loadPreviousPage();
+                }
+            }
+        });
+    }
+
+    /**
+     * Discards every retained page and loads the first page again.
+     */
+    public void loadFirstPage() {
+        generation++;
+        window.clear();
+        endReached = false;
+        loading = true;
+        int requestGeneration = generation;
+
+        query.limit(pageSize).get()
+                .addOnSuccessListener(snapshots -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading = false;
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    endReached = documents.size() < pageSize;
+                    List<MoodEvent> moodEvents = map(documents);
+                    if (!documents.isEmpty()) {
+                        window.append(moodEvents, documents.get(0), documents.get(documents.size() - 1));
+                    }
+                    listener.onFirstPage(moodEvents);
+                })
+                .addOnFailureListener(e -> {
+                    if (requestGeneration == generation) {
+                        loading = false;
+                        listener.onError(e);
+                    }
+                });
+    }
+
+    /**
+     * Loads the page after the last retained mood event, if there is one.
+     */
+    public void loadNextPage() {
+        if (loading || endReached || window.lastCursor() == null) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+
+        query.startAfter(window.lastCursor()).limit(pageSize).get()
+                .addOnSuccessListener(snapshots -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading = false;
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    endReached = documents.size() < pageSize;
+                    if (documents.isEmpty()) {
+                        return;
+                    }
+                    List<MoodEvent> moodEvents = map(documents);
+                    int dropped = window.append(moodEvents, documents.get(0), documents.get(documents.size() - 1));
+                    listener.onPageAppended(moodEvents, dropped);
+                })
+                .addOnFailureListener(e -> {
+                    if (requestGeneration == generation) {
+                        loading = false;
+                        listener.onError(e);
+                    }
+                });
+    }
+
+    /**
+     * Reloads the page before the first retained mood event, if it was dropped earlier.
+     */
+    public void loadPreviousPage() {
+        if (loading || !window.hasTrimmedStart() || window.firstCursor() == null) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+
+        query.endBefore(window.firstCursor()).limitToLast(pageSize).get()
+                .addOnSuccessListener(snapshots -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading = false;
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    if (documents.isEmpty()) {
+                        window.markStartReached();
+                        return;
+                    }
+                    List<MoodEvent> moodEvents = map(documents);
+                    int dropped = window.prepend(moodEvents, documents.get(0),
+                            documents.get(documents.size() - 1), documents.size() < pageSize);
+                    if (dropped > 0) {
+                        endReached = false;
+                    }
+                    listener.onPagePrepended(moodEvents, dropped);
+                })
+                .addOnFailureListener(e -> {
+                    if (requestGeneration == generation) {
+                        loading = false;
+                        listener.onError(e);
+                    }
+                });
+    }
+
+    /**
+     * Returns the mood events currently retained, in list order.
+     *
+     * @return A new list of the retained mood events.
+     */
+    public List<MoodEvent> getMoodEvents() {
+        return window.items();
+    }
+
+    /**
+     * Removes a mood event from the retained pages, for example after it was deleted.
+     *
+     * @param moodEvent The mood event to remove.
+     */
+    public void remove(MoodEvent moodEvent) {
+        window.remove(moodEvent);
+    }
+
+    /**
+     * Converts documents into MoodEvents, leaving out any the mapper rejects.
+     *
+     * @param documents The mood documents.
+     * @return The converted MoodEvents.
+     */
+    private List<MoodEvent> map(List<DocumentSnapshot> documents) {
+        List<MoodEvent> moodEvents = new ArrayList<>();
+        for (DocumentSnapshot doc : documents) {
+            MoodEvent moodEvent = mapper.map(doc);
+            if (moodEvent != null) {
+                moodEvents.add(moodEvent);
+            }
+        }
+        return moodEvents;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MoodSearchIndex is an inverted n-gram index over the searchable text of mood events:
+ * the reason, the social situation and the location.
+ * <p>
+ * Each event's text is lower-cased once when it is added, and every distinct substring of up
+ * to {@link #GRAM} characters is posted against the event. A query is answered by intersecting
+ * the posting lists of its own n-grams and confirming the few remaining candidates with a
+ * substring check, so both prefix and substring queries avoid scanning every event. Events
+ * can be added and removed as pages load and unload; removed entries are dropped from the
+ * postings once they outnumber the live ones.
+ * </p>
+ */
+public final class MoodSearchIndex {
+
+    /** Longest n-gram that is indexed; queries use n-grams of this length where they can. */
+    static final int GRAM = 3;
+
+    /** Joins the fields of an event, so no n-gram spans two fields. */
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<MoodEvent, Integer> ids = new IdentityHashMap<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int removed;
+
+    /**
+     * A growable, ascending list of event IDs.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Indexes a mood event. Adding an event that is already indexed does nothing.
+     *
+     * @param moodEvent The mood event.
+     */
+    public void add(MoodEvent moodEvent) {
+        if (ids.containsKey(moodEvent)) {
+            return;
+        }
+        int id = texts.size();
+        String text = textOf(moodEvent);
+        ids.put(moodEvent, id);
+        texts.add(text);
+
+        // IDs only grow, so appending keeps every posting list sorted, and an n-gram seen
+        // earlier in the same text is recognised by the list already ending with this ID
+        for (int start = 0; start < text.length(); start++) {
+            int limit = Math.min(text.length(), start + GRAM);
+            for (int end = start + 1; end <= limit; end++) {
+                if (text.charAt(end - 1) == FIELD_SEPARATOR) {
+                    break;
+                }
+                Long gram = gramKey(text, start, end);
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(gram, list);
+                }
+                if (list.size == 0 || list.ids[list.size - 1] != id) {
+                    list.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes each of the given mood events.
+     *
+     * @param moodEvents The mood events.
+     */
+    public void addAll(List<MoodEvent> moodEvents) {
+        for (MoodEvent moodEvent : moodEvents) {
+            add(moodEvent);
+        }
+    }
+
+    /**
+     * Removes a mood event from the index.
+     *
+     * @param moodEvent The mood event.
+     */
+    public void remove(MoodEvent moodEvent) {
+        Integer id = ids.remove(moodEvent);
+        if (id == null) {
+            return;
+        }
+        texts.set(id, null);
+        removed++;
+        if (removed > ids.size() && removed > 64) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes every mood event from the index.
+     */
+    public void clear() {
+        ids.clear();
+        texts.clear();
+        postings.clear();
+        removed = 0;
+    }
+
+    /**
+     * Returns whether an indexed mood event matches a query. Events that are not indexed
+     * are checked against their text directly.
+     *
+     * @param moodEvent The mood event.
+     * @param query     The lower-cased, trimmed query; empty matches everything.
+     * @return True if the event's reason, social situation or location contains the query.
+     */
+    public boolean matches(MoodEvent moodEvent, String query) {
+        if (query.isEmpty()) {
+            return true;
+        }
+        Integer id = ids.get(moodEvent);
+        String text = id != null ? texts.get(id) : textOf(moodEvent);
+        return text.contains(query);
+    }
+
+    /**
+     * Returns the events of a list that match a query, in list order.
+     *
+     * @param moodEvents The events to search, which should all be indexed.
+     * @param query      The lower-cased, trimmed query; empty matches everything.
+     * @return The matching events.
+     */
+    public List<MoodEvent> filter(List<MoodEvent> moodEvents, String query) {
+        if (query.isEmpty()) {
+            return new ArrayList<>(moodEvents);
+        }
+        BitSet hits = search(query);
+        List<MoodEvent> matches = new ArrayList<>();
+        for (MoodEvent moodEvent : moodEvents) {
+            Integer id = ids.get(moodEvent);
+            if (id != null ? hits.get(id) : matches(moodEvent, query)) {
+                matches.add(moodEvent);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the indexed events whose text contains a query.
+     *
+     * @param query The lower-cased, trimmed, non-empty query.
+     * @return The IDs of the matching events.
+     */
+    BitSet search(String query) {
+        Set<Long> grams = new HashSet<>();
+        int n = Math.min(GRAM, query.length());
+        for (int i = 0; i + n <= query.length(); i++) {
+            grams.add(gramKey(query, i, i + n));
+        }
+
+        // Intersect from the shortest posting list, so the candidate set only shrinks
+        Postings[] lists = new Postings[grams.size()];
+        int count = 0;
+        for (Long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new BitSet();
+            }
+            lists[count++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = candidates.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            size = intersect(candidates, size, lists[l]);
+        }
+
+        // N-grams can match in different places, so confirm the query itself is present
+        BitSet hits = new BitSet(texts.size());
+        for (int i = 0; i < size; i++) {
+            String text = texts.get(candidates[i]);
+            if (text != null && (query.length() <= GRAM || text.contains(query))) {
+                hits.set(candidates[i]);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the number of indexed events.
+     *
+     * @return The number of events.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns the searchable text of a mood event, lower-cased.
+     *
+     * @param moodEvent The mood event.
+     * @return The reason, social situation and location, one per line.
+     */
+    static String textOf(MoodEvent moodEvent) {
+        StringBuilder text = new StringBuilder();
+        appendField(text, moodEvent.getReasonWhy());
+        appendField(text, moodEvent.getSocialSituation());
+        appendField(text, moodEvent.getMoodLocation());
+        return text.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendField(StringBuilder text, String field) {
+        if (field != null && !field.isEmpty()) {
+            if (text.length() > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(field);
+        }
+    }
+
+    /**
+     * Packs the characters of an n-gram, and its length, into one key.
+     */
+    private static Long gramKey(String text, int start, int end) {
+        long key = end - start;
+        for (int i = start; i < end; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * Keeps the candidates that also appear in a posting list. Both are ascending.
+     *
+     * @return The number of candidates kept at the front of the array.
+     */
+    private static int intersect(int[] candidates, int size, Postings list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < list.size; i++) {
+            int id = candidates[i];
+            while (j < list.size && list.ids[j] < id) {
+                j++;
+            }
+            if (j < list.size && list.ids[j] == id) {
+                candidates[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Rebuilds the postings from the live events, renumbering them in ID order.
+     */
+    private void compact() {
+        List<MoodEvent> live = new ArrayList<>(ids.keySet());
+        live.sort((a, b) -> Integer.compare(ids.get(a), ids.get(b)));
+        clear();
+        addAll(live);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.vibeverse;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MoodStats holds a user's mood counts: in total, per mood, per day, per social situation
+ * and with a photo, along with the streak state.
+ * <p>
+ * It is the in-memory form of the aggregates document kept by {@link MoodAggregates}. The same
+ * class describes the change a single create, edit or delete makes, so the counts can be
+ * written as increments. It has no Android dependencies so it can be unit tested on the JVM.
+ * Days are "yyyy-MM-dd" strings as returned by {@link MoodStreak#dayOf(Date)}.
+ * </p>
+ */
+public class MoodStats {
+
+    static final String FIELD_TOTAL = "total";
+    static final String FIELD_PHOTOS = "photos";
+    static final String FIELD_BY_MOOD = "byMood";
+    static final String FIELD_BY_DAY = "byDay";
+    static final String FIELD_BY_SOCIAL = "bySocial";
+    static final String FIELD_STREAK = "streak";
+    static final String FIELD_LAST_MOOD_DATE = "lastMoodDate";
+
+    private long total;
+    private long photos;
+    private final Map<String, Long> byMood = new HashMap<>();
+    private final Map<String, Map<String, Long>> byDay = new HashMap<>();
+    private final Map<String, Long> bySocial = new HashMap<>();
+    private long streak;
+    private String lastMoodDate;
+
+    /**
+     * Counts a list of mood events, as done when the aggregates document is first built.
+     *
+     * @param moodEvents The user's mood events.
+     * @return Their counts.
+     */
+    public static MoodStats fromMoods(List<MoodEvent> moodEvents) {
+        MoodStats stats = new MoodStats();
+        for (MoodEvent moodEvent : moodEvents) {
+            stats.add(moodEvent, 1);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the change in counts from replacing one version of a mood with another.
+     *
+     * @param before The mood before the change, or null if it is being created.
+     * @param after  The mood after the change, or null if it is being deleted.
+     * @return The difference; counts that did not change are zero.
+     */
+    public static MoodStats delta(MoodEvent before, MoodEvent after) {
+        MoodStats delta = new MoodStats();
+        if (before != null) {
+            delta.add(before, -1);
+        }
+        if (after != null) {
+            delta.add(after, 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Reads the fields of an aggregates document.
+     *
+     * @param data The document data.
+     * @return The counts it holds.
+     */
+    @SuppressWarnings("unchecked")
+    public static MoodStats fromData(Map<String, Object> data) {
+        MoodStats stats = new MoodStats();
+        stats.total = asLong(data.get(FIELD_TOTAL));
+        stats.photos = asLong(data.get(FIELD_PHOTOS));
+        stats.streak = asLong(data.get(FIELD_STREAK));
+        Object lastMoodDate = data.get(FIELD_LAST_MOOD_DATE);
+        stats.lastMoodDate = lastMoodDate instanceof String ? (String) lastMoodDate : null;
+        readCounts(data.get(FIELD_BY_MOOD), stats.byMood);
+        readCounts(data.get(FIELD_BY_SOCIAL), stats.bySocial);
+        Object byDay = data.get(FIELD_BY_DAY);
+        if (byDay instanceof Map) {
+            for (Map.Entry<String, Object> day : ((Map<String, Object>) byDay).entrySet()) {
+                Map<String, Long> counts = new HashMap<>();
+                readCounts(day.getValue(), counts);
+                stats.byDay.put(day.getKey(), counts);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Adds or removes one mood event from the counts.
+     *
+     * @param moodEvent The mood event.
+     * @param sign      1 to count it, -1 to uncount it.
+     */
+    public void add(MoodEvent moodEvent, int sign) {
+        String day = moodEvent.getDate() != null ? MoodStreak.dayOf(moodEvent.getDate()) : null;
+        add(moodEvent.getMoodTitle(), day, moodEvent.getSocialSituation(),
+                moodEvent.getPhotograph() != null, sign);
+    }
+
+    /**
+     * Adds or removes one mood from the counts.
+     *
+     * @param moodTitle       The mood title, or null.
+     * @param day             The day the mood was created on, or null if unknown.
+     * @param socialSituation The social situation, or null.
+     * @param hasPhoto        True if a photo is attached.
+     * @param sign            1 to count it, -1 to uncount it.
+     */
+    public void add(String moodTitle, String day, String socialSituation, boolean hasPhoto, int sign) {
+        total += sign;
+        if (hasPhoto) {
+            photos += sign;
+        }
+        if (moodTitle != null) {
+            byMood.merge(moodTitle, (long) sign, Long::sum);
+            if (day != null) {
+                byDay.computeIfAbsent(day, k -> new HashMap<>()).merge(moodTitle, (long) sign, Long::sum);
+            }
+        }
+        if (socialSituation != null && !socialSituation.isEmpty()) {
+            bySocial.merge(socialSituation, (long) sign, Long::sum);
+        }
+    }
+
+    /**
+     * Sets the streak state.
+     *
+     * @param streak       The current streak in days.
+     * @param lastMoodDate The day of the latest mood, or null if unchanged.
+     */
+    public void setStreak(long streak, String lastMoodDate) {
+        this.streak = streak;
+        if (lastMoodDate != null) {
+            this.lastMoodDate = lastMoodDate;
+        }
+    }
+
+    /**
+     * Returns the document fields holding these counts, used to write the document in full.
+     * Counts of zero or less are left out.
+     *
+     * @return The document data.
+     */
+    public Map<String, Object> toData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_TOTAL, total);
+        data.put(FIELD_PHOTOS, photos);
+        data.put(FIELD_STREAK, streak);
+        if (lastMoodDate != null) {
+            data.put(FIELD_LAST_MOOD_DATE, lastMoodDate);
+        }
+        data.put(FIELD_BY_MOOD, positive(byMood));
+        data.put(FIELD_BY_SOCIAL, positive(bySocial));
+        Map<String, Object> days = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> day : byDay.entrySet()) {
+            Map<String, Long> counts = positive(day.getValue());
+            if (!counts.isEmpty()) {
+                days.put(day.getKey(), counts);
+            }
+        }
+        data.put(FIELD_BY_DAY, days);
+        return data;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getPhotos() {
+        return photos;
+    }
+
+    public Map<String, Long> getByMood() {
+        return byMood;
+    }
+
+    public Map<String, Map<String, Long>> getByDay() {
+        return byDay;
+    }
+
+    public Map<String, Long> getBySocial() {
+        return bySocial;
+    }
+
+    public long getStreak() {
+        return streak;
+    }
+
+    public String getLastMoodDate() {
+        return lastMoodDate;
+    }
+
+    private static Map<String, Long> positive(Map<String, Long> counts) {
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getValue() > 0) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readCounts(Object value, Map<String, Long> into) {
+        if (value instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                into.put(entry.getKey(), asLong(entry.getValue()));
+            }
+        }
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.vibeverse;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * MoodStreak computes a user's consecutive-day posting streak.
+ * <p>
+ * Days are compared as "yyyy-MM-dd" strings, the format stored in the user's
+ * {@code last_mood_date} field.
+ * </p>
+ */
+public final class MoodStreak {
+
+    /** Format of the stored last_mood_date field. */
+    public static final String DAY_PATTERN = "yyyy-MM-dd";
+
+    private MoodStreak() {
+    }
+
+    /**
+     * Formats a date as a streak day.
+     *
+     * @param date The date.
+     * @return The date as "yyyy-MM-dd".
+     */
+    public static String dayOf(Date date) {
+        return new SimpleDateFormat(DAY_PATTERN, Locale.getDefault()).format(date);
+    }
+
+    /**
+     * Computes the streak after posting a mood today.
+     *
+     * @param lastMoodDate  The day of the previous mood, or null if the user never posted.
+     * @param currentStreak The stored streak.
+     * @param today         Today's day, as returned by {@link #dayOf(Date)}.
+     * @return The stored streak if the user already posted today, the streak plus one if they
+     * posted yesterday, and 1 otherwise.
+     */
+    public static int next(String lastMoodDate, int currentStreak, String today) {
+        if (lastMoodDate == null) {
+            // No previous mood posted – start with streak 1
+            return 1;
+        }
+        if (lastMoodDate.equals(today)) {
+            // If the user has already posted a mood today, do not increment the streak
+            return currentStreak;
+        }
+        try {
+            SimpleDateFormat sdf = new SimpleDateFormat(DAY_PATTERN, Locale.getDefault());
+            Date lastDate = sdf.parse(lastMoodDate);
+            Date todayDate = sdf.parse(today);
+            // Calculate difference in days (in millis)
+            long diffInDays = (todayDate.getTime() - lastDate.getTime()) / (24 * 60 * 60 * 1000);
+            // Consecutive day – increment the streak; otherwise reset it
+            return diffInDays == 1 ? currentStreak + 1 : 1;
+        } catch (ParseException e) {
+            return 1;
+        }
+    }
+}
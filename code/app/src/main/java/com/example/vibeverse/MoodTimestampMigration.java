@@ -0,0 +1,159 @@
+package com.example.vibeverse;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MoodTimestampMigration backfills the typed {@code createdAt} field on the signed-in user's
+ * own mood events that were saved with only the formatted timestamp string.
+ * <p>
+ * Only {@code Usermoods/{userId}/moods} is visited, a page at a time, and documents without
+ * {@code createdAt} are updated in batches, once per user and install. Moods of other users
+ * are backfilled by {@code scripts/backfill-mood-created-at.js} with the Admin SDK, since a
+ * client may not write them; until then other users read them through
+ * {@link FeedTimeline#publicMoodsOf}, which does not depend on {@code createdAt}. The run
+ * happens in the background: screens load straight away, and a screen listing the user's moods
+ * can pass a callback to reload once moods that readers ordering by {@code createdAt} had left
+ * out have been backfilled.
+ * </p>
+ */
+public class MoodTimestampMigration {
+
+    private static final String TAG = "MoodTimestampMigration";
+
+    private static final String PREFS_NAME = "migrations";
+    private static final String PREF_KEY_PREFIX = "moodCreatedAtMigrated_";
+
+    /** Mood documents read per page; each page is updated with at most one batch. */
+    static final int PAGE_SIZE = FeedTimeline.MAX_BATCH_SIZE;
+
+    private static final Map<String, List<Runnable>> waiting = new HashMap<>();
+
+    private MoodTimestampMigration() {
+    }
+
+    /**
+     * Starts backfilling the user's moods in the background unless that has already completed.
+     * Calls made while a run is in progress join that run instead of starting another.
+     *
+     * @param context    Any context, used to remember that the migration has completed.
+     * @param userId     The signed-in user, whose moods are migrated.
+     * @param onMigrated Called if the run updated any mood, so they can be reloaded; may be null.
+     */
+    public static void runOnce(Context context, String userId, Runnable onMigrated) {
+        SharedPreferences prefs = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (userId == null || prefs.getBoolean(PREF_KEY_PREFIX + userId, false)) {
+            return;
+        }
+        boolean running = waiting.containsKey(userId);
+        List<Runnable> callbacks = running ? waiting.get(userId) : new ArrayList<>();
+        if (onMigrated != null) {
+            callbacks.add(onMigrated);
+        }
+        if (running) {
+            return;
+        }
+        waiting.put(userId, callbacks);
+        migratePage(FirebaseFirestore.getInstance(), prefs, userId, null, 0);
+    }
+
+    /**
+     * Reads one page of the user's mood documents and backfills those missing
+     * {@code createdAt}, continuing with the next page once the batch has committed.
+     *
+     * @param db       The Firestore instance.
+     * @param prefs    Preferences recording completion.
+     * @param userId   The user whose moods are migrated.
+     * @param after    The last document of the previous page, or null for the first page.
+     * @param migrated The number of documents updated so far.
+     */
+    private static void migratePage(FirebaseFirestore db, SharedPreferences prefs, String userId,
+                                    DocumentSnapshot after, int migrated) {
+        Query page = db.collection("Usermoods")
+                .document(userId)
+                .collection("moods")
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+        if (after != null) {
+            page = page.startAfter(after);
+        }
+
+        page.get()
+                .addOnSuccessListener(snapshots -> {
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    WriteBatch batch = db.batch();
+                    int pending = 0;
+                    for (DocumentSnapshot moodDoc : documents) {
+                        if (moodDoc.get(MoodEvent.FIELD_CREATED_AT) instanceof Timestamp) {
+                            continue;
+                        }
+                        batch.update(moodDoc.getReference(), MoodEvent.FIELD_CREATED_AT,
+                                new Timestamp(FeedTimeline.resolveCreatedAt(moodDoc)));
+                        pending++;
+                    }
+
+                    int total = migrated + pending;
+                    boolean lastPage = documents.size() < PAGE_SIZE;
+                    DocumentSnapshot last = documents.isEmpty() ? null : documents.get(documents.size() - 1);
+                    Runnable next = () -> {
+                        if (lastPage) {
+                            finish(prefs, userId, total, true);
+                        } else {
+                            migratePage(db, prefs, userId, last, total);
+                        }
+                    };
+
+                    if (pending == 0) {
+                        next.run();
+                        return;
+                    }
+                    batch.commit()
+                            .addOnSuccessListener(aVoid -> next.run())
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error committing migration batch", e);
+                                finish(prefs, userId, total - pending, false);
+                            });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading moods to migrate", e);
+                    finish(prefs, userId, migrated, false);
+                });
+    }
+
+    /**
+     * Ends a run and, if it updated any mood, calls back everyone waiting on it. A failed run
+     * is retried the next time {@link #runOnce(Context, String, Runnable)} is called.
+     *
+     * @param prefs     Preferences recording completion.
+     * @param userId    The user whose moods were migrated.
+     * @param migrated  The number of documents updated by this run.
+     * @param completed True if every mood document of the user now has {@code createdAt}.
+     */
+    private static void finish(SharedPreferences prefs, String userId, int migrated, boolean completed) {
+        if (completed) {
+            prefs.edit().putBoolean(PREF_KEY_PREFIX + userId, true).apply();
+            Log.d(TAG, "Backfilled createdAt on " + migrated + " moods");
+        }
+        List<Runnable> callbacks = waiting.remove(userId);
+        if (migrated == 0 || callbacks == null) {
+            return;
+        }
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+}
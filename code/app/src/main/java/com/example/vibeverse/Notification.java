@@ -2,6 +2,7 @@ package com.example.vibeverse;
 
 import com.google.firebase.firestore.PropertyName;
 import java.time.LocalDateTime;
+import java.util.Date;
 
 /**
  * Represents a notification sent to a user in the application.
@@ -11,6 +12,9 @@ import java.time.LocalDateTime;
  * </p>
  */
 public class Notification {
+    /** The server-assigned creation time, which orders the inbox and is compared to the read watermark. */
+    public static final String FIELD_CREATED_AT = "createdAt";
+
     /**
      * Enum representing the types of notifications.
      */
@@ -30,6 +34,9 @@ public class Notification {
     private String requestStatus; // pending, accepted, rejected
     private String moodEventId; // the postId of the mood event that the notification is about
     private String moodOwnerId; // the ownerId of the mood event that the notification is about
+    private String senderUsername; // snapshot of the sender's username at the time the notification was sent
+    private String senderProfilePicUri; // snapshot of the sender's profile picture URL
+    private Date createdAt; // server time the notification was written; null on legacy notifications
 
     /**
      * Returns the mood owner ID associated with the notification.
@@ -276,4 +283,58 @@ public class Notification {
     public void setReceiverUserId(String receiverUserId) {
         this.receiverUserId = receiverUserId;
     }
-}
+
+    /**
+     * Returns the sender's username as stored on the notification.
+     *
+     * @return the sender's username, or null for notifications sent before it was stored.
+     */
+    public String getSenderUsername() {
+        return senderUsername;
+    }
+
+    /**
+     * Sets the sender's username stored on the notification.
+     *
+     * @param senderUsername the sender's username to set.
+     */
+    public void setSenderUsername(String senderUsername) {
+        this.senderUsername = senderUsername;
+    }
+
+    /**
+     * Returns the sender's profile picture URL as stored on the notification.
+     *
+     * @return the sender's profile picture URL, or null if none is stored.
+     */
+    public String getSenderProfilePicUri() {
+        return senderProfilePicUri;
+    }
+
+    /**
+     * Sets the sender's profile picture URL stored on the notification.
+     *
+     * @param senderProfilePicUri the sender's profile picture URL to set.
+     */
+    public void setSenderProfilePicUri(String senderProfilePicUri) {
+        this.senderProfilePicUri = senderProfilePicUri;
+    }
+
+    /**
+     * Returns the server time the notification was written.
+     *
+     * @return the creation time, or null for notifications written before it was recorded.
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the server time the notification was written.
+     *
+     * @param createdAt the creation time to set.
+     */
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
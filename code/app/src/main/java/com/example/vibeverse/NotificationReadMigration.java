@@ -0,0 +1,109 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NotificationReadMigration marks a user's legacy notifications read after they have seen
+ * the inbox.
+ * <p>
+ * Legacy notifications have no server creation time, so {@link ReadWatermark} cannot place
+ * them against the watermark and their own {@code isRead} flag is used. Only unread documents
+ * are read, a chunk at a time, and each chunk is marked read with a single batch, so no batch
+ * exceeds Firestore's write limit however long the history is. Marked documents drop out of
+ * the query, so every chunk is read from the start of the query until one comes back short.
+ * A failed run leaves the remaining flags in place for the next visit to the inbox.
+ * </p>
+ */
+public class NotificationReadMigration {
+
+    private static final String TAG = "NotificationReadMigration";
+
+    /** Unread notifications read per chunk; each chunk is updated with one batch. */
+    static final int CHUNK_SIZE = FeedTimeline.MAX_BATCH_SIZE;
+
+    private static final Set<String> running = new HashSet<>();
+
+    private NotificationReadMigration() {
+    }
+
+    /**
+     * Marks every legacy unread notification of the user as read, unless a run for the
+     * user is already in progress.
+     *
+     * @param userId The user whose notifications are migrated.
+     */
+    public static void run(String userId) {
+        if (!running.add(userId)) {
+            return;
+        }
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        Query unread = db.collection("users")
+                .document(userId)
+                .collection("notifications")
+                .whereEqualTo("isRead", false)
+                .limit(CHUNK_SIZE);
+        migrateChunk(db, userId, unread, 0);
+    }
+
+    /**
+     * Marks one chunk of unread notifications as read, continuing with the next chunk once
+     * the batch has committed.
+     *
+     * @param db       The Firestore instance.
+     * @param userId   The user whose notifications are migrated.
+     * @param unread   The query for the user's remaining unread notifications.
+     * @param migrated The number of notifications updated so far.
+     */
+    private static void migrateChunk(FirebaseFirestore db, String userId, Query unread, int migrated) {
+        unread.get()
+                .addOnSuccessListener(snapshots -> {
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    if (documents.isEmpty()) {
+                        finish(userId, migrated);
+                        return;
+                    }
+                    WriteBatch batch = db.batch();
+                    for (DocumentSnapshot doc : documents) {
+                        batch.update(doc.getReference(), "isRead", true);
+                    }
+                    int total = migrated + documents.size();
+                    boolean lastChunk = documents.size() < CHUNK_SIZE;
+                    batch.commit()
+                            .addOnSuccessListener(aVoid -> {
+                                if (lastChunk) {
+                                    finish(userId, total);
+                                } else {
+                                    migrateChunk(db, userId, unread, total);
+                                }
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error committing notification batch", e);
+                                running.remove(userId);
+                            });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading unread notifications", e);
+                    running.remove(userId);
+                });
+    }
+
+    /**
+     * Ends a run.
+     *
+     * @param userId   The user whose notifications were migrated.
+     * @param migrated The number of notifications updated by this run.
+     */
+    private static void finish(String userId, int migrated) {
+        running.remove(userId);
+        Log.d(TAG, "Marked " + migrated + " legacy notifications read");
+    }
+}
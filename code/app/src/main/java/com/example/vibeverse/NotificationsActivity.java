@@ -2,6 +2,7 @@ package com.example.vibeverse;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.widget.ImageButton;
 import android.widget.Toast;
 
@@ -10,23 +11,31 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * NotificationsActivity displays a list of notifications for the current user.
  * <p>
- * It retrieves notifications from Firestore, displays them in a RecyclerView using NotificationsAdapter,
- * marks notifications as read, and provides navigation back to HomePage via a back button.
+ * It retrieves notifications from Firestore a page at a time, displays them in a RecyclerView using
+ * NotificationsAdapter, marks the inbox as read by moving the user's read watermark, and provides
+ * navigation back to HomePage via a back button.
  * </p>
  */
 public class NotificationsActivity extends AppCompatActivity {
+    private static final String TAG = "NotificationsActivity";
+
     private RecyclerView recyclerNotifications;
     private NotificationsAdapter adapter;
     private List<Notification> notificationList;
@@ -38,11 +47,25 @@ public class NotificationsActivity extends AppCompatActivity {
 
     private String currentUserId;
 
+    /** Notifications read per page as the user scrolls. */
+    private static final int PAGE_SIZE = 20;
+    /** How close to the end of the list, in rows, the next page is requested. */
+    private static final int PREFETCH_DISTANCE = 5;
+
+    private PagedQuery notificationPager;
+    private final FeedReadStats readStats = new FeedReadStats();
+    /** True once the pages of notifications with a creation time have run out. */
+    private boolean legacyPages = false;
+    /** True if a legacy notification was shown as unread. */
+    private boolean legacyUnreadShown = false;
+    /** The read watermark as it was when the inbox was opened, or null if the user has none. */
+    private Date lastReadAt;
+
     /**
      * Called when the activity is created.
      * <p>
-     * Initializes UI components, Firebase instances, loads notifications from Firestore,
-     * marks them as read, and sets up bottom navigation.
+     * Initializes UI components, Firebase instances, loads the first page of notifications from
+     * Firestore, marks them as read, and sets up bottom navigation.
      * </p>
      *
      * @param savedInstanceState the previously saved state of the activity.
@@ -59,11 +82,26 @@ public class NotificationsActivity extends AppCompatActivity {
         adapter = new NotificationsAdapter(this, notificationList);
         recyclerNotifications.setAdapter(adapter);
 
+        // Load the next page as the user nears the end of the list
+        recyclerNotifications.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) {
+                    return;
+                }
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
         db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
         currentUserId = FirebaseAuth.getInstance().getCurrentUser().getUid();
         loadNotifications();
-        markNotificationsAsRead();
 
         bottomNavigationView = findViewById(R.id.bottom_navigation);
         NavigationHelper.setupBottomNavigation(this, bottomNavigationView);
@@ -77,23 +115,20 @@ public class NotificationsActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads notifications for the current user from Firestore and updates the RecyclerView.
+     * Opens the inbox: reads the user's read watermark, then loads the first page of
+     * notifications and shows those created after the watermark as unread.
      */
     private void loadNotifications() {
-        // Query the notifications subcollection sorted by dateTime descending
         db.collection("users")
                 .document(currentUserId)
-                .collection("notifications")
-                .orderBy("dateTime", Query.Direction.DESCENDING)
                 .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    notificationList.clear();
-                    for (DocumentSnapshot doc : queryDocumentSnapshots.getDocuments()) {
-                        // Assuming your Notification class has a default constructor and proper getters/setters.
-                        Notification notification = doc.toObject(Notification.class);
-                        notificationList.add(notification);
-                    }
-                    adapter.notifyDataSetChanged();
+                .addOnSuccessListener(userDoc -> {
+                    Timestamp watermark = userDoc.getTimestamp(ReadWatermark.FIELD_LAST_READ_AT);
+                    lastReadAt = watermark != null ? watermark.toDate() : null;
+                    notificationPager = new PagedQuery(notificationsCollection()
+                            .orderBy(Notification.FIELD_CREATED_AT, Query.Direction.DESCENDING),
+                            PAGE_SIZE, readStats);
+                    loadNextPage();
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(NotificationsActivity.this, "Error loading notifications", Toast.LENGTH_SHORT).show();
@@ -101,21 +136,101 @@ public class NotificationsActivity extends AppCompatActivity {
     }
 
     /**
-     * Marks all notifications for the current user as read and resets the new notification count.
+     * Loads the page of notifications after the last loaded one and appends it to the list.
+     * <p>
+     * Notifications are read newest first by their server creation time. Once those run out,
+     * legacy notifications, which have no creation time but always carry an {@code isRead}
+     * flag, follow in their stored {@code dateTime} order. The first page also moves the read
+     * watermark up to the newest notification.
+     * </p>
      */
-    private void markNotificationsAsRead() {
+    private void loadNextPage() {
+        if (notificationPager == null || !notificationPager.hasMore()) {
+            return;
+        }
+        PagedQuery pager = notificationPager;
+        boolean firstPage = !legacyPages && !pager.hasStarted();
+        pager.loadNextPage(documents -> {
+            List<Notification> notifications = new ArrayList<>();
+            List<String> senderIds = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                Notification notification = DocumentCodec.decodeNotification(doc);
+                if (notification == null) {
+                    continue;
+                }
+                notifications.add(notification);
+                if (notification.getSenderUsername() == null) {
+                    senderIds.add(notification.getSenderUserId());
+                }
+            }
+            ReadWatermark.apply(notifications, lastReadAt);
+            for (Notification notification : notifications) {
+                if (notification.getCreatedAt() == null && !notification.isRead()) {
+                    legacyUnreadShown = true;
+                }
+            }
+            if (firstPage) {
+                markNotificationsAsRead(notifications.isEmpty() ? null : notifications.get(0).getCreatedAt());
+            }
+            boolean startLegacyPages = !legacyPages && !pager.hasMore();
+            if (startLegacyPages) {
+                legacyPages = true;
+                notificationPager = new PagedQuery(notificationsCollection()
+                        .whereIn("isRead", Arrays.asList(true, false))
+                        .orderBy("dateTime", Query.Direction.DESCENDING),
+                        PAGE_SIZE, readStats);
+            }
+            // Resolve every sender in a few batched reads before the rows are bound.
+            UserProfileCache.getInstance().prefetch(senderIds, () -> {
+                int start = notificationList.size();
+                notificationList.addAll(notifications);
+                adapter.notifyItemRangeInserted(start, notifications.size());
+                if (startLegacyPages) {
+                    // The last page was short, so there may be nothing to scroll to yet
+                    loadNextPage();
+                }
+            });
+        }, e -> {
+            Toast.makeText(NotificationsActivity.this, "Error loading notifications", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    /**
+     * Marks the inbox as read up to the newest notification and resets the new notification
+     * count, with a single write to the user document.
+     *
+     * @param newestCreatedAt The creation time of the newest notification, or null if there
+     *                        are none with one.
+     */
+    private void markNotificationsAsRead(Date newestCreatedAt) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("newNotificationCount", 0);
+        if (newestCreatedAt != null && (lastReadAt == null || newestCreatedAt.after(lastReadAt))) {
+            update.put(ReadWatermark.FIELD_LAST_READ_AT, new Timestamp(newestCreatedAt));
+        }
         db.collection("users")
                 .document(currentUserId)
-                .collection("notifications")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    WriteBatch batch = db.batch();
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        batch.update(doc.getReference(), "isRead", true);
-                    }
-                    batch.update(db.collection("users").document(currentUserId), "newNotificationCount", 0);
-                    batch.commit().addOnCompleteListener(task -> {
-                    });
-                });
+                .update(update)
+                .addOnFailureListener(e -> Log.e(TAG, "Error marking notifications as read", e));
+    }
+
+    /**
+     * Clears the legacy unread flags once the user leaves the inbox, if any may be left: when
+     * one was shown, or on the first visit since the watermark, when unread legacy
+     * notifications may sit beyond the pages that were loaded.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (notificationPager != null && (legacyUnreadShown || lastReadAt == null)) {
+            NotificationReadMigration.run(currentUserId);
+            legacyUnreadShown = false;
+        }
+    }
+
+    private CollectionReference notificationsCollection() {
+        return db.collection("users")
+                .document(currentUserId)
+                .collection("notifications");
     }
 }
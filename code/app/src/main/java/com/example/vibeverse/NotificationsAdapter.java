@@ -187,29 +187,38 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
                 rejectButton.setVisibility(View.GONE);
             }
 
-            // Load the sender's profile picture using their user id.
-            // This assumes that in the users collection, the profile picture URL is stored under "profilePicUri".
-            db.collection("users")
-                    .document(notification.getSenderUserId())
-                    .get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            String profilePicUrl = documentSnapshot.getString("profilePicUri");
-                            if (profilePicUrl != null && !profilePicUrl.isEmpty()) {
-                                // Using Glide to load the image:
-                                Glide.with(context)
-                                        .load(profilePicUrl)
-                                        .placeholder(R.drawable.user_icon)
-                                        .into(profileImage);
-                            } else {
-                                profileImage.setImageResource(R.drawable.user_icon);
-                            }
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        // In case of error, set a default icon
+            // Use the sender snapshot stored on the notification when there is one,
+            // otherwise load the sender's profile picture through the shared profile cache.
+            String senderId = notification.getSenderUserId();
+            if (notification.getSenderUsername() != null) {
+                profileImage.setTag(null);
+                if (notification.getSenderProfilePicUri() != null) {
+                    Glide.with(context)
+                            .load(notification.getSenderProfilePicUri())
+                            .placeholder(R.drawable.user_icon)
+                            .into(profileImage);
+                } else {
+                    profileImage.setImageResource(R.drawable.user_icon);
+                }
+            } else {
+                profileImage.setTag(senderId);
+                UserProfileCache.getInstance().get(senderId, profile -> {
+                    // The row may have been rebound to another notification while loading
+                    if (!senderId.equals(profileImage.getTag())) {
+                        return;
+                    }
+                    String profilePicUrl = profile != null ? profile.getProfilePicUri() : null;
+                    if (profilePicUrl != null && !profilePicUrl.isEmpty()) {
+                        // Using Glide to load the image:
+                        Glide.with(context)
+                                .load(profilePicUrl)
+                                .placeholder(R.drawable.user_icon)
+                                .into(profileImage);
+                    } else {
                         profileImage.setImageResource(R.drawable.user_icon);
-                    });
+                    }
+                });
+            }
 
             container.setOnClickListener(v -> {
                 // Only handle clicks for FOLLOW_REQUEST notifications
@@ -270,6 +279,9 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
                         .document("list")
                         .update("followingIds", FieldValue.arrayUnion(currentUserId));
 
+                // Seed the new follower's home feed with the current user's recent public moods.
+                new FeedTimeline().backfillFromFollowee(notification.getSenderUserId(), currentUserId);
+
                 // Increment active user's follower count by 1.
                 db.collection("users")
                         .document(currentUserId)
@@ -295,18 +307,10 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
                         });
 
                 // --- Achievement Checkers for Follow/Following Achievements ---
-                // For the active user (receiving a follower), check:
-                // "Target on your back I" (ach18) and "Target on your back II" (ach19).
-                AchievementChecker activeUserAchievements = new AchievementChecker(currentUserId);
-                activeUserAchievements.checkAch18();
-                activeUserAchievements.checkAch19();
-
-                // For the sender (now following someone), check:
-                // "Making Connections I" (ach15), "Making Connections II" (ach16), and "Making Connections III" (ach17).
-                AchievementChecker senderAchievements = new AchievementChecker(notification.getSenderUserId());
-                senderAchievements.checkAch15();
-                senderAchievements.checkAch16();
-                senderAchievements.checkAch17();
+                // The active user gained a follower ("Target on your back" achievements) and the
+                // sender is now following someone ("Making Connections" achievements).
+                new AchievementChecker(context, currentUserId).onFollowerGained();
+                new AchievementChecker(context, notification.getSenderUserId()).onFollowed();
 
             });
 
@@ -0,0 +1,176 @@
+package com.example.vibeverse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PageWindow keeps a bounded run of consecutive pages from a paged list.
+ * <p>
+ * Pages are appended as the user scrolls down and prepended when they scroll back up.
+ * Once more than the maximum number of pages are held, the page furthest from the
+ * direction of travel is dropped, so memory use stays bounded however long the list is.
+ * Each page remembers the cursors at its edges so dropped pages can be fetched again.
+ * </p>
+ *
+ * @param <T> The type of the items.
+ * @param <C> The type of the cursor used to resume the query at a page edge.
+ */
+public class PageWindow<T, C> {
+
+    /**
+     * A page of items together with the cursors of its first and last item.
+     */
+    private static class Page<T, C> {
+        final List<T> items;
+        final C firstCursor;
+        final C lastCursor;
+
+        Page(List<T> items, C firstCursor, C lastCursor) {
+            this.items = items;
+            this.firstCursor = firstCursor;
+            this.lastCursor = lastCursor;
+        }
+    }
+
+    private final int maxPages;
+    private final ArrayDeque<Page<T, C>> pages = new ArrayDeque<>();
+    private boolean trimmedStart = false;
+
+    /**
+     * Constructs a PageWindow.
+     *
+     * @param maxPages The maximum number of pages retained at once; at least 2.
+     */
+    public PageWindow(int maxPages) {
+        this.maxPages = Math.max(2, maxPages);
+    }
+
+    /**
+     * Adds a page after the last retained page, dropping the first page if the window is full.
+     *
+     * @param items       The items of the page.
+     * @param firstCursor The cursor of the page's first item.
+     * @param lastCursor  The cursor of the page's last item.
+     * @return The number of items dropped from the start of the window.
+     */
+    public int append(List<T> items, C firstCursor, C lastCursor) {
+        pages.addLast(new Page<>(new ArrayList<>(items), firstCursor, lastCursor));
+        if (pages.size() > maxPages) {
+            trimmedStart = true;
+            return pages.removeFirst().items.size();
+        }
+        return 0;
+    }
+
+    /**
+     * Adds a page before the first retained page, dropping the last page if the window is full.
+     *
+     * @param items        The items of the page.
+     * @param firstCursor  The cursor of the page's first item.
+     * @param lastCursor   The cursor of the page's last item.
+     * @param reachedStart True if this page is the start of the whole list.
+     * @return The number of items dropped from the end of the window.
+     */
+    public int prepend(List<T> items, C firstCursor, C lastCursor, boolean reachedStart) {
+        pages.addFirst(new Page<>(new ArrayList<>(items), firstCursor, lastCursor));
+        trimmedStart = !reachedStart;
+        if (pages.size() > maxPages) {
+            return pages.removeLast().items.size();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the retained items, in list order.
+     *
+     * @return A new list of the retained items.
+     */
+    public List<T> items() {
+        List<T> all = new ArrayList<>();
+        for (Page<T, C> page : pages) {
+            all.addAll(page.items);
+        }
+        return all;
+    }
+
+    /**
+     * Returns the number of retained items.
+     *
+     * @return The item count.
+     */
+    public int size() {
+        int size = 0;
+        for (Page<T, C> page : pages) {
+            size += page.items.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of retained pages.
+     *
+     * @return The page count.
+     */
+    public int pageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Returns the cursor of the first retained item.
+     *
+     * @return The cursor, or null if the window is empty.
+     */
+    public C firstCursor() {
+        return pages.isEmpty() ? null : pages.peekFirst().firstCursor;
+    }
+
+    /**
+     * Returns the cursor of the last retained item.
+     *
+     * @return The cursor, or null if the window is empty.
+     */
+    public C lastCursor() {
+        return pages.isEmpty() ? null : pages.peekLast().lastCursor;
+    }
+
+    /**
+     * Returns whether pages before the window were dropped and can be fetched again.
+     *
+     * @return True if the window does not start at the beginning of the list.
+     */
+    public boolean hasTrimmedStart() {
+        return trimmedStart;
+    }
+
+    /**
+     * Records that nothing precedes the first retained page, for example after an empty
+     * page was returned when fetching backwards.
+     */
+    public void markStartReached() {
+        trimmedStart = false;
+    }
+
+    /**
+     * Removes an item from whichever page holds it. The page's cursors are kept.
+     *
+     * @param item The item to remove.
+     * @return True if the item was found.
+     */
+    public boolean remove(T item) {
+        for (Page<T, C> page : pages) {
+            if (page.items.remove(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every page and resets the window to the start of the list.
+     */
+    public void clear() {
+        pages.clear();
+        trimmedStart = false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.vibeverse;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.List;
+
+/**
+ * PagedQuery reads a Firestore query one page at a time.
+ * <p>
+ * Filtering and ordering belong in the base query so that Firestore only returns the
+ * documents that will be shown. Each page is limited to the page size and continues
+ * after the last document of the previous page. Every document returned is recorded
+ * in the supplied {@link FeedReadStats}.
+ * </p>
+ */
+public class PagedQuery {
+
+    private final Query baseQuery;
+    private final int pageSize;
+    private final FeedReadStats stats;
+
+    private DocumentSnapshot lastDocument;
+    private boolean exhausted = false;
+    private boolean loading = false;
+
+    /**
+     * Constructs a PagedQuery.
+     *
+     * @param baseQuery The filtered and ordered query to page through.
+     * @param pageSize  The maximum number of documents per page.
+     * @param stats     The counters that document reads are recorded in.
+     */
+    public PagedQuery(Query baseQuery, int pageSize, FeedReadStats stats) {
+        this.baseQuery = baseQuery;
+        this.pageSize = pageSize;
+        this.stats = stats;
+    }
+
+    /**
+     * Fetches the next page of documents.
+     * <p>
+     * Does nothing if a page is already loading or the query has no more results.
+     * </p>
+     *
+     * @param onSuccess Called with the documents of the page, which may be empty.
+     * @param onFailure Called if the read fails.
+     */
+    public void loadNextPage(OnSuccessListener<List<DocumentSnapshot>> onSuccess,
+                             OnFailureListener onFailure) {
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+
+        Query page = baseQuery.limit(pageSize);
+        if (lastDocument != null) {
+            page = page.startAfter(lastDocument);
+        }
+
+        page.get()
+                .addOnSuccessListener(snapshots -> {
+                    loading = false;
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    stats.recordRead(documents.size());
+                    if (!documents.isEmpty()) {
+                        lastDocument = documents.get(documents.size() - 1);
+                    }
+                    exhausted = documents.size() < pageSize;
+                    onSuccess.onSuccess(documents);
+                })
+                .addOnFailureListener(e -> {
+                    loading = false;
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Returns whether more pages may be available.
+     *
+     * @return True if the last page was full and no page is loading.
+     */
+    public boolean hasMore() {
+        return !exhausted && !loading;
+    }
+
+    /**
+     * Returns whether any page has been fetched yet.
+     *
+     * @return True if at least one document has been returned.
+     */
+    public boolean hasStarted() {
+        return lastDocument != null;
+    }
+}
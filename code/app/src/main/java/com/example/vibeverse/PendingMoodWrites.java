@@ -0,0 +1,115 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PendingMoodWrites holds mood events whose save has been sent but not yet acknowledged by
+ * the server, so screens can show a new mood immediately and reconcile once the write lands.
+ * <p>
+ * A mood is tracked from the moment its batch is committed locally. When the server
+ * acknowledges the batch the mood is simply dropped from the registry, since reloaded pages
+ * then contain the stored document. If the batch is rejected, listeners are told so they can
+ * take the optimistic entry back out. All methods must be called on the main thread.
+ * </p>
+ */
+public final class PendingMoodWrites {
+
+    private static final String TAG = "PendingMoodWrites";
+
+    /**
+     * Receives the outcome of pending mood writes.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the server has stored a pending mood.
+         *
+         * @param documentId The document ID of the mood.
+         */
+        void onMoodConfirmed(String documentId);
+
+        /**
+         * Called when a pending mood could not be saved and should no longer be shown.
+         *
+         * @param documentId The document ID of the mood.
+         * @param e          The reason the write failed.
+         */
+        void onMoodFailed(String documentId, Exception e);
+    }
+
+    private static final Map<String, MoodEvent> pending = new LinkedHashMap<>();
+    private static final List<Listener> listeners = new ArrayList<>();
+
+    private PendingMoodWrites() {
+    }
+
+    /**
+     * Tracks a mood until its write completes.
+     *
+     * @param moodEvent The mood being saved; its document ID must be set.
+     * @param write     The task of the batch that saves the mood.
+     */
+    public static void track(MoodEvent moodEvent, Task<Void> write) {
+        String documentId = moodEvent.getDocumentId();
+        pending.put(documentId, moodEvent);
+        write.addOnSuccessListener(aVoid -> {
+            pending.remove(documentId);
+            for (Listener listener : new ArrayList<>(listeners)) {
+                listener.onMoodConfirmed(documentId);
+            }
+        }).addOnFailureListener(e -> {
+            pending.remove(documentId);
+            Log.e(TAG, "Mood " + documentId + " was not saved", e);
+            for (Listener listener : new ArrayList<>(listeners)) {
+                listener.onMoodFailed(documentId, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the moods still waiting for the server, newest first.
+     *
+     * @return A copy of the pending moods.
+     */
+    public static List<MoodEvent> getPending() {
+        List<MoodEvent> moods = new ArrayList<>(pending.values());
+        Collections.reverse(moods);
+        return moods;
+    }
+
+    /**
+     * Returns whether a mood is still waiting for the server.
+     *
+     * @param documentId The document ID of the mood.
+     * @return True if the mood's write has not completed.
+     */
+    public static boolean isPending(String documentId) {
+        return pending.containsKey(documentId);
+    }
+
+    /**
+     * Registers a listener for write outcomes.
+     *
+     * @param listener The listener to add.
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addListener(Listener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,535 @@
+package com.example.vibeverse;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * PhotoUploadQueue uploads compressed photos to Firebase Storage so that uploads survive
+ * flaky connections and process death, and the same photo is only ever stored once.
+ * <p>
+ * Each photo is stored under {@code images/<sha-256 of its bytes>.<ext>}. Before uploading,
+ * the queue checks whether that object already exists and, if so, skips straight to its
+ * download URL. Queued bytes are spooled to app storage and listed in shared preferences,
+ * together with the resumable upload session, so pending uploads carry on from where they
+ * stopped the next time the queue is created. Failed attempts are retried with exponential
+ * backoff, except for errors that cannot succeed on a retry, such as a denied permission.
+ * </p>
+ * <p>
+ * A mood saved while its photo is still uploading is attached to the upload with
+ * {@link #attachToMood(String, String)}. The mood's path is persisted with the upload, and the
+ * queue writes the download URL to the mood once the photo is stored, even if the process
+ * that saved the mood is gone by then. Uploads left over from a previous process that no mood
+ * was saved with are dropped, since nothing could use their download URL. All methods must be
+ * called on the main thread.
+ * </p>
+ */
+public class PhotoUploadQueue {
+
+    private static final String TAG = "PhotoUploadQueue";
+
+    private static final String PREFS_NAME = "photoUploads";
+    private static final String PREF_PENDING = "pending";
+    private static final String PREF_SESSION_PREFIX = "session_";
+    private static final String SPOOL_DIRECTORY = "photo_uploads";
+
+    /** Attempts made for an upload before giving up on it. */
+    static final int MAX_ATTEMPTS = 6;
+    /** Delay before the first retry; each later retry doubles it. */
+    static final long BASE_BACKOFF_MS = 2000;
+    /** Upper bound on the delay between retries. */
+    static final long MAX_BACKOFF_MS = 60000;
+
+    private static PhotoUploadQueue instance;
+
+    /**
+     * Receives the outcome of a queued upload on the main thread.
+     */
+    public interface Callback {
+
+        /**
+         * Called once the photo is stored.
+         *
+         * @param downloadUri  The download URL of the stored photo.
+         * @param deduplicated True if the photo was already stored and nothing was uploaded.
+         */
+        void onUploaded(Uri downloadUri, boolean deduplicated);
+
+        /**
+         * Called when the upload was given up on, after {@link #MAX_ATTEMPTS} attempts or on
+         * an error that a retry cannot fix.
+         *
+         * @param e The last failure.
+         */
+        void onFailed(Exception e);
+    }
+
+    /**
+     * A pending upload as persisted in shared preferences.
+     */
+    static final class Entry {
+        final String hash;
+        final String extension;
+        final String mimeType;
+        /** The path of the mood document the photo belongs to, or null if none was saved yet. */
+        final String moodPath;
+
+        Entry(String hash, String extension, String mimeType) {
+            this(hash, extension, mimeType, null);
+        }
+
+        Entry(String hash, String extension, String mimeType, String moodPath) {
+            this.hash = hash;
+            this.extension = extension;
+            this.mimeType = mimeType;
+            this.moodPath = moodPath;
+        }
+
+        /**
+         * @param moodPath The path of the mood document the photo belongs to.
+         * @return A copy of the entry attached to the mood.
+         */
+        Entry withMoodPath(String moodPath) {
+            return new Entry(hash, extension, mimeType, moodPath);
+        }
+
+        /**
+         * @return The path of the photo in Firebase Storage.
+         */
+        String storagePath() {
+            return "images/" + hash + "." + extension;
+        }
+
+        /**
+         * @return The name of the spooled file holding the photo's bytes.
+         */
+        String spoolName() {
+            return hash + "." + extension;
+        }
+
+        /**
+         * @return The entry as a single preference string.
+         */
+        String encode() {
+            String encoded = hash + "|" + extension + "|" + mimeType;
+            return moodPath != null ? encoded + "|" + moodPath : encoded;
+        }
+
+        /**
+         * Parses a string produced by {@link #encode()}. Entries persisted before moods could
+         * be attached have no mood path.
+         *
+         * @param value The preference string.
+         * @return The entry, or null if the string is malformed.
+         */
+        static Entry decode(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split("\\|", -1);
+            if (parts.length < 3 || parts.length > 4 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                return null;
+            }
+            String moodPath = parts.length == 4 && !parts[3].isEmpty() ? parts[3] : null;
+            return new Entry(parts[0], parts[1], parts[2], moodPath);
+        }
+    }
+
+    /**
+     * An upload in progress along with everyone waiting on it.
+     */
+    private static final class Upload {
+        Entry entry;
+        final File file;
+        final List<Callback> callbacks = new ArrayList<>();
+        int attempts;
+
+        Upload(Entry entry, File file) {
+            this.entry = entry;
+            this.file = file;
+        }
+    }
+
+    private final SharedPreferences prefs;
+    private final File spoolDirectory;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Random random = new Random();
+    private final Map<String, Upload> active = new LinkedHashMap<>();
+    private final UploadQueueStats stats = new UploadQueueStats();
+
+    private PhotoUploadQueue(Context context) {
+        Context appContext = context.getApplicationContext();
+        prefs = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        spoolDirectory = new File(appContext.getFilesDir(), SPOOL_DIRECTORY);
+    }
+
+    /**
+     * Returns the shared queue, creating it and resuming uploads left over from a previous
+     * process on first use.
+     *
+     * @param context Any context.
+     * @return The upload queue.
+     */
+    public static synchronized PhotoUploadQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new PhotoUploadQueue(context);
+            instance.resumePending();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues compressed photo bytes for upload. If the same bytes are already being uploaded
+     * the callback joins that upload instead of starting another.
+     *
+     * @param imageBytes The encoded photo.
+     * @param encoder    The format the bytes were encoded with.
+     * @param callback   Receives the download URL or the final failure.
+     * @return The ID of the upload, for {@link #attachToMood(String, String)}, or null if the
+     *         bytes could not be queued.
+     */
+    public String enqueue(byte[] imageBytes, ImageEncoder encoder, Callback callback) {
+        Entry entry = new Entry(sha256Hex(imageBytes), encoder.getFileExtension(), encoder.getMimeType());
+        Upload upload = active.get(entry.hash);
+        if (upload != null) {
+            upload.callbacks.add(callback);
+            return entry.hash;
+        }
+
+        File file = new File(spoolDirectory, entry.spoolName());
+        try {
+            spool(file, imageBytes);
+        } catch (IOException e) {
+            Log.e(TAG, "Error spooling photo for upload", e);
+            callback.onFailed(e);
+            return null;
+        }
+        upload = new Upload(entry, file);
+        upload.callbacks.add(callback);
+        persist(entry);
+        begin(upload);
+        return entry.hash;
+    }
+
+    /**
+     * Attaches a queued upload to a mood that was saved before the photo was stored. The
+     * queue sets the mood's {@code photoUri} once the upload finishes, and keeps the mood's
+     * path with the persisted upload so this also happens after process death.
+     *
+     * @param uploadId The ID returned by {@link #enqueue(byte[], ImageEncoder, Callback)}.
+     * @param moodPath The path of the mood document.
+     * @return True if the upload is still queued and now belongs to the mood; false if it has
+     *         already finished or failed, or belongs to another mood.
+     */
+    public boolean attachToMood(String uploadId, String moodPath) {
+        Upload upload = uploadId != null ? active.get(uploadId) : null;
+        if (upload == null) {
+            return false;
+        }
+        if (upload.entry.moodPath != null) {
+            return upload.entry.moodPath.equals(moodPath);
+        }
+        Entry attached = upload.entry.withMoodPath(moodPath);
+        Set<String> pending = new HashSet<>(prefs.getStringSet(PREF_PENDING, new HashSet<>()));
+        pending.remove(upload.entry.encode());
+        pending.add(attached.encode());
+        prefs.edit().putStringSet(PREF_PENDING, pending).apply();
+        upload.entry = attached;
+        return true;
+    }
+
+    /**
+     * Returns the queue's depth and throughput counters.
+     *
+     * @return The stats for this process.
+     */
+    public UploadQueueStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the number of uploads that are queued or in flight.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return active.size();
+    }
+
+    /**
+     * Restarts every upload persisted by a previous process whose bytes are still spooled
+     * and that a mood was saved with. The rest had no one left to receive their download URL.
+     */
+    private void resumePending() {
+        for (String value : prefs.getStringSet(PREF_PENDING, new HashSet<>())) {
+            Entry entry = Entry.decode(value);
+            if (entry == null || active.containsKey(entry.hash)) {
+                continue;
+            }
+            File file = new File(spoolDirectory, entry.spoolName());
+            if (!file.exists()) {
+                forget(entry);
+                continue;
+            }
+            if (entry.moodPath == null) {
+                Log.d(TAG, "Dropping upload of " + entry.storagePath() + ", no mood was saved with it");
+                forget(entry);
+                deleteSpool(file);
+                continue;
+            }
+            Log.d(TAG, "Resuming upload of " + entry.storagePath());
+            begin(new Upload(entry, file));
+        }
+    }
+
+    private void begin(Upload upload) {
+        active.put(upload.entry.hash, upload);
+        stats.recordEnqueued();
+        attempt(upload);
+    }
+
+    /**
+     * Checks whether the photo is already stored and uploads it if not.
+     */
+    private void attempt(Upload upload) {
+        upload.attempts++;
+        StorageReference ref = FirebaseStorage.getInstance().getReference().child(upload.entry.storagePath());
+        ref.getMetadata()
+                .addOnSuccessListener(metadata -> resolveDownloadUrl(upload, ref, true))
+                .addOnFailureListener(e -> {
+                    if (e instanceof StorageException
+                            && ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                        upload(upload, ref);
+                    } else {
+                        retryLater(upload, e);
+                    }
+                });
+    }
+
+    /**
+     * Uploads the spooled file, resuming the previous upload session if there is one.
+     */
+    private void upload(Upload upload, StorageReference ref) {
+        String sessionKey = PREF_SESSION_PREFIX + upload.entry.hash;
+        String session = prefs.getString(sessionKey, null);
+        StorageMetadata metadata = new StorageMetadata.Builder()
+                .setContentType(upload.entry.mimeType)
+                .build();
+        Uri fileUri = Uri.fromFile(upload.file);
+        UploadTask task = session != null
+                ? ref.putFile(fileUri, metadata, Uri.parse(session))
+                : ref.putFile(fileUri, metadata);
+
+        long startNanos = System.nanoTime();
+        task.addOnProgressListener(snapshot -> {
+            Uri sessionUri = snapshot.getUploadSessionUri();
+            if (sessionUri != null && !sessionUri.toString().equals(prefs.getString(sessionKey, null))) {
+                prefs.edit().putString(sessionKey, sessionUri.toString()).apply();
+            }
+        }).addOnSuccessListener(snapshot -> {
+            stats.recordTransferred(snapshot.getTotalByteCount(), System.nanoTime() - startNanos);
+            resolveDownloadUrl(upload, ref, false);
+        }).addOnFailureListener(e -> {
+            if (session != null) {
+                // The session may have expired; start a fresh one on the next attempt
+                prefs.edit().remove(sessionKey).apply();
+            }
+            retryLater(upload, e);
+        });
+    }
+
+    private void resolveDownloadUrl(Upload upload, StorageReference ref, boolean deduplicated) {
+        ref.getDownloadUrl()
+                .addOnSuccessListener(downloadUri -> {
+                    stats.recordCompleted(deduplicated);
+                    finish(upload);
+                    Log.d(TAG, "Stored " + upload.entry.storagePath() + (deduplicated ? " (deduplicated)" : "")
+                            + ", " + stats);
+                    if (upload.entry.moodPath != null) {
+                        attachPhoto(upload.entry.moodPath, downloadUri);
+                    }
+                    for (Callback callback : upload.callbacks) {
+                        callback.onUploaded(downloadUri, deduplicated);
+                    }
+                })
+                .addOnFailureListener(e -> retryLater(upload, e));
+    }
+
+    /**
+     * Sets the stored photo on the mood it was attached to, counts it in the owner's mood
+     * aggregates in the same batch, and refreshes the followers' copies of the mood. Does
+     * nothing but log if the mood was deleted in the meantime.
+     *
+     * @param moodPath    The path of the mood document, {@code Usermoods/<owner>/moods/<id>}.
+     * @param downloadUri The download URL of the stored photo.
+     */
+    private void attachPhoto(String moodPath, Uri downloadUri) {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        DocumentReference moodRef = db.document(moodPath);
+        String ownerId = moodRef.getParent().getParent().getId();
+
+        Map<String, Object> photo = new HashMap<>();
+        photo.put("hasPhoto", true);
+        photo.put("photoUri", downloadUri.toString());
+        WriteBatch batch = db.batch();
+        batch.update(moodRef, photo);
+        new MoodAggregates().stagePhotoAttached(batch, ownerId);
+        batch.commit()
+                .addOnSuccessListener(aVoid -> new FeedTimeline().syncMood(ownerId, moodRef.getId()))
+                .addOnFailureListener(e -> Log.e(TAG, "Error attaching photo to " + moodPath, e));
+    }
+
+    private void retryLater(Upload upload, Exception e) {
+        if (upload.attempts >= MAX_ATTEMPTS || !isRetryable(e)) {
+            Log.e(TAG, "Giving up on " + upload.entry.storagePath() + " after " + upload.attempts + " attempts", e);
+            stats.recordFailed();
+            finish(upload);
+            for (Callback callback : upload.callbacks) {
+                callback.onFailed(e);
+            }
+            return;
+        }
+        long delay = backoffDelayMillis(upload.attempts, random.nextDouble());
+        Log.w(TAG, "Upload of " + upload.entry.storagePath() + " failed, retrying in " + delay + "ms", e);
+        stats.recordRetry();
+        handler.postDelayed(() -> attempt(upload), delay);
+    }
+
+    /**
+     * Removes a finished or abandoned upload from the queue and its persisted state.
+     */
+    private void finish(Upload upload) {
+        active.remove(upload.entry.hash);
+        forget(upload.entry);
+        deleteSpool(upload.file);
+    }
+
+    private void deleteSpool(File file) {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Could not delete spooled photo " + file);
+        }
+    }
+
+    private void persist(Entry entry) {
+        // getStringSet must not be modified in place
+        Set<String> pending = new HashSet<>(prefs.getStringSet(PREF_PENDING, new HashSet<>()));
+        pending.add(entry.encode());
+        prefs.edit().putStringSet(PREF_PENDING, pending).apply();
+    }
+
+    private void forget(Entry entry) {
+        Set<String> pending = new HashSet<>(prefs.getStringSet(PREF_PENDING, new HashSet<>()));
+        pending.remove(entry.encode());
+        prefs.edit()
+                .putStringSet(PREF_PENDING, pending)
+                .remove(PREF_SESSION_PREFIX + entry.hash)
+                .apply();
+    }
+
+    private void spool(File file, byte[] bytes) throws IOException {
+        if (!spoolDirectory.exists() && !spoolDirectory.mkdirs()) {
+            throw new IOException("Could not create " + spoolDirectory);
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Returns whether a failed attempt may succeed when tried again. The spooled file going
+     * missing and Storage errors that a retry cannot change, such as a denied permission or a
+     * missing bucket, end the upload at once.
+     *
+     * @param e The failure.
+     * @return True if the upload should be retried.
+     */
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof FileNotFoundException) {
+            return false;
+        }
+        return !(e instanceof StorageException) || isRetryable(((StorageException) e).getErrorCode());
+    }
+
+    /**
+     * Returns whether a Storage error may go away on a later attempt.
+     *
+     * @param errorCode The {@link StorageException} error code.
+     * @return False for errors caused by permissions, quota or missing objects.
+     */
+    static boolean isRetryable(int errorCode) {
+        switch (errorCode) {
+            case StorageException.ERROR_NOT_AUTHENTICATED:
+            case StorageException.ERROR_NOT_AUTHORIZED:
+            case StorageException.ERROR_OBJECT_NOT_FOUND:
+            case StorageException.ERROR_BUCKET_NOT_FOUND:
+            case StorageException.ERROR_PROJECT_NOT_FOUND:
+            case StorageException.ERROR_QUOTA_EXCEEDED:
+            case StorageException.ERROR_CANCELED:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the delay before the given retry: exponential in the attempt number, capped at
+     * {@link #MAX_BACKOFF_MS}, with the upper half randomised so clients do not retry in step.
+     *
+     * @param attempt The number of attempts made so far, at least 1.
+     * @param jitter  A random value in {@code [0, 1)}.
+     * @return The delay in milliseconds.
+     */
+    static long backoffDelayMillis(int attempt, double jitter) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        long delay = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << doublings);
+        return delay / 2 + (long) (delay / 2 * jitter);
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of the bytes.
+     *
+     * @param bytes The bytes to hash.
+     * @return The 64-character digest.
+     */
+    static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Android and JVM runtime is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
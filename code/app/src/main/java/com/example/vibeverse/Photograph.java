@@ -16,11 +16,14 @@ import java.util.Date;
  * </p>
  */
 public class Photograph implements Serializable {
-    private Uri imageUri;
+    /** Parsed from imageUriString on first use; Uri is not serializable. */
+    private transient Uri imageUri;
     private String imageUriString;
     private long fileSize;
     private Bitmap bitmap;
     private Date dateTaken;
+    /** Capture time in millis, turned into dateTaken on first use. */
+    private long dateTakenMillis;
     private String location;
 
     /**
@@ -34,6 +37,7 @@ public class Photograph implements Serializable {
      */
     public Photograph(Uri imageUri, long fileSize, Bitmap bitmap, Date dateTaken, String location) {
         this.imageUri = imageUri;
+        this.imageUriString = imageUri != null ? imageUri.toString() : null;
         this.fileSize = fileSize;
         this.bitmap = bitmap;
         this.dateTaken = dateTaken;
@@ -66,6 +70,25 @@ public class Photograph implements Serializable {
         this.location = location;
     }
 
+    /**
+     * Constructs a Photograph decoded from Firestore.
+     * <p>
+     * Neither the Uri nor the Date is created until it is first requested, so photographs
+     * in long lists that are never opened cost no parsing.
+     * </p>
+     *
+     * @param imageUri        The URI of the image as a string.
+     * @param fileSize        The size of the image file in kilobytes.
+     * @param dateTakenMillis When the image was taken, in millis.
+     * @param location        The location where the image was taken.
+     */
+    Photograph(String imageUri, long fileSize, long dateTakenMillis, String location) {
+        this.imageUriString = imageUri;
+        this.fileSize = fileSize;
+        this.dateTakenMillis = dateTakenMillis;
+        this.location = location;
+    }
+
     /**
      * Returns the image URI as a string.
      *
@@ -82,6 +105,7 @@ public class Photograph implements Serializable {
      */
     public void setImageUriString(String imageUriString) {
         this.imageUriString = imageUriString;
+        this.imageUri = null;
     }
 
     /**
@@ -109,6 +133,7 @@ public class Photograph implements Serializable {
      */
     public void setDateTaken(Date dateTaken) {
         this.dateTaken = dateTaken;
+        this.dateTakenMillis = 0;
     }
 
     /**
@@ -127,6 +152,7 @@ public class Photograph implements Serializable {
      */
     public void setImageUri(Uri imageUri) {
         this.imageUri = imageUri;
+        this.imageUriString = imageUri != null ? imageUri.toString() : null;
     }
 
     /**
@@ -135,6 +161,9 @@ public class Photograph implements Serializable {
      * @return The image URI.
      */
     public Uri getImageUri() {
+        if (imageUri == null && imageUriString != null) {
+            imageUri = Uri.parse(imageUriString);
+        }
         return imageUri;
     }
 
@@ -162,6 +191,9 @@ public class Photograph implements Serializable {
      * @return The date the image was taken.
      */
     public Date getDateTaken() {
+        if (dateTaken == null && dateTakenMillis != 0) {
+            dateTaken = new Date(dateTakenMillis);
+        }
         return dateTaken;
     }
 
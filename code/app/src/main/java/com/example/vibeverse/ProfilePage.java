@@ -33,18 +33,18 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.navigation.NavigationView;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -69,6 +69,8 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
     private MoodEventAdapter moodEventAdapter;
     /** List of all MoodEvent objects. */
     private List<MoodEvent> allMoodEvents;
+    /** Loads the current user's mood events page by page as the feed scrolls. */
+    private MoodPagingSource moodPagingSource;
     /** EditText for performing a search within the mood feed. */
     private EditText editSearch;
     /** View displayed when there are no mood entries. */
@@ -99,9 +101,31 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
     private NavigationView rightNavView;
     private boolean sadDialogShown = false;
 
-    /** Formatter for parsing and formatting timestamps. */
-    private final SimpleDateFormat sourceFormat =
-            new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault());
+    /** Takes optimistically shown moods back out if their save is rejected. */
+    private final PendingMoodWrites.Listener pendingMoodListener = new PendingMoodWrites.Listener() {
+        @Override
+        public void onMoodConfirmed(String documentId) {
+            // The stored document replaces the pending one on the next page load.
+        }
+
+        @Override
+        public void onMoodFailed(String documentId, Exception e) {
+            for (int i = 0; i < allMoodEvents.size(); i++) {
+                MoodEvent moodEvent = allMoodEvents.get(i);
+                if (documentId.equals(moodEvent.getDocumentId())) {
+                    allMoodEvents.remove(i);
+                    if (moodPagingSource != null) {
+                        moodPagingSource.remove(moodEvent);
+                    }
+                    decrementPostCount();
+                    moodEventAdapter.updateMoodEvents(new ArrayList<>(allMoodEvents));
+                    break;
+                }
+            }
+            Toast.makeText(ProfilePage.this, "Error saving mood: " + e.getMessage(),
+                    Toast.LENGTH_LONG).show();
+        }
+    };
 
     /**
      * Called when the activity is created.
@@ -212,10 +236,19 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
         moodEventAdapter = new MoodEventAdapter(this, new ArrayList<>());
         recyclerFeed.setAdapter(moodEventAdapter);
 
-        // Load mood events from Firestore.
-        loadMoodsFromFirestore();
+        // Show moods that are still being saved straight away, before the first page arrives.
+        for (MoodEvent pendingMood : PendingMoodWrites.getPending()) {
+            allMoodEvents.add(applySubtitle(pendingMood));
+        }
+        moodEventAdapter.updateMoodEvents(new ArrayList<>(allMoodEvents));
+        PendingMoodWrites.addListener(pendingMoodListener);
+
+        // Mood events are loaded in onResume. Backfill the typed creation time on any of the
+        // user's older moods in the background, and reload if some were left out.
+        MoodTimestampMigration.runOnce(this, userId, this::loadMoodsFromFirestore);
 
-        // Open the FilterDialog when the filter button is clicked.
+        // Open the FilterDialog when the filter button is clicked. Moods are paged, so the
+        // dialog filters the pages loaded so far rather than the user's whole history.
         buttonFilter.setOnClickListener(v ->
                 FilterDialog.show(ProfilePage.this, ProfilePage.this, allMoodEvents)
         );
@@ -226,7 +259,7 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                moodEventAdapter.filter(s.toString());
+                moodEventAdapter.filterDelayed(s.toString());
             }
 
             @Override
@@ -237,8 +270,10 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
     /**
      * Loads mood events from Firestore.
      * <p>
-     * Retrieves the "moods" subcollection for the current user, orders by timestamp (descending),
-     * and converts each document into a MoodEvent. Updates the adapter and handles empty state UI.
+     * Retrieves the "moods" subcollection for the current user, ordered by timestamp (descending),
+     * one page at a time as the feed is scrolled. The post count is read from the user's mood
+     * aggregates, or with a count aggregate if those have not been built yet, so it does not
+     * depend on how many pages are loaded. Updates the adapter and handles empty state UI.
      * </p>
      */
     private void loadMoodsFromFirestore() {
@@ -252,44 +287,29 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
             emptyStateView.setVisibility(View.GONE);
         }
 
-        db.collection("Usermoods")
+        Query moodsQuery = db.collection("Usermoods")
                 .document(userId)
                 .collection("moods")
-                .orderBy("timestamp", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(snapshots -> {
-
-                    // Update the posts TextView
-                    int postCount = snapshots.size();
-                    textPosts.setText(String.valueOf(postCount));
+                .orderBy(MoodEvent.FIELD_CREATED_AT, Query.Direction.DESCENDING);
+
+        // Update the posts TextView
+        new MoodAggregates().documentOf(userId).get()
+                .addOnSuccessListener(aggregates -> {
+                    if (MoodAggregates.isComplete(aggregates)) {
+                        // Local reads already include the increments of moods still in flight
+                        textPosts.setText(String.valueOf(MoodStats.fromData(aggregates.getData()).getTotal()));
+                    } else {
+                        countMoods(moodsQuery);
+                    }
+                })
+                .addOnFailureListener(e -> countMoods(moodsQuery));
 
+        if (moodPagingSource == null) {
+            moodPagingSource = new MoodPagingSource(moodsQuery, this::toMoodEvent, new MoodPagingSource.Listener() {
+                @Override
+                public void onFirstPage(List<MoodEvent> moodEvents) {
                     allMoodEvents.clear();
-                    for (QueryDocumentSnapshot doc : snapshots) {
-                        try {
-                            MoodEvent moodEvent = MoodEvent.fromMap(doc.getData());
-                            if (moodEvent.getTimestamp() != null) {
-                                Date date = sourceFormat.parse(moodEvent.getTimestamp());
-                                if (date != null) {
-                                    moodEvent.setDate(date);
-                                }
-                            }
-                            moodEvent.setDocumentId(doc.getId());
-
-                            StringBuilder subtitle = new StringBuilder();
-                            if (moodEvent.getSocialSituation() != null &&
-                                    !moodEvent.getSocialSituation().isEmpty()) {
-                                if (subtitle.length() > 0) {
-                                    subtitle.append(" | ");
-                                }
-                                subtitle.append("Social: ").append(moodEvent.getSocialSituation());
-                            }
-                            moodEvent.setSubtitle(subtitle.toString());
-
-                            allMoodEvents.add(moodEvent);
-                        } catch (ParseException e) {
-                            Log.e(TAG, "Error parsing timestamp", e);
-                        }
-                    }
+                    allMoodEvents.addAll(moodEvents);
                     moodEventAdapter.updateMoodEvents(new ArrayList<>(allMoodEvents));
 
                     checkConsecutiveSadMoodsInProfile(new ArrayList<>(allMoodEvents));
@@ -307,18 +327,71 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                                     Toast.LENGTH_SHORT).show();
                         }
                     }
-                })
-                .addOnFailureListener(e -> {
+                }
+
+                @Override
+                public void onPageAppended(List<MoodEvent> moodEvents, int droppedFromStart) {
+                    moodEventAdapter.removeFirstMoodEvents(droppedFromStart);
+                    moodEventAdapter.appendMoodEvents(moodEvents);
+                    allMoodEvents.clear();
+                    allMoodEvents.addAll(moodPagingSource.getMoodEvents());
+                }
+
+                @Override
+                public void onPagePrepended(List<MoodEvent> moodEvents, int droppedFromEnd) {
+                    moodEventAdapter.removeLastMoodEvents(droppedFromEnd);
+                    moodEventAdapter.prependMoodEvents(moodEvents);
+                    allMoodEvents.clear();
+                    allMoodEvents.addAll(moodPagingSource.getMoodEvents());
+                }
+
+                @Override
+                public void onError(Exception e) {
                     if (progressLoading != null) {
                         progressLoading.setVisibility(View.GONE);
                     }
                     Toast.makeText(ProfilePage.this,
                             "Error loading moods: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
-                });
+                }
+            });
+            moodPagingSource.attachTo(recyclerFeed);
+        }
+        moodPagingSource.loadFirstPage();
     }
 
+    /**
+     * Converts a mood document of the current user into a MoodEvent.
+     *
+     * @param doc The mood document.
+     * @return The MoodEvent.
+     */
+    private MoodEvent toMoodEvent(DocumentSnapshot doc) {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(doc);
+        moodEvent.setDocumentId(doc.getId());
+        return applySubtitle(moodEvent);
+    }
 
+    /**
+     * Sets the subtitle shown under a mood event on the profile.
+     *
+     * @param moodEvent The mood event.
+     * @return The same mood event.
+     */
+    private MoodEvent applySubtitle(MoodEvent moodEvent) {
+        StringBuilder subtitle = new StringBuilder();
+        if (moodEvent.getSocialSituation() != null &&
+                !moodEvent.getSocialSituation().isEmpty()) {
+            subtitle.append("Social: ").append(moodEvent.getSocialSituation());
+        }
+        moodEvent.setSubtitle(subtitle.toString());
+        return moodEvent;
+    }
+
+    /**
+     * Loads the current user's profile details (name, username, bio, follower counts and
+     * profile picture) from Firestore and populates the header views.
+     */
     private void loadUserProfile() {
         // Make sure you have the correct path: "users" -> document(userId)
         db.collection("users")
@@ -343,8 +416,6 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
 
                         // If you have a profile picture URL, load it using Glide (or Picasso).
                         if (profilePicUri != null && !profilePicUri.isEmpty()) {
-                            // Make sure you have Glide in your Gradle dependencies
-                            // implementation 'com.github.bumptech.glide:glide:4.14.2'
                             Glide.with(ProfilePage.this)
                                     .load(profilePicUri)
                                     .placeholder(R.drawable.user_icon) // fallback placeholder
@@ -360,8 +431,15 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                 });
     }
 
+    /**
+     * Stops listening for pending mood writes when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        PendingMoodWrites.removeListener(pendingMoodListener);
+        super.onDestroy();
+    }
 
-  
     /**
    * Called when the activity resumes.
    * <p>
@@ -451,7 +529,8 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
             String updatedReasonWhy = data.getStringExtra("updatedReasonWhy");
             String updatedSocialSituation = data.getStringExtra("updatedSocialSituation");
             int updatedIntensity = data.getIntExtra("updatedIntensity", 5);
-            int moodPosition = data.getIntExtra("moodPosition", -1);
+            // The adapter may be showing a searched or filtered subset, so find the mood by ID
+            MoodEvent moodEventToUpdate = findMoodEvent(data.getStringExtra("moodDocumentId"));
             String updatedPhotoUri = data.getStringExtra("updatedPhotoUri");
             boolean isPublic = data.getBooleanExtra("isPublic", false);
 
@@ -466,11 +545,10 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                 updatedMoodLongitude = data.getDoubleExtra("updatedMoodLongitude", 0);
             }
 
-            if (moodPosition >= 0 && moodPosition < allMoodEvents.size()) {
-                MoodEvent moodEventToUpdate = allMoodEvents.get(moodPosition);
+            if (moodEventToUpdate != null) {
                 // Update Firestore with location info
                 updateMoodInFirestore(
-                        moodEventToUpdate.getDocumentId(),
+                        moodEventToUpdate,
                         updatedEmoji,
                         updatedMood,
                         updatedReasonWhy,
@@ -481,7 +559,8 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                         updatedMoodLocation,
                         updatedMoodLatitude,
                         updatedMoodLongitude,
-                        locationRemoved
+                        locationRemoved,
+                        moodEventToUpdate.getDate()
                 );
             }
         }
@@ -493,20 +572,22 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
      * Updates fields such as emoji, mood, social situation, intensity, and photo URI.
      * </p>
      *
-     * @param documentId      The Firestore document ID of the MoodEvent.
+     * @param original        The MoodEvent as it was before the edit.
      * @param emoji           The updated emoji.
      * @param mood            The updated mood title.
      * @param reasonWhy       The updated reason. 
      * @param socialSituation The updated social situation.
      * @param intensity       The updated intensity level.
      * @param photoUri        The updated photo URI.
+     * @param createdAt       When the mood was created; written back so moods saved before
+     *                        the typed field existed gain it on their first edit.
      */
 
-    private void updateMoodInFirestore(String documentId, String emoji, String mood,
+    private void updateMoodInFirestore(MoodEvent original, String emoji, String mood,
                                        String reasonWhy, String socialSituation,
                                        int intensity, String photoUri, boolean isPublic,
                                        String moodLocation, Double latitude, Double longitude,
-                                       boolean locationRemoved) {
+                                       boolean locationRemoved, Date createdAt) {
         // Show loading indicator
         if (progressLoading != null) {
             progressLoading.setVisibility(View.VISIBLE);
@@ -520,6 +601,9 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
         updatedMood.put("intensity", intensity);
         updatedMood.put("reasonWhy", reasonWhy);
         updatedMood.put("isPublic", isPublic);
+        if (createdAt != null) {
+            updatedMood.put(MoodEvent.FIELD_CREATED_AT, new Timestamp(createdAt));
+        }
 
         if (photoUri != null && !photoUri.equals("N/A")) {
             updatedMood.put("hasPhoto", true);
@@ -541,11 +625,19 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
             updatedMood.put("moodLongitude", longitude);
         }
 
-        db.collection("Usermoods")
+        String documentId = original.getDocumentId();
+        WriteBatch batch = db.batch();
+        batch.update(db.collection("Usermoods")
                 .document(userId)
                 .collection("moods")
-                .document(documentId)
-                .update(updatedMood)
+                .document(documentId), updatedMood);
+        // Move the mood's counts from its old values to the new ones
+        MoodEvent edited = DocumentCodec.decodeMoodEvent(updatedMood);
+        if (edited.getDate() == null) {
+            edited.setDate(original.getDate());
+        }
+        new MoodAggregates().stageChange(batch, userId, original, edited);
+        batch.commit()
                 .addOnSuccessListener(aVoid -> {
                     if (progressLoading != null) {
                         progressLoading.setVisibility(View.GONE);
@@ -553,6 +645,7 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                     Toast.makeText(ProfilePage.this,
                             "Mood updated successfully",
                             Toast.LENGTH_SHORT).show();
+                    new FeedTimeline().syncMood(userId, documentId);
                     loadMoodsFromFirestore();
                 })
                 .addOnFailureListener(e -> {
@@ -571,10 +664,10 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
      * Displays a confirmation dialog before deletion. If confirmed, deletes the MoodEvent and updates the adapter.
      * </p>
      *
-     * @param documentId The Firestore document ID of the MoodEvent to delete.
-     * @param position   The position of the MoodEvent in the list.
+     * @param moodEvent The MoodEvent to delete, as shown by the adapter.
      */
-    public void deleteMoodFromFirestore(String documentId, int position) {
+    public void deleteMoodFromFirestore(MoodEvent moodEvent) {
+        String documentId = moodEvent.getDocumentId();
         new AlertDialog.Builder(this)
                 .setTitle("Delete Mood")
                 .setMessage("Are you sure you want to delete this mood entry?")
@@ -582,14 +675,21 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                     if (progressLoading != null) {
                         progressLoading.setVisibility(View.VISIBLE);
                     }
-                    db.collection("Usermoods")
+                    WriteBatch batch = db.batch();
+                    batch.delete(db.collection("Usermoods")
                             .document(userId)
                             .collection("moods")
-                            .document(documentId)
-                            .delete()
+                            .document(documentId));
+                    new MoodAggregates().stageChange(batch, userId, moodEvent, null);
+                    batch.commit()
                             .addOnSuccessListener(aVoid -> {
-                                allMoodEvents.remove(position);
-                                textPosts.setText(String.valueOf(allMoodEvents.size()));
+                                new FeedTimeline().removeMood(userId, documentId);
+                                MoodEvent deleted = findMoodEvent(documentId);
+                                if (deleted != null) {
+                                    allMoodEvents.remove(deleted);
+                                    moodPagingSource.remove(deleted);
+                                }
+                                decrementPostCount();
                                 moodEventAdapter.updateMoodEvents(new ArrayList<>(allMoodEvents));
                                 if (progressLoading != null) {
                                     progressLoading.setVisibility(View.GONE);
@@ -615,6 +715,53 @@ public class ProfilePage extends AppCompatActivity implements FilterDialog.Filte
                 .show();
     }
 
+    /**
+     * Finds a loaded mood event by its document ID.
+     *
+     * @param documentId The Firestore document ID.
+     * @return The mood event, or null if it is not loaded.
+     */
+    private MoodEvent findMoodEvent(String documentId) {
+        if (documentId == null) {
+            return null;
+        }
+        for (MoodEvent moodEvent : allMoodEvents) {
+            if (documentId.equals(moodEvent.getDocumentId())) {
+                return moodEvent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shows the number of moods counted by the server, for users whose mood aggregates have
+     * not been built yet.
+     *
+     * @param moodsQuery The query over the user's moods.
+     */
+    private void countMoods(Query moodsQuery) {
+        moodsQuery.count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(countSnapshot ->
+                        // The server count does not include moods whose save is still in flight
+                        textPosts.setText(String.valueOf(countSnapshot.getCount()
+                                + PendingMoodWrites.getPending().size())))
+                .addOnFailureListener(e -> Log.e(TAG, "Error counting moods", e));
+    }
+
+    /**
+     * Decrements the displayed post count after a mood is deleted, since only part of the
+     * user's moods is held in memory.
+     */
+    private void decrementPostCount() {
+        try {
+            int postCount = Integer.parseInt(textPosts.getText().toString());
+            textPosts.setText(String.valueOf(Math.max(0, postCount - 1)));
+        } catch (NumberFormatException e) {
+            textPosts.setText(String.valueOf(allMoodEvents.size()));
+        }
+    }
+
     //Addition
     private void showSadPopup() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this, R.style.CustomAlertDialog);
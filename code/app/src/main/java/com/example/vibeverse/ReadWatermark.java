@@ -0,0 +1,51 @@
+package com.example.vibeverse;
+
+import java.util.Date;
+
+/**
+ * ReadWatermark decides which notifications are unread from a single {@code lastReadAt}
+ * timestamp on the user's document, instead of a flag on every notification.
+ * <p>
+ * Notifications carry a server-assigned {@link Notification#FIELD_CREATED_AT}, so they are
+ * ordered by one clock regardless of the sender's device time or time zone. A notification is
+ * unread if it was created after the watermark, or if the user has no watermark yet. Legacy
+ * notifications written before {@code createdAt} existed have no creation time; their stored
+ * {@code isRead} flag is used instead, and {@link NotificationReadMigration} clears it.
+ * </p>
+ */
+public final class ReadWatermark {
+
+    /** The user document field holding the creation time of the newest notification read. */
+    public static final String FIELD_LAST_READ_AT = "lastReadAt";
+
+    private ReadWatermark() {
+    }
+
+    /**
+     * Returns whether a notification has not been read yet.
+     *
+     * @param notification The notification.
+     * @param lastReadAt   The watermark, or null if the user has none yet.
+     * @return True if the notification should be shown as unread.
+     */
+    public static boolean isUnread(Notification notification, Date lastReadAt) {
+        Date createdAt = notification.getCreatedAt();
+        if (createdAt == null) {
+            return !notification.isRead();
+        }
+        return lastReadAt == null || createdAt.after(lastReadAt);
+    }
+
+    /**
+     * Sets the read state of decoded notifications from the watermark, so rows can be
+     * bound from {@link Notification#isRead()} alone.
+     *
+     * @param notifications The notifications of a page.
+     * @param lastReadAt    The watermark, or null if the user has none yet.
+     */
+    public static void apply(Iterable<Notification> notifications, Date lastReadAt) {
+        for (Notification notification : notifications) {
+            notification.setRead(!isUnread(notification, lastReadAt));
+        }
+    }
+}
@@ -101,27 +101,20 @@ public class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.ReplyViewHol
         String dateStr = formatter.format(reply.getTimestamp());
         holder.dateTime.setText(dateStr);
 
-        // Load author details from Firestore
+        // Load author details through the shared profile cache
         String authorUserId = reply.getAuthorUserId();
-        db.collection("users").document(authorUserId).get().addOnSuccessListener(documentSnapshot -> {
-            if (documentSnapshot.exists()) {
-                String username = documentSnapshot.getString("username");
-                holder.username.setText(username != null ? username : "Unknown");
-                Boolean hasProfilePic = documentSnapshot.getBoolean("hasProfilePic");
-                String profilePicUri = documentSnapshot.getString("profilePicUri");
-                if (hasProfilePic != null && hasProfilePic && profilePicUri != null && !profilePicUri.isEmpty()) {
-                    Glide.with(context).load(profilePicUri).into(holder.profilePic);
-                } else {
-                    holder.profilePic.setImageResource(R.drawable.user_icon);
-                }
+        if (reply.getAuthorUsername() != null) {
+            // The author snapshot stored on the reply avoids a user lookup
+            holder.username.setTag(null);
+            holder.username.setText(reply.getAuthorUsername());
+            if (reply.getAuthorProfilePicUri() != null) {
+                Glide.with(context).load(reply.getAuthorProfilePicUri()).into(holder.profilePic);
             } else {
-                holder.username.setText("Unknown");
                 holder.profilePic.setImageResource(R.drawable.user_icon);
             }
-        }).addOnFailureListener(e -> {
-            holder.username.setText("Unknown");
-            holder.profilePic.setImageResource(R.drawable.user_icon);
-        });
+        } else {
+            bindAuthorFromCache(holder, authorUserId);
+        }
 
         holder.replyIcon.setVisibility(View.GONE);
 
@@ -162,6 +155,34 @@ public class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.ReplyViewHol
         });
     }
 
+    /**
+     * Loads a reply author's username and profile picture through the shared profile cache.
+     *
+     * @param holder       the view holder to fill in.
+     * @param authorUserId the user ID of the author.
+     */
+    private void bindAuthorFromCache(ReplyViewHolder holder, String authorUserId) {
+        holder.username.setTag(authorUserId);
+        UserProfileCache.getInstance().get(authorUserId, profile -> {
+            // The holder may have been recycled for another reply while loading
+            if (!authorUserId.equals(holder.username.getTag())) {
+                return;
+            }
+            if (profile != null) {
+                String username = profile.getUsername();
+                holder.username.setText(username != null ? username : "Unknown");
+                if (profile.hasLoadableProfilePic()) {
+                    Glide.with(context).load(profile.getProfilePicUri()).into(holder.profilePic);
+                } else {
+                    holder.profilePic.setImageResource(R.drawable.user_icon);
+                }
+            } else {
+                holder.username.setText("Unknown");
+                holder.profilePic.setImageResource(R.drawable.user_icon);
+            }
+        });
+    }
+
     /**
      * Returns the total number of replies.
      *
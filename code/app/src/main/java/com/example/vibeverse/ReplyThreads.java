@@ -0,0 +1,107 @@
+package com.example.vibeverse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ReplyThreads holds every reply on one mood, grouped in memory by the comment each one
+ * replies to.
+ * <p>
+ * CommentSectionActivity feeds it from a single listener over all of the mood's replies, and
+ * CommentAdapter reads the nested reply lists from it while binding rows, so binding a row
+ * never opens a query of its own. Each update reports which parent comments gained, lost or
+ * reordered replies, so only those rows need to be rebound.
+ * </p>
+ */
+public final class ReplyThreads {
+
+    /** Oldest first; replies without a timestamp go last. */
+    private static final Comparator<Comment> BY_TIMESTAMP = Comparator.comparing(
+            Comment::getTimestamp, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private Map<String, List<Comment>> repliesByParent = new HashMap<>();
+
+    /**
+     * Replaces every reply with the replies from a new snapshot.
+     *
+     * @param replies All replies on the mood, in any order. Replies without a parent are ignored.
+     * @return The IDs of the parent comments whose replies changed.
+     */
+    public Set<String> setReplies(List<Comment> replies) {
+        Map<String, List<Comment>> grouped = new HashMap<>();
+        for (Comment reply : replies) {
+            String parentId = reply.getRepliesTo();
+            if (parentId == null || parentId.equals("N/A")) {
+                continue;
+            }
+            List<Comment> thread = grouped.get(parentId);
+            if (thread == null) {
+                thread = new ArrayList<>();
+                grouped.put(parentId, thread);
+            }
+            thread.add(reply);
+        }
+        for (List<Comment> thread : grouped.values()) {
+            thread.sort(BY_TIMESTAMP);
+        }
+
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, List<Comment>> entry : grouped.entrySet()) {
+            if (!sameThread(repliesByParent.get(entry.getKey()), entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String parentId : repliesByParent.keySet()) {
+            if (!grouped.containsKey(parentId)) {
+                changed.add(parentId);
+            }
+        }
+        repliesByParent = grouped;
+        return changed;
+    }
+
+    /**
+     * Returns the replies to a comment, oldest first.
+     *
+     * @param parentCommentId The ID of the parent comment.
+     * @return The replies; empty if there are none.
+     */
+    public List<Comment> getReplies(String parentCommentId) {
+        List<Comment> thread = repliesByParent.get(parentCommentId);
+        return thread != null ? Collections.unmodifiableList(thread) : Collections.emptyList();
+    }
+
+    /**
+     * Removes every reply.
+     */
+    public void clear() {
+        repliesByParent = new HashMap<>();
+    }
+
+    /**
+     * Compares two threads by reply ID and content, in order.
+     */
+    private static boolean sameThread(List<Comment> before, List<Comment> after) {
+        if (before == null || before.size() != after.size()) {
+            return false;
+        }
+        for (int i = 0; i < after.size(); i++) {
+            Comment a = before.get(i);
+            Comment b = after.get(i);
+            if (!equal(a.getCommentId(), b.getCommentId()) || !equal(a.getContent(), b.getContent())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -25,7 +25,6 @@ import android.location.Geocoder;
 import android.location.Location;
 import android.location.LocationListener;
 import android.location.LocationManager;
-import android.net.ParseException;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
@@ -55,6 +54,7 @@ import androidx.core.content.FileProvider;
 import androidx.transition.TransitionManager;
 
 import com.google.android.gms.common.api.Status;
+import com.google.android.gms.tasks.Task;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.libraries.places.api.Places;
 import com.google.android.libraries.places.api.model.Place;
@@ -63,14 +63,17 @@ import com.google.android.libraries.places.widget.Autocomplete;
 import com.google.android.libraries.places.widget.AutocompleteActivity;
 import com.google.android.libraries.places.widget.model.AutocompleteActivityMode;
 import com.google.android.material.card.MaterialCardView;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.io.File;
 import java.io.IOException;
 
-import java.text.SimpleDateFormat;
 
 import java.util.ArrayList;
 
@@ -108,13 +111,9 @@ public class SelectMoodActivity extends AppCompatActivity {
     private LinearLayout mainContainer; // Container for gradient background and transitions
 
     // Mood properties
-    private String selectedMood = "Happy"; // Default mood
-    private String selectedEmoji = "😃";
-    private int selectedColor = Color.parseColor("#FBC02D");
-
-
-    private final Map<String, Integer> moodColors = new HashMap<>();
-    private final Map<String, String> moodEmojis = new HashMap<>();
+    private String selectedMood = Mood.HAPPY.getName(); // Default mood
+    private String selectedEmoji = Mood.HAPPY.getEmoji();
+    private int selectedColor = Mood.HAPPY.getAccentColor();
 
     // Image handling constants and fields
     private static final int REQUEST_IMAGE_CAPTURE = 1;
@@ -123,6 +122,7 @@ public class SelectMoodActivity extends AppCompatActivity {
     private Uri imageUri;
     private long photoSize;
     private Bitmap currentBitmap;
+    private String pendingUploadId; // Confirmed photo whose upload has not finished yet
     private ImageView imgPlaceholder, imgSelected;
     private TextView imageHintText;
 
@@ -143,6 +143,8 @@ public class SelectMoodActivity extends AppCompatActivity {
     private String userId;
 
     private String selectedTheme;
+    /** Reports the mood to the achievement engine; its achievements are read on start. */
+    private AchievementChecker achievementChecker;
 
     /**
      * Called when the activity is starting. Initializes the UI, sets up mood data,
@@ -184,7 +186,6 @@ public class SelectMoodActivity extends AppCompatActivity {
 
         setupToolbar();
         setupContinueButton();
-        initializeMoodData();
         setupMoodIntensitySlider();
         setupInputFields();
         setupImageSelector();
@@ -204,34 +205,19 @@ public class SelectMoodActivity extends AppCompatActivity {
             }
         }
 
-        db.collection("users").document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists() && documentSnapshot.contains("selectedTheme")) {
-                        selectedTheme = documentSnapshot.getString("selectedTheme");
-                    } else {
-                        selectedTheme = "default"; // default value if not set
-                    }
-                    // Continue initializing after setting the theme
-
-                    // Create a custom toolbar, set up UI elements, etc.
-
+        // The session already holds the user's selected theme, so the grid can be built right away
+        selectedTheme = UserSession.getInstance(this).getSelectedTheme();
 
-                    // Build the mood selection grid with a polished, uniform design
-                    GridLayout moodGrid = findViewById(R.id.moodGrid);
-                    createMoodButtons(moodGrid);
+        // Build the mood selection grid with a polished, uniform design
+        GridLayout moodGrid = findViewById(R.id.moodGrid);
+        createMoodButtons(moodGrid);
 
-                    // Set the initial mood and apply its style
-                    selectMood(selectedMood);
-                })
-                .addOnFailureListener(e -> {
-                    // In case of error, fallback to default theme and continue initializing
-                    selectedTheme = "default";
+        // Set the initial mood and apply its style
+        selectMood(selectedMood);
+        // Read the achievements once so the mood's batch can include their progress
+        achievementChecker = new AchievementChecker(this, userId);
+        achievementChecker.preload();
 
-                    GridLayout moodGrid = findViewById(R.id.moodGrid);
-                    createMoodButtons(moodGrid);
-                    selectMood(selectedMood);
-                });
         // Set up continue button to create a MoodEvent and pass it to MainActivity
         continueButton.setOnClickListener(v -> {
 
@@ -293,50 +279,7 @@ public class SelectMoodActivity extends AppCompatActivity {
                             moodEvent.setDate(currentDate);
                         }
 
-                        AchievementChecker achievementChecker = new AchievementChecker(userId);
-
-                        // Check mood event achievements (ach1, ach2, ach3, ach4)
-                        achievementChecker.checkMoodEventAchievements(moodEvent);
-
-                        // Check for early bird achievement (ach5) and night owl achievement (ach6)
-                        achievementChecker.checkAch5(moodEvent);
-                        achievementChecker.checkAch6(moodEvent);
-
-                        // Check for public (ach7) vs private mood event achievement (ach8)
-                        if (isPublic) {
-                            achievementChecker.checkAch7(moodEvent);
-                        } else {
-                            achievementChecker.checkAch8(moodEvent);
-                        }
-
-                        // Check for emoji-based achievements (ach9 and ach10)
-                        achievementChecker.checkAch9(moodEvent);
-                        achievementChecker.checkAch10(moodEvent);
-
-                        // Check for photo mood achievement (ach22) if a photo is attached
-                        if (moodEvent.getPhotograph() != null) {
-                            achievementChecker.checkAch22(moodEvent);
-                        }
-
-                        // Check for location-based achievement (ach13) if a location is attached
-                        if (selectedLocationName != null && !selectedLocationName.isEmpty()) {
-                            achievementChecker.checkAch13();
-                        }
-
-                        // Check for special date achievements:
-                        // Halloween: ach20
-                        achievementChecker.checkAch20(moodEvent);
-
-                        // Valentine's Day: ach21
-                        achievementChecker.checkAch21(moodEvent);
-                        // Christmas: ach24
-                        achievementChecker.checkAch24(moodEvent);
-                        // New Year: ach25
-                        achievementChecker.checkAch25(moodEvent);
-
-                        updateMoodStreak(currentDate);
-
-                        // Save to Firestore
+                        // Save to Firestore along with the streak and achievement progress
                         saveMoodToFirestore(moodEvent);
                     })
                     .start();
@@ -592,24 +535,46 @@ public class SelectMoodActivity extends AppCompatActivity {
 
     /**
      * Saves the provided MoodEvent to Firestore.
+     * <p>
+     * The mood, its comments placeholder, the user's streak and any achievement progress are
+     * written in one batch, so posting costs a single round trip. The batch applies to the
+     * local cache immediately, so the profile is opened straight away with the mood tracked
+     * by {@link PendingMoodWrites} until the server acknowledges it.
+     * </p>
      *
      * @param moodEvent The MoodEvent to save.
      */
     private void saveMoodToFirestore(MoodEvent moodEvent) {
-        // Show a loading indicator
-        Toast.makeText(this, "Saving your mood...", Toast.LENGTH_SHORT).show();
+        // The author's display details are stored with the mood so feeds render without a user lookup
+        UserSession.getInstance(this).getAuthorProfile(userId,
+                author -> saveMoodToFirestore(moodEvent, author));
+    }
 
+    /**
+     * Writes the provided MoodEvent along with its author's display details.
+     *
+     * @param moodEvent The MoodEvent to save.
+     * @param author    The author's profile, or null if it could not be read.
+     */
+    private void saveMoodToFirestore(MoodEvent moodEvent, UserProfileCache.UserProfile author) {
         // Convert MoodEvent to Map for Firestore
         Map<String, Object> moodData = new HashMap<>();
         moodData.put("emoji", moodEvent.getEmoji());
         moodData.put("mood", moodEvent.getMoodTitle());
         moodData.put("socialSituation", moodEvent.getSocialSituation());
         moodData.put("timestamp", moodEvent.getTimestamp());
+        moodData.put(MoodEvent.FIELD_CREATED_AT,
+                new Timestamp(moodEvent.getDate() != null ? moodEvent.getDate() : new Date()));
         moodData.put("intensity", moodEvent.getIntensity());
         moodData.put("reasonWhy", moodEvent.getReasonWhy());
         moodData.put("ownerUserId", userId);
         moodData.put("isPublic", moodEvent.isPublic());
 
+        if (author != null) {
+            moodData.put("username", author.getUsername());
+            moodData.put("profilePicUri", author.hasLoadableProfilePic() ? author.getProfilePicUri() : null);
+        }
+
         if (selectedLocationName != null && selectedLocationCoords != null) {
             moodData.put("moodLocation", selectedLocationName);
             moodData.put("moodLatitude", selectedLocationCoords.latitude);
@@ -629,49 +594,91 @@ public class SelectMoodActivity extends AppCompatActivity {
 
         // Generate a document ID for the mood event (using current time in millis as an example)
         String docId = String.valueOf(System.currentTimeMillis());
+        Date createdAt = moodEvent.getDate() != null ? moodEvent.getDate() : new Date();
 
-        // Save the mood event under the user's moods collection.
-        db.collection("Usermoods")
+        DocumentReference moodRef = db.collection("Usermoods")
                 .document(userId)
                 .collection("moods")
-                .document(docId)
-                .set(moodData)
-                .addOnSuccessListener(aVoid -> {
-                    // After saving the mood, create an empty subcollection for comments.
-                    // Adding a dummy document to "comments" ensures the subcollection is created.
-                    Map<String, Object> initData = new HashMap<>();
-                    initData.put("init", true); // This field is optional.
-                    db.collection("Usermoods")
-                            .document(userId)
-                            .collection("moods")
-                            .document(docId)
-                            .collection("comments")
-                            .document("init")
-                            .set(initData)
-                            .addOnSuccessListener(x -> {
-                                // Successfully created comments subcollection.
-                                Toast.makeText(SelectMoodActivity.this, "Mood saved successfully!", Toast.LENGTH_SHORT).show();
-                                Intent intent = new Intent(SelectMoodActivity.this, ProfilePage.class);
-                                intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP); // Clear back stack
-                                startActivity(intent);
-                                overridePendingTransition(android.R.anim.fade_in, android.R.anim.fade_out);
-                                finish();
-                            })
-                            .addOnFailureListener(e -> {
-                                // Handle error creating the comments subcollection.
-                                Toast.makeText(SelectMoodActivity.this, "Mood saved, but error creating comments section: " + e.getMessage(),
-                                        Toast.LENGTH_LONG).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    // Handle the error saving the mood event.
-                    Toast.makeText(SelectMoodActivity.this, "Error saving mood: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
-                    // Navigate back so the user isn't stuck.
-                    Intent intent = new Intent(SelectMoodActivity.this, ProfilePage.class);
-                    startActivity(intent);
-                    finish();
-                });
+                .document(docId);
+
+        // A photo still uploading is attached to the mood; the upload queue sets its photoUri
+        // once it is stored, even if this process is gone by then.
+        boolean photoPending = moodEvent.getPhotograph() == null && pendingUploadId != null
+                && PhotoUploadQueue.getInstance(this).attachToMood(pendingUploadId, moodRef.getPath());
+        if (photoPending) {
+            moodData.put("photoDateTaken", createdAt.getTime());
+            moodData.put("photoLocation", "VibeVerse Location");
+            moodData.put("photoSize", photoSize);
+        }
+
+        WriteBatch batch = db.batch();
+        batch.set(moodRef, moodData);
+
+        // Adding a dummy document to "comments" ensures the subcollection is created.
+        Map<String, Object> initData = new HashMap<>();
+        initData.put("init", true); // This field is optional.
+        batch.set(moodRef.collection("comments").document("init"), initData);
+
+        // The mood as stored, counted into the user's mood aggregates in the same batch
+        MoodEvent pendingMood = DocumentCodec.decodeMoodEvent(moodData);
+        pendingMood.setDocumentId(docId);
+        MoodAggregates aggregates = new MoodAggregates();
+        aggregates.stageChange(batch, userId, null, pendingMood);
+
+        // Fold the streak and achievement progress into the same batch when their current
+        // state was read in time; otherwise update them once the mood is stored. The session's
+        // listener keeps the user's document current, so saving needs no further reads.
+        DocumentSnapshot userSnapshot = UserSession.getInstance(this).getUserDocument();
+        boolean stagedStreak = userSnapshot != null && userSnapshot.exists();
+        int newStreak = 0;
+        if (stagedStreak) {
+            String today = MoodStreak.dayOf(createdAt);
+            Long streakLong = userSnapshot.getLong("mood_streak");
+            newStreak = MoodStreak.next(userSnapshot.getString("last_mood_date"),
+                    streakLong != null ? streakLong.intValue() : 0, today);
+            Map<String, Object> streakUpdates = new HashMap<>();
+            streakUpdates.put("mood_streak", newStreak);
+            streakUpdates.put("last_mood_date", today);
+            batch.set(db.collection("users").document(userId), streakUpdates, SetOptions.merge());
+            aggregates.stageStreak(batch, userId, newStreak, today);
+        }
+        boolean hasLocation = selectedLocationName != null && !selectedLocationName.isEmpty();
+        boolean hasPhoto = moodEvent.getPhotograph() != null || photoPending;
+        boolean stagedAchievements = stagedStreak
+                && achievementChecker.stageMoodPosted(batch, moodEvent, hasLocation, hasPhoto, newStreak);
+        int stagedStreakValue = newStreak;
+
+        Task<Void> write = batch.commit();
+        PendingMoodWrites.track(pendingMood, write);
+
+        String ownerId = userId;
+        write.addOnSuccessListener(aVoid -> {
+            // Public moods are copied into each follower's home feed timeline.
+            if (moodEvent.isPublic()) {
+                new FeedTimeline().fanOutMood(ownerId, docId, moodData, createdAt);
+            }
+            if (!stagedStreak) {
+                updateMoodStreak(createdAt);
+            }
+            if (!stagedAchievements) {
+                achievementChecker.onMoodPosted(moodEvent, hasLocation, hasPhoto);
+                if (stagedStreak) {
+                    achievementChecker.onStreakChanged(stagedStreakValue);
+                }
+            }
+        }).addOnFailureListener(e -> {
+            if (stagedAchievements) {
+                // The cached progress assumed the batch would land
+                achievementChecker.invalidate();
+            }
+        });
+
+        // The profile shows the pending mood right away and reports if the write fails.
+        Intent intent = new Intent(SelectMoodActivity.this, ProfilePage.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP); // Clear back stack
+        startActivity(intent);
+        overridePendingTransition(android.R.anim.fade_in, android.R.anim.fade_out);
+        finish();
     }
 
 
@@ -1002,11 +1009,12 @@ public class SelectMoodActivity extends AppCompatActivity {
     private void createMoodButtons(GridLayout moodGrid) {
         moodGrid.removeAllViews();
 
-        for (String mood : moodEmojis.keySet()) {
+        for (Mood moodType : Mood.values()) {
+            String mood = moodType.getName();
             MaterialCardView cardView = new MaterialCardView(this);
             cardView.setCardElevation(dpToPx(2));
             cardView.setRadius(dpToPx(12));
-            cardView.setCardBackgroundColor(moodColors.get(mood));
+            cardView.setCardBackgroundColor(moodType.getAccentColor());
             cardView.setStrokeWidth(0);
             cardView.setUseCompatPadding(true);
 
@@ -1018,7 +1026,7 @@ public class SelectMoodActivity extends AppCompatActivity {
             View emojiView;
 
             ImageView imageEmojiView = new ImageView(this);
-            int resId = getEmojiResourceId(mood, selectedTheme);
+            int resId = EmojiDrawables.get(moodType, selectedTheme);
             imageEmojiView.setImageResource(resId);
 
             LinearLayout.LayoutParams imageParams = new LinearLayout.LayoutParams(dpToPx(48), dpToPx(48));
@@ -1065,29 +1073,6 @@ public class SelectMoodActivity extends AppCompatActivity {
         return Math.round(dp * getResources().getDisplayMetrics().density);
     }
 
-    /**
-     * Initializes the mood colors and emojis with a professional, consistent palette.
-     */
-    private void initializeMoodData() {
-        moodColors.put("Happy", Color.parseColor("#FBC02D"));      // Warm yellow
-        moodColors.put("Sad", Color.parseColor("#42A5F5"));        // Soft blue
-        moodColors.put("Angry", Color.parseColor("#EF5350"));      // Vibrant red
-        moodColors.put("Surprised", Color.parseColor("#FF9800"));  // Orange
-        moodColors.put("Afraid", Color.parseColor("#5C6BC0"));     // Indigo blue
-        moodColors.put("Disgusted", Color.parseColor("#66BB6A"));  // Green
-        moodColors.put("Confused", Color.parseColor("#AB47BC"));   // Purple
-        moodColors.put("Shameful", Color.parseColor("#EC407A"));   // Pink
-
-        moodEmojis.put("Happy", "😃");
-        moodEmojis.put("Sad", "😢");
-        moodEmojis.put("Angry", "😡");
-        moodEmojis.put("Surprised", "😲");
-        moodEmojis.put("Afraid", "😨");
-        moodEmojis.put("Disgusted", "🤢");
-        moodEmojis.put("Confused", "🤔");
-        moodEmojis.put("Shameful", "😳");
-    }
-
     /**
      * Updates the UI when a mood is selected.
      * Sets the selected mood, emoji, and color; updates the mood display area; and applies a gradient background.
@@ -1095,9 +1080,10 @@ public class SelectMoodActivity extends AppCompatActivity {
      * @param mood The mood selected by the user.
      */
     private void selectMood(String mood) {
-        selectedMood = mood;
-        selectedEmoji = moodEmojis.get(mood);
-        selectedColor = moodColors.get(mood);
+        Mood selected = Mood.of(mood);
+        selectedMood = selected.getName();
+        selectedEmoji = selected.getEmoji();
+        selectedColor = selected.getAccentColor();
 
         selectedMoodContainer.animate().alpha(0f).setDuration(150).withEndAction(() -> {
 
@@ -1106,7 +1092,7 @@ public class SelectMoodActivity extends AppCompatActivity {
             selectedMoodEmoji.setBackground(null);
 
             // Load the themed drawable.
-            Drawable drawable = ContextCompat.getDrawable(this, getEmojiResourceId(mood, selectedTheme));
+            Drawable drawable = ContextCompat.getDrawable(this, EmojiDrawables.get(selected, selectedTheme));
             // Size roughly equivalent to 80sp.
             int size = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 80, getResources().getDisplayMetrics());
             drawable.setBounds(0, 0, size, size);
@@ -1194,10 +1180,7 @@ public class SelectMoodActivity extends AppCompatActivity {
                     } else if (which == 1) {
                         dispatchPickImageIntent();
                     } else if (which == 2 && imageUri != null) {
-                        imageUri = null;
-                        imgSelected.setVisibility(View.GONE);
-                        imgPlaceholder.setVisibility(View.VISIBLE);
-                        imageHintText.setVisibility(View.VISIBLE);
+                        clearSelectedPhoto();
                     }
                 })
                 .show();
@@ -1286,6 +1269,75 @@ public class SelectMoodActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Returns the callback for a photo picked or taken for the mood. The photo is shown as
+     * soon as its upload is queued; if the mood is saved before the upload finishes, the mood
+     * is attached to the upload instead of its download URL.
+     *
+     * @return The callback for {@link ImageUtils#processImage}.
+     */
+    private ImageUtils.ImageProcessCallback photoCallback() {
+        return new ImageUtils.ImageProcessCallback() {
+            private String uploadId;
+
+            @Override
+            public void onImageQueued(Bitmap bitmap, String uploadId, long size) {
+                this.uploadId = uploadId;
+                pendingUploadId = uploadId;
+                photoSize = size;
+                currentBitmap = null;
+                showSelectedPhoto(bitmap);
+            }
+
+            @Override
+            public void onImageConfirmed(Bitmap bitmap, Uri downloadUrl, long sizeKB) {
+                if (!uploadId.equals(pendingUploadId)) {
+                    // The photo was removed or replaced while it was uploading
+                    return;
+                }
+                pendingUploadId = null;
+                photoSize = sizeKB;
+                currentBitmap = bitmap;
+                showSelectedPhoto(bitmap);
+                imageUri = downloadUrl;
+            }
+
+            @Override
+            public void onImageFailed(Exception e) {
+                if (uploadId == null || !uploadId.equals(pendingUploadId)) {
+                    return;
+                }
+                // Saving now must not attach the failed upload or keep showing its preview
+                clearSelectedPhoto();
+            }
+        };
+    }
+
+    /**
+     * Shows the chosen photo in place of the placeholder.
+     *
+     * @param bitmap The processed photo.
+     */
+    private void showSelectedPhoto(Bitmap bitmap) {
+        imgPlaceholder.setVisibility(View.GONE);
+        imageHintText.setVisibility(View.GONE);
+        imgSelected.setVisibility(View.VISIBLE);
+        imgSelected.setImageBitmap(bitmap);
+    }
+
+    /**
+     * Removes the chosen photo, including one still uploading, and shows the placeholder again.
+     */
+    private void clearSelectedPhoto() {
+        imageUri = null;
+        pendingUploadId = null;
+        currentBitmap = null;
+        imgSelected.setImageDrawable(null);
+        imgSelected.setVisibility(View.GONE);
+        imgPlaceholder.setVisibility(View.VISIBLE);
+        imageHintText.setVisibility(View.VISIBLE);
+    }
+
     /**
      * Handles results from camera or gallery intents.
      *
@@ -1298,28 +1350,11 @@ public class SelectMoodActivity extends AppCompatActivity {
         super.onActivityResult(requestCode, resultCode, data);
         if (resultCode == RESULT_OK) {
             if (requestCode == REQUEST_IMAGE_CAPTURE) {
-                ImageUtils.processImage(this, imageUri, (bitmap, downloadUrl, sizeKB) -> {
-                    photoSize = sizeKB;
-                    currentBitmap = bitmap;
-                    imgPlaceholder.setVisibility(View.GONE);
-                    imageHintText.setVisibility(View.GONE);
-                    imgSelected.setVisibility(View.VISIBLE);
-                    imgSelected.setImageBitmap(bitmap);
-                    imageUri = downloadUrl;
-                });
+                ImageUtils.processImage(this, imageUri, photoCallback());
             } else if (requestCode == REQUEST_PICK_IMAGE) {
                 imageUri = data.getData();
                 Log.d("SelectMoodActivity", "galleryPhotoUri: " + imageUri);
-                ImageUtils.processImage(this, imageUri, (bitmap, downloadUrl, sizeKB) -> {
-                    photoSize = sizeKB;
-                    currentBitmap = bitmap;
-                    imgPlaceholder.setVisibility(View.GONE);
-                    imageHintText.setVisibility(View.GONE);
-                    imgSelected.setVisibility(View.VISIBLE);
-                    imgSelected.setImageBitmap(bitmap);
-                    imageUri = downloadUrl;
-
-                });
+                ImageUtils.processImage(this, imageUri, photoCallback());
             } else if (requestCode == REQUEST_LOCATION_AUTOCOMPLETE) {
                 // Handle location selection
                 Place place = Autocomplete.getPlaceFromIntent(data);
@@ -1339,26 +1374,9 @@ public class SelectMoodActivity extends AppCompatActivity {
         }
     }
 
-    private int getEmojiResourceId(String moodId, String theme) {
-        // For local assets, use naming conventions. For instance:
-
-        if (moodId == null) {
-            moodId = "happy";
-        } else if (theme == null) {
-            theme = "default";
-        }
-
-
-        // Use the provided moodId and theme to generate the resource name
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return getResources().getIdentifier(resourceName, "drawable", getPackageName());
-
-    }
-
     private void updateMoodStreak(Date currentDate) {
-        // Use a simple date format (e.g., "yyyy-MM-dd") to compare dates
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        String currentDateStr = sdf.format(currentDate);
+        // Days are compared as "yyyy-MM-dd" strings
+        String currentDateStr = MoodStreak.dayOf(currentDate);
         DocumentReference userDocRef = db.collection("users").document(userId);
 
         userDocRef.get().addOnSuccessListener(documentSnapshot -> {
@@ -1367,45 +1385,17 @@ public class SelectMoodActivity extends AppCompatActivity {
             Long streakLong = documentSnapshot.contains("mood_streak")
                     ? documentSnapshot.getLong("mood_streak") : 0L;
             int currentStreak = streakLong != null ? streakLong.intValue() : 0;
-            int newStreak = 0;
-
-            if (lastMoodDate != null) {
-                if (lastMoodDate.equals(currentDateStr)) {
-                    // If the user has already posted a mood today, do not increment the streak
-                    newStreak = currentStreak;
-                } else {
-                    try {
-                        Date lastDate = sdf.parse(lastMoodDate);
-                        Date today = sdf.parse(currentDateStr);
-                        // Calculate difference in days (in millis)
-                        long diffInMillis = today.getTime() - lastDate.getTime();
-                        long diffInDays = diffInMillis / (24 * 60 * 60 * 1000);
-                        if (diffInDays == 1) {
-                            // Consecutive day – increment the streak
-                            newStreak = currentStreak + 1;
-                        } else {
-                            // Not consecutive – reset streak
-                            newStreak = 1;
-                        }
-                    } catch (ParseException | java.text.ParseException e) {
-                        e.printStackTrace();
-                        newStreak = 1;
-                    }
-                }
-            } else {
-                // No previous mood posted – start with streak 1
-                newStreak = 1;
-            }
+            int newStreak = MoodStreak.next(lastMoodDate, currentStreak, currentDateStr);
 
             // Update the user's document with the new streak and today's date
             Map<String, Object> updates = new HashMap<>();
             updates.put("mood_streak", newStreak);
             updates.put("last_mood_date", currentDateStr);
             userDocRef.update(updates);
+            new MoodAggregates().updateStreak(userId, newStreak, currentDateStr);
 
             // Call the achievement checker with the new streak value
-            AchievementChecker achievementChecker = new AchievementChecker(userId);
-            achievementChecker.checkAch23(newStreak);
+            achievementChecker.onStreakChanged(newStreak);
         });
     }
 
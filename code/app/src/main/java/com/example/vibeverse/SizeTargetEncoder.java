@@ -0,0 +1,113 @@
+package com.example.vibeverse;
+
+/**
+ * SizeTargetEncoder picks the highest encoder quality whose output fits a byte budget,
+ * using a bounded number of encode passes.
+ * <p>
+ * It only deals in qualities and byte counts, so the same search drives the Android
+ * {@link ImageEncoder} implementations and the JVM codec benchmarks.
+ * </p>
+ */
+public final class SizeTargetEncoder {
+
+    /** Default pass limit, enough for a full binary search over 10..95. */
+    public static final int DEFAULT_MAX_PASSES = 8;
+
+    /**
+     * Encodes the image at a quality and reports the encoded size.
+     */
+    public interface QualityProbe {
+
+        /**
+         * @param quality Encoder quality from 0 to 100.
+         * @return The number of bytes the image encodes to at that quality.
+         */
+        int encodedSize(int quality);
+    }
+
+    /**
+     * The outcome of a size-targeted search.
+     */
+    public static final class Result {
+        /** The best quality that fits the budget, or -1 if none of the probed qualities did. */
+        public final int quality;
+        /** The encoded size at {@link #quality}, or at the lowest quality probed if nothing fit. */
+        public final int size;
+        /** The quality of the last probe, which is what a shared output buffer currently holds. */
+        public final int lastProbedQuality;
+        /** The number of encodes performed. */
+        public final int passes;
+
+        Result(int quality, int size, int lastProbedQuality, int passes) {
+            this.quality = quality;
+            this.size = size;
+            this.lastProbedQuality = lastProbedQuality;
+            this.passes = passes;
+        }
+
+        /**
+         * @return Whether a quality within the budget was found.
+         */
+        public boolean fits() {
+            return quality >= 0;
+        }
+    }
+
+    private SizeTargetEncoder() {
+    }
+
+    /**
+     * Searches {@code [minQuality, maxQuality]} for the highest quality whose encoded size is
+     * at most {@code maxBytes}, assuming size grows with quality. The maximum quality is tried
+     * first so images that already fit cost a single encode; the rest of the range is then
+     * binary-searched until it is exhausted or {@code maxPasses} encodes have been spent.
+     *
+     * @param probe      Encodes the image and reports its size.
+     * @param minQuality The lowest quality to consider.
+     * @param maxQuality The highest quality to consider.
+     * @param maxBytes   The byte budget.
+     * @param maxPasses  The maximum number of encodes, at least 1.
+     * @return The search result.
+     */
+    public static Result search(QualityProbe probe, int minQuality, int maxQuality, int maxBytes, int maxPasses) {
+        if (minQuality > maxQuality) {
+            throw new IllegalArgumentException("minQuality must not exceed maxQuality");
+        }
+        int passes = 1;
+        int size = probe.encodedSize(maxQuality);
+        if (size <= maxBytes) {
+            return new Result(maxQuality, size, maxQuality, passes);
+        }
+
+        int low = minQuality;
+        int high = maxQuality - 1;
+        int best = -1;
+        int bestSize = 0;
+        int smallestSize = size;
+        int lastProbe = maxQuality;
+        while (low <= high && passes < maxPasses) {
+            // Once only the bottom of the range is left, probe it directly so a miss is
+            // measured at the smallest quality the caller would accept.
+            int mid = passes == maxPasses - 1 && best < 0 ? low : (low + high) >>> 1;
+            size = probe.encodedSize(mid);
+            passes++;
+            lastProbe = mid;
+            if (size <= maxBytes) {
+                best = mid;
+                bestSize = size;
+                low = mid + 1;
+            } else {
+                smallestSize = Math.min(smallestSize, size);
+                high = mid - 1;
+            }
+        }
+        return new Result(best, best >= 0 ? bestSize : smallestSize, lastProbe, passes);
+    }
+
+    /**
+     * Same as {@link #search(QualityProbe, int, int, int, int)} with {@link #DEFAULT_MAX_PASSES}.
+     */
+    public static Result search(QualityProbe probe, int minQuality, int maxQuality, int maxBytes) {
+        return search(probe, minQuality, maxQuality, maxBytes, DEFAULT_MAX_PASSES);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.vibeverse;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * SnapshotListModel applies the document changes of a Firestore query snapshot to the list an
+ * adapter displays.
+ * <p>
+ * A snapshot listener that rebuilds the whole list decodes every document and rebinds every
+ * row, even when a single document changed. This model instead takes each
+ * {@code DocumentChange} in order, decodes only added and modified documents, and reports
+ * each change to a {@link ListUpdateCallback} as an insert, change, move or removal. Items are
+ * keyed by document ID, and a change whose key does not match the row at its old index is
+ * rejected so the caller can fall back to a full reload.
+ * </p>
+ *
+ * @param <T> The item type.
+ */
+public final class SnapshotListModel<T> {
+
+    /** The kind of a document change, mirroring {@code DocumentChange.Type}. */
+    public enum ChangeType {
+        ADDED,
+        MODIFIED,
+        REMOVED
+    }
+
+    private final List<T> items;
+    private final Function<T, String> keyOf;
+    private final ListUpdateCallback callback;
+
+    /**
+     * Constructs a SnapshotListModel over a list that an adapter displays.
+     *
+     * @param items    The displayed list, which this model updates in place.
+     * @param keyOf    Returns the document ID of an item.
+     * @param callback Receives the row changes, usually an {@code AdapterListUpdateCallback}.
+     */
+    public SnapshotListModel(List<T> items, Function<T, String> keyOf, ListUpdateCallback callback) {
+        this.items = items;
+        this.keyOf = keyOf;
+        this.callback = callback;
+    }
+
+    /**
+     * Applies one document change. Changes must be applied in the order the snapshot lists them,
+     * as each index refers to the list after the previous changes.
+     *
+     * @param type     The kind of change.
+     * @param oldIndex The document's index before the change, or -1 if it was added.
+     * @param newIndex The document's index after the change, or -1 if it was removed.
+     * @param key      The document ID.
+     * @param decode   Decodes the document; called only for added and modified documents.
+     * @return False if the change does not fit the current list, which is then left unchanged.
+     */
+    public boolean apply(ChangeType type, int oldIndex, int newIndex, String key, Supplier<T> decode) {
+        switch (type) {
+            case ADDED:
+                if (newIndex < 0 || newIndex > items.size()) {
+                    return false;
+                }
+                return insert(newIndex, decode.get());
+            case MODIFIED:
+                if (!isAt(oldIndex, key) || newIndex < 0 || newIndex >= items.size()) {
+                    return false;
+                }
+                T item = decode.get();
+                if (item == null) {
+                    return false;
+                }
+                if (oldIndex == newIndex) {
+                    items.set(newIndex, item);
+                    callback.onChanged(newIndex, 1, null);
+                } else {
+                    items.remove(oldIndex);
+                    items.add(newIndex, item);
+                    callback.onMoved(oldIndex, newIndex);
+                    callback.onChanged(newIndex, 1, null);
+                }
+                return true;
+            case REMOVED:
+                if (!isAt(oldIndex, key)) {
+                    return false;
+                }
+                items.remove(oldIndex);
+                callback.onRemoved(oldIndex, 1);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Replaces every item, for the first snapshot or after a change was rejected.
+     *
+     * @param newItems The decoded items, in query order.
+     */
+    public void replaceAll(List<T> newItems) {
+        int oldSize = items.size();
+        items.clear();
+        if (oldSize > 0) {
+            callback.onRemoved(0, oldSize);
+        }
+        items.addAll(newItems);
+        if (!newItems.isEmpty()) {
+            callback.onInserted(0, newItems.size());
+        }
+    }
+
+    /**
+     * Returns the number of items.
+     *
+     * @return The size of the displayed list.
+     */
+    public int size() {
+        return items.size();
+    }
+
+    private boolean insert(int index, T item) {
+        if (item == null) {
+            return false;
+        }
+        items.add(index, item);
+        callback.onInserted(index, 1);
+        return true;
+    }
+
+    private boolean isAt(int index, String key) {
+        return index >= 0 && index < items.size() && key != null && key.equals(keyOf.apply(items.get(index)));
+    }
+}
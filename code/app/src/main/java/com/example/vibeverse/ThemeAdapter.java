@@ -194,7 +194,7 @@ public class ThemeAdapter extends RecyclerView.Adapter<ThemeAdapter.ThemeViewHol
 
             // Create the ImageView for the emoji.
             ImageView emojiView = new ImageView(context);
-            int resId = getEmojiResourceId(context, mood.getName().toLowerCase(), themeData.getId());
+            int resId = EmojiDrawables.get(mood, themeData.getId());
             emojiView.setImageResource(resId);
             // Set layout parameters for the emoji inside its container.
             FrameLayout.LayoutParams emojiParams = new FrameLayout.LayoutParams(
@@ -258,19 +258,6 @@ public class ThemeAdapter extends RecyclerView.Adapter<ThemeAdapter.ThemeViewHol
         dialog.show();
     }
 
-    /**
-     * Retrieves the resource ID for an emoji based on the mood and theme.
-     *
-     * @param context The context.
-     * @param moodId  The mood identifier.
-     * @param theme   The theme identifier.
-     * @return The resource ID of the emoji drawable.
-     */
-    private int getEmojiResourceId(Context context, String moodId, String theme) {
-        String resourceName = "emoji_" + moodId.toLowerCase() + "_" + theme.toLowerCase();
-        return context.getResources().getIdentifier(resourceName, "drawable", context.getPackageName());
-    }
-
     /**
      * ThemeViewHolder holds the view elements for a single theme item.
      */
@@ -0,0 +1,131 @@
+package com.example.vibeverse;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimelineBackfill copies the recent public moods of everyone the signed-in user already
+ * follows into their {@link FeedTimeline}.
+ * <p>
+ * Follows accepted since timelines exist are backfilled when they are accepted, but follows
+ * made before that have nothing in the timeline until the followee posts again. This fills
+ * them in with {@link FeedTimeline#backfillFromFollowee(String, String)}, once per user and
+ * install. A run that fails for any followee is not recorded, so it is repeated on the next
+ * start; backfilling the same mood twice overwrites the same timeline entry.
+ * </p>
+ */
+public class TimelineBackfill {
+
+    private static final String TAG = "TimelineBackfill";
+
+    private static final String PREFS_NAME = "migrations";
+    private static final String PREF_KEY_PREFIX = "timelineBackfilled_";
+
+    private static final Map<String, List<Runnable>> waiting = new HashMap<>();
+
+    private TimelineBackfill() {
+    }
+
+    /**
+     * Returns whether the user's existing follows have been backfilled on this install.
+     *
+     * @param context Any context.
+     * @param userId  The signed-in user.
+     * @return True once a run has completed for the user.
+     */
+    public static boolean isDone(Context context, String userId) {
+        return prefs(context).getBoolean(PREF_KEY_PREFIX + userId, false);
+    }
+
+    /**
+     * Starts backfilling the user's timeline in the background unless that has already
+     * completed. Calls made while a run is in progress join that run instead of starting
+     * another.
+     *
+     * @param context      Any context, used to remember that the backfill has completed.
+     * @param userId       The signed-in user, whose timeline is backfilled.
+     * @param onBackfilled Called once the run has completed, so the feed can be reloaded; may be null.
+     */
+    public static void runOnce(Context context, String userId, Runnable onBackfilled) {
+        SharedPreferences prefs = prefs(context);
+        if (userId == null || prefs.getBoolean(PREF_KEY_PREFIX + userId, false)) {
+            return;
+        }
+        boolean running = waiting.containsKey(userId);
+        List<Runnable> callbacks = running ? waiting.get(userId) : new ArrayList<>();
+        if (onBackfilled != null) {
+            callbacks.add(onBackfilled);
+        }
+        if (running) {
+            return;
+        }
+        waiting.put(userId, callbacks);
+
+        FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(userId)
+                .collection("following")
+                .document("list")
+                .get()
+                .addOnSuccessListener(documentSnapshot -> {
+                    List<String> followingIds = (List<String>) documentSnapshot.get("followingIds");
+                    if (followingIds == null || followingIds.isEmpty()) {
+                        finish(prefs, userId, 0, true);
+                        return;
+                    }
+                    FeedTimeline feedTimeline = new FeedTimeline();
+                    List<Task<Void>> backfills = new ArrayList<>();
+                    for (String followeeId : followingIds) {
+                        backfills.add(feedTimeline.backfillFromFollowee(userId, followeeId));
+                    }
+                    Tasks.whenAllComplete(backfills).addOnCompleteListener(task -> {
+                        boolean completed = true;
+                        for (Task<Void> backfill : backfills) {
+                            completed &= backfill.isSuccessful();
+                        }
+                        finish(prefs, userId, followingIds.size(), completed);
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching following list", e);
+                    finish(prefs, userId, 0, false);
+                });
+    }
+
+    /**
+     * Ends a run, recording it if every followee was backfilled.
+     *
+     * @param prefs     Preferences recording completion.
+     * @param userId    The user whose timeline was backfilled.
+     * @param followees The number of followees backfilled.
+     * @param completed True if every followee was backfilled.
+     */
+    private static void finish(SharedPreferences prefs, String userId, int followees, boolean completed) {
+        List<Runnable> callbacks = waiting.remove(userId);
+        if (!completed) {
+            return;
+        }
+        prefs.edit().putBoolean(PREF_KEY_PREFIX + userId, true).apply();
+        Log.d(TAG, "Backfilled the timeline from " + followees + " followees");
+        if (followees == 0 || callbacks == null) {
+            return;
+        }
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.vibeverse;
+
+import java.util.Locale;
+
+/**
+ * UploadQueueStats tracks the depth and throughput of the {@link PhotoUploadQueue}.
+ * <p>
+ * Throughput only counts time spent transferring bytes, so uploads skipped because
+ * the same photo was already stored do not inflate it.
+ * </p>
+ */
+public class UploadQueueStats {
+
+    private long enqueued;
+    private long completed;
+    private long deduplicated;
+    private long failed;
+    private long retries;
+    private long bytesUploaded;
+    private long uploadNanos;
+
+    /**
+     * Records an upload entering the queue, including uploads resumed after a restart.
+     */
+    public synchronized void recordEnqueued() {
+        enqueued++;
+    }
+
+    /**
+     * Records bytes transferred to storage by one upload.
+     *
+     * @param bytes        The number of bytes uploaded.
+     * @param elapsedNanos The time the transfer took.
+     */
+    public synchronized void recordTransferred(long bytes, long elapsedNanos) {
+        bytesUploaded += bytes;
+        uploadNanos += elapsedNanos;
+    }
+
+    /**
+     * Records an upload that finished with its photo stored.
+     *
+     * @param deduplicated True if identical bytes were already stored and nothing was uploaded.
+     */
+    public synchronized void recordCompleted(boolean deduplicated) {
+        completed++;
+        if (deduplicated) {
+            this.deduplicated++;
+        }
+    }
+
+    /**
+     * Records an attempt that failed and was scheduled again.
+     */
+    public synchronized void recordRetry() {
+        retries++;
+    }
+
+    /**
+     * Records an upload that was given up on.
+     */
+    public synchronized void recordFailed() {
+        failed++;
+    }
+
+    /**
+     * Returns the number of uploads that are queued or in flight.
+     *
+     * @return The queue depth.
+     */
+    public synchronized long getQueueDepth() {
+        return enqueued - completed - failed;
+    }
+
+    /**
+     * Returns the number of uploads that finished, including deduplicated ones.
+     *
+     * @return The number of completed uploads.
+     */
+    public synchronized long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns the number of uploads skipped because the photo was already stored.
+     *
+     * @return The number of deduplicated uploads.
+     */
+    public synchronized long getDeduplicated() {
+        return deduplicated;
+    }
+
+    /**
+     * Returns the number of uploads that were given up on.
+     *
+     * @return The number of failed uploads.
+     */
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of retried attempts.
+     *
+     * @return The number of retries.
+     */
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Returns the total number of bytes transferred.
+     *
+     * @return The bytes uploaded.
+     */
+    public synchronized long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    /**
+     * Returns the average transfer rate across completed uploads.
+     *
+     * @return The throughput in bytes per second, or 0 if nothing has been uploaded yet.
+     */
+    public synchronized double getThroughputBytesPerSecond() {
+        if (uploadNanos == 0) {
+            return 0;
+        }
+        return bytesUploaded * 1e9 / uploadNanos;
+    }
+
+    /**
+     * Returns a one-line summary of the counters, suitable for logging.
+     *
+     * @return The summary string.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "depth=%d completed=%d deduplicated=%d failed=%d retries=%d throughput=%.1fKB/s",
+                getQueueDepth(), completed, deduplicated, failed, retries, getThroughputBytesPerSecond() / 1024);
+    }
+}
@@ -803,8 +803,14 @@ public class UserDetails extends AppCompatActivity {
                     .update(userData)
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(UserDetails.this, "Profile updated successfully!", Toast.LENGTH_SHORT).show();
-                        AchievementChecker achievementChecker = new AchievementChecker(user.getUid());
-                        achievementChecker.checkAch11();
+                        // Drop the cached author details so lists pick up the new username and picture
+                        UserProfileCache.getInstance().invalidate(user.getUid());
+                        // Refresh the author snapshot stored on the user's existing moods, comments and notifications
+                        new AuthorSnapshotSync().propagate(user.getUid(),
+                                (String) userData.get("username"),
+                                (String) userData.get("profilePicUri"));
+                        AchievementChecker achievementChecker = new AchievementChecker(UserDetails.this, user.getUid());
+                        achievementChecker.onProfileEdited();
                         // Optionally, navigate back or finish activity
                         finish();
                     })
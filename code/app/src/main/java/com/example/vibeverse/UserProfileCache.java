@@ -0,0 +1,444 @@
+package com.example.vibeverse;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UserProfileCache is a process-wide cache of the user fields needed to render an author:
+ * username and profile picture.
+ * <p>
+ * Entries expire after a fixed time to live and the least recently used entries are evicted
+ * once the cache is full. Concurrent requests for the same user share one Firestore read,
+ * so a list that binds many rows by the same author only fetches that author once.
+ * </p>
+ * <p>
+ * When a whole list of authors is known up front, {@link #prefetch(Collection, Runnable)}
+ * resolves them with chunked {@code whereIn} queries before the rows are bound.
+ * </p>
+ */
+public class UserProfileCache {
+
+    private static final String TAG = "UserProfileCache";
+
+    /** Maximum number of profiles kept in memory. */
+    private static final int MAX_ENTRIES = 256;
+    /** How long a cached profile is considered fresh. */
+    private static final long TTL_MS = 5 * 60 * 1000;
+    /** Maximum number of values Firestore accepts in a single whereIn filter. */
+    static final int WHERE_IN_LIMIT = 30;
+
+    private static UserProfileCache instance;
+
+    /**
+     * The author fields of a user document.
+     */
+    public static class UserProfile {
+        private final String username;
+        private final String profilePicUri;
+        private final boolean hasProfilePic;
+
+        /**
+         * Constructs a UserProfile.
+         *
+         * @param username      The user's username.
+         * @param profilePicUri The download URL of the user's profile picture, or null.
+         * @param hasProfilePic Whether the user has set a profile picture.
+         */
+        public UserProfile(String username, String profilePicUri, boolean hasProfilePic) {
+            this.username = username;
+            this.profilePicUri = profilePicUri;
+            this.hasProfilePic = hasProfilePic;
+        }
+
+        /**
+         * Creates a UserProfile from a user document.
+         *
+         * @param doc The users/{id} document.
+         * @return The profile, or null if the document does not exist.
+         */
+        public static UserProfile fromDocument(DocumentSnapshot doc) {
+            if (doc == null || !doc.exists()) {
+                return null;
+            }
+            Boolean hasProfilePic = doc.getBoolean("hasProfilePic");
+            return new UserProfile(doc.getString("username"), doc.getString("profilePicUri"),
+                    hasProfilePic != null && hasProfilePic);
+        }
+
+        /**
+         * Returns the username.
+         *
+         * @return the username.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Returns the profile picture URL.
+         *
+         * @return the profile picture URL, or null.
+         */
+        public String getProfilePicUri() {
+            return profilePicUri;
+        }
+
+        /**
+         * Returns whether the user has set a profile picture.
+         *
+         * @return true if the user has a profile picture.
+         */
+        public boolean hasProfilePic() {
+            return hasProfilePic;
+        }
+
+        /**
+         * Returns whether a profile picture can be loaded for this user.
+         *
+         * @return True if the user has a non-empty profile picture URL.
+         */
+        public boolean hasLoadableProfilePic() {
+            return hasProfilePic && profilePicUri != null && !profilePicUri.isEmpty();
+        }
+    }
+
+    /**
+     * Receives the result of a profile lookup.
+     */
+    public interface Callback {
+        /**
+         * Called with the requested profile.
+         *
+         * @param profile The profile, or null if the user does not exist or the read failed.
+         */
+        void onProfileLoaded(UserProfile profile);
+    }
+
+    /**
+     * Loads a profile from the backing store.
+     */
+    interface Fetcher {
+        void fetch(String userId, Callback callback);
+    }
+
+    /**
+     * Loads several profiles from the backing store in one request.
+     */
+    interface BatchFetcher {
+        /**
+         * Fetches the given users.
+         *
+         * @param userIds  At most {@link #WHERE_IN_LIMIT} user IDs.
+         * @param callback Receives the profiles found, keyed by user ID, or null if the read failed.
+         */
+        void fetchAll(List<String> userIds, BatchCallback callback);
+    }
+
+    /**
+     * Receives the result of a batch fetch.
+     */
+    interface BatchCallback {
+        void onProfilesLoaded(Map<String, UserProfile> profiles);
+    }
+
+    /**
+     * Supplies the current time in milliseconds.
+     */
+    interface Clock {
+        long now();
+    }
+
+    private static class Entry {
+        final UserProfile profile;
+        final long loadedAt;
+
+        Entry(UserProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final Fetcher fetcher;
+    private final BatchFetcher batchFetcher;
+    private final Clock clock;
+    private final long ttlMs;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long coalesced;
+
+    /**
+     * Constructs a UserProfileCache.
+     *
+     * @param fetcher      Loads single profiles that are not cached.
+     * @param batchFetcher Loads chunks of profiles for {@link #prefetch(Collection, Runnable)}.
+     * @param clock        The time source used for expiry.
+     * @param maxEntries   The maximum number of cached profiles.
+     * @param ttlMs        How long a cached profile stays fresh, in milliseconds.
+     */
+    UserProfileCache(Fetcher fetcher, BatchFetcher batchFetcher, Clock clock, int maxEntries, long ttlMs) {
+        this.fetcher = fetcher;
+        this.batchFetcher = batchFetcher;
+        this.clock = clock;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the shared cache, backed by the users collection in Firestore.
+     *
+     * @return The process-wide UserProfileCache.
+     */
+    public static synchronized UserProfileCache getInstance() {
+        if (instance == null) {
+            instance = new UserProfileCache(UserProfileCache::fetchFromFirestore,
+                    UserProfileCache::fetchAllFromFirestore, System::currentTimeMillis, MAX_ENTRIES, TTL_MS);
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a single user document.
+     *
+     * @param userId   The user to read.
+     * @param callback Receives the profile, or null.
+     */
+    private static void fetchFromFirestore(String userId, Callback callback) {
+        FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(userId)
+                .get()
+                .addOnSuccessListener(doc -> callback.onProfileLoaded(UserProfile.fromDocument(doc)))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching user " + userId, e);
+                    callback.onProfileLoaded(null);
+                });
+    }
+
+    /**
+     * Reads a chunk of user documents with one whereIn query on the document ID.
+     *
+     * @param userIds  The users to read, at most {@link #WHERE_IN_LIMIT}.
+     * @param callback Receives the profiles found, or null if the query failed.
+     */
+    private static void fetchAllFromFirestore(List<String> userIds, BatchCallback callback) {
+        FirebaseFirestore.getInstance()
+                .collection("users")
+                .whereIn(FieldPath.documentId(), userIds)
+                .get()
+                .addOnSuccessListener(snapshots -> {
+                    Map<String, UserProfile> profiles = new HashMap<>();
+                    for (DocumentSnapshot doc : snapshots.getDocuments()) {
+                        profiles.put(doc.getId(), UserProfile.fromDocument(doc));
+                    }
+                    callback.onProfilesLoaded(profiles);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching " + userIds.size() + " users", e);
+                    callback.onProfilesLoaded(null);
+                });
+    }
+
+    /**
+     * Looks up a user's profile. Fresh cached profiles are returned immediately; otherwise
+     * the profile is fetched, sharing any fetch already in progress for the same user.
+     *
+     * @param userId   The user to look up.
+     * @param callback Receives the profile.
+     */
+    public void get(String userId, Callback callback) {
+        UserProfile cached;
+        synchronized (this) {
+            cached = peek(userId);
+            if (cached == null) {
+                misses++;
+                List<Callback> waiting = inFlight.get(userId);
+                if (waiting != null) {
+                    coalesced++;
+                    waiting.add(callback);
+                    return;
+                }
+                waiting = new ArrayList<>();
+                waiting.add(callback);
+                inFlight.put(userId, waiting);
+            } else {
+                hits++;
+            }
+        }
+
+        if (cached != null) {
+            callback.onProfileLoaded(cached);
+            return;
+        }
+        fetcher.fetch(userId, profile -> complete(userId, profile));
+    }
+
+    /**
+     * Resolves a list of users ahead of binding, using one whereIn query per
+     * {@link #WHERE_IN_LIMIT} users that are neither cached nor already being fetched.
+     * Lookups made while the prefetch is running wait for its result.
+     *
+     * @param userIds    The users that are about to be displayed; duplicates and nulls are ignored.
+     * @param onComplete Run once every chunk has finished, successfully or not.
+     */
+    public void prefetch(Collection<String> userIds, Runnable onComplete) {
+        List<String> toFetch = new ArrayList<>();
+        synchronized (this) {
+            for (String userId : new LinkedHashSet<>(userIds)) {
+                if (userId == null || peek(userId) != null || inFlight.containsKey(userId)) {
+                    continue;
+                }
+                inFlight.put(userId, new ArrayList<>());
+                toFetch.add(userId);
+            }
+        }
+        if (toFetch.isEmpty()) {
+            onComplete.run();
+            return;
+        }
+
+        List<List<String>> chunks = chunk(toFetch, WHERE_IN_LIMIT);
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+        for (List<String> chunk : chunks) {
+            batchFetcher.fetchAll(chunk, profiles -> {
+                for (String userId : chunk) {
+                    complete(userId, profiles != null ? profiles.get(userId) : null);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    onComplete.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most the given size.
+     *
+     * @param items The items to split.
+     * @param size  The maximum size of each chunk.
+     * @param <T>   The item type.
+     * @return The chunks, in order.
+     */
+    static <T> List<List<T>> chunk(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += size) {
+            chunks.add(new ArrayList<>(items.subList(start, Math.min(start + size, items.size()))));
+        }
+        return chunks;
+    }
+
+    /**
+     * Caches a fetched profile and hands it to every lookup waiting on it.
+     *
+     * @param userId  The user that was fetched.
+     * @param profile The profile, or null if it could not be loaded.
+     */
+    private void complete(String userId, UserProfile profile) {
+        List<Callback> waiting;
+        synchronized (this) {
+            if (profile != null) {
+                entries.put(userId, new Entry(profile, clock.now()));
+            }
+            waiting = inFlight.remove(userId);
+        }
+        if (waiting != null) {
+            for (Callback waiter : waiting) {
+                waiter.onProfileLoaded(profile);
+            }
+        }
+    }
+
+    /**
+     * Returns a fresh cached profile without fetching or counting a lookup.
+     *
+     * @param userId The user to look up.
+     * @return The cached profile, or null if it is missing or expired.
+     */
+    public synchronized UserProfile peek(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.now() - entry.loadedAt > ttlMs) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry.profile;
+    }
+
+    /**
+     * Stores a profile that was loaded elsewhere.
+     *
+     * @param userId  The user the profile belongs to.
+     * @param profile The profile to cache.
+     */
+    public synchronized void put(String userId, UserProfile profile) {
+        if (profile != null) {
+            entries.put(userId, new Entry(profile, clock.now()));
+        }
+    }
+
+    /**
+     * Removes a user's profile, for example after it was edited.
+     *
+     * @param userId The user whose profile is stale.
+     */
+    public synchronized void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that were not answered from the cache.
+     *
+     * @return The miss count, including coalesced lookups.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of misses that joined a fetch already in progress.
+     *
+     * @return The coalesced lookup count.
+     */
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Returns the number of profiles currently cached.
+     *
+     * @return The cache size.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.vibeverse;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserSession is the process-wide holder of the signed-in user's document and the settings
+ * screens read from it, most importantly the selected emoji theme.
+ * <p>
+ * A single snapshot listener on {@code users/<uid>} is kept for as long as the user is signed
+ * in, so screens read the theme synchronously instead of each issuing their own get(). The
+ * theme and author fields of the last document seen are persisted to shared preferences, so
+ * a cold start renders with the right theme before the listener delivers its first snapshot.
+ * Theme changes, including the user's own picks in the Vibe Store, are pushed to
+ * {@link ThemeListener}s. All methods must be called on the main thread.
+ * </p>
+ */
+public class UserSession {
+
+    private static final String TAG = "UserSession";
+
+    private static final String PREFS_NAME = "userSession";
+    private static final String PREF_USER_ID = "userId";
+    private static final String PREF_THEME = "selectedTheme";
+    private static final String PREF_USERNAME = "username";
+    private static final String PREF_PROFILE_PIC_URI = "profilePicUri";
+    private static final String PREF_HAS_PROFILE_PIC = "hasProfilePic";
+
+    /** The theme used until the user picks one. */
+    public static final String DEFAULT_THEME = "default";
+
+    private static UserSession instance;
+
+    /**
+     * Receives the selected theme whenever it changes.
+     */
+    public interface ThemeListener {
+        /**
+         * Called on the main thread when the user's selected theme changes.
+         *
+         * @param theme The new theme ID.
+         */
+        void onThemeChanged(String theme);
+    }
+
+    /**
+     * Persists the session's last known values between processes.
+     */
+    interface Store {
+        String get(String key);
+
+        void putAll(Map<String, String> values);
+    }
+
+    private final Store store;
+    private final List<ThemeListener> themeListeners = new ArrayList<>();
+
+    private String userId;
+    private String selectedTheme;
+    private DocumentSnapshot userDocument;
+    private ListenerRegistration registration;
+
+    /**
+     * Constructs a UserSession and restores the values persisted by the last process.
+     *
+     * @param store Where the last known values are kept.
+     */
+    UserSession(Store store) {
+        this.store = store;
+        this.userId = store.get(PREF_USER_ID);
+        String theme = store.get(PREF_THEME);
+        this.selectedTheme = theme != null ? theme : DEFAULT_THEME;
+    }
+
+    /**
+     * Returns the shared session, creating it and starting to follow the signed-in user on
+     * first use.
+     *
+     * @param context Any context.
+     * @return The user session.
+     */
+    public static synchronized UserSession getInstance(Context context) {
+        if (instance == null) {
+            SharedPreferences prefs = context.getApplicationContext()
+                    .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+            instance = new UserSession(new Store() {
+                @Override
+                public String get(String key) {
+                    return prefs.getString(key, null);
+                }
+
+                @Override
+                public void putAll(Map<String, String> values) {
+                    SharedPreferences.Editor editor = prefs.edit();
+                    for (Map.Entry<String, String> value : values.entrySet()) {
+                        editor.putString(value.getKey(), value.getValue());
+                    }
+                    editor.apply();
+                }
+            });
+            instance.seedProfileCache();
+            FirebaseAuth.getInstance().addAuthStateListener(auth ->
+                    instance.follow(auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null));
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the signed-in user's selected theme, or the last one known for them.
+     *
+     * @return The theme ID, never null.
+     */
+    public String getSelectedTheme() {
+        return selectedTheme;
+    }
+
+    /**
+     * Returns the latest snapshot of the signed-in user's document.
+     *
+     * @return The document, or null before the listener has delivered it in this process.
+     */
+    public DocumentSnapshot getUserDocument() {
+        return userDocument;
+    }
+
+    /**
+     * Looks up the signed-in user's display details for a mood or comment they are writing.
+     * These come from the live user document, or the persisted copy of the last one before it
+     * arrives, so unlike {@link UserProfileCache#peek(String)} they do not expire. If neither
+     * is available yet, the user document is read first.
+     *
+     * @param currentUserId The user writing the mood or comment.
+     * @param callback      Receives the profile, or null if it could not be read.
+     */
+    public void getAuthorProfile(String currentUserId, UserProfileCache.Callback callback) {
+        UserProfileCache.UserProfile profile = getKnownProfile(currentUserId);
+        if (profile != null) {
+            callback.onProfileLoaded(profile);
+        } else {
+            UserProfileCache.getInstance().get(currentUserId, callback);
+        }
+    }
+
+    /**
+     * Returns the display details of the signed-in user known without a read.
+     *
+     * @param currentUserId The user asked about.
+     * @return The profile from the live document or the persisted one, or null if the user
+     *         is not the signed-in user or nothing is known about them yet.
+     */
+    UserProfileCache.UserProfile getKnownProfile(String currentUserId) {
+        if (currentUserId == null || !currentUserId.equals(userId)) {
+            return null;
+        }
+        if (userDocument != null) {
+            return UserProfileCache.UserProfile.fromDocument(userDocument);
+        }
+        return getPersistedProfile();
+    }
+
+    /**
+     * Subscribes to theme changes. The listener is not called with the current theme; read
+     * {@link #getSelectedTheme()} when subscribing.
+     *
+     * @param listener The listener to add.
+     */
+    public void addThemeListener(ThemeListener listener) {
+        if (!themeListeners.contains(listener)) {
+            themeListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unsubscribes from theme changes.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeThemeListener(ThemeListener listener) {
+        themeListeners.remove(listener);
+    }
+
+    /**
+     * Keeps the snapshot listener on the given user's document, replacing the listener of a
+     * previous user.
+     *
+     * @param newUserId The signed-in user, or null when signed out.
+     */
+    private void follow(String newUserId) {
+        if (registration != null && newUserId != null && newUserId.equals(userId)) {
+            return;
+        }
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        userDocument = null;
+        if (newUserId == null) {
+            return;
+        }
+        if (!newUserId.equals(userId)) {
+            // The persisted theme belongs to someone else
+            userId = newUserId;
+            setSelectedTheme(DEFAULT_THEME);
+        }
+        String followedUserId = newUserId;
+        registration = FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(followedUserId)
+                .addSnapshotListener((documentSnapshot, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error listening to user " + followedUserId, e);
+                        return;
+                    }
+                    if (documentSnapshot != null && documentSnapshot.exists()) {
+                        userDocument = documentSnapshot;
+                        UserProfileCache.getInstance().put(followedUserId,
+                                UserProfileCache.UserProfile.fromDocument(documentSnapshot));
+                        onUserData(followedUserId, documentSnapshot.getData());
+                    }
+                });
+    }
+
+    /**
+     * Takes in the fields of the signed-in user's document, persisting them and notifying
+     * theme listeners if the theme changed.
+     *
+     * @param newUserId The user the document belongs to.
+     * @param data      The document's fields.
+     */
+    void onUserData(String newUserId, Map<String, Object> data) {
+        Object theme = data.get("selectedTheme");
+        String newTheme = theme instanceof String && !((String) theme).isEmpty()
+                ? (String) theme
+                : DEFAULT_THEME;
+        userId = newUserId;
+
+        Map<String, String> values = new HashMap<>();
+        values.put(PREF_USER_ID, newUserId);
+        values.put(PREF_THEME, newTheme);
+        values.put(PREF_USERNAME, stringOrNull(data.get("username")));
+        values.put(PREF_PROFILE_PIC_URI, stringOrNull(data.get("profilePicUri")));
+        values.put(PREF_HAS_PROFILE_PIC, String.valueOf(Boolean.TRUE.equals(data.get("hasProfilePic"))));
+        store.putAll(values);
+        setSelectedTheme(newTheme);
+    }
+
+    /**
+     * Updates the theme and notifies the listeners if it changed.
+     */
+    private void setSelectedTheme(String theme) {
+        if (theme.equals(selectedTheme)) {
+            return;
+        }
+        selectedTheme = theme;
+        // Copy, so a listener may unsubscribe while being notified
+        for (ThemeListener listener : new ArrayList<>(themeListeners)) {
+            listener.onThemeChanged(theme);
+        }
+    }
+
+    /**
+     * Returns the persisted author fields of the last signed-in user.
+     *
+     * @return The profile, or null if none was persisted for the current user.
+     */
+    UserProfileCache.UserProfile getPersistedProfile() {
+        String username = store.get(PREF_USERNAME);
+        // A newly signed-in user has no fields of their own persisted until their document arrives
+        if (userId == null || username == null || !userId.equals(store.get(PREF_USER_ID))) {
+            return null;
+        }
+        return new UserProfileCache.UserProfile(username, store.get(PREF_PROFILE_PIC_URI),
+                Boolean.parseBoolean(store.get(PREF_HAS_PROFILE_PIC)));
+    }
+
+    /**
+     * Makes the persisted author fields available to new comments and moods straight away.
+     */
+    private void seedProfileCache() {
+        UserProfileCache.UserProfile profile = getPersistedProfile();
+        if (profile != null && UserProfileCache.getInstance().peek(userId) == null) {
+            UserProfileCache.getInstance().put(userId, profile);
+        }
+    }
+
+    private static String stringOrNull(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+}
@@ -22,6 +22,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.AggregateSource;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
@@ -34,14 +35,9 @@ import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 
 import de.hdodenhof.circleimageview.CircleImageView;
@@ -90,12 +86,11 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
     private ImageButton buttonFilter;
     /** List holding all mood events for the profile user. */
     private List<MoodEvent> allMoodEvents = new ArrayList<>();
+    /** Loads the viewed user's public mood events page by page as the list scrolls. */
+    private MoodPagingSource moodPagingSource;
 
     /** Adapter for displaying mood events in the RecyclerView. */
     private MoodEventAdapter moodEventAdapter;
-    /** Formatter for parsing source timestamps. */
-    private final SimpleDateFormat sourceFormat =
-            new SimpleDateFormat("MMM dd, yyyy - hh:mm a", Locale.getDefault());
 
     /**
      * Called when the activity is created. Initializes UI components, loads user data and posts,
@@ -177,12 +172,14 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
                             Map<String, Object> notifData = new HashMap<>();
                             notifData.put("content", followNotification.getContent());
                             notifData.put("dateTime", followNotification.getDateTime().toString());
+                            notifData.put(Notification.FIELD_CREATED_AT, FieldValue.serverTimestamp());
                             notifData.put("notifType", followNotification.getNotifType().name());
                             notifData.put("senderUserId", followNotification.getSenderUserId());
                             notifData.put("receiverUserId", followNotification.getReceiverUserId());
-                            notifData.put("isRead", followNotification.isRead());
                             notifData.put("requestStatus", followNotification.getRequestStatus());
                             notifData.put("id", notifId);
+                            notifData.put("senderUsername", activeUsername);
+                            notifData.put("senderProfilePicUri", docSnapshot.getString("profilePicUri"));
 
                             recipientUserRef.collection("notifications")
                                     .add(notifData)
@@ -299,13 +296,16 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
                                     .document("list")
                                     .update("followingIds", FieldValue.arrayRemove(pageUserId))
                                     .addOnSuccessListener(aVoid2 -> {
+                                        // Drop the page user's moods from the active user's home feed.
+                                        new FeedTimeline().removeFollowee(activeUserId, pageUserId);
+
                                         // Decrement counts: page user's followerCount and active user's followingCount.
                                         pageUserRef.update("followerCount", FieldValue.increment(-1));
                                         activeUserRef.update("followingCount", FieldValue.increment(-1))
                                                 .addOnSuccessListener(aVoid3 -> {
                                                     // Check the unfollow achievement ("I don't like you anymore" - ach12)
-                                                    AchievementChecker achievementChecker = new AchievementChecker(activeUserId);
-                                                    achievementChecker.checkAch12();
+                                                    AchievementChecker achievementChecker = new AchievementChecker(UsersProfile.this, activeUserId);
+                                                    achievementChecker.onUnfollowed();
 
                                                     showFollowState();
                                                     loadUserPosts(); // reload the posts
@@ -355,7 +355,7 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
              */
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                moodEventAdapter.filter(s.toString());
+                moodEventAdapter.filterDelayed(s.toString());
             }
 
             /**
@@ -498,53 +498,29 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
     }
 
     /**
-     * Fetches the user's posts from Firestore and updates the mood events adapter.
+     * Fetches the user's public posts from Firestore one page at a time and updates the mood events adapter.
      */
     private void fetchUserPosts() {
-        db.collection("Usermoods")
+        Query moodsQuery = db.collection("Usermoods")
                 .document(pageUserId)
-                .collection("moods")
-                .orderBy("timestamp", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-
-                    int postCount = queryDocumentSnapshots.size();
-                    // Update the posts TextView
-                    textPosts.setText(String.valueOf(postCount));
-
+                .collection("moods");
+
+        // Update the posts TextView
+        moodsQuery.count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(countSnapshot ->
+                        textPosts.setText(String.valueOf(countSnapshot.getCount())))
+                .addOnFailureListener(e -> Log.e("UsersProfile", "Error counting posts", e));
+
+        if (moodPagingSource == null) {
+            // Private posts are filtered out by the query so every page is full of visible posts
+            Query publicMoodsQuery = FeedTimeline.publicMoodsOf(db, pageUserId);
+            moodPagingSource = new MoodPagingSource(publicMoodsQuery, this::toMoodEvent, new MoodPagingSource.Listener() {
+                @Override
+                public void onFirstPage(List<MoodEvent> moodEvents) {
                     showLoading(false);
                     allMoodEvents.clear(); // Clear previous events
-
-                    for (QueryDocumentSnapshot doc : queryDocumentSnapshots) {
-                        try {
-                            MoodEvent moodEvent = MoodEvent.fromMap(doc.getData());
-                            moodEvent.setDocumentId(doc.getId());
-
-                            // Check if the post is public
-                            Boolean isPublic = (Boolean) doc.getData().get("isPublic");
-                            if (isPublic == null || !isPublic) {
-                                continue; // Skip this post if it's not public
-                            }
-
-                            if (moodEvent.getTimestamp() != null) {
-                                Date date = sourceFormat.parse(moodEvent.getTimestamp());
-                                moodEvent.setDate(date);
-                            }
-
-                            // Build subtitle
-                            StringBuilder subtitle = new StringBuilder();
-                            if (moodEvent.getSocialSituation() != null &&
-                                    !moodEvent.getSocialSituation().isEmpty()) {
-                                if (subtitle.length() > 0) subtitle.append(" | ");
-                                subtitle.append("Social: ").append(moodEvent.getSocialSituation());
-                            }
-                            moodEvent.setSubtitle(subtitle.toString());
-
-                            allMoodEvents.add(moodEvent);
-                        } catch (ParseException e) {
-                            Log.e("UsersProfile", "Error parsing timestamp", e);
-                        }
-                    }
+                    allMoodEvents.addAll(moodEvents);
 
                     if (allMoodEvents.isEmpty()) {
                         showEmptyState(true);
@@ -552,12 +528,56 @@ public class UsersProfile extends AppCompatActivity implements FilterDialog.Filt
                         showEmptyState(false);
                         moodEventAdapter.updateMoodEvents(allMoodEvents);
                     }
-                })
-                .addOnFailureListener(e -> {
+                }
+
+                @Override
+                public void onPageAppended(List<MoodEvent> moodEvents, int droppedFromStart) {
+                    moodEventAdapter.removeFirstMoodEvents(droppedFromStart);
+                    moodEventAdapter.appendMoodEvents(moodEvents);
+                    allMoodEvents.clear();
+                    allMoodEvents.addAll(moodPagingSource.getMoodEvents());
+                }
+
+                @Override
+                public void onPagePrepended(List<MoodEvent> moodEvents, int droppedFromEnd) {
+                    moodEventAdapter.removeLastMoodEvents(droppedFromEnd);
+                    moodEventAdapter.prependMoodEvents(moodEvents);
+                    allMoodEvents.clear();
+                    allMoodEvents.addAll(moodPagingSource.getMoodEvents());
+                }
+
+                @Override
+                public void onError(Exception e) {
                     showLoading(false);
-                    Toast.makeText(this, "Error loading posts: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    showEmptyState(true);
-                });
+                    Toast.makeText(UsersProfile.this, "Error loading posts: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    if (allMoodEvents.isEmpty()) {
+                        showEmptyState(true);
+                    }
+                }
+            });
+            moodPagingSource.attachTo(recyclerUserPosts);
+        }
+        moodPagingSource.loadFirstPage();
+    }
+
+    /**
+     * Converts a public mood document of the viewed user into a MoodEvent.
+     *
+     * @param doc The mood document.
+     * @return The MoodEvent.
+     */
+    private MoodEvent toMoodEvent(DocumentSnapshot doc) {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(doc);
+        moodEvent.setDocumentId(doc.getId());
+
+        // Build subtitle
+        StringBuilder subtitle = new StringBuilder();
+        if (moodEvent.getSocialSituation() != null &&
+                !moodEvent.getSocialSituation().isEmpty()) {
+            subtitle.append("Social: ").append(moodEvent.getSocialSituation());
+        }
+        moodEvent.setSubtitle(subtitle.toString());
+        return moodEvent;
     }
 
     /**
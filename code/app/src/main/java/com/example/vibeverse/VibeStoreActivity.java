@@ -25,8 +25,8 @@ import java.util.Set;
 /**
  * VibeStoreActivity displays the available themes in the Vibe Store.
  * <p>
- * It loads the themes from assets, retrieves the user's selected theme and locked themes from Firestore,
- * and sets up the ThemeAdapter to display the themes.
+ * It loads the themes from assets, takes the user's selected theme from {@link UserSession}, loads the
+ * locked themes from Firestore, and sets up the ThemeAdapter to display the themes.
  * </p>
  */
 public class VibeStoreActivity extends AppCompatActivity {
@@ -39,7 +39,14 @@ public class VibeStoreActivity extends AppCompatActivity {
     private Set<String> lockedThemesSet = new HashSet<>();
     private FirebaseFirestore db;
     private FirebaseAuth auth;
-    private String selectedTheme = ""; // initially empty
+    private String selectedTheme = UserSession.DEFAULT_THEME;
+    /** Marks the theme picked through the session as selected. */
+    private final UserSession.ThemeListener themeListener = theme -> {
+        selectedTheme = theme;
+        if (themeAdapter != null) {
+            themeAdapter.updateSelectedTheme(theme);
+        }
+    };
 
     /**
      * Called when the activity is starting.
@@ -62,29 +69,41 @@ public class VibeStoreActivity extends AppCompatActivity {
         // Use a single column layout
         themeRecyclerView.setLayoutManager(new GridLayoutManager(this, 1));
 
-        // First load the user's selected theme from the user document.
+        // Themes are stored on the user document, so a signed-in user is required.
         String userId = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
         if (userId == null) {
             Log.e(TAG, "User is not logged in");
             return;
         }
 
-        db.collection("users").document(userId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        selectedTheme = documentSnapshot.getString("selectedTheme");
-                        if (selectedTheme == null) {
-                            selectedTheme = "";
-                        }
-                    }
-                    themeList = loadThemesFromAssets();
-                    // Now create the adapter with the selected theme.
-                    themeAdapter = new ThemeAdapter(themeList, lockedThemesSet, db, userId, selectedTheme);
-                    themeRecyclerView.setAdapter(themeAdapter);
+        selectedTheme = UserSession.getInstance(this).getSelectedTheme();
+        themeList = loadThemesFromAssets();
+        themeAdapter = new ThemeAdapter(themeList, lockedThemesSet, db, userId, selectedTheme);
+        themeRecyclerView.setAdapter(themeAdapter);
 
-                    loadLockedThemes(userId);
-                })
-                .addOnFailureListener(e -> Log.e(TAG, "Error loading user data", e));
+        loadLockedThemes(userId);
+    }
+
+    /**
+     * Follows theme changes, such as a pick made on another device, while the store is visible.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        UserSession session = UserSession.getInstance(this);
+        session.addThemeListener(themeListener);
+        if (themeAdapter != null && !session.getSelectedTheme().equals(selectedTheme)) {
+            themeListener.onThemeChanged(session.getSelectedTheme());
+        }
+    }
+
+    /**
+     * Stops following theme changes once the store is no longer visible.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        UserSession.getInstance(this).removeThemeListener(themeListener);
     }
 
     /**
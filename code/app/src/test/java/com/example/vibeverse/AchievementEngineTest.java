@@ -0,0 +1,163 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AchievementEngineTest {
+
+    private List<Achievement> achievements;
+    private Map<String, AchievementState> states;
+
+    @Before
+    public void setUp() throws IOException {
+        try (Reader reader = new FileReader("src/main/assets/achievements.json")) {
+            achievements = new Gson().fromJson(reader, AchievementsWrapper.class).getAchievements();
+        }
+        states = new HashMap<>();
+        for (Achievement achievement : achievements) {
+            states.put(achievement.getId(), new AchievementState(0, AchievementState.INCOMPLETE, null));
+        }
+    }
+
+    private static MoodEvent mood(String title, boolean isPublic, int month, int day, int hour) {
+        MoodEvent mood = new MoodEvent("user1", title, "", "", "", isPublic);
+        Calendar cal = Calendar.getInstance();
+        cal.set(2025, month, day, hour, 30, 0);
+        mood.setDate(cal.getTime());
+        return mood;
+    }
+
+    @Test
+    public void testEveryAchievementDeclaresARule() {
+        for (Achievement achievement : achievements) {
+            assertNotNull(achievement.getId() + " has no rule", achievement.getRule());
+        }
+    }
+
+    @Test
+    public void testOneMoodPostUpdatesAllMatchingAchievements() {
+        AchievementEvent event = AchievementEvent.moodPosted(mood("Happy", true, Calendar.MARCH, 3, 12), false);
+        Map<String, AchievementUpdate> updates = AchievementEngine.evaluate(achievements, event, states);
+
+        assertEquals(Arrays.asList("ach1", "ach2", "ach3", "ach4", "ach7", "ach9", "ach10"),
+                new ArrayList<>(updates.keySet()));
+        assertEquals(AchievementState.UNCLAIMED, updates.get("ach1").getStatus());
+        assertNull(updates.get("ach2").getStatus());
+        assertEquals(1, updates.get("ach2").getIncrement());
+        assertEquals("Happy", updates.get("ach9").getUniqueEntity());
+    }
+
+    @Test
+    public void testTimeDateAndLocationConditions() {
+        AchievementEvent event = AchievementEvent.moodPosted(mood("Sad", false, Calendar.OCTOBER, 31, 0), true);
+        Map<String, AchievementUpdate> updates = AchievementEngine.evaluate(achievements, event, states);
+
+        assertTrue(updates.containsKey("ach5"));
+        assertTrue(updates.containsKey("ach6"));
+        assertTrue(updates.containsKey("ach8"));
+        assertTrue(updates.containsKey("ach13"));
+        assertTrue(updates.containsKey("ach20"));
+        assertFalse(updates.containsKey("ach7"));
+        assertFalse(updates.containsKey("ach21"));
+    }
+
+    @Test
+    public void testPendingPhotoCountsAsPhoto() {
+        MoodEvent mood = mood("Happy", true, Calendar.MARCH, 3, 12);
+        assertFalse(AchievementEngine.evaluate(achievements,
+                AchievementEvent.moodPosted(mood, false), states).containsKey("ach22"));
+        assertTrue(AchievementEngine.evaluate(achievements,
+                AchievementEvent.moodPosted(mood, false, true), states).containsKey("ach22"));
+    }
+
+    @Test
+    public void testCompletedAchievementsAreNotCounted() {
+        states.put("ach1", new AchievementState(1, AchievementState.CLAIMED, null));
+        AchievementEvent event = AchievementEvent.moodPosted(mood("Happy", true, Calendar.MARCH, 3, 12), false);
+        assertFalse(AchievementEngine.evaluate(achievements, event, states).containsKey("ach1"));
+    }
+
+    @Test
+    public void testUniqueRuleIgnoresRepeatedTitles() {
+        states.put("ach9", new AchievementState(3, AchievementState.INCOMPLETE,
+                Arrays.asList("Happy", "Sad", "Angry")));
+        AchievementEvent repeat = AchievementEvent.moodPosted(mood("Sad", true, Calendar.MARCH, 3, 12), false);
+        assertFalse(AchievementEngine.evaluate(achievements, repeat, states).containsKey("ach9"));
+
+        AchievementEvent fresh = AchievementEvent.moodPosted(mood("Calm", true, Calendar.MARCH, 3, 12), false);
+        AchievementUpdate update = AchievementEngine.evaluate(achievements, fresh, states).get("ach9");
+        assertEquals(AchievementState.UNCLAIMED, update.getStatus());
+        assertEquals(4, update.applyTo(states.get("ach9")).getProgress());
+    }
+
+    @Test
+    public void testUniqueProgressIsTheNumberOfDistinctTitles() {
+        // Progress drifted ahead of the recorded titles, e.g. from an earlier concurrent update
+        states.put("ach9", new AchievementState(5, AchievementState.INCOMPLETE,
+                Arrays.asList("Happy", "Sad")));
+        AchievementEvent fresh = AchievementEvent.moodPosted(mood("Calm", true, Calendar.MARCH, 3, 12), false);
+        AchievementUpdate update = AchievementEngine.evaluate(achievements, fresh, states).get("ach9");
+
+        assertEquals(Long.valueOf(3), update.getProgress());
+        assertEquals(0, update.getIncrement());
+        AchievementState next = update.applyTo(states.get("ach9"));
+        assertEquals(next.getUniqueEntities().size(), next.getProgress());
+    }
+
+    @Test
+    public void testStreakValueSetsProgressAndKeepsClaimedStatus() {
+        AchievementUpdate update = AchievementEngine.evaluate(achievements,
+                AchievementEvent.streakChanged(7), states).get("ach23");
+        assertEquals(Long.valueOf(7), update.getProgress());
+        assertEquals(AchievementState.UNCLAIMED, update.getStatus());
+
+        states.put("ach23", new AchievementState(7, AchievementState.CLAIMED, null));
+        update = AchievementEngine.evaluate(achievements, AchievementEvent.streakChanged(0), states).get("ach23");
+        assertEquals(Long.valueOf(0), update.getProgress());
+        assertNull(update.getStatus());
+    }
+
+    @Test
+    public void testSocialEventsOnlyMatchTheirRules() {
+        Map<String, AchievementUpdate> updates = AchievementEngine.evaluate(achievements,
+                AchievementEvent.of(AchievementEvent.FOLLOWED), states);
+        assertEquals(Arrays.asList("ach15", "ach16", "ach17"), new ArrayList<>(updates.keySet()));
+    }
+
+    @Test
+    public void testAchievementsWithoutStateAreSkipped() {
+        AchievementEvent event = AchievementEvent.of(AchievementEvent.PROFILE_EDITED);
+        assertTrue(AchievementEngine.evaluate(achievements, event, Collections.emptyMap()).isEmpty());
+    }
+
+    @Test
+    public void testAppliedUpdateAccumulates() {
+        AchievementState state = new AchievementState(2, AchievementState.INCOMPLETE, null);
+        AchievementUpdate update = new AchievementRule(Collections.singletonList(AchievementEvent.COMMENTED),
+                AchievementRule.TYPE_COUNT, null)
+                .evaluate(AchievementEvent.of(AchievementEvent.COMMENTED), state, 3);
+        AchievementState next = update.applyTo(state);
+        assertEquals(3, next.getProgress());
+        assertEquals(AchievementState.UNCLAIMED, next.getStatus());
+        assertNull(update.getProgress());
+    }
+}
@@ -55,4 +55,16 @@ public class CommentTest {
         assertEquals("post002", comment.getPostId());
         assertEquals("newParent", comment.getRepliesTo());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAuthorSnapshot() {
+        assertNull(comment.getAuthorUsername());
+        assertNull(comment.getAuthorProfilePicUri());
+
+        comment.setAuthorUsername("alice");
+        comment.setAuthorProfilePicUri("https://example.com/alice.jpg");
+
+        assertEquals("alice", comment.getAuthorUsername());
+        assertEquals("https://example.com/alice.jpg", comment.getAuthorProfilePicUri());
+    }
+}
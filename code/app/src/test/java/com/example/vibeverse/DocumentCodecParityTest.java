@@ -0,0 +1,85 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.firebase.Timestamp;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Checks that {@link DocumentCodec#decodeMoodEvent(Map)} decodes mood documents exactly like
+ * {@link MoodEvent#fromMap(Map)}. Their relative speed is measured by MoodEventCodecBenchmark
+ * in the benchmark module.
+ * <p>
+ * Runs under Robolectric because fromMap calls Log and Uri.
+ * </p>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class DocumentCodecParityTest {
+
+    private static final int DOCUMENTS = 64;
+
+    /**
+     * Builds a mood document like those written by SelectMoodActivity; one in four has a photo.
+     *
+     * @param i The index of the document.
+     * @return The document's fields.
+     */
+    private static Map<String, Object> syntheticMoodData(int i) {
+        String[] moods = {"Happy", "Sad", "Angry", "Surprised", "Afraid", "Disgusted", "Confused", "Shameful"};
+        Map<String, Object> data = new HashMap<>();
+        long created = 1700000000000L + i * 60_000L;
+        data.put("emoji", "😄");
+        data.put("mood", moods[i % moods.length]);
+        data.put("socialSituation", i % 3 == 0 ? "Alone" : "With friends");
+        data.put("reasonWhy", "reason " + i);
+        data.put("ownerUserId", "user" + (i % 50));
+        data.put("isPublic", i % 2 == 0);
+        data.put("timestamp", String.format(Locale.getDefault(), "Mar %02d, 2025 - 10:%02d AM", i % 28 + 1, i % 60));
+        data.put(MoodEvent.FIELD_CREATED_AT, new Timestamp(new Date(created)));
+        data.put("intensity", (long) (i % 10 + 1));
+        data.put("username", "user" + (i % 50));
+        data.put("profilePicUri", "https://example.com/u" + (i % 50) + ".jpg");
+        boolean hasPhoto = i % 4 == 0;
+        data.put("hasPhoto", hasPhoto);
+        if (hasPhoto) {
+            data.put("photoUri", "https://example.com/p" + i + ".jpg");
+            data.put("photoDateTaken", created);
+            data.put("photoLocation", "Edmonton");
+            data.put("photoSizeKB", 250L);
+        }
+        return data;
+    }
+
+    @Test
+    public void testCodecMatchesFromMap() {
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Map<String, Object> data = syntheticMoodData(i);
+            MoodEvent expected = MoodEvent.fromMap(data);
+            MoodEvent actual = DocumentCodec.decodeMoodEvent(data);
+            assertEquals(expected.getMoodTitle(), actual.getMoodTitle());
+            assertEquals(expected.getEmoji(), actual.getEmoji());
+            assertEquals(expected.getReasonWhy(), actual.getReasonWhy());
+            assertEquals(expected.getSocialSituation(), actual.getSocialSituation());
+            assertEquals(expected.getOwnerUserId(), actual.getOwnerUserId());
+            assertEquals(expected.isPublic(), actual.isPublic());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getDate(), actual.getDate());
+            assertEquals(expected.getIntensity(), actual.getIntensity());
+            assertEquals(expected.getUsername(), actual.getUsername());
+            assertEquals(expected.getPhotoUri(), actual.getPhotoUri());
+            assertEquals(expected.getPhotoSize(), actual.getPhotoSize());
+            assertEquals(expected.getPhotoDate(), actual.getPhotoDate());
+            assertEquals(expected.getPhotoLocation(), actual.getPhotoLocation());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.firebase.Timestamp;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DocumentCodecTest {
+
+    private Map<String, Object> moodData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("emoji", "😄");
+        data.put("mood", "Happy");
+        data.put("socialSituation", "With friends");
+        data.put("reasonWhy", "Sunny day");
+        data.put("ownerUserId", "user123");
+        data.put("isPublic", true);
+        data.put("timestamp", "Mar 01, 2025 - 10:30 AM");
+        data.put("intensity", 8L);
+        data.put("hasPhoto", false);
+        return data;
+    }
+
+    @Test
+    public void testDecodeMoodEventFields() {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(moodData());
+
+        assertEquals("😄", moodEvent.getEmoji());
+        assertEquals("Happy", moodEvent.getMoodTitle());
+        assertEquals("With friends", moodEvent.getSocialSituation());
+        assertEquals("Sunny day", moodEvent.getReasonWhy());
+        assertEquals("user123", moodEvent.getOwnerUserId());
+        assertTrue(moodEvent.isPublic());
+        assertEquals(8, moodEvent.getIntensity());
+        assertEquals("N/A", moodEvent.getPhotoUri());
+    }
+
+    @Test
+    public void testDecodeMoodEventNormalizesLegacyMoodTitle() {
+        Map<String, Object> data = moodData();
+        data.put("mood", "Fear");
+
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(data);
+        assertEquals("Afraid", moodEvent.getMoodTitle());
+        assertEquals(Mood.AFRAID, moodEvent.getMood());
+        assertEquals("Afraid", MoodEvent.fromMap(data).getMoodTitle());
+    }
+
+    @Test
+    public void testDecodeMoodEventPrefersCreatedAt() {
+        Map<String, Object> data = moodData();
+        Date createdAt = new Date(1700000000000L);
+        data.put(MoodEvent.FIELD_CREATED_AT, new Timestamp(createdAt));
+
+        assertEquals(createdAt, DocumentCodec.decodeMoodEvent(data).getDate());
+    }
+
+    @Test
+    public void testDecodeMoodEventFallsBackToLegacyTimestamp() {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(moodData());
+        assertEquals(MoodEvent.parseLegacyTimestamp("Mar 01, 2025 - 10:30 AM"), moodEvent.getDate());
+    }
+
+    @Test
+    public void testDecodeMoodEventMissingFieldsUseDefaults() {
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(new HashMap<>());
+        assertFalse(moodEvent.isPublic());
+        assertEquals(5, moodEvent.getIntensity());
+        assertNull(moodEvent.getDate());
+        assertNull(DocumentCodec.decodeMoodEvent((Map<String, Object>) null));
+    }
+
+    @Test
+    public void testDecodeMoodEventPhotographIsLazy() {
+        Map<String, Object> data = moodData();
+        data.put("hasPhoto", true);
+        data.put("photoUri", "https://example.com/photo.jpg");
+        data.put("photoDateTaken", 1700000000000L);
+        data.put("photoLocation", "Edmonton");
+        data.put("photoSizeKB", 120L);
+
+        MoodEvent moodEvent = DocumentCodec.decodeMoodEvent(data);
+
+        assertEquals("https://example.com/photo.jpg", moodEvent.getPhotoUri());
+        assertEquals(120L, moodEvent.getPhotoSize());
+        assertEquals("Edmonton", moodEvent.getPhotoLocation());
+        assertEquals(new Date(1700000000000L), moodEvent.getPhotoDate());
+    }
+
+    @Test
+    public void testDecodeMoodEventSkipsPlaceholderPhoto() {
+        Map<String, Object> data = moodData();
+        data.put("hasPhoto", true);
+        data.put("photoUri", "N/A");
+
+        assertNull(DocumentCodec.decodeMoodEvent(data).getPhotograph());
+    }
+
+    @Test
+    public void testDecodeComment() {
+        Map<String, Object> data = new HashMap<>();
+        Date posted = new Date(1700000000000L);
+        data.put("commentId", "c1");
+        data.put("content", "Nice!");
+        data.put("authorUserId", "user123");
+        data.put("timestamp", new Timestamp(posted));
+        data.put("postId", "p1");
+        data.put("repliesTo", "N/A");
+        data.put("authorUsername", "alice");
+
+        Comment comment = DocumentCodec.decodeComment(data);
+
+        assertEquals("c1", comment.getCommentId());
+        assertEquals("Nice!", comment.getContent());
+        assertEquals("user123", comment.getAuthorUserId());
+        assertEquals(posted, comment.getTimestamp());
+        assertEquals("p1", comment.getPostId());
+        assertEquals("N/A", comment.getRepliesTo());
+        assertEquals("alice", comment.getAuthorUsername());
+        assertNull(comment.getAuthorProfilePicUri());
+    }
+
+    @Test
+    public void testDecodeNotification() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", "n1");
+        data.put("notifType", "FOLLOW_REQUEST");
+        data.put("senderUserId", "sender");
+        data.put("receiverUserId", "receiver");
+        data.put("isRead", true);
+        data.put("requestStatus", "pending");
+        data.put("dateTime", "2025-03-01T10:30");
+
+        Notification notification = DocumentCodec.decodeNotification(data);
+
+        assertEquals("n1", notification.getId());
+        assertEquals(Notification.NotifType.FOLLOW_REQUEST, notification.getNotifType());
+        assertEquals("sender", notification.getSenderUserId());
+        assertEquals("receiver", notification.getReceiverUserId());
+        assertTrue(notification.isRead());
+        assertEquals("pending", notification.getRequestStatus());
+        assertEquals("2025-03-01T10:30", notification.getDateTime());
+    }
+
+    @Test
+    public void testDecodeNotificationCreatedAt() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("notifType", "POST_LIKED");
+        data.put(Notification.FIELD_CREATED_AT, new Timestamp(new Date(1740825000000L)));
+
+        assertEquals(new Date(1740825000000L), DocumentCodec.decodeNotification(data).getCreatedAt());
+
+        data.remove(Notification.FIELD_CREATED_AT);
+        assertNull(DocumentCodec.decodeNotification(data).getCreatedAt());
+    }
+
+    @Test
+    public void testDecodeNotificationUnknownType() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("notifType", "SOMETHING_NEW");
+        assertNull(DocumentCodec.decodeNotification(data).getNotifType());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class EmojiDrawablesTest {
+
+    @Test
+    public void testTableMatchesResourceNames() throws Exception {
+        for (String theme : EmojiDrawables.THEMES) {
+            for (Mood mood : Mood.values()) {
+                String name = mood.getEmojiResourceName(theme);
+                int expected = R.drawable.class.getField(name).getInt(null);
+                assertEquals(name, expected, EmojiDrawables.get(mood, theme));
+            }
+        }
+    }
+
+    @Test
+    public void testEveryStoreThemeHasARow() throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get("src/main/assets/themes.json")),
+                StandardCharsets.UTF_8);
+        List<String> themes = Arrays.asList(EmojiDrawables.THEMES);
+        Matcher matcher = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"").matcher(json);
+        int count = 0;
+        while (matcher.find()) {
+            assertTrue(matcher.group(1), themes.contains(matcher.group(1)));
+            count++;
+        }
+        assertEquals(themes.size(), count);
+    }
+
+    @Test
+    public void testThemeIsCaseInsensitive() {
+        assertEquals(R.drawable.emoji_sad_clown, EmojiDrawables.get(Mood.SAD, "Clown"));
+        assertEquals(R.drawable.emoji_sad_clown, EmojiDrawables.get("sad", "CLOWN"));
+    }
+
+    @Test
+    public void testUnknownThemeFallsBackToDefault() {
+        assertEquals(R.drawable.emoji_happy_default, EmojiDrawables.get(Mood.HAPPY, "vaporwave"));
+        assertEquals(R.drawable.emoji_happy_default, EmojiDrawables.get(Mood.HAPPY, null));
+    }
+
+    @Test
+    public void testLegacyTitlesResolveAndUnknownMoodsHaveNoDrawable() {
+        assertEquals(R.drawable.emoji_afraid_ghost, EmojiDrawables.get("Fear", "ghost"));
+        assertEquals(0, EmojiDrawables.get("Bored", "ghost"));
+        assertEquals(0, EmojiDrawables.get((Mood) null, "ghost"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class FeedMergerTest {
+
+    private List<Integer> ready;
+    private List<int[]> inserts;
+    private FeedMerger.Listener<Integer> listener;
+
+    /** Feed order used by the tests: largest (newest) first. */
+    private static final Comparator<Integer> NEWEST_FIRST = Comparator.reverseOrder();
+
+    @Before
+    public void setUp() {
+        ready = null;
+        inserts = new ArrayList<>();
+        listener = new FeedMerger.Listener<Integer>() {
+            @Override
+            public void onFeedReady(List<Integer> items) {
+                ready = new ArrayList<>(items);
+            }
+
+            @Override
+            public void onItemInserted(int position, Integer item) {
+                inserts.add(new int[]{position, item});
+            }
+        };
+    }
+
+    @Test
+    public void testWaitsForAllSourcesBeforeEmitting() {
+        FeedMerger<Integer> merger = new FeedMerger<>(3, NEWEST_FIRST, listener);
+        merger.addSource(Arrays.asList(9, 4, 1));
+        merger.addSource(Arrays.asList(8, 7));
+        assertNull(ready);
+        assertFalse(merger.isComplete());
+
+        merger.addSource(Arrays.asList(10, 5, 2));
+        assertTrue(merger.isComplete());
+        assertEquals(Arrays.asList(10, 9, 8, 7, 5, 4, 2, 1), ready);
+    }
+
+    @Test
+    public void testFlushEmitsReportedSourcesAndInsertsLateOnes() {
+        FeedMerger<Integer> merger = new FeedMerger<>(2, NEWEST_FIRST, listener);
+        merger.addSource(Arrays.asList(9, 5, 1));
+        merger.flush();
+        assertEquals(Arrays.asList(9, 5, 1), ready);
+
+        merger.addSource(Arrays.asList(10, 3));
+        assertEquals(2, inserts.size());
+        assertEquals(0, inserts.get(0)[0]);
+        assertEquals(10, inserts.get(0)[1]);
+        // After 10 was inserted the feed is 10, 9, 5, 1, so 3 goes before 1
+        assertEquals(3, inserts.get(1)[0]);
+        assertEquals(3, inserts.get(1)[1]);
+    }
+
+    @Test
+    public void testFlushAfterEmitDoesNothing() {
+        FeedMerger<Integer> merger = new FeedMerger<>(1, NEWEST_FIRST, listener);
+        merger.addSource(Collections.singletonList(1));
+        ready = null;
+        merger.flush();
+        assertNull(ready);
+    }
+
+    @Test
+    public void testEmptySourcesStillCountAsReported() {
+        FeedMerger<Integer> merger = new FeedMerger<>(2, NEWEST_FIRST, listener);
+        merger.addSource(new ArrayList<>());
+        merger.addSource(new ArrayList<>());
+        assertEquals(new ArrayList<Integer>(), ready);
+    }
+
+    @Test
+    public void testEqualItemsKeepArrivalOrder() {
+        FeedMerger<Integer> merger = new FeedMerger<>(2, NEWEST_FIRST, listener);
+        merger.addSource(Arrays.asList(5, 5));
+        merger.flush();
+        merger.addSource(Collections.singletonList(5));
+        assertEquals(2, inserts.get(0)[0]);
+    }
+}
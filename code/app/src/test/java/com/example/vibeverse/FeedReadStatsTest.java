@@ -0,0 +1,52 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FeedReadStatsTest {
+
+    private FeedReadStats stats;
+
+    @Before
+    public void setUp() {
+        stats = new FeedReadStats();
+    }
+
+    @Test
+    public void testAmplificationIsZeroBeforeAnythingIsShown() {
+        stats.recordRead(10);
+        assertEquals(0.0, stats.getReadAmplification(), 0.0001);
+    }
+
+    @Test
+    public void testCountersAccumulate() {
+        stats.recordRead(3);
+        stats.recordRead(3);
+        stats.recordShown(2);
+        stats.recordShown(4);
+
+        assertEquals(6, stats.getDocumentsRead());
+        assertEquals(6, stats.getDocumentsShown());
+        assertEquals(1.0, stats.getReadAmplification(), 0.0001);
+    }
+
+    @Test
+    public void testAmplificationReflectsUnshownReads() {
+        stats.recordRead(40);
+        stats.recordShown(10);
+        assertEquals(4.0, stats.getReadAmplification(), 0.0001);
+    }
+
+    @Test
+    public void testResetClearsCounters() {
+        stats.recordRead(5);
+        stats.recordShown(5);
+        stats.reset();
+
+        assertEquals(0, stats.getDocumentsRead());
+        assertEquals(0, stats.getDocumentsShown());
+        assertEquals("read=0 shown=0 amplification=0.00", stats.toString());
+    }
+}
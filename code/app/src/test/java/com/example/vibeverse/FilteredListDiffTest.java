@@ -0,0 +1,90 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FilteredListDiffTest {
+
+    private static final List<String> SOURCE = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+    /**
+     * Applies the dispatched updates to a copy of the shown rows, as a RecyclerView would.
+     */
+    private static class ApplyingCallback implements ListUpdateCallback {
+        final List<String> rows;
+        final List<String> pending;
+        int calls;
+
+        ApplyingCallback(List<String> before, List<String> after) {
+            this.rows = new ArrayList<>(before);
+            this.pending = after;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            calls++;
+            // Insert the rows of the new list that belong at this position
+            for (int i = 0; i < count; i++) {
+                rows.add(position + i, pending.get(position + i));
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            calls++;
+            rows.subList(position, position + count).clear();
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            throw new AssertionError("Filtered views never move rows");
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            throw new AssertionError("Filtered views never change rows");
+        }
+    }
+
+    private static ApplyingCallback diff(List<String> before, List<String> after) {
+        ApplyingCallback callback = new ApplyingCallback(before, after);
+        assertTrue(FilteredListDiff.dispatch(SOURCE, before, after, callback));
+        assertEquals(after, callback.rows);
+        return callback;
+    }
+
+    @Test
+    public void testNarrowingAndWidening() {
+        assertEquals(2, diff(SOURCE, Arrays.asList("b", "c", "f")).calls);
+        assertEquals(2, diff(Arrays.asList("b", "c", "f"), SOURCE).calls);
+    }
+
+    @Test
+    public void testInterleavedChangesAreMergedIntoRanges() {
+        ApplyingCallback callback = diff(Arrays.asList("a", "b", "e"), Arrays.asList("c", "d", "e", "f"));
+        // Remove a-b, insert c-d, insert f
+        assertEquals(3, callback.calls);
+    }
+
+    @Test
+    public void testEmptyViews() {
+        assertEquals(0, diff(new ArrayList<>(), new ArrayList<>()).calls);
+        assertEquals(1, diff(new ArrayList<>(), Arrays.asList("a", "f")).calls);
+        assertEquals(1, diff(Arrays.asList("c", "d"), new ArrayList<>()).calls);
+    }
+
+    @Test
+    public void testViewsOutOfSourceOrderAreReported() {
+        ApplyingCallback callback = new ApplyingCallback(Arrays.asList("c", "a"), Arrays.asList("a"));
+        assertFalse(FilteredListDiff.dispatch(SOURCE, Arrays.asList("c", "a"), Arrays.asList("a"), callback));
+    }
+}
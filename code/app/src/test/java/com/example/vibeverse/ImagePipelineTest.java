@@ -0,0 +1,21 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ImagePipelineTest {
+
+    @Test
+    public void testSmallImageIsNotSubsampled() {
+        assertEquals(1, ImagePipeline.calculateInSampleSize(800, 600, 1280));
+        assertEquals(1, ImagePipeline.calculateInSampleSize(2559, 1440, 1280));
+    }
+
+    @Test
+    public void testLargeImageUsesPowerOfTwoSampleSize() {
+        // 12MP: 4000 / 2 = 2000 and 4000 / 4 = 1000, so 2 keeps the long edge above 1280.
+        assertEquals(2, ImagePipeline.calculateInSampleSize(4000, 3000, 1280));
+        assertEquals(4, ImagePipeline.calculateInSampleSize(3000, 6000, 1280));
+    }
+}
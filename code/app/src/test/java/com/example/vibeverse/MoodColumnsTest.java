@@ -0,0 +1,92 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+
+public class MoodColumnsTest {
+
+    private static final long NOW = new Date().getTime();
+
+    private static Date daysAgo(int days) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(NOW);
+        cal.add(Calendar.DAY_OF_YEAR, -days);
+        return cal.getTime();
+    }
+
+    private static MoodStats stats(Object... titleAndDaysAgo) {
+        MoodStats stats = new MoodStats();
+        for (int i = 0; i < titleAndDaysAgo.length; i += 2) {
+            stats.add((String) titleAndDaysAgo[i], MoodStreak.dayOf(daysAgo((Integer) titleAndDaysAgo[i + 1])),
+                    null, false, 1);
+        }
+        return stats;
+    }
+
+    @Test
+    public void testRowsAreOnePerDayAndMood() {
+        MoodColumns columns = MoodColumns.fromStats(stats("Happy", 0, "Happy", 0, "Sad", 0, "Sad", 3, "Unknown", 1));
+        assertEquals(3, columns.size());
+    }
+
+    @Test
+    public void testHistogramOnlyCountsTheRange() {
+        MoodColumns columns = MoodColumns.fromStats(stats("Happy", 0, "Happy", 6, "Sad", 7));
+        long[] week = MoodColumns.dayBoundaries(6, NOW);
+        int[] counts = new int[MoodColumns.MOOD_COUNT];
+
+        columns.histogram(week[0], week[week.length - 1], counts);
+        assertEquals(2, counts[Mood.HAPPY.ordinal()]);
+        assertEquals(0, counts[Mood.SAD.ordinal()]);
+
+        long[] twoWeeks = MoodColumns.dayBoundaries(13, NOW);
+        columns.histogram(twoWeeks[0], twoWeeks[twoWeeks.length - 1], counts);
+        assertEquals(1, counts[Mood.SAD.ordinal()]);
+    }
+
+    @Test
+    public void testCountFillsDailyAndTotalInOnePass() {
+        MoodColumns columns = MoodColumns.fromStats(stats("Happy", 0, "Angry", 0, "Angry", 2, "Sad", 5));
+        long[] boundaries = MoodColumns.dayBoundaries(2, NOW);
+        int[][] daily = new int[3][MoodColumns.MOOD_COUNT];
+        int[] total = new int[MoodColumns.MOOD_COUNT];
+
+        columns.count(boundaries, daily, total);
+        assertEquals(1, daily[0][Mood.ANGRY.ordinal()]);
+        assertEquals(0, daily[1][Mood.ANGRY.ordinal()]);
+        assertEquals(1, daily[2][Mood.HAPPY.ordinal()]);
+        assertEquals(1, daily[2][Mood.ANGRY.ordinal()]);
+        assertEquals(2, total[Mood.ANGRY.ordinal()]);
+        assertEquals(0, total[Mood.SAD.ordinal()]);
+        assertEquals(Mood.ANGRY.ordinal(), MoodColumns.topMood(total));
+    }
+
+    @Test
+    public void testCountResetsReusedArrays() {
+        int[][] daily = new int[1][MoodColumns.MOOD_COUNT];
+        int[] total = new int[MoodColumns.MOOD_COUNT];
+        daily[0][0] = 5;
+        total[0] = 5;
+        MoodColumns.EMPTY.count(MoodColumns.dayBoundaries(0, NOW), daily, total);
+        assertArrayEquals(new int[MoodColumns.MOOD_COUNT], daily[0]);
+        assertArrayEquals(new int[MoodColumns.MOOD_COUNT], total);
+        assertEquals(-1, MoodColumns.topMood(total));
+    }
+
+    @Test
+    public void testDayBoundariesStartAtMidnight() {
+        long[] boundaries = MoodColumns.dayBoundaries(2, NOW);
+        assertEquals(4, boundaries.length);
+        assertEquals(MoodStreak.dayOf(daysAgo(2)), MoodStreak.dayOf(new Date(boundaries[0])));
+        assertEquals(MoodStreak.dayOf(new Date(NOW)), MoodStreak.dayOf(new Date(boundaries[2])));
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(boundaries[1]);
+        assertEquals(0, cal.get(Calendar.HOUR_OF_DAY));
+        assertEquals(0, cal.get(Calendar.MINUTE));
+    }
+}
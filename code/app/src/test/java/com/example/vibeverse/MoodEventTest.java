@@ -5,7 +5,10 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.firebase.Timestamp;
+
 import java.util.Date;
+import java.util.Map;
 
 public class MoodEventTest {
 
@@ -28,4 +31,28 @@ public class MoodEventTest {
         assertEquals(5, moodEvent.getIntensity());
         assertNotNull(moodEvent.getDate());
     }
+
+    @Test
+    public void testToMapIncludesCreatedAt() {
+        Map<String, Object> map = moodEvent.toMap();
+        assertEquals(new Timestamp(moodEvent.getDate()), map.get(MoodEvent.FIELD_CREATED_AT));
+        assertEquals(moodEvent.getTimestamp(), map.get("timestamp"));
+    }
+
+    @Test
+    public void testToMapWithoutDateOmitsCreatedAt() {
+        moodEvent.setDate(null);
+        assertFalse(moodEvent.toMap().containsKey(MoodEvent.FIELD_CREATED_AT));
+    }
+
+    @Test
+    public void testParseLegacyTimestamp() {
+        Date parsed = MoodEvent.parseLegacyTimestamp(moodEvent.getTimestamp());
+        assertNotNull(parsed);
+        // The string has minute precision, so the parsed date is within two minutes of now
+        assertTrue(Math.abs(System.currentTimeMillis() - parsed.getTime()) < 2 * 60 * 1000);
+
+        assertNull(MoodEvent.parseLegacyTimestamp("not a timestamp"));
+        assertNull(MoodEvent.parseLegacyTimestamp(null));
+    }
 }
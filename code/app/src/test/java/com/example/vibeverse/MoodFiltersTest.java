@@ -0,0 +1,90 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+public class MoodFiltersTest {
+
+    private static final long NOW = 1_740_000_000_000L;
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    private MoodEvent happyRecent;
+    private MoodEvent sadTwoDaysAgo;
+    private MoodEvent angryLastMonth;
+    private List<MoodEvent> moodEvents;
+
+    private MoodEvent mood(String title, String reason, long age) {
+        MoodEvent moodEvent = new MoodEvent("user123", title, "", reason, "Alone", true);
+        moodEvent.setDate(new Date(NOW - age));
+        return moodEvent;
+    }
+
+    @Before
+    public void setUp() {
+        happyRecent = mood("Happy", "Coffee with friends", HOUR);
+        sadTwoDaysAgo = mood("Sad", "Exam results", 48 * HOUR);
+        angryLastMonth = mood("Angry", null, 20 * 24 * HOUR);
+        moodEvents = Arrays.asList(happyRecent, sadTwoDaysAgo, angryLastMonth);
+    }
+
+    @Test
+    public void testNoSelectionMatchesEveryMood() {
+        List<MoodEvent> filtered = MoodFilters.filter(moodEvents, "all",
+                false, false, false, false, false, false, false, false, NOW);
+        assertEquals(moodEvents, filtered);
+    }
+
+    @Test
+    public void testTimeWindow() {
+        List<MoodEvent> filtered = MoodFilters.filter(moodEvents, "3Days",
+                false, false, false, false, false, false, false, false, NOW);
+        assertEquals(Arrays.asList(happyRecent, sadTwoDaysAgo), filtered);
+    }
+
+    @Test
+    public void testMoodSelection() {
+        List<MoodEvent> filtered = MoodFilters.filter(moodEvents, "all",
+                false, true, true, false, false, false, false, false, NOW);
+        assertEquals(Arrays.asList(sadTwoDaysAgo, angryLastMonth), filtered);
+    }
+
+    @Test
+    public void testMoodSelectionMatchesLegacyTitles() {
+        MoodEvent legacy = mood("FEAR", null, HOUR);
+        List<MoodEvent> filtered = MoodFilters.filter(Arrays.asList(legacy, happyRecent), "all",
+                false, false, false, false, true, false, false, false, NOW);
+        assertEquals(Arrays.asList(legacy), filtered);
+    }
+
+    @Test
+    public void testSince() {
+        assertEquals(Arrays.asList(happyRecent), MoodFilters.since(moodEvents, 1, NOW));
+        assertEquals(moodEvents, MoodFilters.since(moodEvents, 30, NOW));
+    }
+
+    @Test
+    public void testMatchesQuery() {
+        assertTrue(MoodFilters.matchesQuery(happyRecent, "coffee"));
+        assertTrue(MoodFilters.matchesQuery(angryLastMonth, ""));
+        assertFalse(MoodFilters.matchesQuery(sadTwoDaysAgo, "coffee"));
+        assertFalse(MoodFilters.matchesQuery(angryLastMonth, "coffee"));
+    }
+
+    @Test
+    public void testCountByMood() {
+        HashMap<String, Integer> counts = MoodFilters.countByMood(
+                Arrays.asList(happyRecent, sadTwoDaysAgo, happyRecent));
+        assertEquals(Integer.valueOf(2), counts.get("Happy"));
+        assertEquals(Integer.valueOf(1), counts.get("Sad"));
+        assertEquals(2, counts.size());
+    }
+}
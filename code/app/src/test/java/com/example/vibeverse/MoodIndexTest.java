@@ -0,0 +1,99 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class MoodIndexTest {
+
+    private static final long NOW = 1_740_000_000_000L;
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    private MoodEvent happyRecent;
+    private MoodEvent sadTwoDaysAgo;
+    private MoodEvent angryLastMonth;
+    private MoodEvent undated;
+    private List<MoodEvent> moodEvents;
+
+    private MoodEvent mood(String title, String reason, String social, long age) {
+        MoodEvent moodEvent = new MoodEvent("user123", title, "", reason, social, true);
+        moodEvent.setDate(new Date(NOW - age));
+        return moodEvent;
+    }
+
+    @Before
+    public void setUp() {
+        happyRecent = mood("Happy", "Coffee with friends", "With friends", HOUR);
+        sadTwoDaysAgo = mood("Sad", "Exam results", "Alone", 48 * HOUR);
+        angryLastMonth = mood("Angry", null, "Alone", 20 * 24 * HOUR);
+        undated = new MoodEvent("user123", "Happy", "", "", "Alone", true);
+        // Out of time order on purpose
+        moodEvents = Arrays.asList(sadTwoDaysAgo, undated, angryLastMonth, happyRecent);
+    }
+
+    @Test
+    public void testAllReturnsDatedEventsNewestFirst() {
+        MoodIndex index = MoodIndex.of(moodEvents);
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(happyRecent, sadTwoDaysAgo, angryLastMonth),
+                index.filter(MoodFilter.ALL, NOW));
+    }
+
+    @Test
+    public void testMatchesTheLinearScan() {
+        MoodIndex index = MoodIndex.of(moodEvents);
+        String[] timeFilters = {"last_24_hours", "3Days", "last_week", "last_month", "all_time"};
+        for (String timeFilter : timeFilters) {
+            for (int mask = 0; mask < 8; mask++) {
+                boolean happy = (mask & 1) != 0;
+                boolean sad = (mask & 2) != 0;
+                boolean angry = (mask & 4) != 0;
+                List<MoodEvent> expected = new ArrayList<>(MoodFilters.filter(moodEvents, timeFilter,
+                        happy, sad, angry, false, false, false, false, false, NOW));
+                List<MoodEvent> actual = index.filter(MoodFilter.fromSelection(timeFilter,
+                        happy, sad, angry, false, false, false, false, false), NOW);
+                expected.sort(Collections.reverseOrder((a, b) -> a.getDate().compareTo(b.getDate())));
+                assertEquals(timeFilter + " " + mask, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testReasonAndSocialSituation() {
+        MoodIndex index = MoodIndex.of(moodEvents);
+        MoodFilter byReason = new MoodFilter.Builder().reasonContains(" EXAM ").build();
+        assertEquals(Arrays.asList(sadTwoDaysAgo), index.filter(byReason, NOW));
+
+        MoodFilter bySocial = new MoodFilter.Builder().socialSituation("alone").timeFilter("last_week").build();
+        assertEquals(Arrays.asList(sadTwoDaysAgo), index.filter(bySocial, NOW));
+    }
+
+    @Test
+    public void testCountSinceCutoff() {
+        MoodIndex index = MoodIndex.of(moodEvents);
+        assertEquals(0, index.countSince(NOW));
+        assertEquals(1, index.countSince(NOW - HOUR));
+        assertEquals(2, index.countSince(NOW - 3 * 24 * HOUR));
+        assertEquals(3, index.countSince(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testIsIndexOfComparesEvents() {
+        MoodIndex index = MoodIndex.of(moodEvents);
+        assertTrue(index.isIndexOf(new ArrayList<>(moodEvents)));
+
+        List<MoodEvent> replaced = new ArrayList<>(moodEvents);
+        replaced.set(0, mood("Sad", "Exam results", "Alone", 48 * HOUR));
+        assertFalse(index.isIndexOf(replaced));
+        assertFalse(index.isIndexOf(moodEvents.subList(0, 3)));
+    }
+}
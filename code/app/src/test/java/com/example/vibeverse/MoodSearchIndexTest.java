@@ -0,0 +1,104 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class MoodSearchIndexTest {
+
+    private MoodSearchIndex index;
+    private MoodEvent coffee;
+    private MoodEvent exam;
+    private MoodEvent park;
+    private List<MoodEvent> moodEvents;
+
+    private MoodEvent mood(String reason, String social, String location) {
+        MoodEvent moodEvent = new MoodEvent("user123", "Happy", "", reason, social, true);
+        moodEvent.setMoodLocation(location);
+        return moodEvent;
+    }
+
+    @Before
+    public void setUp() {
+        coffee = mood("Coffee with friends", "With friends", null);
+        exam = mood("Exam results", "Alone", "Library");
+        park = mood(null, "With a crowd", "Central Park");
+        moodEvents = Arrays.asList(coffee, exam, park);
+        index = new MoodSearchIndex();
+        index.addAll(moodEvents);
+    }
+
+    @Test
+    public void testPrefixAndSubstringQueries() {
+        assertEquals(Arrays.asList(coffee), index.filter(moodEvents, "cof"));
+        assertEquals(Arrays.asList(coffee), index.filter(moodEvents, "ee with"));
+        assertEquals(Arrays.asList(exam), index.filter(moodEvents, "sult"));
+        assertEquals(Arrays.asList(exam), index.filter(moodEvents, "x"));
+        assertEquals(Collections.emptyList(), index.filter(moodEvents, "tea"));
+    }
+
+    @Test
+    public void testSearchesSocialSituationAndLocation() {
+        assertEquals(Arrays.asList(exam), index.filter(moodEvents, "alone"));
+        assertEquals(Arrays.asList(exam), index.filter(moodEvents, "library"));
+        assertEquals(Arrays.asList(park), index.filter(moodEvents, "central park"));
+        assertEquals(Arrays.asList(coffee, park), index.filter(moodEvents, "with"));
+    }
+
+    @Test
+    public void testQueriesDoNotSpanFields() {
+        // "results" is followed by "alone" in exam's text, in separate fields
+        assertEquals(Collections.emptyList(), index.filter(moodEvents, "results alone"));
+        assertEquals(Collections.emptyList(), index.filter(moodEvents, "sa"));
+    }
+
+    @Test
+    public void testEmptyQueryMatchesEverything() {
+        assertEquals(moodEvents, index.filter(moodEvents, ""));
+        assertTrue(index.matches(park, ""));
+    }
+
+    @Test
+    public void testRemovedEventsNoLongerMatch() {
+        index.remove(coffee);
+        assertEquals(2, index.size());
+        assertFalse(index.search("coffee").get(0));
+        assertEquals(Arrays.asList(park), index.filter(Arrays.asList(exam, park), "with"));
+    }
+
+    @Test
+    public void testMatchesBruteForceAcrossRemovalsAndCompaction() {
+        Random random = new Random(7);
+        String[] words = {"coffee", "exam", "park", "friends", "rain", "bus", "work", "late", "sun"};
+        MoodSearchIndex randomIndex = new MoodSearchIndex();
+        List<MoodEvent> live = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String reason = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            MoodEvent moodEvent = mood(reason, random.nextBoolean() ? "Alone" : "With friends", null);
+            randomIndex.add(moodEvent);
+            live.add(moodEvent);
+            if (random.nextInt(3) == 0) {
+                randomIndex.remove(live.remove(random.nextInt(live.size())));
+            }
+        }
+        String[] queries = {"c", "ex", "ark", "rain bus", "un", "k l", "alone", "friends", "zzz"};
+        for (String query : queries) {
+            List<MoodEvent> expected = new ArrayList<>();
+            for (MoodEvent moodEvent : live) {
+                if (MoodSearchIndex.textOf(moodEvent).contains(query)) {
+                    expected.add(moodEvent);
+                }
+            }
+            assertEquals(query, expected, randomIndex.filter(live, query));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+
+public class MoodStatsTest {
+
+    private static Date daysAgo(Date now, int days) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(now);
+        cal.add(Calendar.DAY_OF_YEAR, -days);
+        return cal.getTime();
+    }
+
+    private static MoodEvent mood(String title, String social, Date date) {
+        MoodEvent mood = new MoodEvent("user1", title, "", "", social, true);
+        mood.setDate(date);
+        return mood;
+    }
+
+    @Test
+    public void testFromMoodsCountsEveryDimension() {
+        Date now = new Date();
+        MoodStats stats = MoodStats.fromMoods(Arrays.asList(
+                mood("Happy", "Alone", now),
+                mood("Happy", "With a crowd", daysAgo(now, 1)),
+                mood("Sad", "Alone", now)));
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(Long.valueOf(2), stats.getByMood().get("Happy"));
+        assertEquals(Long.valueOf(2), stats.getBySocial().get("Alone"));
+        assertEquals(2, stats.getByDay().get(MoodStreak.dayOf(now)).size());
+        assertEquals(0, stats.getPhotos());
+    }
+
+    @Test
+    public void testEditDeltaMovesCountsBetweenMoods() {
+        Date now = new Date();
+        MoodStats delta = MoodStats.delta(mood("Happy", "Alone", now), mood("Sad", "Alone", now));
+
+        assertEquals(0, delta.getTotal());
+        assertEquals(Long.valueOf(-1), delta.getByMood().get("Happy"));
+        assertEquals(Long.valueOf(1), delta.getByMood().get("Sad"));
+        assertEquals(Long.valueOf(0), delta.getBySocial().get("Alone"));
+    }
+
+    @Test
+    public void testDeleteDeltaUncountsTheMood() {
+        MoodStats delta = MoodStats.delta(mood("Happy", null, new Date()), null);
+        assertEquals(-1, delta.getTotal());
+        assertTrue(delta.getBySocial().isEmpty());
+    }
+
+    @Test
+    public void testDataRoundTripDropsEmptyCounts() {
+        Date now = new Date();
+        MoodStats stats = MoodStats.fromMoods(Arrays.asList(mood("Happy", "Alone", now), mood("Sad", "Alone", now)));
+        stats.add(mood("Sad", "Alone", now), -1);
+        stats.setStreak(4, "2025-03-03");
+
+        MoodStats read = MoodStats.fromData(stats.toData());
+        assertEquals(1, read.getTotal());
+        assertEquals(4, read.getStreak());
+        assertEquals("2025-03-03", read.getLastMoodDate());
+        assertFalse(read.getByMood().containsKey("Sad"));
+        assertEquals(Long.valueOf(1), read.getByMood().get("Happy"));
+    }
+
+    @Test
+    public void testFromDataAcceptsMissingFields() {
+        MoodStats stats = MoodStats.fromData(new HashMap<>());
+        assertEquals(0, stats.getTotal());
+        assertNull(stats.getLastMoodDate());
+        assertTrue(stats.getByDay().isEmpty());
+    }
+}
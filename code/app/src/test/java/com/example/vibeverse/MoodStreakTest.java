@@ -0,0 +1,34 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class MoodStreakTest {
+
+    @Test
+    public void testFirstMoodStartsStreak() {
+        assertEquals(1, MoodStreak.next(null, 0, "2025-03-02"));
+    }
+
+    @Test
+    public void testSameDayKeepsStreak() {
+        assertEquals(4, MoodStreak.next("2025-03-02", 4, "2025-03-02"));
+    }
+
+    @Test
+    public void testConsecutiveDayIncrementsStreak() {
+        assertEquals(5, MoodStreak.next("2025-03-01", 4, "2025-03-02"));
+        assertEquals(5, MoodStreak.next("2025-02-28", 4, "2025-03-01"));
+    }
+
+    @Test
+    public void testGapResetsStreak() {
+        assertEquals(1, MoodStreak.next("2025-02-20", 4, "2025-03-02"));
+    }
+
+    @Test
+    public void testUnparseableDateResetsStreak() {
+        assertEquals(1, MoodStreak.next("yesterday", 4, "2025-03-02"));
+    }
+}
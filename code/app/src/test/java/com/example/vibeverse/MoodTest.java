@@ -0,0 +1,52 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class MoodTest {
+
+    @Test
+    public void testOrdinalOfMatchesMoodNamesIgnoringCase() {
+        assertEquals(Mood.HAPPY.ordinal(), Mood.ordinalOf("Happy"));
+        assertEquals(Mood.AFRAID.ordinal(), Mood.ordinalOf("AFRAID"));
+        assertEquals(-1, Mood.ordinalOf("Neutral"));
+        assertEquals(-1, Mood.ordinalOf(null));
+    }
+
+    @Test
+    public void testOfAcceptsEmojisAndLegacySpellings() {
+        assertSame(Mood.AFRAID, Mood.of("Fear"));
+        assertSame(Mood.AFRAID, Mood.of("😨"));
+        assertSame(Mood.HAPPY, Mood.of("😄"));
+        assertSame(Mood.CONFUSED, Mood.of(" confused "));
+        assertSame(Mood.SURPRISED, Mood.of("😲 Surprised"));
+        assertNull(Mood.of(""));
+    }
+
+    @Test
+    public void testNormalizeRewritesKnownValuesOnly() {
+        assertEquals("Afraid", Mood.normalize("Fear"));
+        assertEquals("Shameful", Mood.normalize("SHAMEFUL"));
+        assertEquals("Neutral", Mood.normalize("Neutral"));
+        assertNull(Mood.normalize(null));
+    }
+
+    @Test
+    public void testFromOrdinalRoundTrips() {
+        assertEquals(Mood.values().length, Mood.COUNT);
+        for (Mood mood : Mood.values()) {
+            assertSame(mood, Mood.fromOrdinal(mood.ordinal()));
+            assertSame(mood, Mood.of(mood.getName()));
+            assertSame(mood, Mood.of(mood.getEmoji()));
+        }
+    }
+
+    @Test
+    public void testEmojiResourceName() {
+        assertEquals("emoji_happy_default", Mood.HAPPY.getEmojiResourceName("default"));
+        assertEquals("emoji_afraid_robot", Mood.AFRAID.getEmojiResourceName("Robot"));
+    }
+}
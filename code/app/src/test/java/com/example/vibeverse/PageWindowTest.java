@@ -0,0 +1,104 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class PageWindowTest {
+
+    private PageWindow<Integer, String> window;
+
+    @Before
+    public void setUp() {
+        window = new PageWindow<>(3);
+    }
+
+    @Test
+    public void testEmptyWindow() {
+        assertEquals(0, window.size());
+        assertNull(window.firstCursor());
+        assertNull(window.lastCursor());
+        assertFalse(window.hasTrimmedStart());
+    }
+
+    @Test
+    public void testAppendWithinBound() {
+        assertEquals(0, window.append(Arrays.asList(1, 2), "a", "b"));
+        assertEquals(0, window.append(Arrays.asList(3, 4), "c", "d"));
+        assertEquals(Arrays.asList(1, 2, 3, 4), window.items());
+        assertEquals("a", window.firstCursor());
+        assertEquals("d", window.lastCursor());
+        assertFalse(window.hasTrimmedStart());
+    }
+
+    @Test
+    public void testAppendDropsFirstPageWhenFull() {
+        window.append(Arrays.asList(1, 2), "a", "b");
+        window.append(Arrays.asList(3, 4), "c", "d");
+        window.append(Arrays.asList(5, 6), "e", "f");
+        assertEquals(2, window.append(Arrays.asList(7), "g", "g"));
+
+        assertEquals(3, window.pageCount());
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7), window.items());
+        assertEquals("c", window.firstCursor());
+        assertTrue(window.hasTrimmedStart());
+    }
+
+    @Test
+    public void testPrependRestoresDroppedPage() {
+        window.append(Arrays.asList(1, 2), "a", "b");
+        window.append(Arrays.asList(3, 4), "c", "d");
+        window.append(Arrays.asList(5, 6), "e", "f");
+        window.append(Arrays.asList(7, 8), "g", "h");
+
+        assertEquals(2, window.prepend(Arrays.asList(1, 2), "a", "b", true));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), window.items());
+        assertEquals("f", window.lastCursor());
+        assertFalse(window.hasTrimmedStart());
+    }
+
+    @Test
+    public void testMarkStartReached() {
+        window.append(Arrays.asList(1), "a", "a");
+        window.append(Arrays.asList(2), "b", "b");
+        window.append(Arrays.asList(3), "c", "c");
+        window.append(Arrays.asList(4), "d", "d");
+        assertTrue(window.hasTrimmedStart());
+
+        window.markStartReached();
+        assertFalse(window.hasTrimmedStart());
+    }
+
+    @Test
+    public void testRemoveKeepsCursors() {
+        window.append(Arrays.asList(1, 2), "a", "b");
+        assertTrue(window.remove(2));
+        assertFalse(window.remove(9));
+        assertEquals(Collections.singletonList(1), window.items());
+        assertEquals("b", window.lastCursor());
+    }
+
+    @Test
+    public void testMinimumOfTwoPages() {
+        PageWindow<Integer, String> small = new PageWindow<>(0);
+        small.append(Arrays.asList(1), "a", "a");
+        assertEquals(0, small.append(Arrays.asList(2), "b", "b"));
+        assertEquals(1, small.append(Arrays.asList(3), "c", "c"));
+        assertEquals(2, small.pageCount());
+    }
+
+    @Test
+    public void testClear() {
+        window.append(Arrays.asList(1), "a", "a");
+        window.clear();
+        assertEquals(0, window.size());
+        assertNull(window.lastCursor());
+    }
+}
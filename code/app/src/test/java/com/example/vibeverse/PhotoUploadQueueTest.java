@@ -0,0 +1,91 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.firebase.storage.StorageException;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class PhotoUploadQueueTest {
+
+    @Test
+    public void testHashIsStableHexSha256() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                PhotoUploadQueue.sha256Hex(new byte[0]));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                PhotoUploadQueue.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testDifferentBytesHashDifferently() {
+        assertNotEquals(PhotoUploadQueue.sha256Hex(new byte[]{1, 2, 3}),
+                PhotoUploadQueue.sha256Hex(new byte[]{1, 2, 4}));
+    }
+
+    @Test
+    public void testEntryStoresUnderHashPath() {
+        PhotoUploadQueue.Entry entry = new PhotoUploadQueue.Entry("abc123", "webp", "image/webp");
+        assertEquals("images/abc123.webp", entry.storagePath());
+        assertEquals("abc123.webp", entry.spoolName());
+    }
+
+    @Test
+    public void testEntryRoundTrips() {
+        PhotoUploadQueue.Entry entry = PhotoUploadQueue.Entry.decode(
+                new PhotoUploadQueue.Entry("abc123", "jpg", "image/jpeg").encode());
+        assertEquals("abc123", entry.hash);
+        assertEquals("jpg", entry.extension);
+        assertEquals("image/jpeg", entry.mimeType);
+        assertNull(entry.moodPath);
+    }
+
+    @Test
+    public void testEntryKeepsTheMoodItWasAttachedTo() {
+        PhotoUploadQueue.Entry entry = PhotoUploadQueue.Entry.decode(
+                new PhotoUploadQueue.Entry("abc123", "jpg", "image/jpeg")
+                        .withMoodPath("Usermoods/user1/moods/1740830400000")
+                        .encode());
+        assertEquals("abc123", entry.hash);
+        assertEquals("image/jpeg", entry.mimeType);
+        assertEquals("Usermoods/user1/moods/1740830400000", entry.moodPath);
+    }
+
+    @Test
+    public void testMalformedEntryIsIgnored() {
+        assertNull(PhotoUploadQueue.Entry.decode(null));
+        assertNull(PhotoUploadQueue.Entry.decode("abc123"));
+        assertNull(PhotoUploadQueue.Entry.decode("|jpg|image/jpeg"));
+        assertNull(PhotoUploadQueue.Entry.decode("abc123|jpg|image/jpeg|Usermoods/u/moods/1|extra"));
+    }
+
+    @Test
+    public void testPermanentStorageErrorsAreNotRetried() {
+        assertFalse(PhotoUploadQueue.isRetryable(StorageException.ERROR_NOT_AUTHORIZED));
+        assertFalse(PhotoUploadQueue.isRetryable(StorageException.ERROR_NOT_AUTHENTICATED));
+        assertFalse(PhotoUploadQueue.isRetryable(StorageException.ERROR_OBJECT_NOT_FOUND));
+        assertFalse(PhotoUploadQueue.isRetryable(StorageException.ERROR_BUCKET_NOT_FOUND));
+        assertFalse(PhotoUploadQueue.isRetryable(StorageException.ERROR_QUOTA_EXCEEDED));
+        assertTrue(PhotoUploadQueue.isRetryable(StorageException.ERROR_RETRY_LIMIT_EXCEEDED));
+        assertTrue(PhotoUploadQueue.isRetryable(StorageException.ERROR_UNKNOWN));
+    }
+
+    @Test
+    public void testBackoffDoublesWithinJitterBounds() {
+        assertEquals(1000, PhotoUploadQueue.backoffDelayMillis(1, 0.0));
+        assertEquals(1999, PhotoUploadQueue.backoffDelayMillis(1, 0.9995));
+        assertEquals(2000, PhotoUploadQueue.backoffDelayMillis(2, 0.0));
+        assertEquals(4000, PhotoUploadQueue.backoffDelayMillis(3, 0.0));
+    }
+
+    @Test
+    public void testBackoffIsCapped() {
+        assertEquals(PhotoUploadQueue.MAX_BACKOFF_MS / 2, PhotoUploadQueue.backoffDelayMillis(10, 0.0));
+        assertEquals(PhotoUploadQueue.MAX_BACKOFF_MS / 2, PhotoUploadQueue.backoffDelayMillis(100, 0.0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+public class ReadWatermarkTest {
+
+    private static final Date WATERMARK = new Date(1740830400000L);
+
+    private static Notification notification(Date createdAt, String dateTime) {
+        Notification notification = new Notification("n1", "UserA liked your post", dateTime,
+                Notification.NotifType.POST_LIKED, "userA", "userB", "post123", "userB");
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    private static Notification notification(long createdAtMillis) {
+        return notification(new Date(createdAtMillis), "2025-03-01T12:00:00");
+    }
+
+    @Test
+    public void testCreatedAfterWatermarkIsUnread() {
+        assertTrue(ReadWatermark.isUnread(notification(WATERMARK.getTime() + 1), WATERMARK));
+        assertFalse(ReadWatermark.isUnread(notification(WATERMARK.getTime()), WATERMARK));
+        assertFalse(ReadWatermark.isUnread(notification(WATERMARK.getTime() - 1), WATERMARK));
+    }
+
+    @Test
+    public void testSenderDateTimeIsIgnored() {
+        // Written on an API 24 device, whose display string sorts above every ISO value
+        Notification older = notification(new Date(WATERMARK.getTime() - 60000), "Sat Mar 01 11:59:00 GMT 2025");
+        // Written in a time zone ahead of the reader's
+        Notification newer = notification(new Date(WATERMARK.getTime() + 60000), "2025-03-01T01:00:00");
+
+        assertFalse(ReadWatermark.isUnread(older, WATERMARK));
+        assertTrue(ReadWatermark.isUnread(newer, WATERMARK));
+    }
+
+    @Test
+    public void testEverythingUnreadWithoutWatermark() {
+        assertTrue(ReadWatermark.isUnread(notification(0L), null));
+    }
+
+    @Test
+    public void testLegacyNotificationsUseTheirFlag() {
+        Notification unread = notification(null, "2025-04-01T09:00:00");
+        Notification read = notification(null, "2025-04-01T09:00:00");
+        read.setRead(true);
+
+        assertTrue(ReadWatermark.isUnread(unread, WATERMARK));
+        assertFalse(ReadWatermark.isUnread(read, WATERMARK));
+        assertTrue(ReadWatermark.isUnread(unread, null));
+        assertFalse(ReadWatermark.isUnread(read, null));
+    }
+
+    @Test
+    public void testApplySetsReadStateOfPage() {
+        Notification newer = notification(WATERMARK.getTime() + 1000);
+        Notification older = notification(WATERMARK.getTime() - 1000);
+        Notification legacy = notification(null, "2025-02-05T10:00:00");
+
+        ReadWatermark.apply(Arrays.asList(newer, older, legacy), WATERMARK);
+
+        assertFalse(newer.isRead());
+        assertTrue(older.isRead());
+        assertFalse(legacy.isRead());
+    }
+}
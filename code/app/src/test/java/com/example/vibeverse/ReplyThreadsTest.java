@@ -0,0 +1,80 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ReplyThreadsTest {
+
+    private ReplyThreads threads;
+
+    @Before
+    public void setUp() {
+        threads = new ReplyThreads();
+    }
+
+    private static Comment reply(String id, String parentId, long time) {
+        return new Comment(id, "reply " + id, "user1", new Date(time), "mood1", parentId);
+    }
+
+    @Test
+    public void testGroupsRepliesByParentOldestFirst() {
+        threads.setReplies(Arrays.asList(
+                reply("r3", "c1", 3000),
+                reply("r1", "c1", 1000),
+                reply("r2", "c2", 2000)));
+
+        List<Comment> c1 = threads.getReplies("c1");
+        assertEquals(2, c1.size());
+        assertEquals("r1", c1.get(0).getCommentId());
+        assertEquals("r3", c1.get(1).getCommentId());
+        assertEquals(1, threads.getReplies("c2").size());
+        assertTrue(threads.getReplies("c3").isEmpty());
+    }
+
+    @Test
+    public void testIgnoresRepliesWithoutParent() {
+        threads.setReplies(Arrays.asList(reply("r1", null, 1000), reply("r2", "N/A", 2000)));
+
+        assertTrue(threads.getReplies("N/A").isEmpty());
+    }
+
+    @Test
+    public void testReportsOnlyChangedParents() {
+        Set<String> first = threads.setReplies(Arrays.asList(
+                reply("r1", "c1", 1000),
+                reply("r2", "c2", 2000)));
+        assertEquals(new HashSet<>(Arrays.asList("c1", "c2")), first);
+
+        // Same replies decoded again from a new snapshot
+        Set<String> unchanged = threads.setReplies(Arrays.asList(
+                reply("r2", "c2", 2000),
+                reply("r1", "c1", 1000)));
+        assertTrue(unchanged.isEmpty());
+
+        Set<String> added = threads.setReplies(Arrays.asList(
+                reply("r1", "c1", 1000),
+                reply("r2", "c2", 2000),
+                reply("r3", "c2", 3000)));
+        assertEquals(Collections.singleton("c2"), added);
+    }
+
+    @Test
+    public void testReportsParentsWhoseRepliesWereAllRemoved() {
+        threads.setReplies(Arrays.asList(reply("r1", "c1", 1000), reply("r2", "c2", 2000)));
+
+        Set<String> changed = threads.setReplies(Collections.singletonList(reply("r2", "c2", 2000)));
+
+        assertEquals(Collections.singleton("c1"), changed);
+        assertTrue(threads.getReplies("c1").isEmpty());
+    }
+}
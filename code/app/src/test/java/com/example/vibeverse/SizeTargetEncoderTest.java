@@ -0,0 +1,71 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SizeTargetEncoderTest {
+
+    @Test
+    public void testFindsHighestQualityWithinBudget() {
+        // Size grows linearly with quality: 1000 bytes per quality step.
+        SizeTargetEncoder.Result result = SizeTargetEncoder.search(q -> q * 1000, 10, 95, 65536);
+        assertTrue(result.fits());
+        assertEquals(65, result.quality);
+        assertEquals(65000, result.size);
+    }
+
+    @Test
+    public void testImageThatFitsCostsOneEncode() {
+        SizeTargetEncoder.Result result = SizeTargetEncoder.search(q -> 100, 10, 95, 65536);
+        assertEquals(95, result.quality);
+        assertEquals(1, result.passes);
+        assertEquals(95, result.lastProbedQuality);
+    }
+
+    @Test
+    public void testPassesAreBounded() {
+        List<Integer> probes = new ArrayList<>();
+        SizeTargetEncoder.search(q -> {
+            probes.add(q);
+            return q * 1000;
+        }, 10, 95, 65536, 4);
+        assertEquals(4, probes.size());
+    }
+
+    @Test
+    public void testDefaultPassesCoverTheFullRange() {
+        // A budget just above one quality step must still land exactly on it.
+        for (int target = 10; target <= 95; target++) {
+            final int limit = target * 1000;
+            SizeTargetEncoder.Result result = SizeTargetEncoder.search(q -> q * 1000, 10, 95, limit);
+            assertEquals(target, result.quality);
+            assertTrue(result.passes <= SizeTargetEncoder.DEFAULT_MAX_PASSES);
+        }
+    }
+
+    @Test
+    public void testLastPassFallsBackToMinimumQuality() {
+        // With two passes, the second probe goes straight to the bottom of the range.
+        SizeTargetEncoder.Result result = SizeTargetEncoder.search(q -> q * 1000, 10, 95, 20000, 2);
+        assertEquals(10, result.quality);
+        assertEquals(10, result.lastProbedQuality);
+    }
+
+    @Test
+    public void testMissReportsSmallestMeasuredSize() {
+        List<Integer> probes = new ArrayList<>();
+        SizeTargetEncoder.Result result = SizeTargetEncoder.search(q -> {
+            probes.add(q);
+            return 100000 + q;
+        }, 10, 95, 65536);
+        assertFalse(result.fits());
+        assertEquals(Integer.valueOf(10), probes.get(probes.size() - 1));
+        assertEquals(100010, result.size);
+    }
+}
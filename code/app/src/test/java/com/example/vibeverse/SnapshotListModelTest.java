@@ -0,0 +1,145 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class SnapshotListModelTest {
+
+    /**
+     * Counts the rows an adapter would rebind for each kind of update.
+     */
+    private static class CountingCallback implements ListUpdateCallback {
+        int inserted;
+        int changed;
+        int removed;
+        int moved;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            changed += count;
+        }
+
+        /** Rows that are bound again: inserted and changed ones. */
+        int rebinds() {
+            return inserted + changed;
+        }
+    }
+
+    private List<Comment> comments;
+    private CountingCallback callback;
+    private SnapshotListModel<Comment> model;
+    private int decodes;
+
+    @Before
+    public void setUp() {
+        comments = new ArrayList<>();
+        callback = new CountingCallback();
+        model = new SnapshotListModel<>(comments, Comment::getCommentId, callback);
+        List<Comment> initial = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            initial.add(comment("c" + i, "comment " + i));
+        }
+        model.replaceAll(initial);
+        callback = new CountingCallback();
+        model = new SnapshotListModel<>(comments, Comment::getCommentId, callback);
+    }
+
+    private static Comment comment(String id, String content) {
+        return new Comment(id, content, "user1", new Date(), "mood1", "N/A");
+    }
+
+    private Supplier<Comment> decoding(String id, String content) {
+        return () -> {
+            decodes++;
+            return comment(id, content);
+        };
+    }
+
+    @Test
+    public void testAddedCommentDecodesAndBindsOneRow() {
+        assertTrue(model.apply(SnapshotListModel.ChangeType.ADDED, -1, 500, "c500", decoding("c500", "new")));
+
+        assertEquals(1, decodes);
+        assertEquals(1, callback.rebinds());
+        assertEquals(501, comments.size());
+        assertEquals("c500", comments.get(500).getCommentId());
+    }
+
+    @Test
+    public void testModifiedCommentRebindsInPlace() {
+        assertTrue(model.apply(SnapshotListModel.ChangeType.MODIFIED, 42, 42, "c42", decoding("c42", "edited")));
+
+        assertEquals(1, decodes);
+        assertEquals(1, callback.changed);
+        assertEquals(0, callback.inserted);
+        assertEquals("edited", comments.get(42).getContent());
+    }
+
+    @Test
+    public void testModifiedCommentThatMovesIsMovedAndRebound() {
+        assertTrue(model.apply(SnapshotListModel.ChangeType.MODIFIED, 0, 499, "c0", decoding("c0", "later")));
+
+        assertEquals(1, callback.moved);
+        assertEquals(1, callback.rebinds());
+        assertEquals("c0", comments.get(499).getCommentId());
+        assertEquals("c1", comments.get(0).getCommentId());
+    }
+
+    @Test
+    public void testRemovedCommentIsNotDecoded() {
+        assertTrue(model.apply(SnapshotListModel.ChangeType.REMOVED, 10, -1, "c10", decoding("c10", "gone")));
+
+        assertEquals(0, decodes);
+        assertEquals(0, callback.rebinds());
+        assertEquals(1, callback.removed);
+        assertEquals("c11", comments.get(10).getCommentId());
+    }
+
+    @Test
+    public void testChangeForWrongRowIsRejected() {
+        assertFalse(model.apply(SnapshotListModel.ChangeType.REMOVED, 10, -1, "c11", decoding("c11", "x")));
+        assertFalse(model.apply(SnapshotListModel.ChangeType.MODIFIED, 600, 600, "c600", decoding("c600", "x")));
+        assertFalse(model.apply(SnapshotListModel.ChangeType.ADDED, -1, 900, "c900", decoding("c900", "x")));
+
+        assertEquals(500, comments.size());
+        assertEquals(0, callback.rebinds() + callback.removed);
+    }
+
+    @Test
+    public void testReplaceAllReportsWholeList() {
+        List<Comment> fresh = new ArrayList<>();
+        fresh.add(comment("x", "only"));
+
+        model.replaceAll(fresh);
+
+        assertEquals(500, callback.removed);
+        assertEquals(1, callback.inserted);
+        assertEquals(1, model.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class UploadQueueStatsTest {
+
+    private UploadQueueStats stats;
+
+    @Before
+    public void setUp() {
+        stats = new UploadQueueStats();
+    }
+
+    @Test
+    public void testDepthTracksUnfinishedUploads() {
+        stats.recordEnqueued();
+        stats.recordEnqueued();
+        stats.recordEnqueued();
+        stats.recordCompleted(false);
+        stats.recordFailed();
+
+        assertEquals(1, stats.getQueueDepth());
+    }
+
+    @Test
+    public void testThroughputIsZeroBeforeAnyTransfer() {
+        stats.recordEnqueued();
+        stats.recordCompleted(true);
+        assertEquals(0.0, stats.getThroughputBytesPerSecond(), 0.0001);
+    }
+
+    @Test
+    public void testThroughputAveragesTransferTime() {
+        stats.recordTransferred(64000, 1_000_000_000L);
+        stats.recordTransferred(32000, 1_000_000_000L);
+        assertEquals(48000.0, stats.getThroughputBytesPerSecond(), 0.0001);
+        assertEquals(96000, stats.getBytesUploaded());
+    }
+
+    @Test
+    public void testDeduplicatedUploadsCountAsCompleted() {
+        stats.recordEnqueued();
+        stats.recordEnqueued();
+        stats.recordCompleted(true);
+        stats.recordCompleted(false);
+
+        assertEquals(2, stats.getCompleted());
+        assertEquals(1, stats.getDeduplicated());
+        assertEquals(0, stats.getQueueDepth());
+    }
+}
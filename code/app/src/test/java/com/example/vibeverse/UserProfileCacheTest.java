@@ -0,0 +1,184 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserProfileCacheTest {
+
+    private Map<String, List<UserProfileCache.Callback>> pendingFetches;
+    private int fetchCount;
+    private List<List<String>> batchRequests;
+    private List<UserProfileCache.BatchCallback> batchCallbacks;
+    private long now;
+    private UserProfileCache cache;
+
+    @Before
+    public void setUp() {
+        pendingFetches = new HashMap<>();
+        fetchCount = 0;
+        batchRequests = new ArrayList<>();
+        batchCallbacks = new ArrayList<>();
+        now = 0;
+        cache = new UserProfileCache((userId, callback) -> {
+            fetchCount++;
+            pendingFetches.computeIfAbsent(userId, k -> new ArrayList<>()).add(callback);
+        }, (userIds, callback) -> {
+            batchRequests.add(userIds);
+            batchCallbacks.add(callback);
+        }, () -> now, 100, 1000);
+    }
+
+    /** Completes every outstanding fetch for a user with the given profile. */
+    private void completeFetch(String userId, UserProfileCache.UserProfile profile) {
+        for (UserProfileCache.Callback callback : pendingFetches.remove(userId)) {
+            callback.onProfileLoaded(profile);
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneFetch() {
+        List<UserProfileCache.UserProfile> results = new ArrayList<>();
+        cache.get("u1", results::add);
+        cache.get("u1", results::add);
+        cache.get("u1", results::add);
+        assertEquals(1, fetchCount);
+
+        UserProfileCache.UserProfile profile = new UserProfileCache.UserProfile("alice", null, false);
+        completeFetch("u1", profile);
+
+        assertEquals(3, results.size());
+        assertSame(profile, results.get(2));
+        assertEquals(3, cache.getMisses());
+        assertEquals(2, cache.getCoalesced());
+    }
+
+    @Test
+    public void testCachedProfileIsAHit() {
+        cache.get("u1", p -> { });
+        completeFetch("u1", new UserProfileCache.UserProfile("alice", null, false));
+
+        List<UserProfileCache.UserProfile> results = new ArrayList<>();
+        cache.get("u1", results::add);
+        assertEquals(1, fetchCount);
+        assertEquals(1, cache.getHits());
+        assertEquals("alice", results.get(0).getUsername());
+    }
+
+    @Test
+    public void testExpiredProfileIsFetchedAgain() {
+        cache.put("u1", new UserProfileCache.UserProfile("alice", null, false));
+        now = 1001;
+        assertNull(cache.peek("u1"));
+
+        cache.get("u1", p -> { });
+        assertEquals(1, fetchCount);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedProfileIsEvicted() {
+        cache = new UserProfileCache((userId, callback) -> { }, (userIds, callback) -> { }, () -> now, 2, 1000);
+        cache.put("u1", new UserProfileCache.UserProfile("a", null, false));
+        cache.put("u2", new UserProfileCache.UserProfile("b", null, false));
+        // Touch u1 so that u2 becomes the eldest entry
+        cache.peek("u1");
+        cache.put("u3", new UserProfileCache.UserProfile("c", null, false));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.peek("u2"));
+        assertEquals("a", cache.peek("u1").getUsername());
+    }
+
+    @Test
+    public void testFailedFetchIsNotCached() {
+        List<UserProfileCache.UserProfile> results = new ArrayList<>();
+        cache.get("u1", results::add);
+        completeFetch("u1", null);
+        assertNull(results.get(0));
+
+        cache.get("u1", p -> { });
+        assertEquals(2, fetchCount);
+    }
+
+    @Test
+    public void testInvalidateRemovesProfile() {
+        cache.put("u1", new UserProfileCache.UserProfile("alice", null, false));
+        cache.invalidate("u1");
+        assertNull(cache.peek("u1"));
+    }
+
+    @Test
+    public void testChunkSplitsIntoWhereInSizedGroups() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            items.add(i);
+        }
+        List<List<Integer>> chunks = UserProfileCache.chunk(items, UserProfileCache.WHERE_IN_LIMIT);
+
+        assertEquals(3, chunks.size());
+        assertEquals(30, chunks.get(0).size());
+        assertEquals(30, chunks.get(1).size());
+        assertEquals(5, chunks.get(2).size());
+        assertEquals(Integer.valueOf(64), chunks.get(2).get(4));
+    }
+
+    @Test
+    public void testPrefetchSkipsDuplicatesAndCachedUsers() {
+        cache.put("cached", new UserProfileCache.UserProfile("c", null, false));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 31; i++) {
+            ids.add("u" + i);
+            ids.add("u" + i);
+        }
+        ids.add("cached");
+        ids.add(null);
+
+        boolean[] done = {false};
+        cache.prefetch(ids, () -> done[0] = true);
+
+        // 31 distinct uncached users cost two reads instead of 31
+        assertEquals(2, batchRequests.size());
+        assertEquals(30, batchRequests.get(0).size());
+        assertEquals(Arrays.asList("u30"), batchRequests.get(1));
+        assertEquals(0, fetchCount);
+
+        batchCallbacks.get(0).onProfilesLoaded(new HashMap<>());
+        assertEquals(false, done[0]);
+        batchCallbacks.get(1).onProfilesLoaded(null);
+        assertTrue(done[0]);
+    }
+
+    @Test
+    public void testLookupDuringPrefetchWaitsForBatch() {
+        cache.prefetch(Arrays.asList("u1"), () -> { });
+        List<UserProfileCache.UserProfile> results = new ArrayList<>();
+        cache.get("u1", results::add);
+        assertEquals(0, fetchCount);
+
+        Map<String, UserProfileCache.UserProfile> profiles = new HashMap<>();
+        profiles.put("u1", new UserProfileCache.UserProfile("alice", null, false));
+        batchCallbacks.get(0).onProfilesLoaded(profiles);
+
+        assertEquals("alice", results.get(0).getUsername());
+        assertEquals("alice", cache.peek("u1").getUsername());
+    }
+
+    @Test
+    public void testPrefetchWithNothingToFetchCompletesImmediately() {
+        cache.put("u1", new UserProfileCache.UserProfile("alice", null, false));
+        boolean[] done = {false};
+        cache.prefetch(Arrays.asList("u1"), () -> done[0] = true);
+        assertTrue(done[0]);
+        assertTrue(batchRequests.isEmpty());
+    }
+}
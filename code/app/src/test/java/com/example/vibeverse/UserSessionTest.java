@@ -0,0 +1,128 @@
+package com.example.vibeverse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserSessionTest {
+
+    /** Keeps persisted values in memory, as shared preferences would across processes. */
+    private static class MemoryStore implements UserSession.Store {
+        final Map<String, String> values = new HashMap<>();
+        int writes;
+
+        @Override
+        public String get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void putAll(Map<String, String> newValues) {
+            writes++;
+            values.putAll(newValues);
+        }
+    }
+
+    private MemoryStore store;
+    private List<String> themes;
+
+    @Before
+    public void setUp() {
+        store = new MemoryStore();
+        themes = new ArrayList<>();
+    }
+
+    private static Map<String, Object> userData(String theme, String username) {
+        Map<String, Object> data = new HashMap<>();
+        if (theme != null) {
+            data.put("selectedTheme", theme);
+        }
+        data.put("username", username);
+        data.put("profilePicUri", "https://example.com/" + username + ".png");
+        data.put("hasProfilePic", true);
+        return data;
+    }
+
+    @Test
+    public void testStartsWithDefaultThemeWhenNothingPersisted() {
+        UserSession session = new UserSession(store);
+
+        assertEquals(UserSession.DEFAULT_THEME, session.getSelectedTheme());
+        assertNull(session.getPersistedProfile());
+    }
+
+    @Test
+    public void testThemeSurvivesColdStart() {
+        new UserSession(store).onUserData("u1", userData("clown", "alice"));
+
+        UserSession restarted = new UserSession(store);
+
+        assertEquals("clown", restarted.getSelectedTheme());
+        UserProfileCache.UserProfile profile = restarted.getPersistedProfile();
+        assertEquals("alice", profile.getUsername());
+        assertTrue(profile.hasLoadableProfilePic());
+    }
+
+    @Test
+    public void testAuthorIsKnownAfterColdStart() {
+        new UserSession(store).onUserData("u1", userData("clown", "alice"));
+
+        UserSession restarted = new UserSession(store);
+
+        UserProfileCache.UserProfile author = restarted.getKnownProfile("u1");
+        assertEquals("alice", author.getUsername());
+        assertEquals("https://example.com/alice.png", author.getProfilePicUri());
+        // Only the signed-in user's own details are known
+        assertNull(restarted.getKnownProfile("u2"));
+        assertNull(restarted.getKnownProfile(null));
+    }
+
+    @Test
+    public void testListenersOnlyHearThemeChanges() {
+        UserSession session = new UserSession(store);
+        session.addThemeListener(themes::add);
+
+        session.onUserData("u1", userData("clown", "alice"));
+        session.onUserData("u1", userData("clown", "alice renamed"));
+        session.onUserData("u1", userData("cat", "alice renamed"));
+
+        assertEquals(2, themes.size());
+        assertEquals("clown", themes.get(0));
+        assertEquals("cat", themes.get(1));
+        assertEquals("cat", session.getSelectedTheme());
+        // Every snapshot refreshes the persisted values
+        assertEquals(3, store.writes);
+    }
+
+    @Test
+    public void testMissingThemeFallsBackToDefault() {
+        UserSession session = new UserSession(store);
+        session.onUserData("u1", userData("clown", "alice"));
+        session.addThemeListener(themes::add);
+
+        session.onUserData("u1", userData(null, "alice"));
+
+        assertEquals(UserSession.DEFAULT_THEME, session.getSelectedTheme());
+        assertEquals(1, themes.size());
+    }
+
+    @Test
+    public void testRemovedListenerIsNotNotified() {
+        UserSession session = new UserSession(store);
+        UserSession.ThemeListener listener = themes::add;
+        session.addThemeListener(listener);
+        session.removeThemeListener(listener);
+
+        session.onUserData("u1", userData("clown", "alice"));
+
+        assertTrue(themes.isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+// JVM benchmarks for the app's pure-Java domain logic.
+//
+// The app module is an Android application and cannot be a dependency of a JVM module, so the
+// benchmarked sources are compiled straight from app/src/main/java. The few Android and
+// Firebase types they touch are replaced by minimal shims in src/shims/java.
+//
+// Run with: ./gradlew :benchmark:jmh
+// Narrow the run with e.g. -Pjmh.includes=MoodFilterBenchmark
+// Codec sizes and SSIM: ./gradlew :benchmark:imageCodecReport
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+// The shared sources contain emoji and en dashes; do not depend on the platform charset
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+sourceSets {
+    main {
+        java {
+            srcDir("src/shims/java")
+            srcDir("../app/src/main/java")
+            include(
+                "android/**",
+                "com/google/firebase/**",
+                "com/example/vibeverse/R.java",
+                "com/example/vibeverse/Mood.java",
+                "com/example/vibeverse/MoodEvent.java",
+                "com/example/vibeverse/Photograph.java",
+                "com/example/vibeverse/Comment.java",
+                "com/example/vibeverse/Notification.java",
+                "com/example/vibeverse/DocumentCodec.java",
+                "com/example/vibeverse/EmojiDrawables.java",
+                "com/example/vibeverse/MoodFilter.java",
+                "com/example/vibeverse/MoodFilters.java",
+                "com/example/vibeverse/MoodIndex.java",
+                "com/example/vibeverse/MoodStreak.java",
+                "com/example/vibeverse/SizeTargetEncoder.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    // ImageIO plugin for lossy WebP, backed by libwebp
+    jmh(libs.webp.imageio)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    benchmarkMode.add("avgt")
+    timeUnit.set("us")
+    // The 1M-event datasets need more than the default heap
+    jvmArgs.add("-Xmx3g")
+    resultFormat.set("JSON")
+}
+
+// Prints bytes, SSIM and passes per codec for the image corpus, which JMH cannot report.
+tasks.register<JavaExec>("imageCodecReport") {
+    group = "benchmark"
+    description = "Compares JPEG and WebP size-targeted encodes on the image corpus."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.example.vibeverse.ImageCodecReport")
+}
@@ -0,0 +1,88 @@
+package com.example.vibeverse;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * JVM stand-ins for the app's {@link ImageEncoder} implementations, built on ImageIO.
+ * <p>
+ * JPEG uses the JDK's writer; lossy WebP uses the libwebp-backed webp-imageio plugin,
+ * the same encoder Android's {@code Bitmap.CompressFormat.WEBP_LOSSY} wraps.
+ * </p>
+ */
+public enum AwtImageCodec {
+    JPEG("jpeg", null),
+    WEBP("webp", "Lossy");
+
+    private final String formatName;
+    private final String compressionType;
+
+    AwtImageCodec(String formatName, String compressionType) {
+        this.formatName = formatName;
+        this.compressionType = compressionType;
+    }
+
+    /**
+     * Encodes the image into the buffer, replacing its contents.
+     *
+     * @param image   The image to encode.
+     * @param quality Encoder quality from 0 to 100.
+     * @param buffer  The reused output buffer.
+     * @return The encoded size in bytes.
+     */
+    int encode(BufferedImage image, int quality, ByteArrayOutputStream buffer) {
+        buffer.reset();
+        ImageWriter writer = writer();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(buffer)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if (compressionType != null) {
+                param.setCompressionType(compressionType);
+            }
+            param.setCompressionQuality(quality / 100f);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.size();
+    }
+
+    /**
+     * Decodes bytes produced by {@link #encode}.
+     *
+     * @param bytes The encoded image.
+     * @return The decoded image.
+     */
+    BufferedImage decode(byte[] bytes) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (image == null) {
+                throw new IllegalStateException("No ImageIO reader for " + formatName);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ImageWriter writer() {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("No ImageIO writer for " + formatName);
+        }
+        return writers.next();
+    }
+}
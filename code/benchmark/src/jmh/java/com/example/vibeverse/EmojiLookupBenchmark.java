@@ -0,0 +1,73 @@
+package com.example.vibeverse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks resolving the emoji drawable of every row in a 1,000-item feed, as a fling through
+ * MoodEventAdapter binds them.
+ * <p>
+ * {@code Resources.getIdentifier} cannot run on the JVM, so the name-based lookup is modelled by
+ * what it costs at the least: building the {@code emoji_<mood>_<theme>} name and looking it up
+ * in a map of every drawable name. On a device getIdentifier adds its reflective resource table
+ * search on top, so the gap to {@link EmojiDrawables} is larger there.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class EmojiLookupBenchmark {
+
+    @Param({"default", "clown"})
+    public String theme;
+
+    private List<MoodEvent> feed;
+    private Map<String, Integer> drawablesByName;
+
+    @Setup
+    public void setUp() throws IllegalAccessException {
+        feed = MoodDataset.moodEvents(1000);
+        drawablesByName = new HashMap<>();
+        for (Field field : R.drawable.class.getFields()) {
+            drawablesByName.put(field.getName(), field.getInt(null));
+        }
+    }
+
+    /** The lookup each adapter used to run per bind. */
+    @Benchmark
+    public int nameLookupFling() {
+        int sum = 0;
+        for (MoodEvent moodEvent : feed) {
+            String resourceName = "emoji_" + moodEvent.getMoodTitle().toLowerCase() + "_" + theme.toLowerCase();
+            Integer id = drawablesByName.get(resourceName);
+            sum += id != null ? id : 0;
+        }
+        return sum;
+    }
+
+    /** The precomputed table, indexed by the event's mood. */
+    @Benchmark
+    public int tableLookupFling() {
+        int sum = 0;
+        for (MoodEvent moodEvent : feed) {
+            sum += EmojiDrawables.get(moodEvent.getMood(), theme);
+        }
+        return sum;
+    }
+
+    /** The precomputed table for callers that only hold the stored mood title. */
+    @Benchmark
+    public int tableLookupByTitleFling() {
+        int sum = 0;
+        for (MoodEvent moodEvent : feed) {
+            sum += EmojiDrawables.get(moodEvent.getMoodTitle(), theme);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.vibeverse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Benchmarks encode time for each output format on the fixed {@link ImageCorpus}, both at a
+ * fixed quality and through the size-targeted search the app uploads with.
+ * <p>
+ * Byte counts and SSIM at the budget are printed by {@link ImageCodecReport}, since JMH
+ * only reports timings.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class ImageCodecBenchmark {
+
+    /** Upload budget, matching ImagePipeline.MAX_IMAGE_BYTES. */
+    static final int MAX_IMAGE_BYTES = 65536;
+    /** Quality range, matching ImagePipeline.MIN_QUALITY and MAX_QUALITY. */
+    static final int MIN_QUALITY = 10;
+    static final int MAX_QUALITY = 95;
+
+    @Param({"JPEG", "WEBP"})
+    public AwtImageCodec codec;
+
+    @Param({"sky", "foliage", "graphic", "scene"})
+    public String image;
+
+    private BufferedImage source;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        source = ImageCorpus.load(image);
+        buffer = new ByteArrayOutputStream(MAX_IMAGE_BYTES);
+    }
+
+    @Benchmark
+    public int encodeAtQuality80() {
+        return codec.encode(source, 80, buffer);
+    }
+
+    @Benchmark
+    public SizeTargetEncoder.Result encodeToBudget() {
+        return SizeTargetEncoder.search(q -> codec.encode(source, q, buffer),
+                MIN_QUALITY, MAX_QUALITY, MAX_IMAGE_BYTES);
+    }
+}
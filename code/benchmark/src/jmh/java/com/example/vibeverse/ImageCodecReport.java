@@ -0,0 +1,49 @@
+package com.example.vibeverse;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+
+/**
+ * Prints, for every corpus image and output format, what the size-targeted encode
+ * settles on: quality, bytes, passes, SSIM against the source and encode time.
+ * <p>
+ * Run with: ./gradlew :benchmark:imageCodecReport
+ * </p>
+ */
+public final class ImageCodecReport {
+
+    private static final int TIMING_RUNS = 5;
+
+    private ImageCodecReport() {
+    }
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.US, "%-8s %-5s %7s %7s %6s %7s %10s",
+                "image", "codec", "quality", "bytes", "passes", "ssim", "encode ms"));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(ImageCodecBenchmark.MAX_IMAGE_BYTES);
+        for (String name : ImageCorpus.NAMES) {
+            BufferedImage source = ImageCorpus.load(name);
+            for (AwtImageCodec codec : AwtImageCodec.values()) {
+                SizeTargetEncoder.Result result = null;
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < TIMING_RUNS; run++) {
+                    long start = System.nanoTime();
+                    result = SizeTargetEncoder.search(q -> codec.encode(source, q, buffer),
+                            ImageCodecBenchmark.MIN_QUALITY, ImageCodecBenchmark.MAX_QUALITY,
+                            ImageCodecBenchmark.MAX_IMAGE_BYTES);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                if (!result.fits()) {
+                    System.out.println(String.format(Locale.US, "%-8s %-5s does not fit at quality %d (%d bytes)",
+                            name, codec, ImageCodecBenchmark.MIN_QUALITY, result.size));
+                    continue;
+                }
+                codec.encode(source, result.quality, buffer);
+                double ssim = Ssim.compute(source, codec.decode(buffer.toByteArray()));
+                System.out.println(String.format(Locale.US, "%-8s %-5s %7d %7d %6d %7.4f %10.1f",
+                        name, codec, result.quality, result.size, result.passes, ssim, best / 1e6));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.vibeverse;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * A fixed, reproducible set of images for the codec benchmarks.
+ * <p>
+ * Every image is drawn from a seeded generator at the size {@link ImagePipeline} scales
+ * photos to, so results are comparable across machines without shipping binary assets.
+ * The entries cover the content users attach to moods: smooth skies, fine texture,
+ * flat graphics with hard edges, and a mix of all three.
+ * </p>
+ */
+final class ImageCorpus {
+
+    /** Names of the corpus images, usable as a JMH {@code @Param}. */
+    static final String[] NAMES = {"sky", "foliage", "graphic", "scene"};
+
+    /** Longest edge of every image, matching ImagePipeline.MAX_DIMENSION. */
+    static final int LONG_EDGE = 1280;
+
+    /** Shortest edge of every image, a 4:3 photo. */
+    static final int SHORT_EDGE = 960;
+
+    private ImageCorpus() {
+    }
+
+    /**
+     * Draws the named corpus image.
+     *
+     * @param name One of {@link #NAMES}.
+     * @return A new RGB image.
+     */
+    static BufferedImage load(String name) {
+        switch (name) {
+            case "sky":
+                return sky();
+            case "foliage":
+                return foliage();
+            case "graphic":
+                return graphic();
+            case "scene":
+                return scene();
+            default:
+                throw new IllegalArgumentException("Unknown corpus image: " + name);
+        }
+    }
+
+    private static BufferedImage sky() {
+        BufferedImage image = blank(LONG_EDGE, SHORT_EDGE);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(40, 90, 170), 0, SHORT_EDGE, new Color(250, 200, 150)));
+        g.fillRect(0, 0, LONG_EDGE, SHORT_EDGE);
+        Random random = new Random(1);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int i = 0; i < 40; i++) {
+            g.setColor(new Color(255, 255, 255, 20 + random.nextInt(40)));
+            int w = 100 + random.nextInt(300);
+            g.fillOval(random.nextInt(LONG_EDGE), random.nextInt(SHORT_EDGE / 2), w, w / 3);
+        }
+        g.dispose();
+        addNoise(image, 3, 2);
+        return image;
+    }
+
+    private static BufferedImage foliage() {
+        BufferedImage image = blank(SHORT_EDGE, LONG_EDGE);
+        Random random = new Random(3);
+        for (int y = 0; y < LONG_EDGE; y++) {
+            for (int x = 0; x < SHORT_EDGE; x++) {
+                int green = 80 + random.nextInt(120);
+                int red = green / 3 + random.nextInt(40);
+                int blue = random.nextInt(50);
+                image.setRGB(x, y, (red << 16) | (green << 8) | blue);
+            }
+        }
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setStroke(new BasicStroke(6));
+        for (int i = 0; i < 60; i++) {
+            g.setColor(new Color(60 + random.nextInt(40), 40 + random.nextInt(30), 20));
+            int x = random.nextInt(SHORT_EDGE);
+            g.drawLine(x, LONG_EDGE, x + random.nextInt(200) - 100, random.nextInt(LONG_EDGE));
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage graphic() {
+        BufferedImage image = blank(LONG_EDGE, SHORT_EDGE);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(245, 240, 230));
+        g.fillRect(0, 0, LONG_EDGE, SHORT_EDGE);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Random random = new Random(5);
+        for (int i = 0; i < 25; i++) {
+            g.setColor(Color.getHSBColor(random.nextFloat(), 0.6f, 0.9f));
+            g.fillRoundRect(random.nextInt(LONG_EDGE), random.nextInt(SHORT_EDGE), 60 + random.nextInt(240),
+                    40 + random.nextInt(160), 24, 24);
+        }
+        g.setColor(new Color(30, 30, 30));
+        for (int line = 0; line < 20; line++) {
+            g.drawString("Feeling happy today because the exam went well " + line, 40, 40 + line * 44);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage scene() {
+        BufferedImage image = sky();
+        Graphics2D g = image.createGraphics();
+        BufferedImage ground = foliage();
+        g.drawImage(ground, 0, SHORT_EDGE / 2, LONG_EDGE, SHORT_EDGE / 2, null);
+        g.drawImage(graphic(), LONG_EDGE / 3, SHORT_EDGE / 4, LONG_EDGE / 3, SHORT_EDGE / 3, null);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage blank(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void addNoise(BufferedImage image, int amplitude, long seed) {
+        Random random = new Random(seed);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y);
+                int delta = random.nextInt(2 * amplitude + 1) - amplitude;
+                int r = clamp(((rgb >> 16) & 0xff) + delta);
+                int gr = clamp(((rgb >> 8) & 0xff) + delta);
+                int b = clamp((rgb & 0xff) + delta);
+                image.setRGB(x, y, (r << 16) | (gr << 8) | b);
+            }
+        }
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
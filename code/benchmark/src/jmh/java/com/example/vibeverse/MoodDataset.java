@@ -0,0 +1,90 @@
+package com.example.vibeverse;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic mood data for the benchmarks.
+ * <p>
+ * Moods are spread evenly over the eight mood titles and over the 60 days before
+ * {@link #NOW}, one in four has a photo, and reasons are drawn from a small vocabulary
+ * so searches hit a realistic fraction of events.
+ * </p>
+ */
+final class MoodDataset {
+
+    /** Fixed "current time" so time-window filters select the same events on every run. */
+    static final long NOW = 1_740_000_000_000L;
+
+    private static final String[] MOODS = {
+            "Happy", "Sad", "Angry", "Surprised", "Afraid", "Disgusted", "Confused", "Shameful"
+    };
+    private static final String[] EMOJIS = {"😄", "😢", "😠", "😮", "😨", "🤢", "😕", "😳"};
+    private static final String[] SOCIAL = {"Alone", "With one other person", "With a crowd", ""};
+    private static final String[] WORDS = {
+            "work", "exam", "family", "friends", "weather", "gym", "coffee", "sleep", "music", "traffic"
+    };
+    private static final long SPAN_MILLIS = 60L * 24 * 60 * 60 * 1000;
+
+    private MoodDataset() {
+    }
+
+    /**
+     * Builds the Firestore fields of {@code size} mood documents.
+     *
+     * @param size The number of documents.
+     * @return The documents' fields.
+     */
+    static List<Map<String, Object>> documents(int size) {
+        Random random = new Random(42);
+        List<Map<String, Object>> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int mood = random.nextInt(MOODS.length);
+            long created = NOW - (long) (random.nextDouble() * SPAN_MILLIS);
+            Map<String, Object> data = new HashMap<>();
+            data.put("emoji", EMOJIS[mood]);
+            data.put("mood", MOODS[mood]);
+            data.put("socialSituation", SOCIAL[random.nextInt(SOCIAL.length)]);
+            data.put("reasonWhy", WORDS[random.nextInt(WORDS.length)] + " and " + WORDS[random.nextInt(WORDS.length)]);
+            int owner = random.nextInt(500);
+            data.put("ownerUserId", "user" + owner);
+            data.put("isPublic", random.nextBoolean());
+            data.put("timestamp", "Feb 19, 2025 - 09:20 PM");
+            data.put(MoodEvent.FIELD_CREATED_AT, new Timestamp(new Date(created)));
+            data.put("intensity", (long) (random.nextInt(10) + 1));
+            // Moods carry their author's display details
+            data.put("username", "user" + owner);
+            data.put("profilePicUri", "https://example.com/u" + owner + ".jpg");
+            boolean hasPhoto = random.nextInt(4) == 0;
+            data.put("hasPhoto", hasPhoto);
+            if (hasPhoto) {
+                data.put("photoUri", "https://firebasestorage.example.com/photos/" + i + ".jpg");
+                data.put("photoDateTaken", created);
+                data.put("photoLocation", "Edmonton");
+                data.put("photoSizeKB", (long) random.nextInt(4096));
+            }
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    /**
+     * Builds {@code size} decoded mood events.
+     *
+     * @param size The number of mood events.
+     * @return The mood events.
+     */
+    static List<MoodEvent> moodEvents(int size) {
+        List<MoodEvent> moodEvents = new ArrayList<>(size);
+        for (Map<String, Object> data : documents(size)) {
+            moodEvents.add(DocumentCodec.decodeMoodEvent(data));
+        }
+        return moodEvents;
+    }
+}
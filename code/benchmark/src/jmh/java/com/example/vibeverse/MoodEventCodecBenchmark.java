@@ -0,0 +1,52 @@
+package com.example.vibeverse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks converting whole lists of mood events to and from Firestore maps, as every
+ * list load and save does.
+ */
+@State(Scope.Benchmark)
+public class MoodEventCodecBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Map<String, Object>> documents;
+    private List<MoodEvent> moodEvents;
+
+    @Setup
+    public void setUp() {
+        documents = MoodDataset.documents(size);
+        moodEvents = MoodDataset.moodEvents(size);
+    }
+
+    @Benchmark
+    public void fromMap(Blackhole blackhole) {
+        for (Map<String, Object> data : documents) {
+            blackhole.consume(MoodEvent.fromMap(data));
+        }
+    }
+
+    @Benchmark
+    public void decodeMoodEvent(Blackhole blackhole) {
+        for (Map<String, Object> data : documents) {
+            blackhole.consume(DocumentCodec.decodeMoodEvent(data));
+        }
+    }
+
+    @Benchmark
+    public void toMap(Blackhole blackhole) {
+        for (MoodEvent moodEvent : moodEvents) {
+            blackhole.consume(moodEvent.toMap());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.vibeverse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Benchmarks the list filtering behind FilterDialog, the search box in MoodEventAdapter and
+ * the pie chart in MoodInsightsActivity, over 1k to 1M mood events.
+ */
+@State(Scope.Benchmark)
+public class MoodFilterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<MoodEvent> moodEvents;
+    private MoodIndex moodIndex;
+    private MoodFilter lastWeekThreeMoods;
+
+    @Setup
+    public void setUp() {
+        moodEvents = MoodDataset.moodEvents(size);
+        moodIndex = MoodIndex.of(moodEvents);
+        lastWeekThreeMoods = MoodFilter.fromSelection("last_week",
+                true, true, false, false, false, false, true, false);
+    }
+
+    /** FilterDialog with the default selection: all time, no mood ticked. */
+    @Benchmark
+    public List<MoodEvent> filterAllMoods() {
+        return MoodFilters.filter(moodEvents, "all",
+                false, false, false, false, false, false, false, false, MoodDataset.NOW);
+    }
+
+    /** FilterDialog with a time window and three moods ticked. */
+    @Benchmark
+    public List<MoodEvent> filterLastWeekThreeMoods() {
+        return MoodFilters.filter(moodEvents, "last_week",
+                true, true, false, false, false, false, true, false, MoodDataset.NOW);
+    }
+
+    /** The same selection compiled once and applied to the time-sorted index, as FilterDialog does. */
+    @Benchmark
+    public List<MoodEvent> indexedLastWeekThreeMoods() {
+        return moodIndex.filter(lastWeekThreeMoods, MoodDataset.NOW);
+    }
+
+    /** Three moods over all time through the index, where the whole list is in the window. */
+    @Benchmark
+    public List<MoodEvent> indexedAllTimeThreeMoods() {
+        return moodIndex.filter(MoodFilter.fromSelection("all_time",
+                true, true, false, false, false, false, true, false), MoodDataset.NOW);
+    }
+
+    /** FilterDialog's check that its cached index still matches the list. */
+    @Benchmark
+    public boolean indexReuseCheck() {
+        return moodIndex.isIndexOf(moodEvents);
+    }
+
+    /** Building the index, paid once per change to the list. */
+    @Benchmark
+    public MoodIndex buildIndex() {
+        return MoodIndex.of(moodEvents);
+    }
+
+    /** MoodInsightsActivity.filterMoods for the "past month" tab. */
+    @Benchmark
+    public List<MoodEvent> insightsPastMonth() {
+        return MoodFilters.since(moodEvents, 30, MoodDataset.NOW);
+    }
+
+    /** The per-mood counting done by MoodInsightsActivity.drawPieChart. */
+    @Benchmark
+    public HashMap<String, Integer> pieChartCounts() {
+        return MoodFilters.countByMood(moodEvents);
+    }
+
+    /** MoodEventAdapter.filter for a typed query. */
+    @Benchmark
+    public int searchReason() {
+        int matches = 0;
+        for (MoodEvent moodEvent : moodEvents) {
+            if (MoodFilters.matchesQuery(moodEvent, "coffee")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.vibeverse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the streak update run by SelectMoodActivity each time a mood is saved.
+ */
+@State(Scope.Benchmark)
+public class MoodStreakBenchmark {
+
+    public String today = "2025-03-02";
+    public String yesterday = "2025-03-01";
+    public String lastWeek = "2025-02-23";
+
+    @Benchmark
+    public int sameDay() {
+        return MoodStreak.next(today, 4, today);
+    }
+
+    @Benchmark
+    public int consecutiveDay() {
+        return MoodStreak.next(yesterday, 4, today);
+    }
+
+    @Benchmark
+    public int brokenStreak() {
+        return MoodStreak.next(lastWeek, 4, today);
+    }
+}
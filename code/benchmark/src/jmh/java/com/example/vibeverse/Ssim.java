@@ -0,0 +1,79 @@
+package com.example.vibeverse;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Computes the structural similarity (SSIM) of two images on their luma channel.
+ * <p>
+ * Uses the standard constants from Wang et al. over 8x8 windows with a stride of 4,
+ * averaged across the image. 1.0 means identical; visible artefacts typically start
+ * somewhere below 0.95.
+ * </p>
+ */
+final class Ssim {
+
+    private static final int WINDOW = 8;
+    private static final int STRIDE = 4;
+    private static final double C1 = Math.pow(0.01 * 255, 2);
+    private static final double C2 = Math.pow(0.03 * 255, 2);
+
+    private Ssim() {
+    }
+
+    /**
+     * @param reference The original image.
+     * @param candidate The decoded image, with the same dimensions.
+     * @return The mean SSIM in {@code [-1, 1]}.
+     */
+    static double compute(BufferedImage reference, BufferedImage candidate) {
+        int width = reference.getWidth();
+        int height = reference.getHeight();
+        if (candidate.getWidth() != width || candidate.getHeight() != height) {
+            throw new IllegalArgumentException("Images must have the same dimensions");
+        }
+        double[] x = luma(reference);
+        double[] y = luma(candidate);
+
+        double total = 0;
+        int windows = 0;
+        int n = WINDOW * WINDOW;
+        for (int top = 0; top + WINDOW <= height; top += STRIDE) {
+            for (int left = 0; left + WINDOW <= width; left += STRIDE) {
+                double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+                for (int row = top; row < top + WINDOW; row++) {
+                    int offset = row * width;
+                    for (int col = left; col < left + WINDOW; col++) {
+                        double a = x[offset + col];
+                        double b = y[offset + col];
+                        sumX += a;
+                        sumY += b;
+                        sumXX += a * a;
+                        sumYY += b * b;
+                        sumXY += a * b;
+                    }
+                }
+                double meanX = sumX / n;
+                double meanY = sumY / n;
+                double varX = sumXX / n - meanX * meanX;
+                double varY = sumYY / n - meanY * meanY;
+                double covariance = sumXY / n - meanX * meanY;
+                total += ((2 * meanX * meanY + C1) * (2 * covariance + C2))
+                        / ((meanX * meanX + meanY * meanY + C1) * (varX + varY + C2));
+                windows++;
+            }
+        }
+        return windows == 0 ? 1.0 : total / windows;
+    }
+
+    private static double[] luma(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+        double[] luma = new double[rgb.length];
+        for (int i = 0; i < rgb.length; i++) {
+            int pixel = rgb[i];
+            luma[i] = 0.299 * ((pixel >> 16) & 0xff) + 0.587 * ((pixel >> 8) & 0xff) + 0.114 * (pixel & 0xff);
+        }
+        return luma;
+    }
+}
@@ -0,0 +1,22 @@
+package android.net;
+
+/**
+ * JVM stand-in for android.net.Uri. Parsing keeps the string, as the real Uri does lazily.
+ */
+public class Uri {
+
+    private final String uriString;
+
+    private Uri(String uriString) {
+        this.uriString = uriString;
+    }
+
+    public static Uri parse(String uriString) {
+        return new Uri(uriString);
+    }
+
+    @Override
+    public String toString() {
+        return uriString;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.vibeverse;
+
+/**
+ * JVM stand-in for the generated R class, holding the resource IDs referenced by {@link Mood}
+ * and {@link EmojiDrawables}.
+ */
+public final class R {
+
+    private R() {
+    }
+
+    public static final class color {
+        public static final int happy_color = 0x7f060001;
+        public static final int sad_color = 0x7f060002;
+        public static final int angry_color = 0x7f060003;
+        public static final int surprised_color = 0x7f060004;
+        public static final int afraid_color = 0x7f060005;
+        public static final int disgusted_color = 0x7f060006;
+        public static final int confused_color = 0x7f060007;
+        public static final int shameful_color = 0x7f060008;
+
+        private color() {
+        }
+    }
+
+    public static final class drawable {
+        public static final int emoji_happy_default = 0x7f080001;
+        public static final int emoji_sad_default = 0x7f080002;
+        public static final int emoji_angry_default = 0x7f080003;
+        public static final int emoji_surprised_default = 0x7f080004;
+        public static final int emoji_afraid_default = 0x7f080005;
+        public static final int emoji_disgusted_default = 0x7f080006;
+        public static final int emoji_confused_default = 0x7f080007;
+        public static final int emoji_shameful_default = 0x7f080008;
+        public static final int emoji_happy_clown = 0x7f080009;
+        public static final int emoji_sad_clown = 0x7f08000a;
+        public static final int emoji_angry_clown = 0x7f08000b;
+        public static final int emoji_surprised_clown = 0x7f08000c;
+        public static final int emoji_afraid_clown = 0x7f08000d;
+        public static final int emoji_disgusted_clown = 0x7f08000e;
+        public static final int emoji_confused_clown = 0x7f08000f;
+        public static final int emoji_shameful_clown = 0x7f080010;
+        public static final int emoji_happy_heart = 0x7f080011;
+        public static final int emoji_sad_heart = 0x7f080012;
+        public static final int emoji_angry_heart = 0x7f080013;
+        public static final int emoji_surprised_heart = 0x7f080014;
+        public static final int emoji_afraid_heart = 0x7f080015;
+        public static final int emoji_disgusted_heart = 0x7f080016;
+        public static final int emoji_confused_heart = 0x7f080017;
+        public static final int emoji_shameful_heart = 0x7f080018;
+        public static final int emoji_happy_alien = 0x7f080019;
+        public static final int emoji_sad_alien = 0x7f08001a;
+        public static final int emoji_angry_alien = 0x7f08001b;
+        public static final int emoji_surprised_alien = 0x7f08001c;
+        public static final int emoji_afraid_alien = 0x7f08001d;
+        public static final int emoji_disgusted_alien = 0x7f08001e;
+        public static final int emoji_confused_alien = 0x7f08001f;
+        public static final int emoji_shameful_alien = 0x7f080020;
+        public static final int emoji_happy_robot = 0x7f080021;
+        public static final int emoji_sad_robot = 0x7f080022;
+        public static final int emoji_angry_robot = 0x7f080023;
+        public static final int emoji_surprised_robot = 0x7f080024;
+        public static final int emoji_afraid_robot = 0x7f080025;
+        public static final int emoji_disgusted_robot = 0x7f080026;
+        public static final int emoji_confused_robot = 0x7f080027;
+        public static final int emoji_shameful_robot = 0x7f080028;
+        public static final int emoji_happy_lion = 0x7f080029;
+        public static final int emoji_sad_lion = 0x7f08002a;
+        public static final int emoji_angry_lion = 0x7f08002b;
+        public static final int emoji_surprised_lion = 0x7f08002c;
+        public static final int emoji_afraid_lion = 0x7f08002d;
+        public static final int emoji_disgusted_lion = 0x7f08002e;
+        public static final int emoji_confused_lion = 0x7f08002f;
+        public static final int emoji_shameful_lion = 0x7f080030;
+        public static final int emoji_happy_ghost = 0x7f080031;
+        public static final int emoji_sad_ghost = 0x7f080032;
+        public static final int emoji_angry_ghost = 0x7f080033;
+        public static final int emoji_surprised_ghost = 0x7f080034;
+        public static final int emoji_afraid_ghost = 0x7f080035;
+        public static final int emoji_disgusted_ghost = 0x7f080036;
+        public static final int emoji_confused_ghost = 0x7f080037;
+        public static final int emoji_shameful_ghost = 0x7f080038;
+        public static final int emoji_happy_skull = 0x7f080039;
+        public static final int emoji_sad_skull = 0x7f08003a;
+        public static final int emoji_angry_skull = 0x7f08003b;
+        public static final int emoji_surprised_skull = 0x7f08003c;
+        public static final int emoji_afraid_skull = 0x7f08003d;
+        public static final int emoji_disgusted_skull = 0x7f08003e;
+        public static final int emoji_confused_skull = 0x7f08003f;
+        public static final int emoji_shameful_skull = 0x7f080040;
+        public static final int emoji_happy_cold = 0x7f080041;
+        public static final int emoji_sad_cold = 0x7f080042;
+        public static final int emoji_angry_cold = 0x7f080043;
+        public static final int emoji_surprised_cold = 0x7f080044;
+        public static final int emoji_afraid_cold = 0x7f080045;
+        public static final int emoji_disgusted_cold = 0x7f080046;
+        public static final int emoji_confused_cold = 0x7f080047;
+        public static final int emoji_shameful_cold = 0x7f080048;
+
+        private drawable() {
+        }
+    }
+}
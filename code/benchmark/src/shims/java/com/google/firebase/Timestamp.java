@@ -0,0 +1,42 @@
+package com.google.firebase;
+
+import java.util.Date;
+
+/**
+ * JVM stand-in for the Firebase Timestamp, storing seconds and nanoseconds like the original.
+ */
+public final class Timestamp {
+
+    private final long seconds;
+    private final int nanoseconds;
+
+    public Timestamp(Date date) {
+        long millis = date.getTime();
+        this.seconds = Math.floorDiv(millis, 1000L);
+        this.nanoseconds = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+
+    public int getNanoseconds() {
+        return nanoseconds;
+    }
+
+    public Date toDate() {
+        return new Date(seconds * 1000L + nanoseconds / 1_000_000);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Timestamp
+                && ((Timestamp) other).seconds == seconds
+                && ((Timestamp) other).nanoseconds == nanoseconds;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seconds) * 31 + nanoseconds;
+    }
+}
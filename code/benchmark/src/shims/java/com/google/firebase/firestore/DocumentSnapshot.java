@@ -0,0 +1,19 @@
+package com.google.firebase.firestore;
+
+import java.util.Map;
+
+/**
+ * JVM stand-in for a Firestore DocumentSnapshot holding a document's fields.
+ */
+public class DocumentSnapshot {
+
+    private final Map<String, Object> data;
+
+    public DocumentSnapshot(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Backfills the typed createdAt field on every user's mood events that were saved with only
+ * the formatted "timestamp" string. The app reads other users' moods by document ID, so such
+ * moods are shown without this; it gives them the createdAt field every other mood has, which
+ * the owner's own mood list and the timeline copies are ordered by.
+ *
+ * The app only backfills the signed-in user's own moods (MoodTimestampMigration); other users'
+ * moods need the Admin SDK. Mirrors FeedTimeline.resolveCreatedAt: the timestamp string is
+ * parsed as "MMM dd, yyyy - hh:mm a" in the zone given by TZ, then the document ID as epoch
+ * millis, then the current time.
+ *
+ * Usage:
+ *   npm install firebase-admin
+ *   GOOGLE_APPLICATION_CREDENTIALS=service-account.json TZ=America/Edmonton \
+ *       node scripts/backfill-mood-created-at.js [--dry-run]
+ */
+const admin = require('firebase-admin');
+
+const PAGE_SIZE = 500;
+const MONTHS = ['Jan', 'Feb', 'Mar', 'Apr', 'May', 'Jun', 'Jul', 'Aug', 'Sep', 'Oct', 'Nov', 'Dec'];
+const TIMESTAMP = /^([A-Z][a-z]{2}) (\d{2}), (\d{4}) - (\d{2}):(\d{2}) ([AP]M)$/;
+
+function parseLegacyTimestamp(value) {
+  const match = typeof value === 'string' ? TIMESTAMP.exec(value.trim()) : null;
+  if (!match) {
+    return null;
+  }
+  const month = MONTHS.indexOf(match[1]);
+  if (month < 0) {
+    return null;
+  }
+  let hour = Number(match[4]) % 12;
+  if (match[6] === 'PM') {
+    hour += 12;
+  }
+  return new Date(Number(match[3]), month, Number(match[2]), hour, Number(match[5]));
+}
+
+function resolveCreatedAt(doc) {
+  const parsed = parseLegacyTimestamp(doc.get('timestamp'));
+  if (parsed) {
+    return parsed;
+  }
+  console.warn(`Unparseable timestamp on mood ${doc.ref.path}`);
+  const millis = Number(doc.id);
+  return Number.isFinite(millis) ? new Date(millis) : new Date();
+}
+
+async function main() {
+  const dryRun = process.argv.includes('--dry-run');
+  admin.initializeApp();
+  const db = admin.firestore();
+  const writer = db.bulkWriter();
+
+  let last = null;
+  let visited = 0;
+  let migrated = 0;
+  for (;;) {
+    let page = db.collectionGroup('moods')
+        .orderBy(admin.firestore.FieldPath.documentId())
+        .limit(PAGE_SIZE);
+    if (last) {
+      page = page.startAfter(last);
+    }
+    const snapshot = await page.get();
+    for (const doc of snapshot.docs) {
+      visited++;
+      if (doc.get('createdAt') instanceof admin.firestore.Timestamp) {
+        continue;
+      }
+      migrated++;
+      if (!dryRun) {
+        writer.update(doc.ref, {createdAt: admin.firestore.Timestamp.fromDate(resolveCreatedAt(doc))});
+      }
+    }
+    if (snapshot.size < PAGE_SIZE) {
+      break;
+    }
+    last = snapshot.docs[snapshot.size - 1];
+  }
+  await writer.close();
+  console.log(`${dryRun ? 'Would backfill' : 'Backfilled'} createdAt on ${migrated} of ${visited} moods`);
+}
+
+main().catch((e) => {
+  console.error(e);
+  process.exit(1);
+});